@@ -44,6 +44,7 @@
 import org.geotools.feature.visitor.FeatureAttributeVisitor;
 import org.geotools.feature.visitor.MaxVisitor;
 import org.geotools.feature.visitor.MinVisitor;
+import org.geotools.feature.visitor.MultiVisitor;
 import org.geotools.feature.visitor.UniqueVisitor;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.referencing.CRS;
@@ -254,6 +255,8 @@ protected boolean isTypeCompatible(FeatureVisitor visitor, SimpleFeatureType fea
                 }
             }
             return true;
+        } else if (visitor instanceof MultiVisitor) {
+            return ((MultiVisitor) visitor).getVisitors().stream().allMatch(v -> isTypeCompatible(v, featureType));
         }
         return false;
     }
@@ -285,6 +288,11 @@ public void accepts(
             transformedVisitor.setPreserveOrder(original.isPreserveOrder());
             delegateVisitor(transformedVisitor, progress);
             original.setValue(transformedVisitor.getResult().getValue());
+        } else if (visitor instanceof MultiVisitor) {
+            // transform and delegate the visitors one by one
+            for (FeatureVisitor child : ((MultiVisitor) visitor).getVisitors()) {
+                accepts(child, progress);
+            }
         } else {
             super.accepts(visitor, progress);
         }
@@ -0,0 +1,227 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.util.Date;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.Transaction;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.api.filter.Filter;
+import org.geotools.data.store.ContentEntry;
+import org.geotools.feature.FeatureTypes;
+import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Point;
+
+/**
+ * A {@link FetchSizePolicy} sizing the fetch buffer after the query at hand.
+ *
+ * <p>The fetch size is chosen so that a fetch buffer takes about {@link #getTargetBufferSize()} bytes, based on the
+ * estimated width of the rows being read, and then it's capped by the estimated number of rows returned, so that small
+ * queries are satisfied in a single round trip without allocating oversized buffers, while large ones are streamed with
+ * as few round trips as the memory budget allows. The estimated number of rows comes from the query max features and
+ * start index, or from the feature count cached in the feature type state, if any.
+ *
+ * <p>The policy keeps statistics about the choices it makes, see {@link #getQueryCount()},
+ * {@link #getStreamingQueryCount()} and {@link #getAverageFetchSize()}.
+ */
+public class AdaptiveFetchSizePolicy implements FetchSizePolicy {
+
+    static final Logger LOGGER = Logging.getLogger(AdaptiveFetchSizePolicy.class);
+
+    /** Estimated width of strings without a length restriction */
+    static final int DEFAULT_STRING_WIDTH = 64;
+
+    /** Estimated width of point geometries */
+    static final int POINT_WIDTH = 32;
+
+    int minFetchSize = 16;
+
+    int maxFetchSize = 10000;
+
+    long targetBufferSize = 1024 * 1024;
+
+    int geometryWidth = 512;
+
+    LongAdder queries = new LongAdder();
+
+    LongAdder streamingQueries = new LongAdder();
+
+    LongAdder fetchSizeTotal = new LongAdder();
+
+    @Override
+    public int getFetchSize(JDBCDataStore store, SimpleFeatureType featureType, Query query) {
+        int rowWidth = getRowWidth(featureType);
+        long fetchSize = Math.max(minFetchSize, Math.min(maxFetchSize, targetBufferSize / rowWidth));
+
+        // no point in allocating more than the result size, plus one to detect the end in the same round trip
+        long rows = getEstimatedRows(store, featureType, query);
+        boolean streaming = true;
+        if (rows >= 0 && rows < fetchSize) {
+            fetchSize = Math.max(1, rows + 1);
+            streaming = false;
+        }
+
+        queries.increment();
+        fetchSizeTotal.add(fetchSize);
+        if (streaming) {
+            streamingQueries.increment();
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Fetch size for "
+                    + featureType.getTypeName()
+                    + ": "
+                    + fetchSize
+                    + " (row width "
+                    + rowWidth
+                    + ", estimated rows "
+                    + (rows < 0 ? "unknown" : String.valueOf(rows))
+                    + (streaming ? ", streaming)" : ", single fetch)"));
+        }
+        return (int) fetchSize;
+    }
+
+    /** Returns the estimated number of rows read by the query, or -1 if unknown */
+    protected long getEstimatedRows(JDBCDataStore store, SimpleFeatureType featureType, Query query) {
+        long rows = -1;
+        if (query.getMaxFeatures() >= 0 && query.getMaxFeatures() < Integer.MAX_VALUE) {
+            rows = query.getMaxFeatures();
+            // without native paging the offset rows are read and skipped
+            Integer startIndex = query.getStartIndex();
+            if (startIndex != null && !store.getSQLDialect().isLimitOffsetSupported()) {
+                rows += startIndex;
+            }
+        }
+
+        // the whole table count is an upper bound for any query
+        ContentEntry entry = store.getEntry(featureType.getName());
+        if (entry != null) {
+            int count = entry.getState(Transaction.AUTO_COMMIT).getCount();
+            if (count >= 0 && (rows < 0 || count < rows)) {
+                Filter filter = query.getFilter();
+                // with a filter the count is an upper bound only, don't trust it too much,
+                // but keep the max features bound if there is one
+                if (filter == null || filter == Filter.INCLUDE || count <= minFetchSize) {
+                    rows = count;
+                }
+            }
+        }
+
+        return rows;
+    }
+
+    /** Estimates the width of a row, in bytes */
+    protected int getRowWidth(SimpleFeatureType featureType) {
+        int width = 0;
+        for (AttributeDescriptor ad : featureType.getAttributeDescriptors()) {
+            width += getAttributeWidth(ad);
+        }
+        return Math.max(1, width);
+    }
+
+    /** Estimates the width of a value of the attribute, in bytes */
+    protected int getAttributeWidth(AttributeDescriptor descriptor) {
+        Class<?> binding = descriptor.getType().getBinding();
+        if (descriptor instanceof GeometryDescriptor) {
+            return Point.class.equals(binding) ? POINT_WIDTH : geometryWidth;
+        } else if (CharSequence.class.isAssignableFrom(binding)) {
+            int length = FeatureTypes.getFieldLength(descriptor);
+            return length > 0 ? length : DEFAULT_STRING_WIDTH;
+        } else if (byte[].class.equals(binding)) {
+            return geometryWidth;
+        } else if (Number.class.isAssignableFrom(binding)
+                || Boolean.class.equals(binding)
+                || Date.class.isAssignableFrom(binding)) {
+            return 8;
+        }
+        return DEFAULT_STRING_WIDTH;
+    }
+
+    /** The smallest fetch size used for queries whose result size is not known */
+    public int getMinFetchSize() {
+        return minFetchSize;
+    }
+
+    public void setMinFetchSize(int minFetchSize) {
+        this.minFetchSize = minFetchSize;
+    }
+
+    /** The largest fetch size ever used */
+    public int getMaxFetchSize() {
+        return maxFetchSize;
+    }
+
+    public void setMaxFetchSize(int maxFetchSize) {
+        this.maxFetchSize = maxFetchSize;
+    }
+
+    /** The size, in bytes, the fetch buffer is targeting */
+    public long getTargetBufferSize() {
+        return targetBufferSize;
+    }
+
+    public void setTargetBufferSize(long targetBufferSize) {
+        this.targetBufferSize = targetBufferSize;
+    }
+
+    /** The estimated width of non point geometries and binary values, in bytes */
+    public int getGeometryWidth() {
+        return geometryWidth;
+    }
+
+    public void setGeometryWidth(int geometryWidth) {
+        this.geometryWidth = geometryWidth;
+    }
+
+    /** Number of queries the policy chose a fetch size for */
+    public long getQueryCount() {
+        return queries.sum();
+    }
+
+    /** Number of queries whose results were not expected to fit in a single fetch */
+    public long getStreamingQueryCount() {
+        return streamingQueries.sum();
+    }
+
+    /** Average fetch size chosen, or 0 if no query has been run yet */
+    public double getAverageFetchSize() {
+        long count = queries.sum();
+        return count == 0 ? 0 : fetchSizeTotal.sum() / (double) count;
+    }
+
+    /** Clears the statistics */
+    public void resetStatistics() {
+        queries.reset();
+        streamingQueries.reset();
+        fetchSizeTotal.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveFetchSizePolicy [queries="
+                + getQueryCount()
+                + ", streaming="
+                + getStreamingQueryCount()
+                + ", averageFetchSize="
+                + getAverageFetchSize()
+                + "]";
+    }
+}
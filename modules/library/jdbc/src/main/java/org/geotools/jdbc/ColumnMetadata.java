@@ -34,6 +34,8 @@ public class ColumnMetadata {
     boolean nullable;
     /** The native srid */
     Integer srid;
+    /** The native geometry dimension */
+    Integer dimension;
     /** Column Remarks */
     String remarks;
 
@@ -85,6 +87,14 @@ public void setSrid(Integer srid) {
         this.srid = srid;
     }
 
+    public Integer getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(Integer dimension) {
+        this.dimension = dimension;
+    }
+
     public Filter getRestriction() {
         return restriction;
     }
@@ -0,0 +1,52 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+
+/**
+ * Chooses the fetch size of the statements used to read features.
+ *
+ * <p>A positive fetch size makes the driver stream the results, reading that many rows from the database at a time
+ * (using a server side cursor, for the databases supporting them), while a value less or equal to zero makes the driver
+ * read all the records in one shot.
+ */
+public interface FetchSizePolicy {
+
+    /** Uses the data store fetch size for every query */
+    FetchSizePolicy FIXED = new FetchSizePolicy() {
+        @Override
+        public int getFetchSize(JDBCDataStore store, SimpleFeatureType featureType, Query query) {
+            return store.getFetchSize();
+        }
+
+        @Override
+        public String toString() {
+            return "fixed fetch size";
+        }
+    };
+
+    /**
+     * Returns the fetch size for the given query.
+     *
+     * @param store The data store running the query
+     * @param featureType The feature type returned by the query, it might contain less attributes than the native one
+     * @param query The query, as sent to the database (filter, start index and max features are all encoded in SQL)
+     */
+    int getFetchSize(JDBCDataStore store, SimpleFeatureType featureType, Query query);
+}
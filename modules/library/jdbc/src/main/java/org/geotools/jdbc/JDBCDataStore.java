@@ -45,6 +45,10 @@
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 import javax.sql.DataSource;
@@ -252,6 +256,12 @@ public final class JDBCDataStore extends ContentDataStore implements GmlObjectSt
      */
     public int fetchSize;
 
+    /** Caches the prepared statement encoding of filters by their structure, null if disabled */
+    private volatile SQLTemplateCache sqlTemplateCache;
+
+    /** Chooses the fetch size of each feature reading query, by default uses {@link #fetchSize} */
+    protected FetchSizePolicy fetchSizePolicy = FetchSizePolicy.FIXED;
+
     /**
      * The number of features to bufferize while inserting in order to do batch inserts.
      *
@@ -260,6 +270,21 @@ public final class JDBCDataStore extends ContentDataStore implements GmlObjectSt
      */
     protected int batchInsertSize = 1;
 
+    /**
+     * Whether batches of new features are inserted with several VALUES tuples per statement, when the dialect supports
+     * it. Off by default, as it changes how batches are sent and how failures are reported.
+     */
+    protected boolean multiRowInsertEnabled = false;
+
+    /**
+     * The number of features read ahead of the consumer in a background thread, or 0 (the default) to read the features
+     * in the consumer thread instead.
+     */
+    protected int readAhead = 0;
+
+    /** Runs the read ahead producers, lazily created */
+    private ExecutorService readAheadExecutor;
+
     /** flag controlling whether primary key columns of a table are exposed via the feature type. */
     protected boolean exposePrimaryKeyColumns = false;
 
@@ -362,6 +387,45 @@ public void setFetchSize(int fetchSize) {
         this.fetchSize = fetchSize;
     }
 
+    /** Returns the maximum number of filter structures whose SQL encoding is cached, 0 if the cache is disabled */
+    public int getSQLTemplateCacheSize() {
+        SQLTemplateCache cache = sqlTemplateCache;
+        return cache != null ? cache.maxSize : 0;
+    }
+
+    /**
+     * Sets the maximum number of filter structures whose SQL encoding is cached, or 0 to disable the cache. Filters
+     * differing only in their literal values share the same cached encoding, skipping the filter to SQL encoding and
+     * generating the same SQL, which the prepared statement caches can then reuse. Used only by
+     * {@link PreparedStatementSQLDialect prepared statement dialects}.
+     */
+    public void setSQLTemplateCacheSize(int size) {
+        this.sqlTemplateCache = size > 0 ? new SQLTemplateCache(size) : null;
+    }
+
+    /** Returns the SQL template cache, or null if disabled */
+    SQLTemplateCache getSQLTemplateCache() {
+        return sqlTemplateCache;
+    }
+
+    /** Returns the policy choosing the fetch size of the queries reading features */
+    public FetchSizePolicy getFetchSizePolicy() {
+        return fetchSizePolicy;
+    }
+
+    /**
+     * Sets the policy choosing the fetch size of the queries reading features. Other queries, e.g., aggregates, keep on
+     * using the {@link #getFetchSize() fetch size}.
+     */
+    public void setFetchSizePolicy(FetchSizePolicy fetchSizePolicy) {
+        this.fetchSizePolicy = fetchSizePolicy != null ? fetchSizePolicy : FetchSizePolicy.FIXED;
+    }
+
+    /** Returns the fetch size for a query reading features, as chosen by the {@link FetchSizePolicy} */
+    protected int getFetchSize(SimpleFeatureType featureType, Query query) {
+        return fetchSizePolicy.getFetchSize(this, featureType, query);
+    }
+
     /** @return the number of features to bufferize while inserting in order to do batch inserts. */
     public int getBatchInsertSize() {
         return batchInsertSize;
@@ -378,6 +442,48 @@ public void setBatchInsertSize(int batchInsertSize) {
         this.batchInsertSize = batchInsertSize;
     }
 
+    /** @return true if batches of new features are inserted with several rows per INSERT statement */
+    public boolean isMultiRowInsertEnabled() {
+        return multiRowInsertEnabled;
+    }
+
+    /**
+     * Enables inserting batches of new features with several VALUES tuples per INSERT statement, up to the limit given
+     * by {@link PreparedStatementSQLDialect#getMaxMultiRowInsertParameters()}. Only used with prepared statements.
+     *
+     * @see JDBCDataStoreFactory#MULTI_ROW_INSERTS
+     */
+    public void setMultiRowInsertEnabled(boolean multiRowInsertEnabled) {
+        this.multiRowInsertEnabled = multiRowInsertEnabled;
+    }
+
+    /** @return the number of features read ahead of the consumer in a background thread, 0 if read ahead is disabled */
+    public int getReadAhead() {
+        return readAhead;
+    }
+
+    /**
+     * Sets the number of features read ahead of the consumer in a background thread, allowing database round trips and
+     * feature decoding to overlap with the consumer work. Read ahead is applied to readers running in auto commit mode
+     * only, as they own their connection. Set to 0 to disable it.
+     */
+    public void setReadAhead(int readAhead) {
+        this.readAhead = readAhead;
+    }
+
+    /** Returns the executor running the read ahead producers */
+    synchronized Executor getReadAheadExecutor() {
+        if (readAheadExecutor == null) {
+            AtomicInteger counter = new AtomicInteger();
+            readAheadExecutor = Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "GT JDBC read ahead " + counter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return readAheadExecutor;
+    }
+
     /**
      * Determines if the datastore creates feature types which include those columns / attributes which compose the
      * primary key.
@@ -1769,6 +1875,9 @@ protected void insert(Collection<? extends SimpleFeature> features, SimpleFeatur
         // first to figure out what the id will be, then the insert statement
         synchronized (this) {
             try {
+                if (features.size() > 1 && insertBulk(features, featureType, cx, key)) {
+                    return;
+                }
                 if (dialect instanceof PreparedStatementSQLDialect) {
                     Map<InsertionClassifier, Collection<SimpleFeature>> kinds =
                             InsertionClassifier.classify(featureType, features);
@@ -1791,6 +1900,120 @@ protected void insert(Collection<? extends SimpleFeature> features, SimpleFeatur
         }
     }
 
+    /**
+     * Loads the features with {@link SQLDialect#bulkInsert(String, String, List, List, Connection)}, if the dialect
+     * supports it for this feature type and all the key values can be computed before the insert.
+     *
+     * @return false if the features have not been inserted, and should go through the regular INSERT statements
+     */
+    private boolean insertBulk(
+            Collection<? extends SimpleFeature> features, SimpleFeatureType featureType, Connection cx, PrimaryKey key)
+            throws IOException, SQLException {
+        if (!dialect.isBulkInsertSupported()) {
+            return false;
+        }
+        Set<String> keyColumns = new HashSet<>();
+        for (PrimaryKeyColumn col : key.getColumns()) {
+            keyColumns.add(col.getName());
+        }
+
+        // describe the columns being loaded, attributes first and then keys
+        List<AttributeDescriptor> attributes = new ArrayList<>();
+        List<ColumnMetadata> columns = new ArrayList<>();
+        for (AttributeDescriptor att : featureType.getAttributeDescriptors()) {
+            String colName = att.getLocalName();
+            if (keyColumns.contains(colName)) {
+                continue;
+            }
+
+            ColumnMetadata column = new ColumnMetadata();
+            column.setName(colName);
+            column.setNullable(att.isNillable());
+            column.setTypeName((String) att.getUserData().get(JDBC_NATIVE_TYPENAME));
+            column.setBinding(att.getType().getBinding());
+            if (att instanceof GeometryDescriptor) {
+                // rows are not inspected one by one, the native srid and dimension must be known
+                int srid = getDescriptorSRID(att);
+                int dimension = getDescriptorDimension(att);
+                if (srid <= 0 || dimension <= 0) {
+                    return false;
+                }
+                column.setSrid(srid);
+                column.setDimension(dimension);
+            } else if (att.getUserData().get(JDBC_ENUM_MAP) != null) {
+                column.setBinding(Integer.class);
+            }
+            attributes.add(att);
+            columns.add(column);
+        }
+        for (PrimaryKeyColumn col : key.getColumns()) {
+            ColumnMetadata column = new ColumnMetadata();
+            column.setName(col.getName());
+            column.setBinding(col.getType());
+            columns.add(column);
+        }
+        if (!dialect.isBulkInsertSupported(columns)) {
+            return false;
+        }
+
+        // compute all the keys upfront, bail out if any of them is only known after insert
+        Collection<SimpleFeature> useExistings = new ArrayList<>();
+        Collection<SimpleFeature> notUseExistings = new ArrayList<>();
+        for (SimpleFeature cur : features) {
+            (InsertionClassifier.useExisting(cur) ? useExistings : notUseExistings).add(cur);
+        }
+        KeysFetcher existingKeys = KeysFetcher.create(this, cx, true, key);
+        KeysFetcher newKeys = KeysFetcher.create(this, cx, false, key);
+        if (!notUseExistings.isEmpty() && !newKeys.prefetch(cx, notUseExistings.size())) {
+            return false;
+        }
+
+        List<Object[]> rows = new ArrayList<>(features.size());
+        addBulkRows(useExistings, featureType, attributes, columns.size(), existingKeys, cx, rows);
+        addBulkRows(notUseExistings, featureType, attributes, columns.size(), newKeys, cx, rows);
+
+        LOGGER.log(Level.FINE, "Loading {0} features in bulk into {1}", new Object[] {
+            rows.size(), featureType.getTypeName()
+        });
+        dialect.bulkInsert(databaseSchema, featureType.getTypeName(), columns, rows, cx);
+        return true;
+    }
+
+    private void addBulkRows(
+            Collection<SimpleFeature> features,
+            SimpleFeatureType featureType,
+            List<AttributeDescriptor> attributes,
+            int columnCount,
+            KeysFetcher keysFetcher,
+            Connection cx,
+            List<Object[]> rows)
+            throws IOException, SQLException {
+        for (SimpleFeature feature : features) {
+            Object[] row = new Object[columnCount];
+            int i = 0;
+            for (AttributeDescriptor att : attributes) {
+                String colName = att.getLocalName();
+                Object value = feature.getAttribute(colName);
+                if (value == null && !att.isNillable()) {
+                    throw new IOException("Cannot set a NULL value on the not null column " + colName);
+                }
+
+                Class binding = att.getType().getBinding();
+                EnumMapping mapping = (EnumMapping) att.getUserData().get(JDBCDataStore.JDBC_ENUM_MAP);
+                if (Geometry.class.isAssignableFrom(binding)) {
+                    value = linearize(value, binding);
+                } else if (mapping != null) {
+                    value = mapping.fromValue((String) value);
+                }
+                row[i++] = value;
+            }
+            for (Object keyValue : keysFetcher.getKeyValues(cx, featureType, feature)) {
+                row[i++] = keyValue;
+            }
+            rows.add(row);
+        }
+    }
+
     /** Specialized insertion for dialects that are using prepared statements. */
     private void insertPS(
             Collection<SimpleFeature> features,
@@ -1803,59 +2026,21 @@ private void insertPS(
 
         final KeysFetcher keysFetcher = KeysFetcher.create(this, cx, kind.useExisting, key);
 
-        final String sql = buildInsertPS(kind, featureType, keysFetcher, dialect);
+        final String values = buildInsertValuesPS(kind, featureType, keysFetcher, dialect);
+        final int rowsPerStatement = getRowsPerInsert(dialect, values, features.size());
+        if (rowsPerStatement > 1) {
+            insertMultiRowPS(features, featureType, cx, keysFetcher, dialect, values, rowsPerStatement);
+            return;
+        }
+
+        final String sql = buildInsertPS(featureType, keysFetcher, dialect, values, 1);
         LOGGER.log(Level.FINE, "Inserting new features with ps: {0}", sql);
 
         // create the prepared statement
-        final PreparedStatement ps;
-        if (keysFetcher.isPostInsert()) {
-            // ask the DB to return the values of all the keys after the insertion
-            ps = cx.prepareStatement(sql, keysFetcher.getColumnNames());
-        } else {
-            ps = cx.prepareStatement(sql);
-        }
+        final PreparedStatement ps = prepareInsertPS(sql, keysFetcher, cx);
         try {
             for (SimpleFeature feature : features) {
-                // set the attribute values
-                int i = 1;
-                for (AttributeDescriptor att : featureType.getAttributeDescriptors()) {
-                    String colName = att.getLocalName();
-                    // skip the pk columns in case we have exposed them, we grab the
-                    // value from the pk itself
-                    if (keysFetcher.isKey(colName)) {
-                        continue;
-                    }
-
-                    Class binding = att.getType().getBinding();
-                    EnumMapping mapping = (EnumMapping) att.getUserData().get(JDBCDataStore.JDBC_ENUM_MAP);
-
-                    Object value = feature.getAttribute(colName);
-                    if (value == null && !att.isNillable()) {
-                        throw new IOException("Cannot set a NULL value on the not null column " + colName);
-                    }
-
-                    if (Geometry.class.isAssignableFrom(binding)) {
-                        Geometry g = linearize(value, binding);
-                        int srid = getGeometrySRID(g, att);
-                        int dimension = getGeometryDimension(g, att);
-                        dialect.setGeometryValue(g, dimension, srid, binding, ps, i);
-                    } else if (this.dialect.isArray(att)) {
-                        dialect.setArrayValue(value, att, ps, i, cx);
-                    } else {
-                        if (mapping != null) {
-                            value = mapping.fromValue((String) value);
-                            binding = Integer.class;
-                        }
-
-                        dialect.setValue(value, binding, att, ps, i, cx);
-                    }
-                    if (LOGGER.isLoggable(Level.FINE)) {
-                        LOGGER.fine((i) + " = " + value);
-                    }
-                    i++;
-                }
-
-                keysFetcher.setKeyValues(dialect, ps, cx, featureType, feature, i);
+                setInsertValuesPS(feature, featureType, keysFetcher, dialect, ps, 1, cx);
 
                 dialect.onInsert(ps, cx, featureType);
                 ps.addBatch();
@@ -1868,6 +2053,126 @@ private void insertPS(
         }
     }
 
+    /**
+     * Inserts the features with statements holding several VALUES tuples each, as many as the dialect parameter limit
+     * allows.
+     */
+    private void insertMultiRowPS(
+            Collection<SimpleFeature> features,
+            SimpleFeatureType featureType,
+            Connection cx,
+            KeysFetcher keysFetcher,
+            PreparedStatementSQLDialect dialect,
+            String values,
+            int rowsPerStatement)
+            throws IOException, SQLException {
+        List<SimpleFeature> all = new ArrayList<>(features);
+        for (int start = 0; start < all.size(); start += rowsPerStatement) {
+            List<SimpleFeature> rows = all.subList(start, Math.min(start + rowsPerStatement, all.size()));
+            String sql = buildInsertPS(featureType, keysFetcher, dialect, values, rows.size());
+            LOGGER.log(Level.FINE, "Inserting {0} new features with multi row ps", rows.size());
+
+            final PreparedStatement ps = prepareInsertPS(sql, keysFetcher, cx);
+            try {
+                int i = 1;
+                for (SimpleFeature feature : rows) {
+                    i = setInsertValuesPS(feature, featureType, keysFetcher, dialect, ps, i, cx);
+                }
+
+                dialect.onInsert(ps, cx, featureType);
+                checkAllInserted(new int[] {ps.executeUpdate()}, rows.size());
+                keysFetcher.postInsert(featureType, rows, ps);
+            } finally {
+                closeSafe(ps);
+            }
+        }
+    }
+
+    /** Returns the number of VALUES tuples to pack in a single insert statement. */
+    private int getRowsPerInsert(PreparedStatementSQLDialect dialect, String values, int featureCount) {
+        if (!multiRowInsertEnabled) {
+            return 1;
+        }
+        int maxParameters = dialect.getMaxMultiRowInsertParameters();
+        if (maxParameters <= 0 || featureCount < 2) {
+            return 1;
+        }
+        int parameters = 0;
+        for (int i = 0; i < values.length(); i++) {
+            if (values.charAt(i) == '?') {
+                parameters++;
+            }
+        }
+        if (parameters == 0) {
+            return 1;
+        }
+        return Math.max(1, Math.min(featureCount, maxParameters / parameters));
+    }
+
+    private PreparedStatement prepareInsertPS(String sql, KeysFetcher keysFetcher, Connection cx) throws SQLException {
+        if (keysFetcher.isPostInsert()) {
+            // ask the DB to return the values of all the keys after the insertion
+            return cx.prepareStatement(sql, keysFetcher.getColumnNames());
+        } else {
+            return cx.prepareStatement(sql);
+        }
+    }
+
+    /**
+     * Sets the values of a feature in an insert prepared statement, starting at the given parameter index.
+     *
+     * @return the index of the next parameter
+     */
+    private int setInsertValuesPS(
+            SimpleFeature feature,
+            SimpleFeatureType featureType,
+            KeysFetcher keysFetcher,
+            PreparedStatementSQLDialect dialect,
+            PreparedStatement ps,
+            int i,
+            Connection cx)
+            throws IOException, SQLException {
+        // set the attribute values
+        for (AttributeDescriptor att : featureType.getAttributeDescriptors()) {
+            String colName = att.getLocalName();
+            // skip the pk columns in case we have exposed them, we grab the
+            // value from the pk itself
+            if (keysFetcher.isKey(colName)) {
+                continue;
+            }
+
+            Class binding = att.getType().getBinding();
+            EnumMapping mapping = (EnumMapping) att.getUserData().get(JDBCDataStore.JDBC_ENUM_MAP);
+
+            Object value = feature.getAttribute(colName);
+            if (value == null && !att.isNillable()) {
+                throw new IOException("Cannot set a NULL value on the not null column " + colName);
+            }
+
+            if (Geometry.class.isAssignableFrom(binding)) {
+                Geometry g = linearize(value, binding);
+                int srid = getGeometrySRID(g, att);
+                int dimension = getGeometryDimension(g, att);
+                dialect.setGeometryValue(g, dimension, srid, binding, ps, i);
+            } else if (this.dialect.isArray(att)) {
+                dialect.setArrayValue(value, att, ps, i, cx);
+            } else {
+                if (mapping != null) {
+                    value = mapping.fromValue((String) value);
+                    binding = Integer.class;
+                }
+
+                dialect.setValue(value, binding, att, ps, i, cx);
+            }
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine((i) + " = " + value);
+            }
+            i++;
+        }
+
+        return keysFetcher.setKeyValues(dialect, ps, cx, featureType, feature, i);
+    }
+
     @SuppressWarnings("unchecked")
     private Geometry linearize(Object value, Class<?> binding) {
         Geometry g = (Geometry) value;
@@ -1894,12 +2199,13 @@ static void checkAllInserted(int[] inserts, int size) throws IOException {
         }
     }
 
-    /** Build the insert statement that will be used in a PreparedStatement. */
+    /** Build the insert statement that will be used in a PreparedStatement, with the given VALUES tuple repeated. */
     private String buildInsertPS(
-            InsertionClassifier kind,
             SimpleFeatureType featureType,
             KeysFetcher keysFetcher,
-            PreparedStatementSQLDialect dialect)
+            PreparedStatementSQLDialect dialect,
+            String values,
+            int rows)
             throws SQLException {
         StringBuffer sql = new StringBuffer();
         sql.append("INSERT INTO ");
@@ -1924,7 +2230,24 @@ private String buildInsertPS(
         sql.setLength(sql.length() - 1); // remove the last coma
 
         // values
-        sql.append(" ) VALUES ( ");
+        sql.append(" ) VALUES ");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(",");
+            }
+            sql.append(values);
+        }
+        return sql.toString();
+    }
+
+    /** Build the VALUES tuple of the insert statement that will be used in a PreparedStatement. */
+    private String buildInsertValuesPS(
+            InsertionClassifier kind,
+            SimpleFeatureType featureType,
+            KeysFetcher keysFetcher,
+            PreparedStatementSQLDialect dialect) {
+        StringBuffer sql = new StringBuffer();
+        sql.append("( ");
         for (AttributeDescriptor att : featureType.getAttributeDescriptors()) {
             String colName = att.getLocalName();
             // skip the pk columns in case we have exposed them, we grab the
@@ -3495,7 +3818,27 @@ void selectColumns(SimpleFeatureType featureType, String prefix, Query query, St
     }
 
     FilterToSQL filter(SimpleFeatureType featureType, Filter filter, StringBuffer sql) throws IOException {
+        // grab the full feature type, as we might be encoding a filter
+        // that uses attributes that aren't returned in the results
         SimpleFeatureType fullSchema = getSchema(featureType.getTypeName());
+        SQLTemplateCache cache = sqlTemplateCache;
+        if (cache != null && dialect instanceof PreparedStatementSQLDialect) {
+            try {
+                SQLTemplateCache.Encoded encoded = cache.encode(
+                        fullSchema,
+                        filter,
+                        () -> {
+                            PreparedFilterToSQL toSQL = createPreparedFilterToSQL(fullSchema);
+                            toSQL.setInline(true);
+                            return toSQL;
+                        },
+                        (PreparedStatementSQLDialect) dialect);
+                appendFilter(encoded.sql, sql);
+                return encoded.toSQL;
+            } catch (FilterToSQLException e) {
+                throw new RuntimeException(e);
+            }
+        }
         FilterToSQL toSQL = getFilterToSQL(fullSchema);
         return filter(featureType, filter, sql, toSQL);
     }
@@ -3504,24 +3847,27 @@ FilterToSQL filter(SimpleFeatureType featureType, Filter filter, StringBuffer sq
             throws IOException {
 
         try {
-            // grab the full feature type, as we might be encoding a filter
-            // that uses attributes that aren't returned in the results
             toSQL.setInline(true);
 
             String filterSql = toSQL.encodeToString(filter);
-            int whereClauseIndex = sql.indexOf(WHERE_CLAUSE_PLACE_HOLDER);
-            if (whereClauseIndex != -1) {
-                sql.replace(whereClauseIndex, whereClauseIndex + WHERE_CLAUSE_PLACE_HOLDER_LENGTH, "AND " + filterSql);
-                sql.append("1 = 1");
-            } else {
-                sql.append(filterSql);
-            }
+            appendFilter(filterSql, sql);
             return toSQL;
         } catch (FilterToSQLException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /** Appends the encoded filter to the where clause, or replaces the where clause placeholder with it */
+    private void appendFilter(String filterSql, StringBuffer sql) {
+        int whereClauseIndex = sql.indexOf(WHERE_CLAUSE_PLACE_HOLDER);
+        if (whereClauseIndex != -1) {
+            sql.replace(whereClauseIndex, whereClauseIndex + WHERE_CLAUSE_PLACE_HOLDER_LENGTH, "AND " + filterSql);
+            sql.append("1 = 1");
+        } else {
+            sql.append(filterSql);
+        }
+    }
+
     private FilterToSQL getFilterToSQL(SimpleFeatureType fullSchema) {
         return dialect instanceof PreparedStatementSQLDialect
                 ? createPreparedFilterToSQL(fullSchema)
@@ -3607,7 +3953,7 @@ protected PreparedStatement selectSQLPS(SimpleFeatureType featureType, Query que
         LOGGER.fine(sql.toString());
         PreparedStatement ps =
                 cx.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
-        ps.setFetchSize(fetchSize);
+        ps.setFetchSize(getFetchSize(featureType, query));
 
         if (toSQL != null) {
             setPreparedFilterValues(ps, toSQL, 0, cx);
@@ -3649,7 +3995,7 @@ protected PreparedStatement selectJoinSQLPS(
         LOGGER.fine(sql.toString());
         PreparedStatement ps =
                 cx.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
-        ps.setFetchSize(fetchSize);
+        ps.setFetchSize(getFetchSize(featureType, query));
 
         setPreparedFilterValues(ps, toSQLs, cx);
 
@@ -4827,6 +5173,12 @@ protected void finalize() throws Throwable {
     @Override
     public void dispose() {
         super.dispose();
+        synchronized (this) {
+            if (readAheadExecutor != null) {
+                readAheadExecutor.shutdown();
+                readAheadExecutor = null;
+            }
+        }
         if (dataSource != null && dataSource instanceof ManageableDataSource) {
             try {
                 @SuppressWarnings("PMD.CloseResource") // actually closing it here
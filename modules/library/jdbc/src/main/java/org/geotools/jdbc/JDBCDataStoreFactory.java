@@ -104,6 +104,45 @@ public abstract class JDBCDataStoreFactory implements DataStoreFactorySpi {
             false,
             1);
 
+    /** If true, batches of new features are inserted with several VALUES tuples per INSERT statement */
+    public static final Param MULTI_ROW_INSERTS = new Param(
+            "Multi-row inserts",
+            Boolean.class,
+            "Insert batches of new features with several rows per INSERT statement, only used with prepared "
+                    + "statements and a batch insert size greater than one (default, false).",
+            false,
+            Boolean.FALSE,
+            Collections.singletonMap(Parameter.LEVEL, "advanced"));
+
+    /** If true, the fetch size is chosen query by query, using the fetch size as an upper bound */
+    public static final Param ADAPTIVE_FETCH_SIZE = new Param(
+            "Adaptive fetch size",
+            Boolean.class,
+            "Choose the fetch size of each query based on the expected row count and width, "
+                    + "up to the configured fetch size (default, false).",
+            false,
+            Boolean.FALSE,
+            Collections.singletonMap(Parameter.LEVEL, "advanced"));
+
+    /** Number of filter structures whose SQL encoding is cached, only used with prepared statements */
+    public static final Param SQL_TEMPLATE_CACHE_SIZE = new Param(
+            "SQL template cache size",
+            Integer.class,
+            "Number of filter structures whose prepared statement SQL encoding is cached, "
+                    + "filters differing only in their values reuse it (default, 0, disabled).",
+            false,
+            0,
+            Collections.singletonMap(Parameter.LEVEL, "advanced"));
+
+    /** If positive, features are read ahead of the consumer in a background thread */
+    public static final Param READ_AHEAD = new Param(
+            "Read ahead",
+            Integer.class,
+            "Number of features read ahead in a background thread while the previous ones are being used (default, 0, disabled).",
+            false,
+            0,
+            Collections.singletonMap(Parameter.LEVEL, "advanced"));
+
     /** Maximum amount of time the pool will wait when trying to grab a new connection * */
     public static final Param MAXWAIT = new Param(
             "Connection timeout",
@@ -267,11 +306,32 @@ public final JDBCDataStore createDataStore(Map<String, ?> params) throws IOExcep
         if (fetchSize != null && fetchSize > 0) dataStore.setFetchSize(fetchSize);
         else dataStore.setFetchSize((Integer) FETCHSIZE.sample);
 
+        Boolean adaptiveFetchSize = (Boolean) ADAPTIVE_FETCH_SIZE.lookUp(params);
+        if (Boolean.TRUE.equals(adaptiveFetchSize)) {
+            AdaptiveFetchSizePolicy policy = new AdaptiveFetchSizePolicy();
+            policy.setMaxFetchSize(dataStore.getFetchSize());
+            policy.setMinFetchSize(Math.min(policy.getMinFetchSize(), dataStore.getFetchSize()));
+            dataStore.setFetchSizePolicy(policy);
+        }
+
         Integer batchInsertSize = (Integer) BATCH_INSERT_SIZE.lookUp(params);
         if (batchInsertSize != null && batchInsertSize > 0) {
             dataStore.setBatchInsertSize(batchInsertSize);
         }
 
+        Boolean multiRowInserts = (Boolean) MULTI_ROW_INSERTS.lookUp(params);
+        dataStore.setMultiRowInsertEnabled(Boolean.TRUE.equals(multiRowInserts));
+
+        Integer templateCacheSize = (Integer) SQL_TEMPLATE_CACHE_SIZE.lookUp(params);
+        if (templateCacheSize != null && templateCacheSize > 0) {
+            dataStore.setSQLTemplateCacheSize(templateCacheSize);
+        }
+
+        Integer readAhead = (Integer) READ_AHEAD.lookUp(params);
+        if (readAhead != null && readAhead > 0) {
+            dataStore.setReadAhead(readAhead);
+        }
+
         // namespace
         String namespace = (String) NAMESPACE.lookUp(params);
 
@@ -407,6 +467,9 @@ protected void setupParameters(Map<String, Object> parameters) {
         parameters.put(MINCONN.key, MINCONN);
         parameters.put(FETCHSIZE.key, FETCHSIZE);
         parameters.put(BATCH_INSERT_SIZE.key, BATCH_INSERT_SIZE);
+        parameters.put(MULTI_ROW_INSERTS.key, MULTI_ROW_INSERTS);
+        parameters.put(ADAPTIVE_FETCH_SIZE.key, ADAPTIVE_FETCH_SIZE);
+        parameters.put(READ_AHEAD.key, READ_AHEAD);
         parameters.put(MAXWAIT.key, MAXWAIT);
         if (getValidationQuery() != null) parameters.put(VALIDATECONN.key, VALIDATECONN);
         parameters.put(TEST_WHILE_IDLE.key, TEST_WHILE_IDLE);
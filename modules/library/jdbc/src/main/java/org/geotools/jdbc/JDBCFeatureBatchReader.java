@@ -0,0 +1,45 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.io.IOException;
+import org.geotools.data.store.AbstractFeatureBatchReader;
+import org.geotools.data.store.FeatureBatchBuilder;
+
+/**
+ * Reads column oriented feature batches straight out of the result set of a {@link JDBCFeatureReader}, skipping the
+ * creation of a feature per row.
+ */
+public class JDBCFeatureBatchReader extends AbstractFeatureBatchReader {
+
+    JDBCFeatureReader reader;
+
+    public JDBCFeatureBatchReader(JDBCFeatureReader reader, int batchSize) {
+        super(reader.getFeatureType(), batchSize);
+        this.reader = reader;
+    }
+
+    @Override
+    protected int readRows(FeatureBatchBuilder builder, int max) throws IOException {
+        return reader.readBatch(builder, max);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
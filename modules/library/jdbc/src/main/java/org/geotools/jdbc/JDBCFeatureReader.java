@@ -49,6 +49,7 @@
 import org.geotools.api.filter.identity.FeatureId;
 import org.geotools.api.geometry.BoundingBox;
 import org.geotools.api.referencing.operation.TransformException;
+import org.geotools.data.store.FeatureBatchBuilder;
 import org.geotools.data.util.ScreenMap;
 import org.geotools.feature.GeometryAttributeImpl;
 import org.geotools.feature.simple.SimpleFeatureBuilder;
@@ -96,6 +97,15 @@ public class JDBCFeatureReader implements FeatureReader<SimpleFeatureType, Simpl
     /** Screenmap for feature skipping behaviour */
     protected ScreenMap screenMap;
 
+    /**
+     * Index of the default geometry, checked against the screenmap before reading the other attributes, or -1 if the
+     * columns have to be read in order
+     */
+    private int screenMapGeometryIndex = -1;
+
+    /** Marker returned by {@link #readGeometry(int)} when the row has to be skipped */
+    private static final Object SKIP = new Object();
+
     /** current transaction */
     protected Transaction tx;
     /** flag indicating if the iterator has another feature */
@@ -127,15 +137,35 @@ public class JDBCFeatureReader implements FeatureReader<SimpleFeatureType, Simpl
     /** enum support */
     EnumMapping[] enumMappings;
 
+    /** Holds the values of the row being read */
+    private Object[] rowValues;
+
     public JDBCFeatureReader(
             String sql, Connection cx, JDBCFeatureSource featureSource, SimpleFeatureType featureType, Query query)
             throws SQLException {
+        this(
+                sql,
+                cx,
+                featureSource,
+                featureType,
+                query,
+                featureSource.getDataStore().getFetchSize());
+    }
+
+    public JDBCFeatureReader(
+            String sql,
+            Connection cx,
+            JDBCFeatureSource featureSource,
+            SimpleFeatureType featureType,
+            Query query,
+            int fetchSize)
+            throws SQLException {
         init(featureSource, featureType, query);
 
         // create the result set
         this.cx = cx;
         st = cx.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
-        st.setFetchSize(featureSource.getDataStore().getFetchSize());
+        st.setFetchSize(fetchSize);
 
         SQLDialect sqlDialect = featureSource.getDataStore().getSQLDialect();
         if (sqlDialect instanceof BasicSQLDialect) {
@@ -235,6 +265,12 @@ protected void init(JDBCFeatureSource featureSource, SimpleFeatureType featureTy
         }
 
         this.attributeRsIndex = buildAttributeRsIndex();
+        if (screenMap != null
+                && featureType.getGeometryDescriptor() != null
+                && dataStore.getSQLDialect().isOutOfOrderColumnReadSupported()) {
+            this.screenMapGeometryIndex =
+                    featureType.indexOf(featureType.getGeometryDescriptor().getLocalName());
+        }
 
         callback = dataStore.getCallbackFactory().createReaderCallback();
         callback.init(this);
@@ -335,6 +371,76 @@ public boolean hasNext() throws IOException {
     }
 
     protected SimpleFeature readNextFeature() {
+        if (rowValues == null) {
+            rowValues = new Object[featureType.getAttributeCount()];
+        }
+        String fid = readRow(rowValues);
+        if (fid == null) {
+            return null;
+        }
+        builder.addAll(rowValues);
+
+        // create the feature
+        try {
+            return builder.buildFeature(fid);
+        } catch (IllegalAttributeException e) {
+            builder.reset();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Reads up to {@code max} rows from the result set straight into the batch builder, without building the
+     * intermediate features
+     *
+     * @return The number of rows added to the batch, zero if the result set is exhausted
+     */
+    int readBatch(FeatureBatchBuilder batch, int max) throws IOException {
+        ensureOpen();
+        if (rowValues == null) {
+            rowValues = new Object[featureType.getAttributeCount()];
+        }
+        int read = 0;
+        try {
+            while (read < max && !Boolean.FALSE.equals(next)) {
+                callback.beforeNext(rs);
+                next = Boolean.valueOf(rs.next());
+                callback.afterNext(rs, next);
+
+                if (next) {
+                    String fid = readRow(rowValues);
+                    if (fid != null) {
+                        batch.add(fid, rowValues);
+                        read++;
+                    }
+                } else {
+                    callback.finish(this);
+                }
+            }
+        } catch (SQLException e) {
+            callback.rowError(e);
+            throw new IOException(e);
+        }
+        return read;
+    }
+
+    /**
+     * Reads the values of the current row in the given array, in feature type order
+     *
+     * @return The feature id, or null if the row has to be skipped
+     */
+    private String readRow(Object[] values) {
+        // if the default geometry sits on a busy pixel skip the row before encoding the fid
+        // and reading any other attribute, dense layers have most rows skipped this way. Otherwise
+        // the geometries are checked in column order, and the row dropped as soon as one is skipped
+        Object screenMapValue = null;
+        if (screenMapGeometryIndex >= 0) {
+            screenMapValue = readGeometry(screenMapGeometryIndex);
+            if (screenMapValue == SKIP) {
+                return null;
+            }
+        }
+
         // figure out the fid
         String fid;
 
@@ -359,46 +465,13 @@ protected SimpleFeature readNextFeature() {
                 Object value = null;
 
                 // is this a geometry?
-                if (type instanceof GeometryDescriptor) {
-                    GeometryDescriptor gatt = (GeometryDescriptor) type;
-
-                    // read the geometry
-                    try {
-                        value = dataStore
-                                .getSQLDialect()
-                                .decodeGeometryValue(
-                                        gatt, rs, offset + attributeRsIndex[i], geometryFactory, cx, hints);
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
-                    }
-
-                    if (value != null) {
-                        // check to see if a crs was set
-                        Geometry geometry = (Geometry) value;
-                        if (geometry.getUserData() == null) {
-                            // if not set, set from descriptor
-                            geometry.setUserData(gatt.getCoordinateReferenceSystem());
-                        }
-
-                        try {
-                            // is position already busy skip it
-                            if (screenMap != null) {
-                                if (screenMap.canSimplify(geometry.getEnvelopeInternal())) {
-                                    if (screenMap.checkAndSet(geometry.getEnvelopeInternal())) {
-                                        builder.reset();
-                                        return null;
-                                    } else {
-                                        value = screenMap.getSimplifiedShape(geometry);
-                                    }
-                                }
-                            }
-                        } catch (TransformException e) {
-                            if (LOGGER.isLoggable(Level.WARNING)) {
-                                LOGGER.log(Level.WARNING, "Failed to process screenmap checks, proceeding without", e);
-                            }
-                        }
+                if (i == screenMapGeometryIndex) {
+                    value = screenMapValue;
+                } else if (type instanceof GeometryDescriptor) {
+                    value = readGeometry(i);
+                    if (value == SKIP) {
+                        return null;
                     }
-
                 } else {
                     value = rs.getObject(offset + attributeRsIndex[i]);
                 }
@@ -433,19 +506,13 @@ protected SimpleFeature readNextFeature() {
                     }
                 }
 
-                builder.add(value);
+                values[i] = value;
             } catch (SQLException e) {
                 throw new RuntimeException(e);
             }
         }
 
-        // create the feature
-        try {
-            return builder.buildFeature(fid);
-        } catch (IllegalAttributeException e) {
-            builder.reset();
-            throw new RuntimeException(e);
-        }
+        return fid;
     }
 
     protected void ensureNext() {
@@ -488,6 +555,52 @@ public SimpleFeature next() throws IOException, IllegalArgumentException, NoSuch
         }
     }
 
+    /**
+     * Reads the geometry at the specified attribute index, checking it against the screenmap, if any. Returns
+     * {@link #SKIP} if the geometry sits in a pixel that has already been used, or the geometry (possibly simplified)
+     * otherwise.
+     */
+    private Object readGeometry(int i) {
+        GeometryDescriptor gatt = (GeometryDescriptor) featureType.getDescriptor(i);
+
+        // read the geometry
+        Object value;
+        try {
+            value = dataStore
+                    .getSQLDialect()
+                    .decodeGeometryValue(gatt, rs, offset + attributeRsIndex[i], geometryFactory, cx, hints);
+        } catch (IOException | SQLException e) {
+            throw new RuntimeException(e);
+        }
+
+        if (value != null) {
+            // check to see if a crs was set
+            Geometry geometry = (Geometry) value;
+            if (geometry.getUserData() == null) {
+                // if not set, set from descriptor
+                geometry.setUserData(gatt.getCoordinateReferenceSystem());
+            }
+
+            try {
+                // is position already busy skip it
+                if (screenMap != null) {
+                    if (screenMap.canSimplify(geometry.getEnvelopeInternal())) {
+                        if (screenMap.checkAndSet(geometry.getEnvelopeInternal())) {
+                            return SKIP;
+                        } else {
+                            value = screenMap.getSimplifiedShape(geometry);
+                        }
+                    }
+                }
+            } catch (TransformException e) {
+                if (LOGGER.isLoggable(Level.WARNING)) {
+                    LOGGER.log(Level.WARNING, "Failed to process screenmap checks, proceeding without", e);
+                }
+            }
+        }
+        return value;
+    }
+
     /**
      * Builds an array containing the position in the result set for each attribute. It takes into account that rs
      * positions start by one, about the exposed primary keys, and the fact that exposed pk can be only partially
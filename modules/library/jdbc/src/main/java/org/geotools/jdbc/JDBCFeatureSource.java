@@ -51,6 +51,8 @@
 import org.geotools.data.ReTypeFeatureReader;
 import org.geotools.data.store.ContentEntry;
 import org.geotools.data.store.ContentFeatureSource;
+import org.geotools.data.store.FeatureBatchReader;
+import org.geotools.data.store.FeatureReaderBatchReader;
 import org.geotools.feature.AttributeTypeBuilder;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
 import org.geotools.feature.visitor.MaxVisitor;
@@ -620,7 +622,8 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
                     String sql = getDataStore().selectSQL(querySchema, preQuery);
                     getDataStore().getLogger().fine(sql);
 
-                    reader = new JDBCFeatureReader(sql, cx, this, querySchema, query);
+                    int fetchSize = getDataStore().getFetchSize(querySchema, preQuery);
+                    reader = new JDBCFeatureReader(sql, cx, this, querySchema, query, fetchSize);
                 }
             } else {
                 JoinInfo join = JoinInfo.create(preQuery, this);
@@ -633,7 +636,8 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
                     String sql = getDataStore().selectJoinSQL(querySchema, join, preQuery);
                     getDataStore().getLogger().fine(sql);
 
-                    reader = new JDBCJoiningFeatureReader(sql, cx, this, querySchema, join, query);
+                    int fetchSize = getDataStore().getFetchSize(querySchema, preQuery);
+                    reader = new JDBCJoiningFeatureReader(sql, cx, this, querySchema, join, query, fetchSize);
                 }
 
                 // check for post filters
@@ -642,6 +646,13 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
                     // TODO: retyping
                 }
             }
+
+            // read ahead in a background thread, only if the connection is not shared with a
+            // transaction, as it will be used by the producer thread while the reader is open
+            int readAhead = getDataStore().getReadAhead();
+            if (readAhead > 0 && getState().getTransaction() == Transaction.AUTO_COMMIT) {
+                reader = new JDBCPrefetchingFeatureReader(reader, readAhead, getDataStore().getReadAheadExecutor());
+            }
         } catch (Throwable e) { // NOSONAR
             // close the connection
             getDataStore().closeSafe(cx);
@@ -678,6 +689,17 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
         return reader;
     }
 
+    @Override
+    protected FeatureBatchReader getBatchReaderInternal(Query query, int batchSize) throws IOException {
+        FeatureReader<SimpleFeatureType, SimpleFeature> reader = getReaderInternal(query);
+        // plain readers can fill the batches straight from the result set, joining, post filtering
+        // and read ahead wrappers are consumed feature by feature instead
+        if (reader.getClass() == JDBCFeatureReader.class) {
+            return new JDBCFeatureBatchReader((JDBCFeatureReader) reader, batchSize);
+        }
+        return new FeatureReaderBatchReader(reader, batchSize);
+    }
+
     SimpleFeatureType[] buildQueryAndReturnFeatureTypes(
             SimpleFeatureType featureType, String[] propertyNames, Filter filter) {
 
@@ -41,6 +41,7 @@
 import org.geotools.data.store.ContentEntry;
 import org.geotools.data.store.ContentFeatureStore;
 import org.geotools.data.store.ContentState;
+import org.geotools.data.store.FeatureBatchReader;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.util.factory.Hints;
 import org.locationtech.jts.geom.Geometry;
@@ -216,6 +217,11 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
         return delegate.getReaderInternal(query);
     }
 
+    @Override
+    protected FeatureBatchReader getBatchReaderInternal(Query query, int batchSize) throws IOException {
+        return delegate.getBatchReaderInternal(query, batchSize);
+    }
+
     @Override
     protected boolean handleVisitor(Query query, FeatureVisitor visitor) throws IOException {
         return delegate.handleVisitor(query, visitor);
@@ -128,6 +128,9 @@ protected void setupParameters(Map<String, Object> parameters) {
         parameters.put(NAMESPACE.key, NAMESPACE);
         parameters.put(FETCHSIZE.key, FETCHSIZE);
         parameters.put(BATCH_INSERT_SIZE.key, BATCH_INSERT_SIZE);
+        parameters.put(MULTI_ROW_INSERTS.key, MULTI_ROW_INSERTS);
+        parameters.put(ADAPTIVE_FETCH_SIZE.key, ADAPTIVE_FETCH_SIZE);
+        parameters.put(READ_AHEAD.key, READ_AHEAD);
         parameters.put(EXPOSE_PK.key, EXPOSE_PK);
         parameters.put(PK_METADATA_TABLE.key, PK_METADATA_TABLE);
         parameters.put(SQL_ON_BORROW.key, SQL_ON_BORROW);
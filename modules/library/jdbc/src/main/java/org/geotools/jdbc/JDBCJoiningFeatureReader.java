@@ -50,9 +50,21 @@ public JDBCJoiningFeatureReader(
             JoinInfo join,
             Query query)
             throws SQLException, IOException {
+        this(sql, cx, featureSource, featureType, join, query, featureSource.getDataStore().getFetchSize());
+    }
+
+    public JDBCJoiningFeatureReader(
+            String sql,
+            Connection cx,
+            JDBCFeatureSource featureSource,
+            SimpleFeatureType featureType,
+            JoinInfo join,
+            Query query,
+            int fetchSize)
+            throws SQLException, IOException {
 
         // super(sql, cx, featureSource, retype(featureType, join), hints);
-        super(sql, cx, featureSource, featureType, query);
+        super(sql, cx, featureSource, featureType, query, fetchSize);
 
         init(cx, featureSource, featureType, join, query);
     }
@@ -0,0 +1,222 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.data.DelegatingFeatureReader;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.util.logging.Logging;
+
+/**
+ * A feature reader that reads ahead of the consumer, decoding features from the delegate in a background thread and
+ * handing them over in batches through a bounded queue. This allows the database round trips and the feature decoding
+ * to overlap with whatever the consumer does with the features, e.g., rendering them.
+ *
+ * <p>The delegate is accessed only by the producer thread until it terminates, and closed by the thread calling
+ * {@link #close()}, after the producer has been stopped, or right away if the closing thread gets interrupted while
+ * waiting for it. As a result, the delegate connection must not be shared with other readers or writers while this
+ * reader is open.
+ *
+ * <p>Closing the reader before reaching the end stops the producer as soon as the feature it is decoding is complete,
+ * the current database round trip, if any, is not interrupted.
+ */
+public class JDBCPrefetchingFeatureReader implements DelegatingFeatureReader<SimpleFeatureType, SimpleFeature> {
+
+    static final Logger LOGGER = Logging.getLogger(JDBCPrefetchingFeatureReader.class);
+
+    /** The largest number of features handed over to the consumer at once */
+    static final int MAX_BATCH_SIZE = 256;
+
+    /** Marks the end of the features, or the producer failure */
+    private static final List<SimpleFeature> END = Collections.emptyList();
+
+    /** How long the producer waits for the queue to free up before checking for cancellation */
+    private static final long OFFER_TIMEOUT_MS = 100;
+
+    FeatureReader<SimpleFeatureType, SimpleFeature> delegate;
+
+    BlockingQueue<List<SimpleFeature>> queue;
+
+    int batchSize;
+
+    FutureTask<Void> producer;
+
+    volatile boolean cancelled;
+
+    volatile Throwable failure;
+
+    List<SimpleFeature> batch;
+
+    int batchIndex;
+
+    boolean finished;
+
+    /**
+     * Builds a new prefetching reader and starts reading from the delegate.
+     *
+     * @param delegate The reader features are read from
+     * @param readAhead The number of features that can be read ahead of the consumer
+     * @param executor The executor running the producer, it must not run the task in the calling thread
+     */
+    public JDBCPrefetchingFeatureReader(
+            FeatureReader<SimpleFeatureType, SimpleFeature> delegate, int readAhead, Executor executor) {
+        if (readAhead <= 0) {
+            throw new IllegalArgumentException("The read ahead must be positive, but was " + readAhead);
+        }
+        this.delegate = delegate;
+        // small batches keep the consumer fed early on, while still cutting the synchronization
+        // overhead to a fraction of a feature by feature hand over
+        this.batchSize = Math.max(1, Math.min(MAX_BATCH_SIZE, readAhead / 4));
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, readAhead / batchSize));
+        this.producer = new FutureTask<>(this::produce, null);
+        executor.execute(producer);
+    }
+
+    @Override
+    public FeatureReader<SimpleFeatureType, SimpleFeature> getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public SimpleFeatureType getFeatureType() {
+        return delegate.getFeatureType();
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        if (batch != null && batchIndex < batch.size()) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+        if (producer == null) {
+            throw new IOException("Reader has been closed");
+        }
+
+        try {
+            batch = queue.take();
+            batchIndex = 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the next features", e);
+        }
+        if (batch == END) {
+            finished = true;
+            batch = null;
+            rethrowFailure();
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public SimpleFeature next() throws IOException, IllegalArgumentException, NoSuchElementException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more features available");
+        }
+        return batch.get(batchIndex++);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (producer == null) {
+            return;
+        }
+        try {
+            cancelled = true;
+            // free up space in case the producer is waiting on a full queue
+            queue.clear();
+            producer.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // the producer might still be decoding a feature, but leaking the connection is worse
+            LOGGER.log(Level.WARNING, "Interrupted while waiting for the read ahead to stop", e);
+        } catch (ExecutionException e) {
+            // produce() does not throw, but keep track of it anyways
+            LOGGER.log(Level.FINE, "Read ahead failed", e);
+        } finally {
+            producer = null;
+            batch = null;
+            queue.clear();
+            delegate.close();
+        }
+    }
+
+    /** Reads from the delegate until the end, cancellation or failure, and queues up the features in batches */
+    private void produce() {
+        try {
+            List<SimpleFeature> features = new ArrayList<>(batchSize);
+            while (!cancelled && delegate.hasNext()) {
+                features.add(delegate.next());
+                if (features.size() == batchSize) {
+                    offer(features);
+                    features = new ArrayList<>(batchSize);
+                }
+            }
+            if (!features.isEmpty()) {
+                offer(features);
+            }
+        } catch (Throwable t) { // NOSONAR
+            failure = t;
+        } finally {
+            try {
+                offer(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** Queues up the batch, waiting for space to free up, unless the reader gets closed in the meantime */
+    private void offer(List<SimpleFeature> features) throws InterruptedException {
+        while (!cancelled) {
+            if (queue.offer(features, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        }
+    }
+
+    private void rethrowFailure() throws IOException {
+        Throwable t = failure;
+        if (t == null) {
+            return;
+        }
+        if (t instanceof IOException) {
+            throw new IOException(t.getMessage(), t);
+        } else if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        } else if (t instanceof Error) {
+            throw (Error) t;
+        }
+        throw new IOException(t);
+    }
+}
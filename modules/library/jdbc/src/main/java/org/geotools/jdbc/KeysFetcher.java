@@ -116,6 +116,26 @@ public void setKeyValues(
         }
     }
 
+    /**
+     * Returns the key values for a feature loaded in bulk, after a successful {@link #prefetch(Connection, int)}, and
+     * reports the feature id as user data.
+     */
+    public List<Object> getKeyValues(Connection cx, SimpleFeatureType featureType, SimpleFeature feature)
+            throws IOException, SQLException {
+        List<Object> keyValues = getNextValues(cx, feature);
+        String fid = featureType.getTypeName() + "." + JDBCDataStore.encodeFID(keyValues);
+        feature.getUserData().put("fid", fid);
+        return keyValues;
+    }
+
+    /**
+     * Fetches in bulk the key values for the next <tt>count</tt> features, so that none of them has to be looked up
+     * after the insert.
+     *
+     * @return false if some key value can only be known after the insert
+     */
+    public abstract boolean prefetch(Connection cx, int count) throws IOException, SQLException;
+
     public abstract void addKeyColumns(StringBuffer sql);
 
     public abstract void addKeyBindings(StringBuffer sql);
@@ -200,6 +220,11 @@ public boolean isPostInsert() {
             return false;
         }
 
+        @Override
+        public boolean prefetch(Connection cx, int count) {
+            return true;
+        }
+
         @Override
         public List<Object> getNextValues(Connection cx, SimpleFeature feature) {
             return JDBCDataStore.decodeFID(key, feature.getID(), true);
@@ -307,6 +332,16 @@ public boolean isPostInsert() {
             return false;
         }
 
+        @Override
+        public boolean prefetch(Connection cx, int count) throws IOException, SQLException {
+            for (KeyFetcher fetcher : fetchers) {
+                if (!fetcher.prefetch(cx, count)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         private List<Object> getLastValues(Connection cx, Statement st) throws SQLException {
             List<Object> last = new ArrayList<>();
             for (KeyFetcher fetcher : fetchers) {
@@ -370,6 +405,11 @@ public Object getLastValue(Connection cx) throws SQLException {
 
         public abstract boolean isPostInsert();
 
+        /** Fetches the next <tt>count</tt> values before insert, returns false if that is not possible. */
+        public boolean prefetch(Connection cx, int count) throws IOException, SQLException {
+            return !isPostInsert();
+        }
+
         public boolean isAutoGenerated() {
             return false;
         }
@@ -538,6 +578,7 @@ public boolean isAutoGenerated() {
 
     private static class FromSequence extends KeyFetcher {
         private final JDBCDataStore ds;
+        private Iterator<Object> prefetched;
 
         public FromSequence(JDBCDataStore ds, PrimaryKeyColumn col) {
             super(ds, col);
@@ -562,13 +603,28 @@ public Object getLastValue(Connection cx, Statement st) throws SQLException {
 
         @Override
         public boolean isPostInsert() {
-            return ds.getSQLDialect().lookupGeneratedValuesPostInsert()
+            return prefetched == null
+                    && ds.getSQLDialect().lookupGeneratedValuesPostInsert()
                     && ds.getSQLDialect() instanceof PreparedStatementSQLDialect;
         }
 
+        @Override
+        public boolean prefetch(Connection cx, int count) throws SQLException {
+            String sequenceName = ((SequencedPrimaryKeyColumn) col).getSequenceName();
+            List<Object> values =
+                    ds.getSQLDialect().getNextSequenceValues(ds.getDatabaseSchema(), sequenceName, count, cx);
+            if (values == null || values.size() < count) {
+                return false;
+            }
+            prefetched = values.iterator();
+            return true;
+        }
+
         @Override
         public Object getNext(Connection cx) throws IOException, SQLException {
-            if (isPostInsert()) {
+            if (prefetched != null && prefetched.hasNext()) {
+                return prefetched.next();
+            } else if (isPostInsert()) {
                 return NOT_SET_BEFORE_INSERT;
             } else {
                 String sequenceName = ((SequencedPrimaryKeyColumn) col).getSequenceName();
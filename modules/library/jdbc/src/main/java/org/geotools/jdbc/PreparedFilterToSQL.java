@@ -52,6 +52,15 @@ public class PreparedFilterToSQL extends FilterToSQL {
     protected PreparedStatementSQLDialect dialect;
     boolean prepareEnabled = true;
 
+    /**
+     * For each literal value, the expression it was evaluated from and the evaluation target class, used by the
+     * {@link SQLTemplateCache} to replay the evaluation against other filters with the same structure. The expression
+     * is null for values not coming from a literal.
+     */
+    List<Literal> literalExpressions = new ArrayList<>();
+
+    List<Class> literalTargets = new ArrayList<>();
+
     /** Contructor taking a reference to the SQL dialect, will use it to encode geometry placeholders */
     public PreparedFilterToSQL(PreparedStatementSQLDialect dialect) {
         this.dialect = dialect;
@@ -75,6 +84,7 @@ public Object visit(Literal expression, Object context) throws RuntimeException
         if (!prepareEnabled) return super.visit(expression, context);
 
         Class clazz = getTargetClassFromContext(context);
+        Class target = clazz;
 
         // evaluate the literal and store it for later
         Object literalValue = evaluateLiteral(expression, clazz);
@@ -95,6 +105,8 @@ public Object visit(Literal expression, Object context) throws RuntimeException
         dimensions.add(currentDimension);
         descriptors.add(context instanceof AttributeDescriptor ? (AttributeDescriptor) context : null);
         literalTypes.add(clazz);
+        literalExpressions.add(expression);
+        literalTargets.add(target);
 
         try {
             if (literalValue == null || dialect == null) {
@@ -178,6 +190,8 @@ public Object visit(Id filter, Object extraData) {
                     // if it's not null, we can also infer the type
                     literalTypes.add(attValues.get(j) != null ? attValues.get(j).getClass() : null);
                     descriptors.add(null);
+                    literalExpressions.add(null);
+                    literalTargets.add(null);
 
                     if (j < (attValues.size() - 1)) {
                         out.write(" AND ");
@@ -299,6 +299,18 @@ public PreparedFilterToSQL createPreparedFilterToSQL() {
         return f2s;
     }
 
+    /**
+     * Returns the maximum number of parameters that can be bound in a single INSERT statement carrying several VALUES
+     * tuples, or 0 if the database does not support multi row inserts.
+     *
+     * <p>When positive, and {@link JDBCDataStore#isMultiRowInsertEnabled()} is set, batches of new features are written
+     * with as many rows per statement as fit in the limit, instead of one batched statement per feature. The default
+     * implementation returns 0.
+     */
+    public int getMaxMultiRowInsertParameters() {
+        return 0;
+    }
+
     // callback methods
     /**
      * Callback invoked before a SELECT statement is executed against the database.
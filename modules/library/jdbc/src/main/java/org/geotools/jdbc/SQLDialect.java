@@ -1061,6 +1061,73 @@ public String encodeNextSequenceValue(String schemaName, String sequenceName) {
         return null;
     }
 
+    /**
+     * Obtains the next <tt>count</tt> values of a sequence in one round trip, used when loading features in bulk.
+     *
+     * <p>The default implementation calls {@link #getNextSequenceValue(String, String, Connection)} once per value,
+     * subclasses able to fetch several values at once should override.
+     *
+     * @param schemaName The schema name, this might be <code>null</code>.
+     * @param sequenceName The name of the sequence.
+     * @param count The number of values to fetch.
+     * @param cx The database connection.
+     * @return The next values of the sequence, or <code>null</code> if they cannot be obtained before insert.
+     */
+    public List<Object> getNextSequenceValues(String schemaName, String sequenceName, int count, Connection cx)
+            throws SQLException {
+        List<Object> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Object value = getNextSequenceValue(schemaName, sequenceName, cx);
+            if (value == null) {
+                return null;
+            }
+            values.add(value);
+        }
+        return values;
+    }
+
+    /**
+     * Returns true if this dialect may load rows through {@link #bulkInsert(String, String, List, List, Connection)} at
+     * all. Checked before the columns are described, {@link #isBulkInsertSupported(List)} then decides for the actual
+     * columns. The default implementation returns false.
+     */
+    public boolean isBulkInsertSupported() {
+        return false;
+    }
+
+    /**
+     * Returns true if this dialect can load rows with the given columns through {@link #bulkInsert(String, String,
+     * List, List, Connection)}.
+     *
+     * <p>The columns carry the name and binding of each value, plus the native srid and dimension for geometries. The
+     * default implementation returns false, meaning features are inserted with regular INSERT statements.
+     */
+    public boolean isBulkInsertSupported(List<ColumnMetadata> columns) {
+        return false;
+    }
+
+    /**
+     * Loads a set of rows in a single bulk operation, for example a COPY or a LOAD DATA command.
+     *
+     * <p>This method is called only if {@link #isBulkInsertSupported(List)} returned true for the same columns, and
+     * with all primary key values already computed. Each row holds the values in the same order as the columns,
+     * geometries are already linearized if the column does not support curves.
+     *
+     * <p>This method is given a direct connection to the database, but this connection should never be closed. However
+     * any statements or result sets instantiated from the connection must be closed.
+     *
+     * @param schemaName The schema name, this might be <code>null</code>.
+     * @param tableName The name of the table.
+     * @param columns The columns being loaded.
+     * @param rows The values to load.
+     * @param cx The database connection.
+     */
+    public void bulkInsert(
+            String schemaName, String tableName, List<ColumnMetadata> columns, List<Object[]> rows, Connection cx)
+            throws SQLException, IOException {
+        throw new UnsupportedOperationException("Bulk insert is not supported by this dialect");
+    }
+
     /**
      * Returns true if this dialect can encode both {@linkplain Query#getStartIndex()} and
      * {@linkplain Query#getMaxFeatures()} into native SQL.
@@ -1079,6 +1146,16 @@ public boolean isGroupBySupported() {
         return true;
     }
 
+    /**
+     * Returns true if the columns of the current row can be read in any order. Some drivers stream the row and only
+     * allow reading the columns left to right. The default implementation returns false.
+     *
+     * @since 34
+     */
+    public boolean isOutOfOrderColumnReadSupported() {
+        return false;
+    }
+
     /**
      * Alters the query provided so that limit and offset are natively dealt with. This might mean simply appending some
      * extra directive to the query, or wrapping it into a bigger one.
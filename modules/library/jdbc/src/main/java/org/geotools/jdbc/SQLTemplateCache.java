@@ -0,0 +1,433 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.filter.BinaryComparisonOperator;
+import org.geotools.api.filter.BinaryLogicOperator;
+import org.geotools.api.filter.ExcludeFilter;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.IncludeFilter;
+import org.geotools.api.filter.Not;
+import org.geotools.api.filter.PropertyIsBetween;
+import org.geotools.api.filter.PropertyIsLike;
+import org.geotools.api.filter.PropertyIsNil;
+import org.geotools.api.filter.PropertyIsNull;
+import org.geotools.api.filter.expression.BinaryExpression;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Function;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.expression.NilExpression;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.api.filter.spatial.BinarySpatialOperator;
+import org.geotools.api.filter.spatial.DistanceBufferOperator;
+import org.geotools.api.filter.temporal.BinaryTemporalOperator;
+import org.geotools.data.jdbc.FilterToSQLException;
+import org.geotools.geometry.jts.JTS;
+import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * Caches the prepared statement SQL encoding of filters by their structure, that is, the filter with all the literals
+ * replaced by placeholders, so that filters differing only in their literal values, like the BBOX filters issued while
+ * rendering tiles, skip the filter to SQL encoding.
+ *
+ * <p>A template is built out of a regular encoding, mapping each prepared statement parameter back to the literal it
+ * was evaluated from. Since encoders are free to look at the literal values while encoding, a template is used only
+ * after a second encoding of the same structure produced the same SQL, and filters whose literals are not all turned
+ * into parameters are never cached. Ids, native filters and unknown filter or expression types are not cached either.
+ *
+ * <p>As a side effect, the same filter structure always results in the same SQL string, which allows the connection
+ * pool prepared statement cache and the database query plan cache to be effective.
+ */
+class SQLTemplateCache {
+
+    static final Logger LOGGER = Logging.getLogger(SQLTemplateCache.class);
+
+    /** Marks filter structures whose encoding cannot be replayed */
+    static final Template NOT_CACHEABLE = new Template(null, null, null);
+
+    /** The encoded filter, along with the encoder holding the prepared statement parameters */
+    static class Encoded {
+        final String sql;
+
+        final PreparedFilterToSQL toSQL;
+
+        Encoded(String sql, PreparedFilterToSQL toSQL) {
+            this.sql = sql;
+            this.toSQL = toSQL;
+        }
+    }
+
+    final int maxSize;
+
+    final Map<Key, Template> templates;
+
+    final LongAdder hits = new LongAdder();
+
+    final LongAdder misses = new LongAdder();
+
+    SQLTemplateCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.templates = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Template> eldest) {
+                return size() > SQLTemplateCache.this.maxSize;
+            }
+        });
+    }
+
+    /**
+     * Encodes the filter, replaying a cached template if possible.
+     *
+     * @param schema The full schema the filter is encoded against
+     * @param filter The filter
+     * @param encoders Provides the encoders to be used when the filter cannot be replayed
+     * @param dialect The dialect, used to build the encoder holding the replayed parameters
+     */
+    Encoded encode(
+            SimpleFeatureType schema,
+            Filter filter,
+            Supplier<PreparedFilterToSQL> encoders,
+            PreparedStatementSQLDialect dialect)
+            throws FilterToSQLException {
+        Shape shape = Shape.of(filter);
+        Key key = shape != null ? new Key(schema, shape.key) : null;
+        Template template = key != null ? templates.get(key) : NOT_CACHEABLE;
+        if (template != null && template.verified) {
+            PreparedFilterToSQL toSQL = template.replay(shape, dialect);
+            if (toSQL != null) {
+                hits.increment();
+                return new Encoded(template.sql, toSQL);
+            }
+        }
+
+        // regular encoding
+        misses.increment();
+        PreparedFilterToSQL toSQL = encoders.get();
+        String sql = toSQL.encodeToString(filter);
+        if (template == NOT_CACHEABLE || (template != null && template.verified)) {
+            return new Encoded(sql, toSQL);
+        }
+
+        Template candidate = Template.build(sql, toSQL, shape);
+        if (candidate == null) {
+            templates.put(key, NOT_CACHEABLE);
+        } else if (template == null) {
+            templates.put(key, candidate);
+        } else if (template.sameAs(candidate)) {
+            candidate.verified = true;
+            templates.put(key, candidate);
+        } else {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Filter encoding depends on literal values, won't be cached: " + shape.key);
+            }
+            templates.put(key, NOT_CACHEABLE);
+        }
+        return new Encoded(sql, toSQL);
+    }
+
+    /** Number of encodings satisfied by a template */
+    long getHitCount() {
+        return hits.sum();
+    }
+
+    /** Number of encodings performed by the filter encoder */
+    long getMissCount() {
+        return misses.sum();
+    }
+
+    /** Number of cached filter structures */
+    int size() {
+        return templates.size();
+    }
+
+    /** Clears the cached templates */
+    void clear() {
+        templates.clear();
+    }
+
+    /** Cache key, the full schema, compared by identity, and the filter structure */
+    static final class Key {
+        final SimpleFeatureType schema;
+
+        final String shape;
+
+        Key(SimpleFeatureType schema, String shape) {
+            this.schema = schema;
+            this.shape = shape;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return schema == other.schema && shape.equals(other.shape);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(schema) + shape.hashCode();
+        }
+    }
+
+    /** A filter encoding, with the recipe to rebuild its parameters out of another filter with the same structure */
+    static final class Template {
+        final String sql;
+
+        /** For each parameter, the position of the literal it comes from */
+        final int[] literals;
+
+        /** For each parameter, the class of the value in the sample encoding */
+        final Class<?>[] valueClasses;
+
+        List<Class> targets;
+
+        List<Class> types;
+
+        List<Integer> srids;
+
+        List<Integer> dimensions;
+
+        List<AttributeDescriptor> descriptors;
+
+        volatile boolean verified;
+
+        Template(String sql, int[] literals, Class<?>[] valueClasses) {
+            this.sql = sql;
+            this.literals = literals;
+            this.valueClasses = valueClasses;
+        }
+
+        /** Builds a template out of an encoding, or returns null if the parameters cannot be tracked to literals */
+        static Template build(String sql, PreparedFilterToSQL toSQL, Shape shape) {
+            int size = toSQL.literalValues.size();
+            if (toSQL.literalExpressions.size() != size
+                    || toSQL.literalTypes.size() != size
+                    || toSQL.SRIDs.size() != size
+                    || toSQL.dimensions.size() != size
+                    || toSQL.descriptors.size() != size) {
+                // the encoder added values on its own
+                return null;
+            }
+
+            int[] literals = new int[size];
+            Class<?>[] valueClasses = new Class<?>[size];
+            boolean[] used = new boolean[shape.literals.size()];
+            for (int i = 0; i < size; i++) {
+                Integer position = shape.positions.get(toSQL.literalExpressions.get(i));
+                if (position == null) {
+                    return null;
+                }
+                literals[i] = position;
+                used[position] = true;
+                Object value = toSQL.literalValues.get(i);
+                valueClasses[i] = value != null ? value.getClass() : null;
+            }
+            for (boolean u : used) {
+                // a literal has been encoded in the SQL
+                if (!u) return null;
+            }
+
+            Template template = new Template(sql, literals, valueClasses);
+            template.targets = new ArrayList<>(toSQL.literalTargets);
+            template.types = new ArrayList<>(toSQL.literalTypes);
+            template.srids = new ArrayList<>(toSQL.SRIDs);
+            template.dimensions = new ArrayList<>(toSQL.dimensions);
+            template.descriptors = new ArrayList<>(toSQL.descriptors);
+            return template;
+        }
+
+        boolean sameAs(Template other) {
+            return sql.equals(other.sql)
+                    && Arrays.equals(literals, other.literals)
+                    && Arrays.equals(valueClasses, other.valueClasses)
+                    && targets.equals(other.targets)
+                    && types.equals(other.types)
+                    && srids.equals(other.srids)
+                    && dimensions.equals(other.dimensions);
+        }
+
+        /** Evaluates the parameters against the filter literals, or returns null if their types do not match */
+        PreparedFilterToSQL replay(Shape shape, PreparedStatementSQLDialect dialect) {
+            PreparedFilterToSQL toSQL = new PreparedFilterToSQL(dialect);
+            for (int i = 0; i < literals.length; i++) {
+                Literal literal = shape.literals.get(literals[i]);
+                Object value = toSQL.evaluateLiteral(literal, targets.get(i));
+                if (value instanceof Envelope
+                        && valueClasses[i] != null
+                        && !Envelope.class.isAssignableFrom(valueClasses[i])) {
+                    // turned into a polygon by the encoder
+                    value = JTS.toGeometry((Envelope) value);
+                }
+                Class<?> valueClass = value != null ? value.getClass() : null;
+                if (valueClass != valueClasses[i]) {
+                    return null;
+                }
+                toSQL.literalValues.add(value);
+            }
+            toSQL.literalTypes.addAll(types);
+            toSQL.SRIDs.addAll(srids);
+            toSQL.dimensions.addAll(dimensions);
+            toSQL.descriptors.addAll(descriptors);
+            return toSQL;
+        }
+    }
+
+    /** The structure of a filter, as a string key, and its literals, in traversal order */
+    static final class Shape {
+
+        final StringBuilder sb = new StringBuilder();
+
+        final List<Literal> literals = new ArrayList<>();
+
+        final Map<Literal, Integer> positions = new IdentityHashMap<>();
+
+        String key;
+
+        /** Returns the shape of the filter, or null if the filter cannot be cached */
+        static Shape of(Filter filter) {
+            Shape shape = new Shape();
+            if (!shape.filter(filter)) {
+                return null;
+            }
+            shape.key = shape.sb.toString();
+            return shape;
+        }
+
+        private boolean filter(Filter f) {
+            if (f == null) {
+                return false;
+            }
+            sb.append(f.getClass().getName()).append('(');
+            boolean result;
+            if (f instanceof IncludeFilter || f instanceof ExcludeFilter) {
+                result = true;
+            } else if (f instanceof BinaryLogicOperator) {
+                result = true;
+                for (Filter child : ((BinaryLogicOperator) f).getChildren()) {
+                    result &= filter(child);
+                }
+            } else if (f instanceof Not) {
+                result = filter(((Not) f).getFilter());
+            } else if (f instanceof BinaryComparisonOperator) {
+                BinaryComparisonOperator op = (BinaryComparisonOperator) f;
+                sb.append(op.isMatchingCase()).append(',').append(op.getMatchAction());
+                result = expression(op.getExpression1()) && expression(op.getExpression2());
+            } else if (f instanceof PropertyIsBetween) {
+                PropertyIsBetween between = (PropertyIsBetween) f;
+                sb.append(between.getMatchAction());
+                result = expression(between.getLowerBoundary())
+                        && expression(between.getExpression())
+                        && expression(between.getUpperBoundary());
+            } else if (f instanceof PropertyIsLike) {
+                // the pattern is encoded in the SQL, part of the structure
+                PropertyIsLike like = (PropertyIsLike) f;
+                sb.append(like.getLiteral())
+                        .append(',')
+                        .append(like.getWildCard())
+                        .append(',')
+                        .append(like.getSingleChar())
+                        .append(',')
+                        .append(like.getEscape())
+                        .append(',')
+                        .append(like.isMatchingCase())
+                        .append(',')
+                        .append(like.getMatchAction());
+                result = expression(like.getExpression());
+            } else if (f instanceof PropertyIsNull) {
+                result = expression(((PropertyIsNull) f).getExpression());
+            } else if (f instanceof PropertyIsNil) {
+                PropertyIsNil nil = (PropertyIsNil) f;
+                sb.append(nil.getNilReason());
+                result = expression(nil.getExpression());
+            } else if (f instanceof BinarySpatialOperator) {
+                BinarySpatialOperator op = (BinarySpatialOperator) f;
+                if (op instanceof DistanceBufferOperator) {
+                    DistanceBufferOperator distance = (DistanceBufferOperator) op;
+                    sb.append(distance.getDistance()).append(',').append(distance.getDistanceUnits());
+                }
+                sb.append(op.getMatchAction());
+                result = expression(op.getExpression1()) && expression(op.getExpression2());
+            } else if (f instanceof BinaryTemporalOperator) {
+                BinaryTemporalOperator op = (BinaryTemporalOperator) f;
+                sb.append(op.getMatchAction());
+                result = expression(op.getExpression1()) && expression(op.getExpression2());
+            } else {
+                // ids, native filters, unknown filters
+                result = false;
+            }
+            sb.append(')');
+            return result;
+        }
+
+        private boolean expression(Expression e) {
+            if (e == null) {
+                sb.append("null");
+                return true;
+            }
+            if (e instanceof Literal) {
+                Literal literal = (Literal) e;
+                if (positions.put(literal, literals.size()) != null) {
+                    // shared literal, cannot tell it apart from the others
+                    return false;
+                }
+                literals.add(literal);
+                Object value = literal.getValue();
+                sb.append('?').append(value != null ? value.getClass().getName() : "null");
+                return true;
+            }
+
+            sb.append(e.getClass().getName()).append('(');
+            boolean result;
+            if (e instanceof JoinPropertyName) {
+                result = false;
+            } else if (e instanceof PropertyName) {
+                sb.append(((PropertyName) e).getPropertyName());
+                result = true;
+            } else if (e instanceof Function) {
+                Function function = (Function) e;
+                sb.append(function.getName());
+                result = function.getFallbackValue() == null;
+                for (Expression parameter : function.getParameters()) {
+                    result &= expression(parameter);
+                }
+            } else if (e instanceof BinaryExpression) {
+                BinaryExpression binary = (BinaryExpression) e;
+                result = expression(binary.getExpression1()) && expression(binary.getExpression2());
+            } else {
+                result = e instanceof NilExpression;
+            }
+            sb.append(')');
+            return result;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.Transaction;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.store.ContentEntry;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.util.factory.Hints;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+public class AdaptiveFetchSizePolicyTest {
+
+    private CountingStore store;
+
+    private AdaptiveFetchSizePolicy policy;
+
+    private SimpleFeatureType pointType;
+
+    private SimpleFeatureType polygonType;
+
+    @Before
+    public void setUp() throws Exception {
+        store = new CountingStore();
+        store.setSQLDialect(new LimitingDialect(store));
+        policy = new AdaptiveFetchSizePolicy();
+        store.setFetchSizePolicy(policy);
+
+        // 32 + 8 + 64 = 104 bytes per row
+        pointType = DataUtilities.createType("points", "geom:Point,id:Integer,name:String");
+        // 512 + 8 + 64 = 584 bytes per row
+        polygonType = DataUtilities.createType("polygons", "geom:Polygon,id:Integer,name:String");
+    }
+
+    @Test
+    public void testDefaultPolicy() throws Exception {
+        store.setFetchSizePolicy(null);
+        store.setFetchSize(123);
+        assertEquals(123, store.getFetchSize(pointType, new Query("points")));
+    }
+
+    @Test
+    public void testRowWidth() throws Exception {
+        // the name has no length restriction, uses the default width
+        assertEquals(32 + 8 + 64, policy.getRowWidth(pointType));
+        assertEquals(512 + 8 + 64, policy.getRowWidth(polygonType));
+    }
+
+    @Test
+    public void testUnboundedQuery() throws Exception {
+        // 1MB over 104 bytes per row, capped to the max fetch size
+        assertEquals(10000, policy.getFetchSize(store, pointType, new Query("points")));
+        // 1MB over 584 bytes per row
+        assertEquals(1795, policy.getFetchSize(store, polygonType, new Query("polygons")));
+
+        policy.setMaxFetchSize(20000);
+        assertEquals(10082, policy.getFetchSize(store, pointType, new Query("points")));
+
+        // at least the minimum
+        policy.setTargetBufferSize(1000);
+        assertEquals(16, policy.getFetchSize(store, polygonType, new Query("polygons")));
+    }
+
+    @Test
+    public void testLimitedQuery() throws Exception {
+        Query query = new Query("polygons");
+        query.setMaxFeatures(10);
+        assertEquals(11, policy.getFetchSize(store, polygonType, query));
+
+        // natively paged offset does not count
+        query.setStartIndex(100);
+        assertEquals(11, policy.getFetchSize(store, polygonType, query));
+
+        // larger than the buffer, streamed
+        query.setMaxFeatures(100000);
+        assertEquals(1795, policy.getFetchSize(store, polygonType, query));
+    }
+
+    @Test
+    public void testCachedCount() throws Exception {
+        store.setCount(polygonType, 500);
+        // the table count bounds unfiltered queries
+        assertEquals(501, policy.getFetchSize(store, polygonType, new Query("polygons")));
+
+        // with a filter the count is not trusted, unless small
+        FilterFactory ff = CommonFactoryFinder.getFilterFactory();
+        Query filtered = new Query("polygons", ff.greater(ff.property("id"), ff.literal(10)));
+        assertEquals(1795, policy.getFetchSize(store, polygonType, filtered));
+        // but the max features still bounds the query
+        filtered.setMaxFeatures(100);
+        assertEquals(101, policy.getFetchSize(store, polygonType, filtered));
+
+        store.setCount(polygonType, 10);
+        filtered.setMaxFeatures(Query.DEFAULT_MAX);
+        assertEquals(11, policy.getFetchSize(store, polygonType, filtered));
+    }
+
+    @Test
+    public void testStatistics() throws Exception {
+        Query limited = new Query("points");
+        limited.setMaxFeatures(9);
+        policy.getFetchSize(store, pointType, limited);
+        policy.getFetchSize(store, pointType, new Query("points"));
+
+        assertEquals(2, policy.getQueryCount());
+        assertEquals(1, policy.getStreamingQueryCount());
+        assertEquals((10 + 10000) / 2d, policy.getAverageFetchSize(), 0d);
+
+        policy.resetStatistics();
+        assertEquals(0, policy.getQueryCount());
+        assertEquals(0, policy.getAverageFetchSize(), 0d);
+    }
+
+    private static class CountingStore extends JDBCDataStore {
+
+        void setCount(SimpleFeatureType featureType, int count) {
+            ContentEntry entry = new ContentEntry(this, featureType.getName());
+            entries.put(featureType.getName(), entry);
+            entry.getState(Transaction.AUTO_COMMIT).setCount(count);
+        }
+    }
+
+    private static class LimitingDialect extends BasicSQLDialect {
+
+        LimitingDialect(JDBCDataStore dataStore) {
+            super(dataStore);
+        }
+
+        @Override
+        public boolean isLimitOffsetSupported() {
+            return true;
+        }
+
+        @Override
+        public void encodeGeometryValue(Geometry value, int dimension, int srid, StringBuffer sql) {}
+
+        @Override
+        public void encodeGeometryEnvelope(String tableName, String geometryColumn, StringBuffer sql) {}
+
+        @Override
+        public Envelope decodeGeometryEnvelope(ResultSet rs, int column, Connection cx) {
+            return null;
+        }
+
+        @Override
+        public Geometry decodeGeometryValue(
+                GeometryDescriptor descriptor,
+                ResultSet rs,
+                String column,
+                GeometryFactory factory,
+                Connection cx,
+                Hints hints) {
+            return null;
+        }
+    }
+}
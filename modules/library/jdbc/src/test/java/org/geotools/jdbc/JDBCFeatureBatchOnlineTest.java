@@ -0,0 +1,102 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.sort.SortBy;
+import org.geotools.api.filter.sort.SortOrder;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.data.store.FeatureBatch;
+import org.geotools.data.store.FeatureBatchReader;
+import org.junit.Test;
+
+public abstract class JDBCFeatureBatchOnlineTest extends JDBCTestSupport {
+
+    @Test
+    public void testNativeBatches() throws Exception {
+        JDBCFeatureStore fs = (JDBCFeatureStore) dataStore.getFeatureSource(tname("ft1"));
+        Query query = new Query(tname("ft1"));
+        query.setSortBy(dataStore.getFilterFactory().sort(aname("intProperty"), SortOrder.ASCENDING));
+        try (FeatureBatchReader reader = fs.getBatchReader(query, 2)) {
+            assertTrue(reader instanceof JDBCFeatureBatchReader);
+            FeatureBatch batch = reader.next();
+            assertEquals(2, batch.size());
+            assertEquals(0, ((Number) batch.getColumn(aname("intProperty")).getValue(0)).intValue());
+            assertTrue(batch.getColumn(aname("geometry")) instanceof FeatureBatch.GeometryColumn);
+            assertEquals(1, reader.next().size());
+            assertFalse(reader.hasNext());
+        }
+        assertSameFeatures(fs, query);
+    }
+
+    @Test
+    public void testFilteredRetyped() throws Exception {
+        JDBCFeatureStore fs = (JDBCFeatureStore) dataStore.getFeatureSource(tname("ft1"));
+        FilterFactory ff = dataStore.getFilterFactory();
+        Filter filter = ff.greater(ff.property(aname("intProperty")), ff.literal(0));
+        Query query = new Query(tname("ft1"), filter, aname("stringProperty"), aname("doubleProperty"));
+        query.setSortBy(ff.sort(aname("intProperty"), SortOrder.DESCENDING));
+        try (FeatureBatchReader reader = fs.getBatchReader(query, 10)) {
+            FeatureBatch batch = reader.next();
+            assertEquals(2, batch.size());
+            assertEquals(2, batch.getColumnCount());
+            assertEquals("two", batch.getColumn(aname("stringProperty")).getValue(0));
+        }
+        assertSameFeatures(fs, query);
+    }
+
+    @Test
+    public void testPaging() throws Exception {
+        JDBCFeatureStore fs = (JDBCFeatureStore) dataStore.getFeatureSource(tname("ft1"));
+        Query query = new Query(tname("ft1"));
+        query.setSortBy(SortBy.NATURAL_ORDER);
+        query.setStartIndex(1);
+        query.setMaxFeatures(1);
+        assertSameFeatures(fs, query);
+    }
+
+    private void assertSameFeatures(JDBCFeatureStore fs, Query query) throws Exception {
+        List<SimpleFeature> expected = new ArrayList<>();
+        try (SimpleFeatureIterator it = fs.getFeatures(query).features()) {
+            while (it.hasNext()) {
+                expected.add(it.next());
+            }
+        }
+
+        List<SimpleFeature> actual = new ArrayList<>();
+        try (FeatureBatchReader reader = fs.getBatchReader(query, 2)) {
+            while (reader.hasNext()) {
+                actual.addAll(reader.next().toFeatures());
+            }
+        }
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getID(), actual.get(i).getID());
+            assertEquals(expected.get(i).getAttributes(), actual.get(i).getAttributes());
+        }
+    }
+}
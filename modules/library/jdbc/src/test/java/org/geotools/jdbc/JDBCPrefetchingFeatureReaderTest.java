@@ -0,0 +1,185 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.DataUtilities;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JDBCPrefetchingFeatureReaderTest {
+
+    private SimpleFeatureType type;
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        type = DataUtilities.createType("test", "id:Integer");
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testReadAll() throws Exception {
+        CountingReader delegate = new CountingReader(1000, -1);
+        try (JDBCPrefetchingFeatureReader reader = new JDBCPrefetchingFeatureReader(delegate, 40, executor)) {
+            for (int i = 0; i < 1000; i++) {
+                assertTrue(reader.hasNext());
+                assertEquals(i, reader.next().getAttribute("id"));
+            }
+            assertFalse(reader.hasNext());
+            try {
+                reader.next();
+                fail("Should have thrown a NoSuchElementException");
+            } catch (NoSuchElementException e) {
+                // fine
+            }
+        }
+        assertTrue(delegate.closed);
+        assertEquals(1, delegate.closingThreads);
+    }
+
+    @Test
+    public void testCloseEarly() throws Exception {
+        CountingReader delegate = new CountingReader(100000, -1);
+        JDBCPrefetchingFeatureReader reader = new JDBCPrefetchingFeatureReader(delegate, 10, executor);
+        assertTrue(reader.hasNext());
+        assertEquals(0, reader.next().getAttribute("id"));
+        reader.close();
+
+        // the producer is stopped before the delegate gets closed, and does not run to the end
+        assertTrue(delegate.closed);
+        assertTrue(delegate.read < 100000);
+        int read = delegate.read;
+        Thread.sleep(50);
+        assertEquals(read, delegate.read);
+
+        // closing again is harmless
+        reader.close();
+    }
+
+    @Test
+    public void testCloseInterrupted() throws Exception {
+        CountingReader delegate = new CountingReader(100000, -1);
+        JDBCPrefetchingFeatureReader reader = new JDBCPrefetchingFeatureReader(delegate, 10, executor);
+        assertTrue(reader.hasNext());
+        Thread.currentThread().interrupt();
+        try {
+            reader.close();
+            // the delegate is closed anyways, and the interrupted status preserved
+            assertTrue(delegate.closed);
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        CountingReader delegate = new CountingReader(100, 50);
+        try (JDBCPrefetchingFeatureReader reader = new JDBCPrefetchingFeatureReader(delegate, 8, executor)) {
+            int count = 0;
+            try {
+                while (reader.hasNext()) {
+                    assertEquals(count++, reader.next().getAttribute("id"));
+                }
+                fail("Should have failed");
+            } catch (IOException e) {
+                assertEquals("Failed on purpose", e.getCause().getMessage());
+            }
+            assertEquals(50, count);
+        }
+        assertTrue(delegate.closed);
+    }
+
+    @Test
+    public void testReadInBackground() throws Exception {
+        CountingReader delegate = new CountingReader(10, -1);
+        try (JDBCPrefetchingFeatureReader reader = new JDBCPrefetchingFeatureReader(delegate, 16, executor)) {
+            assertTrue(reader.hasNext());
+            assertNotEquals(Thread.currentThread(), delegate.readingThread);
+        }
+    }
+
+    /** Returns features with an increasing id, optionally failing at a given position */
+    private class CountingReader implements FeatureReader<SimpleFeatureType, SimpleFeature> {
+
+        int size;
+
+        int failAt;
+
+        volatile int read;
+
+        volatile boolean closed;
+
+        volatile Thread readingThread;
+
+        int closingThreads;
+
+        CountingReader(int size, int failAt) {
+            this.size = size;
+            this.failAt = failAt;
+        }
+
+        @Override
+        public SimpleFeatureType getFeatureType() {
+            return type;
+        }
+
+        @Override
+        public SimpleFeature next() throws IOException, IllegalArgumentException, NoSuchElementException {
+            readingThread = Thread.currentThread();
+            if (read == failAt) {
+                throw new IOException("Failed on purpose");
+            }
+            return SimpleFeatureBuilder.build(type, new Object[] {read++}, null);
+        }
+
+        @Override
+        public boolean hasNext() throws IOException {
+            if (closed) {
+                throw new IOException("Reader has been closed");
+            }
+            return read < size;
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            closingThreads++;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.PropertyIsEqualTo;
+import org.geotools.data.DataUtilities;
+import org.geotools.factory.CommonFactoryFinder;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SQLTemplateCacheTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    private SimpleFeatureType schema;
+
+    private SQLTemplateCache cache;
+
+    private Supplier<PreparedFilterToSQL> encoders;
+
+    @Before
+    public void setUp() throws Exception {
+        schema = DataUtilities.createType("test", "id:Integer,name:String");
+        cache = new SQLTemplateCache(10);
+        encoders = () -> {
+            PreparedFilterToSQL toSQL = new PreparedFilterToSQL((PreparedStatementSQLDialect) null);
+            toSQL.setFeatureType(schema);
+            toSQL.setInline(true);
+            return toSQL;
+        };
+    }
+
+    @Test
+    public void testReplay() throws Exception {
+        SQLTemplateCache.Encoded first = encode(FF.and(
+                FF.greater(FF.property("id"), FF.literal(10)), FF.equals(FF.property("name"), FF.literal("abc"))));
+        SQLTemplateCache.Encoded second = encode(FF.and(
+                FF.greater(FF.property("id"), FF.literal(20)), FF.equals(FF.property("name"), FF.literal("def"))));
+        assertEquals(2, cache.getMissCount());
+        assertEquals(first.sql, second.sql);
+
+        // verified, now replayed
+        SQLTemplateCache.Encoded third = encode(FF.and(
+                FF.greater(FF.property("id"), FF.literal(30)), FF.equals(FF.property("name"), FF.literal("ghi"))));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(first.sql, third.sql);
+        assertEquals(Arrays.asList(30, "ghi"), third.toSQL.getLiteralValues());
+        assertEquals(first.toSQL.getLiteralTypes(), third.toSQL.getLiteralTypes());
+        assertEquals(first.toSQL.getDescriptors(), third.toSQL.getDescriptors());
+
+        // a different structure is not a hit
+        encode(FF.or(FF.greater(FF.property("id"), FF.literal(30)), FF.equals(FF.property("name"), FF.literal("ghi"))));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testLiteralTypeChange() throws Exception {
+        encode(FF.equals(FF.property("id"), FF.literal("1")));
+        encode(FF.equals(FF.property("id"), FF.literal("2")));
+        // the literal cannot be converted to the attribute type, the encoding is not replayed
+        SQLTemplateCache.Encoded encoded = encode(FF.equals(FF.property("id"), FF.literal("abc")));
+        assertEquals(0, cache.getHitCount());
+        assertEquals(Arrays.asList("abc"), encoded.toSQL.getLiteralValues());
+    }
+
+    @Test
+    public void testInlinedLiterals() throws Exception {
+        encoders = () -> {
+            PreparedFilterToSQL toSQL = new PreparedFilterToSQL((PreparedStatementSQLDialect) null);
+            toSQL.setFeatureType(schema);
+            toSQL.setInline(true);
+            toSQL.setPrepareEnabled(false);
+            return toSQL;
+        };
+        SQLTemplateCache.Encoded first = encode(FF.equals(FF.property("id"), FF.literal(1)));
+        SQLTemplateCache.Encoded second = encode(FF.equals(FF.property("id"), FF.literal(2)));
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.getHitCount());
+        assertEquals("id = 1", first.sql.replace("\"", "").trim());
+        assertEquals("id = 2", second.sql.replace("\"", "").trim());
+        assertSame(
+                SQLTemplateCache.NOT_CACHEABLE,
+                cache.templates.values().iterator().next());
+    }
+
+    @Test
+    public void testValueDependentEncoding() throws Exception {
+        // an encoder looking at the values while encoding
+        encoders = () -> {
+            PreparedFilterToSQL toSQL = new PreparedFilterToSQL((PreparedStatementSQLDialect) null) {
+                @Override
+                public Object visit(PropertyIsEqualTo filter, Object extraData) {
+                    Object value = filter.getExpression2().evaluate(null, Integer.class);
+                    if (value != null && (Integer) value > 100) {
+                        try {
+                            out.write("/* large */ ");
+                        } catch (java.io.IOException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                    return super.visit(filter, extraData);
+                }
+            };
+            toSQL.setFeatureType(schema);
+            toSQL.setInline(true);
+            return toSQL;
+        };
+        encode(FF.equals(FF.property("id"), FF.literal(1)));
+        SQLTemplateCache.Encoded large = encode(FF.equals(FF.property("id"), FF.literal(1000)));
+        SQLTemplateCache.Encoded small = encode(FF.equals(FF.property("id"), FF.literal(2)));
+        assertEquals(0, cache.getHitCount());
+        assertEquals(true, large.sql.contains("large"));
+        assertEquals(false, small.sql.contains("large"));
+    }
+
+    @Test
+    public void testNotCacheable() throws Exception {
+        assertNull(SQLTemplateCache.Shape.of(FF.id(FF.featureId("test.1"))));
+        // the same literal used twice
+        PropertyIsEqualTo shared = FF.equals(FF.literal(1), FF.literal(1));
+        assertNull(SQLTemplateCache.Shape.of(FF.and(shared, shared)));
+    }
+
+    @Test
+    public void testShape() throws Exception {
+        SQLTemplateCache.Shape s1 = SQLTemplateCache.Shape.of(likeAndBetween("a%", 1, 2));
+        SQLTemplateCache.Shape s2 = SQLTemplateCache.Shape.of(likeAndBetween("a%", 3, 4));
+        SQLTemplateCache.Shape s3 = SQLTemplateCache.Shape.of(likeAndBetween("b%", 3, 4));
+        assertEquals(s1.key, s2.key);
+        assertEquals(2, s2.literals.size());
+        // the like pattern is part of the structure
+        assertEquals(false, s2.key.equals(s3.key));
+    }
+
+    private Filter likeAndBetween(String pattern, int lower, int upper) {
+        return FF.and(
+                FF.like(FF.property("name"), pattern),
+                FF.between(FF.property("id"), FF.literal(lower), FF.literal(upper)));
+    }
+
+    private SQLTemplateCache.Encoded encode(Filter filter) throws Exception {
+        return cache.encode(schema, filter, encoders, null);
+    }
+}
@@ -25,6 +25,7 @@
 import org.geotools.api.feature.IllegalAttributeException;
 import org.geotools.api.feature.type.FeatureType;
 import org.geotools.api.filter.Filter;
+import org.geotools.filter.FilterCompiler;
 import org.geotools.filter.visitor.BindingFilterVisitor;
 
 /**
@@ -55,7 +56,9 @@
      */
     public FilteringFeatureReader(FeatureReader<T, F> featureReader, Filter filter) {
         this.featureReader = featureReader;
-        this.filter = (Filter) filter.accept(new BindingFilterVisitor(featureReader.getFeatureType()), null);
+        Filter bound = (Filter) filter.accept(new BindingFilterVisitor(featureReader.getFeatureType()), null);
+        // the same filter is evaluated against every feature, compile it
+        this.filter = FilterCompiler.compile(bound);
         next = null;
     }
 
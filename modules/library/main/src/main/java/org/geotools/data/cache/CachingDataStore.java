@@ -0,0 +1,486 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.cache;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.data.DataStore;
+import org.geotools.api.data.DelegatingFeatureWriter;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.FeatureWriter;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.data.Transaction;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.Name;
+import org.geotools.api.filter.Filter;
+import org.geotools.data.store.DecoratingDataStore;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Wraps a {@link DataStore} and keeps a local copy of its feature types, so that slow or remote sources (WFS, JDBC) can
+ * be queried at memory speed.
+ *
+ * <p>Each feature type is loaded on first access into a columnar table held outside of the Java heap: numbers, dates
+ * and booleans are stored as primitives, strings are dictionary encoded, geometries are stored as packed ordinates and
+ * indexed in a packed R-tree. Queries are run against the table, using the index for the filters bounded on the default
+ * geometry and decoding only the attributes needed to evaluate the filter and build the result, features are built one
+ * at a time and never retained.
+ *
+ * <p>The total size of the tables is bounded, the least recently used ones are evicted when the limit is exceeded.
+ * Feature types that would not fit in the limit on their own are not cached and are read from the wrapped store. Tables
+ * can also expire after a given time, and can be refreshed or invalidated explicitly.
+ *
+ * <p>The feature sources returned for the cached types are read only, modifications are performed with the feature
+ * writers of this store, or on the wrapped store directly. The writers of this store invalidate the cached copy when
+ * they are closed (or when their transaction is committed). Changes made on the wrapped store directly are not seen
+ * until the cached copy expires or is refreshed.
+ */
+public class CachingDataStore extends DecoratingDataStore {
+
+    static final Logger LOGGER = Logging.getLogger(CachingDataStore.class);
+
+    private final long maxBytes;
+
+    /** The types to cache, or null to cache them all */
+    private final Set<String> typeNames;
+
+    private volatile long timeToLive;
+
+    /** The loaded tables, in access order, guarded by itself */
+    private final LinkedHashMap<String, ColumnarFeatureTable> tables = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Total size of the loaded tables, guarded by {@link #tables} */
+    private long cachedBytes;
+
+    /**
+     * Counts the invalidations, and records the last one of each type and of the whole cache. A load that started
+     * before an invalidation of its type does not store its table, as it may hold data older than the change that
+     * caused the invalidation. Guarded by {@link #tables}.
+     */
+    private long invalidations;
+
+    private final Map<String, Long> invalidatedAt = new HashMap<>();
+
+    private long allInvalidatedAt;
+
+    /** The types found to be too large to be cached, until invalidated */
+    private final Set<String> oversized = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, ReentrantLock> loadLocks = new ConcurrentHashMap<>();
+
+    private final ColumnarCacheStore cache = new ColumnarCacheStore(this);
+
+    /**
+     * Caches all the feature types of the store
+     *
+     * @param delegate The wrapped store
+     * @param maxBytes The maximum size of the cached copies, in bytes
+     */
+    public CachingDataStore(DataStore delegate, long maxBytes) {
+        this(delegate, maxBytes, (String[]) null);
+    }
+
+    /**
+     * Caches the given feature types of the store, the others are read from the wrapped store
+     *
+     * @param delegate The wrapped store
+     * @param maxBytes The maximum size of the cached copies, in bytes
+     * @param typeNames The types to be cached, or null to cache them all
+     */
+    public CachingDataStore(DataStore delegate, long maxBytes, String... typeNames) {
+        super(delegate);
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("The maximum cache size cannot be negative");
+        }
+        this.maxBytes = maxBytes;
+        this.typeNames = typeNames != null ? new HashSet<>(Arrays.asList(typeNames)) : null;
+    }
+
+    /** The wrapped store */
+    public DataStore getDelegate() {
+        return delegate;
+    }
+
+    /** The maximum size of the cached copies, in bytes */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /** The current size of the cached copies, in bytes */
+    public long getCachedBytes() {
+        synchronized (tables) {
+            return cachedBytes;
+        }
+    }
+
+    /** The time after which a cached copy is reloaded, in milliseconds, or zero if the copies never expire */
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Sets the time after which a cached copy is reloaded from the wrapped store
+     *
+     * @param timeToLive The time in milliseconds, zero or negative values mean the copies never expire
+     */
+    public void setTimeToLive(long timeToLive) {
+        this.timeToLive = Math.max(0, timeToLive);
+    }
+
+    /** Returns true if the feature type is configured to be cached */
+    public boolean isCacheable(String typeName) {
+        return typeNames == null || typeNames.contains(typeName);
+    }
+
+    /** Returns true if a copy of the feature type is currently held in the cache */
+    public boolean isCached(String typeName) {
+        synchronized (tables) {
+            return tables.containsKey(typeName);
+        }
+    }
+
+    /** Drops the cached copy of a feature type, it will be loaded again on next access */
+    public void invalidate(String typeName) {
+        oversized.remove(typeName);
+        synchronized (tables) {
+            invalidatedAt.put(typeName, ++invalidations);
+            ColumnarFeatureTable table = tables.remove(typeName);
+            if (table != null) {
+                cachedBytes -= table.getSizeInBytes();
+            }
+        }
+    }
+
+    /** Drops all the cached copies */
+    public void invalidateAll() {
+        oversized.clear();
+        synchronized (tables) {
+            allInvalidatedAt = ++invalidations;
+            tables.clear();
+            cachedBytes = 0;
+        }
+    }
+
+    /** Reloads the cached copy of a feature type from the wrapped store */
+    public void refresh(String typeName) throws IOException {
+        ReentrantLock lock = loadLocks.computeIfAbsent(typeName, n -> new ReentrantLock());
+        lock.lock();
+        try {
+            invalidate(typeName);
+            load(typeName);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the cached copy of a feature type, loading it if needed
+     *
+     * @return The table, or null if the feature type is not to be cached or is too large for the cache
+     */
+    ColumnarFeatureTable getTable(String typeName) throws IOException {
+        if (!isCacheable(typeName) || oversized.contains(typeName)) {
+            return null;
+        }
+        ColumnarFeatureTable table;
+        synchronized (tables) {
+            table = tables.get(typeName);
+        }
+        ReentrantLock lock = loadLocks.computeIfAbsent(typeName, n -> new ReentrantLock());
+        if (table != null) {
+            long ttl = timeToLive;
+            if (ttl <= 0 || System.currentTimeMillis() - table.loadTime < ttl) {
+                return table;
+            }
+            // expired, one thread reloads it while the others keep using the current copy
+            if (!lock.tryLock()) {
+                return table;
+            }
+        } else {
+            lock.lock();
+        }
+        try {
+            synchronized (tables) {
+                ColumnarFeatureTable current = tables.get(typeName);
+                if (current != null && current != table) {
+                    // loaded by another thread in the meantime
+                    return current;
+                }
+            }
+            if (oversized.contains(typeName)) {
+                return null;
+            }
+            return load(typeName);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Loads a table and evicts the least recently used ones if the cache is full, called under the type lock */
+    private ColumnarFeatureTable load(String typeName) throws IOException {
+        long started;
+        synchronized (tables) {
+            started = invalidations;
+        }
+        Query query = new Query(typeName);
+        FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                delegate.getFeatureReader(query, Transaction.AUTO_COMMIT);
+        ColumnarFeatureTable table = ColumnarFeatureTable.load(reader, maxBytes);
+        if (table == null) {
+            LOGGER.log(Level.FINE, "{0} exceeds the cache size, it will be read from the wrapped store", typeName);
+            synchronized (tables) {
+                if (isInvalidatedSince(typeName, started)) {
+                    return null;
+                }
+                ColumnarFeatureTable previous = tables.remove(typeName);
+                if (previous != null) {
+                    cachedBytes -= previous.getSizeInBytes();
+                }
+                oversized.add(typeName);
+            }
+            return null;
+        }
+        synchronized (tables) {
+            if (isInvalidatedSince(typeName, started)) {
+                // changed while loading, serve the table to this reader only
+                LOGGER.log(Level.FINE, "{0} was invalidated while loading, not caching it", typeName);
+                return table;
+            }
+            ColumnarFeatureTable previous = tables.put(typeName, table);
+            if (previous != null) {
+                cachedBytes -= previous.getSizeInBytes();
+            }
+            cachedBytes += table.getSizeInBytes();
+            Iterator<Map.Entry<String, ColumnarFeatureTable>> iterator =
+                    tables.entrySet().iterator();
+            while (cachedBytes > maxBytes && iterator.hasNext()) {
+                Map.Entry<String, ColumnarFeatureTable> eldest = iterator.next();
+                if (eldest.getValue() != table) {
+                    LOGGER.log(Level.FINE, "Evicting {0} from the cache", eldest.getKey());
+                    cachedBytes -= eldest.getValue().getSizeInBytes();
+                    iterator.remove();
+                }
+            }
+        }
+        return table;
+    }
+
+    /** Returns true if the type has been invalidated after the given invalidation count, called under the lock */
+    private boolean isInvalidatedSince(String typeName, long count) {
+        return allInvalidatedAt > count || invalidatedAt.getOrDefault(typeName, 0L) > count;
+    }
+
+    @Override
+    public SimpleFeatureSource getFeatureSource(String typeName) throws IOException {
+        if (isCacheable(typeName)) {
+            return cache.getFeatureSource(typeName);
+        }
+        return delegate.getFeatureSource(typeName);
+    }
+
+    @Override
+    public SimpleFeatureSource getFeatureSource(Name typeName) throws IOException {
+        if (isCacheable(typeName.getLocalPart())) {
+            return cache.getFeatureSource(typeName);
+        }
+        return delegate.getFeatureSource(typeName);
+    }
+
+    @Override
+    public FeatureReader<SimpleFeatureType, SimpleFeature> getFeatureReader(Query query, Transaction transaction)
+            throws IOException {
+        // pending changes in other transactions are only known by the wrapped store
+        if (isCacheable(query.getTypeName()) && (transaction == null || transaction == Transaction.AUTO_COMMIT)) {
+            return cache.getFeatureReader(query, Transaction.AUTO_COMMIT);
+        }
+        return delegate.getFeatureReader(query, transaction);
+    }
+
+    @Override
+    public FeatureWriter<SimpleFeatureType, SimpleFeature> getFeatureWriter(
+            String typeName, Filter filter, Transaction transaction) throws IOException {
+        return invalidating(typeName, delegate.getFeatureWriter(typeName, filter, transaction), transaction);
+    }
+
+    @Override
+    public FeatureWriter<SimpleFeatureType, SimpleFeature> getFeatureWriter(String typeName, Transaction transaction)
+            throws IOException {
+        return invalidating(typeName, delegate.getFeatureWriter(typeName, transaction), transaction);
+    }
+
+    @Override
+    public FeatureWriter<SimpleFeatureType, SimpleFeature> getFeatureWriterAppend(
+            String typeName, Transaction transaction) throws IOException {
+        return invalidating(typeName, delegate.getFeatureWriterAppend(typeName, transaction), transaction);
+    }
+
+    @Override
+    public void updateSchema(Name typeName, SimpleFeatureType featureType) throws IOException {
+        delegate.updateSchema(typeName, featureType);
+        schemaChanged(typeName.getLocalPart());
+    }
+
+    @Override
+    public void updateSchema(String typeName, SimpleFeatureType featureType) throws IOException {
+        delegate.updateSchema(typeName, featureType);
+        schemaChanged(typeName);
+    }
+
+    @Override
+    public void removeSchema(Name typeName) throws IOException {
+        delegate.removeSchema(typeName);
+        schemaChanged(typeName.getLocalPart());
+    }
+
+    @Override
+    public void removeSchema(String typeName) throws IOException {
+        delegate.removeSchema(typeName);
+        schemaChanged(typeName);
+    }
+
+    @Override
+    public void createSchema(SimpleFeatureType featureType) throws IOException {
+        delegate.createSchema(featureType);
+        cache.clearEntries();
+    }
+
+    private void schemaChanged(String typeName) {
+        invalidate(typeName);
+        // the cached schema and type names are rebuilt on next access
+        cache.clearEntries();
+    }
+
+    @Override
+    public void dispose() {
+        invalidateAll();
+        cache.dispose();
+        super.dispose();
+    }
+
+    /** Wraps a writer so that the cached copy is dropped once the changes are visible */
+    private FeatureWriter<SimpleFeatureType, SimpleFeature> invalidating(
+            String typeName, FeatureWriter<SimpleFeatureType, SimpleFeature> writer, Transaction transaction) {
+        if (transaction != null && transaction != Transaction.AUTO_COMMIT) {
+            Object key = new StateKey(this, typeName);
+            if (transaction.getState(key) == null) {
+                transaction.putState(key, new InvalidatingState(typeName));
+            }
+        }
+        return new DelegatingFeatureWriter<>() {
+            @Override
+            public FeatureWriter<SimpleFeatureType, SimpleFeature> getDelegate() {
+                return writer;
+            }
+
+            @Override
+            public SimpleFeatureType getFeatureType() {
+                return writer.getFeatureType();
+            }
+
+            @Override
+            public SimpleFeature next() throws IOException {
+                return writer.next();
+            }
+
+            @Override
+            public void remove() throws IOException {
+                writer.remove();
+            }
+
+            @Override
+            public void write() throws IOException {
+                writer.write();
+            }
+
+            @Override
+            public boolean hasNext() throws IOException {
+                return writer.hasNext();
+            }
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    writer.close();
+                } finally {
+                    invalidate(typeName);
+                }
+            }
+        };
+    }
+
+    /** Key of the {@link InvalidatingState} of a feature type in a transaction */
+    private static class StateKey {
+        final CachingDataStore store;
+
+        final String typeName;
+
+        StateKey(CachingDataStore store, String typeName) {
+            this.store = store;
+            this.typeName = typeName;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof StateKey)) {
+                return false;
+            }
+            StateKey other = (StateKey) obj;
+            return other.store == store && other.typeName.equals(typeName);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(store) * 31 + typeName.hashCode();
+        }
+    }
+
+    /** Drops the cached copy of a feature type when a transaction modifying it is committed */
+    private class InvalidatingState implements Transaction.State {
+
+        final String typeName;
+
+        InvalidatingState(String typeName) {
+            this.typeName = typeName;
+        }
+
+        @Override
+        public void setTransaction(Transaction transaction) {}
+
+        @Override
+        public void addAuthorization(String authID) throws IOException {}
+
+        @Override
+        public void commit() throws IOException {
+            invalidate(typeName);
+        }
+
+        @Override
+        public void rollback() throws IOException {}
+    }
+}
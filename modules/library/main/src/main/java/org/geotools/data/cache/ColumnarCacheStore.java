@@ -0,0 +1,55 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.cache;
+
+import java.io.IOException;
+import java.util.List;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.type.Name;
+import org.geotools.data.store.ContentDataStore;
+import org.geotools.data.store.ContentEntry;
+import org.geotools.data.store.ContentFeatureSource;
+import org.geotools.geometry.jts.JTSFactoryFinder;
+
+/**
+ * Read only store serving the feature types cached by a {@link CachingDataStore}, so that queries get the full
+ * {@link ContentFeatureSource} support (sorting, paging, reprojection, visitors) on top of the columnar tables.
+ */
+class ColumnarCacheStore extends ContentDataStore {
+
+    final CachingDataStore owner;
+
+    ColumnarCacheStore(CachingDataStore owner) {
+        this.owner = owner;
+        setGeometryFactory(JTSFactoryFinder.getGeometryFactory());
+    }
+
+    @Override
+    protected List<Name> createTypeNames() throws IOException {
+        return owner.getDelegate().getNames();
+    }
+
+    @Override
+    protected ContentFeatureSource createFeatureSource(ContentEntry entry) throws IOException {
+        return new ColumnarFeatureSource(entry, Query.ALL);
+    }
+
+    /** Forgets the schemas and type names, to be called when they change in the wrapped store */
+    void clearEntries() {
+        entries.clear();
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.cache;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.api.filter.Filter;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.filter.FilterAttributeExtractor;
+import org.geotools.filter.visitor.ExtractBoundsFilterVisitor;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+
+/**
+ * Reads the features of a {@link ColumnarFeatureTable}, building them one at a time.
+ *
+ * <p>When the filter is bounded on the default geometry only the rows found in the spatial index are considered. For
+ * each candidate row the attributes used by the filter are decoded first, the remaining requested attributes are
+ * decoded only if the filter matches.
+ */
+class ColumnarFeatureReader implements FeatureReader<SimpleFeatureType, SimpleFeature> {
+
+    private final ColumnarFeatureTable table;
+
+    private final SimpleFeatureType featureType;
+
+    private final GeometryFactory geometryFactory;
+
+    private final Filter filter;
+
+    /** The candidate rows in natural order, or null to scan the whole table */
+    private final int[] rows;
+
+    private final int rowCount;
+
+    /** The table columns of the target attributes */
+    private final int[] targetColumns;
+
+    /** The type used to evaluate the filter, or null if there is no filter */
+    private SimpleFeatureType filterType;
+
+    /** The table columns of the filter type attributes */
+    private int[] filterColumns;
+
+    /** Position in the candidate rows */
+    private int cursor;
+
+    /** Values decoded for the current row, to avoid decoding twice the attributes used by the filter */
+    private final Object[] values;
+
+    private SimpleFeature next;
+
+    ColumnarFeatureReader(
+            ColumnarFeatureTable table, SimpleFeatureType featureType, Filter filter, GeometryFactory geometryFactory) {
+        this.table = table;
+        this.featureType = featureType;
+        this.geometryFactory = geometryFactory;
+        this.filter = filter == null ? Filter.INCLUDE : filter;
+        this.values = new Object[table.schema.getAttributeCount()];
+
+        SimpleFeatureType schema = table.schema;
+        targetColumns = new int[featureType.getAttributeCount()];
+        for (int i = 0; i < targetColumns.length; i++) {
+            targetColumns[i] = schema.indexOf(featureType.getDescriptor(i).getName());
+        }
+
+        if (this.filter == Filter.EXCLUDE) {
+            rows = new int[0];
+            rowCount = 0;
+            return;
+        }
+        if (this.filter != Filter.INCLUDE) {
+            FilterAttributeExtractor extractor = new FilterAttributeExtractor(schema);
+            this.filter.accept(extractor, null);
+            Set<String> names = extractor.getAttributeNameSet();
+            // dynamic properties might need any attribute
+            boolean all = extractor.isUsingDynamincProperties();
+            String[] filterNames = schema.getAttributeDescriptors().stream()
+                    .map(AttributeDescriptor::getLocalName)
+                    .filter(n -> all || names.contains(n))
+                    .toArray(String[]::new);
+            filterType = SimpleFeatureTypeBuilder.retype(schema, filterNames);
+            filterColumns = new int[filterNames.length];
+            for (int i = 0; i < filterNames.length; i++) {
+                filterColumns[i] = schema.indexOf(filterNames[i]);
+            }
+        }
+
+        Envelope envelope = getSpatialBounds(schema, this.filter);
+        if (envelope != null && table.index != null) {
+            int[][] found = {new int[64]};
+            int[] count = {0};
+            table.query(envelope, row -> {
+                if (count[0] == found[0].length) {
+                    found[0] = Arrays.copyOf(found[0], count[0] * 2);
+                }
+                found[0][count[0]++] = row;
+            });
+            rows = found[0];
+            rowCount = count[0];
+            Arrays.sort(rows, 0, rowCount);
+        } else {
+            rows = null;
+            rowCount = table.size();
+        }
+    }
+
+    /** The bounds of the filter on the default geometry, or null if the filter is not spatially bounded */
+    static Envelope getSpatialBounds(SimpleFeatureType schema, Filter filter) {
+        GeometryDescriptor defaultGeometry = schema.getGeometryDescriptor();
+        if (defaultGeometry == null || filter == Filter.INCLUDE) {
+            return null;
+        }
+        // the bounds extraction does not look at the property names, make sure only the default geometry is used
+        FilterAttributeExtractor extractor = new FilterAttributeExtractor(schema);
+        filter.accept(extractor, null);
+        for (String name : extractor.getAttributeNameSet()) {
+            AttributeDescriptor ad = schema.getDescriptor(name);
+            if (ad instanceof GeometryDescriptor && ad != defaultGeometry) {
+                return null;
+            }
+        }
+        Envelope envelope = (Envelope) filter.accept(ExtractBoundsFilterVisitor.BOUNDS_VISITOR, new Envelope());
+        if (envelope == null
+                || envelope.isNull()
+                || Double.isInfinite(envelope.getWidth())
+                || Double.isInfinite(envelope.getHeight())) {
+            return null;
+        }
+        return envelope;
+    }
+
+    @Override
+    public SimpleFeatureType getFeatureType() {
+        return featureType;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        while (next == null && cursor < rowCount) {
+            int row = rows != null ? rows[cursor] : cursor;
+            cursor++;
+            Arrays.fill(values, null);
+            String fid = table.getID(row);
+            if (filterType != null) {
+                Object[] filterValues = new Object[filterColumns.length];
+                for (int i = 0; i < filterColumns.length; i++) {
+                    int column = filterColumns[i];
+                    values[column] = table.getValue(row, column, geometryFactory);
+                    filterValues[i] = values[column];
+                }
+                SimpleFeature candidate = SimpleFeatureBuilder.build(filterType, filterValues, fid);
+                if (!filter.evaluate(candidate)) {
+                    continue;
+                }
+            }
+            Object[] targetValues = new Object[targetColumns.length];
+            for (int i = 0; i < targetColumns.length; i++) {
+                int column = targetColumns[i];
+                Object value = values[column];
+                if (value == null) {
+                    value = table.getValue(row, column, geometryFactory);
+                }
+                targetValues[i] = value;
+            }
+            next = SimpleFeatureBuilder.build(featureType, targetValues, fid);
+        }
+        return next != null;
+    }
+
+    @Override
+    public SimpleFeature next() throws IOException, NoSuchElementException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more features");
+        }
+        SimpleFeature result = next;
+        next = null;
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        cursor = rowCount;
+        next = null;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.cache;
+
+import java.io.IOException;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.Transaction;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.data.store.ContentEntry;
+import org.geotools.data.store.ContentFeatureSource;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.locationtech.jts.geom.GeometryFactory;
+
+/**
+ * Read access to a feature type cached by a {@link CachingDataStore}. Filtering and retyping are performed against the
+ * {@link ColumnarFeatureTable}, sorting, paging and reprojection are left to {@link ContentFeatureSource}. If the
+ * feature type is too large to be cached the features are read from the wrapped store.
+ */
+class ColumnarFeatureSource extends ContentFeatureSource {
+
+    public ColumnarFeatureSource(ContentEntry entry, Query query) {
+        super(entry, query);
+    }
+
+    @Override
+    public ColumnarCacheStore getDataStore() {
+        return (ColumnarCacheStore) super.getDataStore();
+    }
+
+    private ColumnarFeatureTable getTable() throws IOException {
+        return getDataStore().owner.getTable(getEntry().getTypeName());
+    }
+
+    @Override
+    protected ReferencedEnvelope getBoundsInternal(Query query) throws IOException {
+        ColumnarFeatureTable table = getTable();
+        if (table != null && query.getFilter() == Filter.INCLUDE) {
+            return new ReferencedEnvelope(table.bounds);
+        }
+        // feature by feature scan required
+        return null;
+    }
+
+    @Override
+    protected int getCountInternal(Query query) throws IOException {
+        ColumnarFeatureTable table = getTable();
+        if (table != null && query.getFilter() == Filter.INCLUDE) {
+            return table.size();
+        }
+        // feature by feature count required
+        return -1;
+    }
+
+    @Override
+    protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Query query) throws IOException {
+        ColumnarFeatureTable table = getTable();
+        if (table == null) {
+            // not cached, the wrapped store handles filter and properties, the rest is done by the caller
+            Query delegateQuery = new Query(getEntry().getTypeName(), query.getFilter(), query.getPropertyNames());
+            return getDataStore().owner.getDelegate().getFeatureReader(delegateQuery, Transaction.AUTO_COMMIT);
+        }
+        SimpleFeatureType target = table.schema;
+        if (query.getPropertyNames() != Query.ALL_NAMES) {
+            target = SimpleFeatureTypeBuilder.retype(table.schema, query.getPropertyNames());
+        }
+        GeometryFactory factory = getDataStore().getGeometryFactory();
+        return new ColumnarFeatureReader(table, target, query.getFilter(), factory);
+    }
+
+    @Override
+    protected SimpleFeatureType buildFeatureType() throws IOException {
+        return getDataStore().owner.getDelegate().getSchema(getEntry().getTypeName());
+    }
+
+    @Override
+    protected boolean canFilter() {
+        return true;
+    }
+
+    @Override
+    protected boolean canRetype() {
+        return true;
+    }
+}
@@ -0,0 +1,871 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.util.Converters;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.MultiPoint;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+
+/**
+ * An immutable copy of the features of a feature type, stored by column outside of the Java heap.
+ *
+ * <p>Integer, long, floating point, boolean and date attributes are stored as primitives, strings are dictionary
+ * encoded, geometries are stored as a stream of structural information plus a packed array of ordinates, the bounds of
+ * the default geometries are indexed in a {@link PackedRTree}. Values of any other type are kept on the heap, as is.
+ * The table does not hold any {@link SimpleFeature}, features are rebuilt on demand, decoding only the attributes that
+ * are needed.
+ *
+ * <p>Geometries are rebuilt with their coordinates, dimension and measures, SRID and user data are not preserved.
+ */
+class ColumnarFeatureTable {
+
+    static final byte INT = 0;
+    static final byte LONG = 1;
+    static final byte DOUBLE = 2;
+    static final byte BOOLEAN = 3;
+    static final byte STRING = 4;
+    static final byte GEOMETRY = 5;
+    static final byte DATE = 6;
+    static final byte OBJECT = 7;
+
+    final SimpleFeatureType schema;
+
+    final int size;
+
+    final Column[] columns;
+
+    final Utf8Strings fids;
+
+    /** The index of the default geometry bounds, or null if the schema has no default geometry */
+    final PackedRTree index;
+
+    final ReferencedEnvelope bounds;
+
+    final long loadTime;
+
+    private ColumnarFeatureTable(
+            SimpleFeatureType schema,
+            int size,
+            Column[] columns,
+            Utf8Strings fids,
+            PackedRTree index,
+            ReferencedEnvelope bounds) {
+        this.schema = schema;
+        this.size = size;
+        this.columns = columns;
+        this.fids = fids;
+        this.index = index;
+        this.bounds = bounds;
+        this.loadTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Loads the features returned by the reader, which is closed once done.
+     *
+     * @param reader The features to load
+     * @param maxBytes The maximum size of the table, in bytes, or a negative value for no limit
+     * @return The table, or null if its size would exceed the limit
+     */
+    static ColumnarFeatureTable load(FeatureReader<SimpleFeatureType, SimpleFeature> reader, long maxBytes)
+            throws IOException {
+        try (reader) {
+            SimpleFeatureType schema = reader.getFeatureType();
+            int count = schema.getAttributeCount();
+            ColumnBuilder[] builders = new ColumnBuilder[count];
+            for (int i = 0; i < count; i++) {
+                builders[i] = ColumnBuilder.create(schema.getDescriptor(i));
+            }
+            Utf8StringsBuilder fids = new Utf8StringsBuilder();
+            int defaultGeometry = schema.getGeometryDescriptor() != null
+                    ? schema.indexOf(schema.getGeometryDescriptor().getName())
+                    : -1;
+            double[] envelopes = new double[1024];
+            int[] envelopeRows = new int[256];
+            int indexed = 0;
+            ReferencedEnvelope bounds = ReferencedEnvelope.create(schema.getCoordinateReferenceSystem());
+
+            int size = 0;
+            while (reader.hasNext()) {
+                SimpleFeature feature = reader.next();
+                for (int i = 0; i < count; i++) {
+                    builders[i].add(size, feature.getAttribute(i));
+                }
+                fids.add(feature.getID());
+                if (defaultGeometry >= 0) {
+                    Geometry g = (Geometry) feature.getAttribute(defaultGeometry);
+                    Envelope e = g != null ? g.getEnvelopeInternal() : null;
+                    if (e != null && !e.isNull()) {
+                        if (indexed == envelopeRows.length) {
+                            envelopeRows = Arrays.copyOf(envelopeRows, indexed * 2);
+                            envelopes = Arrays.copyOf(envelopes, indexed * 8);
+                        }
+                        envelopes[indexed * 4] = e.getMinX();
+                        envelopes[indexed * 4 + 1] = e.getMinY();
+                        envelopes[indexed * 4 + 2] = e.getMaxX();
+                        envelopes[indexed * 4 + 3] = e.getMaxY();
+                        envelopeRows[indexed++] = size;
+                        bounds.expandToInclude(e);
+                    }
+                }
+                size++;
+                if (maxBytes >= 0 && (size & 1023) == 0 && estimate(builders, fids, indexed) > maxBytes) {
+                    return null;
+                }
+            }
+
+            Column[] columns = new Column[count];
+            for (int i = 0; i < count; i++) {
+                columns[i] = builders[i].build(size);
+            }
+            PackedRTree index = defaultGeometry >= 0 ? new PackedRTree(envelopes, envelopeRows, indexed) : null;
+            ColumnarFeatureTable table = new ColumnarFeatureTable(schema, size, columns, fids.build(), index, bounds);
+            if (maxBytes >= 0 && table.getSizeInBytes() > maxBytes) {
+                return null;
+            }
+            return table;
+        }
+    }
+
+    private static long estimate(ColumnBuilder[] builders, Utf8StringsBuilder fids, int indexed) {
+        long total = fids.size() + (long) indexed * 36;
+        for (ColumnBuilder b : builders) {
+            total += b.size();
+        }
+        return total;
+    }
+
+    /** The number of features */
+    int size() {
+        return size;
+    }
+
+    /** The number of off-heap bytes used by the table */
+    long getSizeInBytes() {
+        long total = fids.getSizeInBytes() + (index != null ? index.getSizeInBytes() : 0);
+        for (Column c : columns) {
+            total += c.getSizeInBytes();
+        }
+        return total;
+    }
+
+    /** Returns the identifier of the feature at the given row */
+    String getID(int row) {
+        return fids.get(row);
+    }
+
+    /** Returns the value of an attribute */
+    Object getValue(int row, int attribute, GeometryFactory factory) {
+        return columns[attribute].get(row, factory);
+    }
+
+    /** Calls back the consumer with the rows whose default geometry bounds intersect the envelope */
+    void query(Envelope envelope, IntConsumer consumer) {
+        if (index != null) {
+            index.query(envelope, consumer);
+        }
+    }
+
+    /** A column of values, one per row */
+    abstract static class Column {
+
+        /** The rows holding a null value, or null if there are none */
+        final BitSet nulls;
+
+        Column(BitSet nulls) {
+            this.nulls = nulls.isEmpty() ? null : nulls;
+        }
+
+        final Object get(int row, GeometryFactory factory) {
+            if (nulls != null && nulls.get(row)) {
+                return null;
+            }
+            return decode(row, factory);
+        }
+
+        abstract Object decode(int row, GeometryFactory factory);
+
+        abstract long getSizeInBytes();
+    }
+
+    /** Accumulates the values of a column during the load */
+    abstract static class ColumnBuilder {
+
+        final AttributeDescriptor descriptor;
+
+        final Class<?> binding;
+
+        final BitSet nulls = new BitSet();
+
+        ColumnBuilder(AttributeDescriptor descriptor) {
+            this.descriptor = descriptor;
+            this.binding = descriptor.getType().getBinding();
+        }
+
+        static byte getKind(Class<?> binding) {
+            if (Integer.class.equals(binding) || Short.class.equals(binding) || Byte.class.equals(binding)) {
+                return INT;
+            } else if (Long.class.equals(binding)) {
+                return LONG;
+            } else if (Double.class.equals(binding) || Float.class.equals(binding)) {
+                return DOUBLE;
+            } else if (Boolean.class.equals(binding)) {
+                return BOOLEAN;
+            } else if (String.class.equals(binding)) {
+                return STRING;
+            } else if (Geometry.class.isAssignableFrom(binding)) {
+                return GEOMETRY;
+            } else if (Date.class.equals(binding)
+                    || java.sql.Date.class.equals(binding)
+                    || Time.class.equals(binding)
+                    || Timestamp.class.equals(binding)) {
+                return DATE;
+            }
+            return OBJECT;
+        }
+
+        static ColumnBuilder create(AttributeDescriptor descriptor) {
+            switch (getKind(descriptor.getType().getBinding())) {
+                case INT:
+                    return new IntBuilder(descriptor);
+                case LONG:
+                    return new LongBuilder(descriptor);
+                case DOUBLE:
+                    return new DoubleBuilder(descriptor);
+                case BOOLEAN:
+                    return new BooleanBuilder(descriptor);
+                case STRING:
+                    return new DictionaryBuilder(descriptor);
+                case GEOMETRY:
+                    return new GeometryBuilder(descriptor);
+                case DATE:
+                    return new DateBuilder(descriptor);
+                default:
+                    return new ObjectBuilder(descriptor);
+            }
+        }
+
+        final void add(int row, Object value) {
+            if (value == null) {
+                nulls.set(row);
+                addNull();
+            } else {
+                addValue(value);
+            }
+        }
+
+        <T> T convert(Object value, Class<T> target) {
+            if (target.isInstance(value)) {
+                return target.cast(value);
+            }
+            T converted = Converters.convert(value, target);
+            if (converted == null) {
+                throw new IllegalArgumentException("Value "
+                        + value
+                        + " cannot be converted to "
+                        + target.getName()
+                        + " for "
+                        + descriptor.getLocalName());
+            }
+            return converted;
+        }
+
+        abstract void addNull();
+
+        abstract void addValue(Object value);
+
+        /** The number of bytes accumulated so far */
+        abstract long size();
+
+        abstract Column build(int size);
+    }
+
+    static class IntBuilder extends ColumnBuilder {
+        final OffHeapBuffer values = new OffHeapBuffer(4096);
+
+        IntBuilder(AttributeDescriptor descriptor) {
+            super(descriptor);
+        }
+
+        @Override
+        void addNull() {
+            values.putInt(0);
+        }
+
+        @Override
+        void addValue(Object value) {
+            values.putInt(convert(value, Number.class).intValue());
+        }
+
+        @Override
+        long size() {
+            return values.size();
+        }
+
+        @Override
+        Column build(int size) {
+            ByteBuffer buffer = values.seal();
+            return new Column(nulls) {
+                @Override
+                Object decode(int row, GeometryFactory factory) {
+                    int value = buffer.getInt(row * 4);
+                    if (Short.class.equals(binding)) {
+                        return (short) value;
+                    } else if (Byte.class.equals(binding)) {
+                        return (byte) value;
+                    }
+                    return value;
+                }
+
+                @Override
+                long getSizeInBytes() {
+                    return buffer.capacity();
+                }
+            };
+        }
+    }
+
+    static class LongBuilder extends ColumnBuilder {
+        final OffHeapBuffer values = new OffHeapBuffer(8192);
+
+        LongBuilder(AttributeDescriptor descriptor) {
+            super(descriptor);
+        }
+
+        @Override
+        void addNull() {
+            values.putLong(0);
+        }
+
+        @Override
+        void addValue(Object value) {
+            values.putLong(convert(value, Number.class).longValue());
+        }
+
+        @Override
+        long size() {
+            return values.size();
+        }
+
+        @Override
+        Column build(int size) {
+            ByteBuffer buffer = values.seal();
+            return new Column(nulls) {
+                @Override
+                Object decode(int row, GeometryFactory factory) {
+                    return buffer.getLong(row * 8);
+                }
+
+                @Override
+                long getSizeInBytes() {
+                    return buffer.capacity();
+                }
+            };
+        }
+    }
+
+    static class DoubleBuilder extends ColumnBuilder {
+        final OffHeapBuffer values = new OffHeapBuffer(8192);
+
+        DoubleBuilder(AttributeDescriptor descriptor) {
+            super(descriptor);
+        }
+
+        @Override
+        void addNull() {
+            values.putDouble(0);
+        }
+
+        @Override
+        void addValue(Object value) {
+            values.putDouble(convert(value, Number.class).doubleValue());
+        }
+
+        @Override
+        long size() {
+            return values.size();
+        }
+
+        @Override
+        Column build(int size) {
+            ByteBuffer buffer = values.seal();
+            boolean isFloat = Float.class.equals(binding);
+            return new Column(nulls) {
+                @Override
+                Object decode(int row, GeometryFactory factory) {
+                    double value = buffer.getDouble(row * 8);
+                    return isFloat ? (Object) (float) value : (Object) value;
+                }
+
+                @Override
+                long getSizeInBytes() {
+                    return buffer.capacity();
+                }
+            };
+        }
+    }
+
+    static class BooleanBuilder extends ColumnBuilder {
+        final OffHeapBuffer values = new OffHeapBuffer(1024);
+
+        BooleanBuilder(AttributeDescriptor descriptor) {
+            super(descriptor);
+        }
+
+        @Override
+        void addNull() {
+            values.putByte((byte) 0);
+        }
+
+        @Override
+        void addValue(Object value) {
+            values.putByte(convert(value, Boolean.class) ? (byte) 1 : (byte) 0);
+        }
+
+        @Override
+        long size() {
+            return values.size();
+        }
+
+        @Override
+        Column build(int size) {
+            ByteBuffer buffer = values.seal();
+            return new Column(nulls) {
+                @Override
+                Object decode(int row, GeometryFactory factory) {
+                    return buffer.get(row) != 0;
+                }
+
+                @Override
+                long getSizeInBytes() {
+                    return buffer.capacity();
+                }
+            };
+        }
+    }
+
+    static class DateBuilder extends ColumnBuilder {
+        final OffHeapBuffer values = new OffHeapBuffer(8192);
+
+        /** The nanoseconds of timestamps, null for other types */
+        final OffHeapBuffer nanos;
+
+        DateBuilder(AttributeDescriptor descriptor) {
+            super(descriptor);
+            this.nanos = Timestamp.class.equals(binding) ? new OffHeapBuffer(4096) : null;
+        }
+
+        @Override
+        void addNull() {
+            values.putLong(0);
+            if (nanos != null) {
+                nanos.putInt(0);
+            }
+        }
+
+        @Override
+        void addValue(Object value) {
+            Date date = (Date) convert(value, binding);
+            values.putLong(date.getTime());
+            if (nanos != null) {
+                nanos.putInt(((Timestamp) date).getNanos());
+            }
+        }
+
+        @Override
+        long size() {
+            return values.size() + (nanos != null ? nanos.size() : 0);
+        }
+
+        @Override
+        Column build(int size) {
+            ByteBuffer buffer = values.seal();
+            ByteBuffer nanoBuffer = nanos != null ? nanos.seal() : null;
+            return new Column(nulls) {
+                @Override
+                Object decode(int row, GeometryFactory factory) {
+                    long time = buffer.getLong(row * 8);
+                    if (nanoBuffer != null) {
+                        Timestamp result = new Timestamp(time);
+                        result.setNanos(nanoBuffer.getInt(row * 4));
+                        return result;
+                    } else if (java.sql.Date.class.equals(binding)) {
+                        return new java.sql.Date(time);
+                    } else if (Time.class.equals(binding)) {
+                        return new Time(time);
+                    }
+                    return new Date(time);
+                }
+
+                @Override
+                long getSizeInBytes() {
+                    return buffer.capacity() + (nanoBuffer != null ? nanoBuffer.capacity() : 0);
+                }
+            };
+        }
+    }
+
+    /** Dictionary encoded strings, each distinct value is stored once */
+    static class DictionaryBuilder extends ColumnBuilder {
+        final OffHeapBuffer codes = new OffHeapBuffer(4096);
+
+        final Map<String, Integer> dictionary = new HashMap<>();
+
+        final Utf8StringsBuilder values = new Utf8StringsBuilder();
+
+        DictionaryBuilder(AttributeDescriptor descriptor) {
+            super(descriptor);
+        }
+
+        @Override
+        void addNull() {
+            codes.putInt(-1);
+        }
+
+        @Override
+        void addValue(Object value) {
+            String s = convert(value, String.class);
+            Integer code = dictionary.get(s);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.put(s, code);
+                values.add(s);
+            }
+            codes.putInt(code);
+        }
+
+        @Override
+        long size() {
+            return codes.size() + values.size();
+        }
+
+        @Override
+        Column build(int size) {
+            ByteBuffer buffer = codes.seal();
+            Utf8Strings strings = values.build();
+            return new Column(nulls) {
+                @Override
+                Object decode(int row, GeometryFactory factory) {
+                    return strings.get(buffer.getInt(row * 4));
+                }
+
+                @Override
+                long getSizeInBytes() {
+                    return buffer.capacity() + strings.getSizeInBytes();
+                }
+            };
+        }
+    }
+
+    /** Values of other types, kept on the heap */
+    static class ObjectBuilder extends ColumnBuilder {
+        final List<Object> values = new ArrayList<>();
+
+        ObjectBuilder(AttributeDescriptor descriptor) {
+            super(descriptor);
+        }
+
+        @Override
+        void addNull() {
+            values.add(null);
+        }
+
+        @Override
+        void addValue(Object value) {
+            values.add(value);
+        }
+
+        @Override
+        long size() {
+            return 0;
+        }
+
+        @Override
+        Column build(int size) {
+            Object[] array = values.toArray();
+            return new Column(nulls) {
+                @Override
+                Object decode(int row, GeometryFactory factory) {
+                    return array[row];
+                }
+
+                @Override
+                long getSizeInBytes() {
+                    return 0;
+                }
+            };
+        }
+    }
+
+    /**
+     * Geometries, stored as a stream of ints describing their structure (type, number of parts, number of coordinates,
+     * dimension and measures of each sequence) and a packed stream of ordinates. Each row points to the start of its
+     * geometry in both streams.
+     */
+    static class GeometryBuilder extends ColumnBuilder {
+
+        static final int POINT = 1;
+        static final int LINESTRING = 2;
+        static final int LINEARRING = 3;
+        static final int POLYGON = 4;
+        static final int MULTIPOINT = 5;
+        static final int MULTILINESTRING = 6;
+        static final int MULTIPOLYGON = 7;
+        static final int COLLECTION = 8;
+
+        final OffHeapBuffer offsets = new OffHeapBuffer(8192);
+
+        final OffHeapBuffer shapes = new OffHeapBuffer(8192);
+
+        final OffHeapBuffer ordinates = new OffHeapBuffer(65536);
+
+        GeometryBuilder(AttributeDescriptor descriptor) {
+            super(descriptor);
+        }
+
+        @Override
+        void addNull() {
+            offsets.putInt(shapes.size() / 4);
+            offsets.putInt(ordinates.size() / 8);
+        }
+
+        @Override
+        void addValue(Object value) {
+            offsets.putInt(shapes.size() / 4);
+            offsets.putInt(ordinates.size() / 8);
+            write(convert(value, Geometry.class));
+        }
+
+        private void write(Geometry g) {
+            if (g instanceof Point) {
+                shapes.putInt(POINT);
+                write(((Point) g).getCoordinateSequence());
+            } else if (g instanceof LinearRing) {
+                shapes.putInt(LINEARRING);
+                write(((LinearRing) g).getCoordinateSequence());
+            } else if (g instanceof LineString) {
+                shapes.putInt(LINESTRING);
+                write(((LineString) g).getCoordinateSequence());
+            } else if (g instanceof Polygon) {
+                Polygon p = (Polygon) g;
+                shapes.putInt(POLYGON);
+                if (p.isEmpty()) {
+                    shapes.putInt(0);
+                } else {
+                    shapes.putInt(p.getNumInteriorRing() + 1);
+                    write(p.getExteriorRing().getCoordinateSequence());
+                    for (int i = 0; i < p.getNumInteriorRing(); i++) {
+                        write(p.getInteriorRingN(i).getCoordinateSequence());
+                    }
+                }
+            } else if (g instanceof GeometryCollection) {
+                if (g instanceof MultiPoint) {
+                    shapes.putInt(MULTIPOINT);
+                } else if (g instanceof MultiLineString) {
+                    shapes.putInt(MULTILINESTRING);
+                } else if (g instanceof MultiPolygon) {
+                    shapes.putInt(MULTIPOLYGON);
+                } else {
+                    shapes.putInt(COLLECTION);
+                }
+                shapes.putInt(g.getNumGeometries());
+                for (int i = 0; i < g.getNumGeometries(); i++) {
+                    write(g.getGeometryN(i));
+                }
+            } else {
+                throw new IllegalArgumentException("Unsupported geometry type " + g.getGeometryType());
+            }
+        }
+
+        private void write(CoordinateSequence seq) {
+            int size = seq.size();
+            int dimension = seq.getDimension();
+            shapes.putInt(size);
+            shapes.putInt(dimension);
+            shapes.putInt(seq.getMeasures());
+            for (int i = 0; i < size; i++) {
+                for (int d = 0; d < dimension; d++) {
+                    ordinates.putDouble(seq.getOrdinate(i, d));
+                }
+            }
+        }
+
+        @Override
+        long size() {
+            return offsets.size() + shapes.size() + ordinates.size();
+        }
+
+        @Override
+        Column build(int size) {
+            ByteBuffer offsetBuffer = offsets.seal();
+            ByteBuffer shapeBuffer = shapes.seal();
+            ByteBuffer ordinateBuffer = ordinates.seal();
+            return new Column(nulls) {
+                @Override
+                Object decode(int row, GeometryFactory factory) {
+                    int[] cursor = {offsetBuffer.getInt(row * 8), offsetBuffer.getInt(row * 8 + 4)};
+                    return read(cursor, shapeBuffer, ordinateBuffer, factory);
+                }
+
+                @Override
+                long getSizeInBytes() {
+                    return offsetBuffer.capacity() + shapeBuffer.capacity() + ordinateBuffer.capacity();
+                }
+            };
+        }
+
+        /** Reads a geometry, the cursor holds the current position in the shape and ordinate streams */
+        static Geometry read(int[] cursor, ByteBuffer shapes, ByteBuffer ordinates, GeometryFactory factory) {
+            int type = shapes.getInt(cursor[0]++ * 4);
+            switch (type) {
+                case POINT:
+                    return factory.createPoint(readSequence(cursor, shapes, ordinates));
+                case LINESTRING:
+                    return factory.createLineString(readSequence(cursor, shapes, ordinates));
+                case LINEARRING:
+                    return factory.createLinearRing(readSequence(cursor, shapes, ordinates));
+                case POLYGON: {
+                    int rings = shapes.getInt(cursor[0]++ * 4);
+                    if (rings == 0) {
+                        return factory.createPolygon();
+                    }
+                    LinearRing shell = factory.createLinearRing(readSequence(cursor, shapes, ordinates));
+                    LinearRing[] holes = new LinearRing[rings - 1];
+                    for (int i = 0; i < holes.length; i++) {
+                        holes[i] = factory.createLinearRing(readSequence(cursor, shapes, ordinates));
+                    }
+                    return factory.createPolygon(shell, holes);
+                }
+                default: {
+                    int count = shapes.getInt(cursor[0]++ * 4);
+                    Geometry[] parts = new Geometry[count];
+                    for (int i = 0; i < count; i++) {
+                        parts[i] = read(cursor, shapes, ordinates, factory);
+                    }
+                    switch (type) {
+                        case MULTIPOINT:
+                            return factory.createMultiPoint(copy(parts, new Point[count]));
+                        case MULTILINESTRING:
+                            return factory.createMultiLineString(copy(parts, new LineString[count]));
+                        case MULTIPOLYGON:
+                            return factory.createMultiPolygon(copy(parts, new Polygon[count]));
+                        default:
+                            return factory.createGeometryCollection(parts);
+                    }
+                }
+            }
+        }
+
+        private static <T> T[] copy(Geometry[] parts, T[] target) {
+            System.arraycopy(parts, 0, target, 0, parts.length);
+            return target;
+        }
+
+        private static CoordinateSequence readSequence(int[] cursor, ByteBuffer shapes, ByteBuffer ordinates) {
+            int size = shapes.getInt(cursor[0]++ * 4);
+            int dimension = shapes.getInt(cursor[0]++ * 4);
+            int measures = shapes.getInt(cursor[0]++ * 4);
+            double[] values = new double[size * dimension];
+            int start = cursor[1];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = ordinates.getDouble((start + i) * 8);
+            }
+            cursor[1] += values.length;
+            return new PackedCoordinateSequence.Double(values, dimension, measures);
+        }
+    }
+
+    /** A list of strings encoded in UTF-8 in a single off-heap buffer */
+    static class Utf8Strings {
+
+        final ByteBuffer offsets;
+
+        final ByteBuffer bytes;
+
+        Utf8Strings(ByteBuffer offsets, ByteBuffer bytes) {
+            this.offsets = offsets;
+            this.bytes = bytes;
+        }
+
+        String get(int i) {
+            int start = offsets.getInt(i * 4);
+            int end = offsets.getInt(i * 4 + 4);
+            byte[] value = new byte[end - start];
+            // absolute bulk get, does not change the buffer position
+            for (int j = 0; j < value.length; j++) {
+                value[j] = bytes.get(start + j);
+            }
+            return new String(value, StandardCharsets.UTF_8);
+        }
+
+        long getSizeInBytes() {
+            return (long) offsets.capacity() + bytes.capacity();
+        }
+    }
+
+    static class Utf8StringsBuilder {
+
+        final OffHeapBuffer offsets = new OffHeapBuffer(4096);
+
+        final OffHeapBuffer bytes = new OffHeapBuffer(16384);
+
+        Utf8StringsBuilder() {
+            offsets.putInt(0);
+        }
+
+        void add(String value) {
+            bytes.putBytes(value.getBytes(StandardCharsets.UTF_8));
+            offsets.putInt(bytes.size());
+        }
+
+        long size() {
+            return offsets.size() + bytes.size();
+        }
+
+        Utf8Strings build() {
+            return new Utf8Strings(offsets.seal(), bytes.seal());
+        }
+    }
+}
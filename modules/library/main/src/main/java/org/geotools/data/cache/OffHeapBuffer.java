@@ -0,0 +1,97 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A growable buffer allocated outside of the Java heap, written sequentially while a {@link ColumnarFeatureTable} is
+ * being loaded, and then trimmed to its final size with {@link #seal()}.
+ *
+ * <p>The sealed buffers are only accessed with absolute reads, which do not change the buffer state and can thus be
+ * performed by many threads at the same time. The memory is released once the buffer is garbage collected.
+ */
+class OffHeapBuffer {
+
+    private ByteBuffer buffer;
+
+    OffHeapBuffer(int initialCapacity) {
+        buffer = ByteBuffer.allocateDirect(Math.max(initialCapacity, 64)).order(ByteOrder.nativeOrder());
+    }
+
+    /** The number of bytes written so far */
+    int size() {
+        return buffer.position();
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() < bytes) {
+            long required = (long) buffer.position() + bytes;
+            long capacity = Math.max(required, (long) buffer.capacity() * 2);
+            if (capacity > Integer.MAX_VALUE) {
+                if (required > Integer.MAX_VALUE) {
+                    throw new IllegalStateException("Column too large, more than 2GB of data");
+                }
+                capacity = Integer.MAX_VALUE;
+            }
+            ByteBuffer grown = ByteBuffer.allocateDirect((int) capacity).order(ByteOrder.nativeOrder());
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+    }
+
+    void putByte(byte value) {
+        ensure(1);
+        buffer.put(value);
+    }
+
+    void putInt(int value) {
+        ensure(4);
+        buffer.putInt(value);
+    }
+
+    void putLong(long value) {
+        ensure(8);
+        buffer.putLong(value);
+    }
+
+    void putDouble(double value) {
+        ensure(8);
+        buffer.putDouble(value);
+    }
+
+    void putBytes(byte[] values) {
+        ensure(values.length);
+        buffer.put(values);
+    }
+
+    /** Overwrites an int at the given byte offset */
+    void setInt(int offset, int value) {
+        buffer.putInt(offset, value);
+    }
+
+    /** Returns a read only buffer holding exactly the bytes written, this buffer should not be used afterwards */
+    ByteBuffer seal() {
+        ByteBuffer result = ByteBuffer.allocateDirect(buffer.position()).order(ByteOrder.nativeOrder());
+        buffer.flip();
+        result.put(buffer);
+        buffer = null;
+        return result.asReadOnlyBuffer().order(ByteOrder.nativeOrder());
+    }
+}
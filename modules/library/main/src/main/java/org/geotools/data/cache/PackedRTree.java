@@ -0,0 +1,184 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * A static R-tree packed in off-heap buffers. The items are sorted along a Hilbert curve on the center of their
+ * envelopes and grouped in nodes of {@link #NODE_SIZE} entries, level by level, up to a single root. No pointers are
+ * stored: the children of a node are found by position, so the tree takes about 32 bytes per item.
+ */
+class PackedRTree {
+
+    static final int NODE_SIZE = 16;
+
+    private static final int HILBERT_ORDER = 15;
+
+    private static final int HILBERT_MAX = (1 << HILBERT_ORDER) - 1;
+
+    /** The envelopes of all the nodes, four doubles each, leaves first and root last */
+    private final ByteBuffer bounds;
+
+    /** The row of each leaf, in leaf order */
+    private final ByteBuffer rows;
+
+    /** The index of the first node of each level, leaves first */
+    private final int[] levelStart;
+
+    /** The number of nodes in each level, leaves first */
+    private final int[] levelSize;
+
+    /**
+     * Builds the tree
+     *
+     * @param envelopes The envelopes, four values per item (minx, miny, maxx, maxy)
+     * @param rowIds The row of each item
+     * @param count The number of items
+     */
+    PackedRTree(double[] envelopes, int[] rowIds, int count) {
+        // levels
+        int levels = 1;
+        for (int n = count; n > 1; n = (n + NODE_SIZE - 1) / NODE_SIZE) {
+            levels++;
+        }
+        levelStart = new int[levels];
+        levelSize = new int[levels];
+        int total = 0;
+        int n = count;
+        for (int l = 0; l < levels; l++) {
+            levelStart[l] = total;
+            levelSize[l] = n;
+            total += n;
+            n = Math.max(1, (n + NODE_SIZE - 1) / NODE_SIZE);
+        }
+
+        // hilbert sort of the items
+        Envelope extent = new Envelope();
+        for (int i = 0; i < count; i++) {
+            extent.expandToInclude(envelopes[i * 4], envelopes[i * 4 + 1]);
+            extent.expandToInclude(envelopes[i * 4 + 2], envelopes[i * 4 + 3]);
+        }
+        long[] keys = new long[count];
+        double width = extent.getWidth() > 0 ? extent.getWidth() : 1;
+        double height = extent.getHeight() > 0 ? extent.getHeight() : 1;
+        for (int i = 0; i < count; i++) {
+            double cx = (envelopes[i * 4] + envelopes[i * 4 + 2]) / 2;
+            double cy = (envelopes[i * 4 + 1] + envelopes[i * 4 + 3]) / 2;
+            int x = (int) (HILBERT_MAX * (cx - extent.getMinX()) / width);
+            int y = (int) (HILBERT_MAX * (cy - extent.getMinY()) / height);
+            keys[i] = ((long) hilbert(x, y) << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        OffHeapBuffer boundsBuffer = new OffHeapBuffer(total * 32);
+        OffHeapBuffer rowsBuffer = new OffHeapBuffer(count * 4);
+        double[] level = new double[count * 4];
+        for (int i = 0; i < count; i++) {
+            int item = (int) keys[i];
+            System.arraycopy(envelopes, item * 4, level, i * 4, 4);
+            rowsBuffer.putInt(rowIds[item]);
+        }
+        for (int l = 0; l < levels; l++) {
+            for (double v : level) {
+                boundsBuffer.putDouble(v);
+            }
+            if (l + 1 < levels) {
+                double[] parents = new double[levelSize[l + 1] * 4];
+                for (int p = 0; p < levelSize[l + 1]; p++) {
+                    double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+                    double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+                    int end = Math.min((p + 1) * NODE_SIZE, levelSize[l]);
+                    for (int c = p * NODE_SIZE; c < end; c++) {
+                        minX = Math.min(minX, level[c * 4]);
+                        minY = Math.min(minY, level[c * 4 + 1]);
+                        maxX = Math.max(maxX, level[c * 4 + 2]);
+                        maxY = Math.max(maxY, level[c * 4 + 3]);
+                    }
+                    parents[p * 4] = minX;
+                    parents[p * 4 + 1] = minY;
+                    parents[p * 4 + 2] = maxX;
+                    parents[p * 4 + 3] = maxY;
+                }
+                level = parents;
+            }
+        }
+        this.bounds = boundsBuffer.seal();
+        this.rows = rowsBuffer.seal();
+    }
+
+    /** The number of items in the tree */
+    int size() {
+        return levelSize[0];
+    }
+
+    /** The number of off-heap bytes used by the tree */
+    long getSizeInBytes() {
+        return (long) bounds.capacity() + rows.capacity();
+    }
+
+    /** Calls back the consumer with the rows whose envelope intersects the given one, in no particular order */
+    void query(Envelope envelope, IntConsumer consumer) {
+        if (rows.capacity() == 0 || envelope.isNull()) {
+            return;
+        }
+        query(levelStart.length - 1, 0, envelope, consumer);
+    }
+
+    private void query(int level, int node, Envelope envelope, IntConsumer consumer) {
+        int offset = (levelStart[level] + node) * 32;
+        if (bounds.getDouble(offset) > envelope.getMaxX()
+                || bounds.getDouble(offset + 8) > envelope.getMaxY()
+                || bounds.getDouble(offset + 16) < envelope.getMinX()
+                || bounds.getDouble(offset + 24) < envelope.getMinY()) {
+            return;
+        }
+        if (level == 0) {
+            consumer.accept(rows.getInt(node * 4));
+            return;
+        }
+        int end = Math.min((node + 1) * NODE_SIZE, levelSize[level - 1]);
+        for (int child = node * NODE_SIZE; child < end; child++) {
+            query(level - 1, child, envelope, consumer);
+        }
+    }
+
+    /** Hilbert curve index of a point in a 32768 x 32768 grid */
+    static int hilbert(int x, int y) {
+        int n = 1 << HILBERT_ORDER;
+        int d = 0;
+        for (int s = n >> 1; s > 0; s >>= 1) {
+            int rx = (x & s) > 0 ? 1 : 0;
+            int ry = (y & s) > 0 ? 1 : 0;
+            d += s * s * ((3 * rx) ^ ry);
+            // rotate
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = n - 1 - x;
+                    y = n - 1 - y;
+                }
+                int t = x;
+                x = y;
+                y = t;
+            }
+        }
+        return d;
+    }
+}
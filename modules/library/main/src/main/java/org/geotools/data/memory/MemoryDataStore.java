@@ -59,10 +59,46 @@
 @SuppressFBWarnings("JLM_JSR166_UTILCONCURRENT_MONITORENTER")
 public class MemoryDataStore extends ContentDataStore {
 
+    /** Whether new entries use the copy on write storage */
+    private volatile boolean snapshotStorage;
+
     public MemoryDataStore() {
         super();
     }
 
+    /**
+     * Enables copy on write storage for the feature types created from now on.
+     *
+     * <p>With snapshot storage readers work against an immutable snapshot of the features and never block, while
+     * writers are serialized and publish a new snapshot for each change. Queries by feature id, by bounding box on the
+     * default geometry and by equality on the attributes indexed with {@link #addAttributeIndex(String, String)} are
+     * answered using indexes instead of a full scan. This is best suited for content that is read much more often than
+     * it is written, such as reference layers shared by many threads.
+     *
+     * <p>Features stored in snapshot storage should not be modified in place, updates should go through a FeatureWriter
+     * or FeatureStore.
+     */
+    public void setSnapshotStorage(boolean snapshotStorage) {
+        this.snapshotStorage = snapshotStorage;
+    }
+
+    /** Returns true if feature types created from now on use copy on write storage */
+    public boolean isSnapshotStorage() {
+        return snapshotStorage;
+    }
+
+    /**
+     * Adds an equality index on an attribute of a feature type using snapshot storage.
+     *
+     * @param typeName The feature type name
+     * @param attribute The attribute to index
+     * @throws IOException If typeName cannot be found
+     * @throws IllegalStateException If the feature type does not use snapshot storage
+     */
+    public void addAttributeIndex(String typeName, String attribute) throws IOException {
+        entry(typeName).addAttributeIndex(attribute);
+    }
+
     /** Use MemoryState to manage internal storage. */
     @Override
     protected MemoryState createContentState(ContentEntry entry) {
@@ -52,11 +52,20 @@ public class MemoryEntry extends ContentEntry {
      */
     private final Map<String, SimpleFeature> memory;
 
+    /** Copy on write storage backing {@link #memory} when the store uses snapshot storage, null otherwise. */
+    final MemorySnapshotStorage storage;
+
     /** Entry to store content of the provided SimpleFeatureType. */
     MemoryEntry(MemoryDataStore store, SimpleFeatureType schema) {
         super(store, schema.getName());
         this.schema = schema;
-        memory = Collections.synchronizedMap(new LinkedHashMap<>());
+        if (store.isSnapshotStorage()) {
+            storage = new MemorySnapshotStorage(schema);
+            memory = storage.asMap();
+        } else {
+            storage = null;
+            memory = Collections.synchronizedMap(new LinkedHashMap<>());
+        }
     }
 
     protected MemoryState createContentState(ContentEntry entry) {
@@ -66,6 +75,10 @@ protected MemoryState createContentState(ContentEntry entry) {
     /**
      * Access the {@link #memory} field used to store feature content.
      *
+     * <p>When the store uses snapshot storage the map is a view: reads go to the current snapshot, without locking,
+     * while writes are applied to the storage and published as a new snapshot. Iterators are not affected by concurrent
+     * writes.
+     *
      * @return the memory
      */
     public Map<String, SimpleFeature> getMemory() {
@@ -94,4 +107,23 @@ void addFeature(SimpleFeature feature) {
         }
         getMemory().put(feature.getID(), feature);
     }
+
+    /** Returns true if the features are kept in a copy on write, indexed storage */
+    public boolean isSnapshotStorage() {
+        return storage != null;
+    }
+
+    /**
+     * Adds an equality index on the given attribute, used to answer equality filters without scanning all features.
+     * Only available with snapshot storage, string, numeric and boolean attributes can be indexed.
+     *
+     * @throws IllegalStateException If the entry does not use snapshot storage
+     * @throws IllegalArgumentException If the attribute is not part of the schema
+     */
+    public void addAttributeIndex(String attribute) {
+        if (storage == null) {
+            throw new IllegalStateException("Attribute indexes require snapshot storage");
+        }
+        storage.addAttributeIndex(attribute);
+    }
 }
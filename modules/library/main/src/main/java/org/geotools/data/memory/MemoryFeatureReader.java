@@ -40,9 +40,14 @@ public MemoryFeatureReader(ContentState state, Query query) throws IOException {
         featureType = state.getFeatureType();
         MemoryEntry entry = (MemoryEntry) state.getEntry();
 
-        final List<SimpleFeature> internalCollection =
-                new ArrayList<>(entry.getMemory().values());
-        iterator = internalCollection.iterator();
+        if (entry.storage != null) {
+            // lock free, the filter is still evaluated by the caller
+            iterator = entry.storage.candidates(query.getFilter());
+        } else {
+            final List<SimpleFeature> internalCollection =
+                    new ArrayList<>(entry.getMemory().values());
+            iterator = internalCollection.iterator();
+        }
     }
 
     @Override
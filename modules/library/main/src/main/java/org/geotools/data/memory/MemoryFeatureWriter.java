@@ -132,7 +132,13 @@ public void write() throws IOException {
                 // accept modifications
                 //
                 try {
-                    live.setAttributes(current.getAttributes());
+                    MemoryEntry entry = state.getEntry();
+                    if (entry.isSnapshotStorage()) {
+                        // snapshots are immutable, replace the feature instead of changing it
+                        entry.getMemory().put(live.getID(), SimpleFeatureBuilder.copy(current));
+                    } else {
+                        live.setAttributes(current.getAttributes());
+                    }
                 } catch (Exception e) {
                     throw new DataSourceException(
                             "Unable to accept modifications to " + live.getID() + " on " + typeName);
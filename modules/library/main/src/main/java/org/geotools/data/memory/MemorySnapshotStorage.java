@@ -0,0 +1,598 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.memory;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.api.filter.And;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.Id;
+import org.geotools.api.filter.PropertyIsEqualTo;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.api.filter.identity.Identifier;
+import org.geotools.filter.FilterAttributeExtractor;
+import org.geotools.filter.visitor.ExtractBoundsFilterVisitor;
+import org.geotools.util.Converters;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.index.strtree.STRtree;
+
+/**
+ * Copy on write storage for the features of a {@link MemoryEntry}, used when the store has been configured with
+ * {@link MemoryDataStore#setSnapshotStorage(boolean)}.
+ *
+ * <p>Readers work against an immutable {@link Snapshot} of the content, obtained with a single volatile read, and never
+ * block on writers. Writers are serialized and publish a new snapshot after each change. To keep writes cheap a
+ * snapshot is made of a compacted base, holding most of the features, plus a small delta of the features added,
+ * modified or removed since the base was built. The base carries a STR tree on the default geometry bounds and the
+ * configured attribute indexes, both built on first use. Once the delta grows past a fraction of the base the two are
+ * merged into a new base, so that the cost of rebuilding the indexes is amortized over many writes.
+ */
+final class MemorySnapshotStorage {
+
+    /** Minimum number of changes accumulated in the delta before a compaction */
+    static final int MIN_DELTA = 256;
+
+    final SimpleFeatureType schema;
+
+    /** Indexed attributes, in feature type order, guarded by this */
+    private final List<Integer> indexed = new ArrayList<>();
+
+    /** The current content, in insertion order, guarded by this */
+    private final LinkedHashMap<String, SimpleFeature> master = new LinkedHashMap<>();
+
+    /** The identifiers having a slot in the base or in the tail of the current snapshot, guarded by this */
+    private Set<String> stored = new HashSet<>();
+
+    /** Features appended since the last compaction, shared by the snapshots, guarded by this */
+    private SimpleFeature[] tail = new SimpleFeature[16];
+
+    private volatile Snapshot current;
+
+    MemorySnapshotStorage(SimpleFeatureType schema) {
+        this.schema = schema;
+        this.current = new Snapshot(new Base(new SimpleFeature[0], new int[0]), tail, 0, Collections.emptyMap(), 0);
+    }
+
+    /** Returns the current snapshot, never blocks */
+    Snapshot snapshot() {
+        return current;
+    }
+
+    /** Adds or replaces a feature */
+    synchronized SimpleFeature put(String fid, SimpleFeature feature) {
+        SimpleFeature previous = master.put(fid, feature);
+        Snapshot s = current;
+        if (stored.contains(fid)) {
+            Map<String, SimpleFeature> overrides = new HashMap<>(s.overrides);
+            overrides.put(fid, feature);
+            publish(s.tail, s.tailSize, overrides);
+        } else {
+            if (s.tailSize == tail.length) {
+                tail = Arrays.copyOf(tail, tail.length * 2);
+            }
+            // slots past the size of the published snapshots are not visible to their readers
+            tail[s.tailSize] = feature;
+            stored.add(fid);
+            publish(tail, s.tailSize + 1, s.overrides);
+        }
+        return previous;
+    }
+
+    /** Removes a feature */
+    synchronized SimpleFeature remove(String fid) {
+        SimpleFeature previous = master.remove(fid);
+        if (previous != null) {
+            Snapshot s = current;
+            Map<String, SimpleFeature> overrides = new HashMap<>(s.overrides);
+            overrides.put(fid, null);
+            publish(s.tail, s.tailSize, overrides);
+        }
+        return previous;
+    }
+
+    /** Removes all features */
+    synchronized void clear() {
+        master.clear();
+        compact();
+    }
+
+    /** Adds an equality index on the given attribute */
+    synchronized void addAttributeIndex(String attribute) {
+        int index = schema.indexOf(attribute);
+        if (index < 0) {
+            throw new IllegalArgumentException("Attribute " + attribute + " not found in " + schema.getTypeName());
+        }
+        if (!indexed.contains(index)) {
+            indexed.add(index);
+            Collections.sort(indexed);
+            compact();
+        }
+    }
+
+    /** Returns the names of the indexed attributes */
+    synchronized List<String> getAttributeIndexes() {
+        List<String> result = new ArrayList<>();
+        for (Integer i : indexed) {
+            result.add(schema.getDescriptor(i).getLocalName());
+        }
+        return result;
+    }
+
+    private void publish(SimpleFeature[] tail, int tailSize, Map<String, SimpleFeature> overrides) {
+        Base base = current.base;
+        if (tailSize + overrides.size() > Math.max(MIN_DELTA, base.features.length / 4)) {
+            compact();
+        } else {
+            current = new Snapshot(base, tail, tailSize, overrides, master.size());
+        }
+    }
+
+    private void compact() {
+        SimpleFeature[] features = master.values().toArray(new SimpleFeature[master.size()]);
+        int[] attributes = indexed.stream().mapToInt(i -> i).toArray();
+        stored = new HashSet<>(master.keySet());
+        tail = new SimpleFeature[16];
+        current = new Snapshot(new Base(features, attributes), tail, 0, Collections.emptyMap(), features.length);
+    }
+
+    /** Returns a map view of the storage, reads go to the current snapshot, writes to the storage */
+    Map<String, SimpleFeature> asMap() {
+        return new SnapshotMap();
+    }
+
+    /**
+     * Returns the features that might match the filter, from the current snapshot. Identifier filters, equality filters
+     * against indexed attributes and filters with a bounded spatial extent on the default geometry are answered using
+     * the indexes, the result is a superset of the matching features and the filter still needs to be evaluated.
+     */
+    Iterator<SimpleFeature> candidates(Filter filter) {
+        Snapshot s = current;
+        if (filter == null || filter == Filter.INCLUDE) {
+            return s.iterator();
+        }
+        if (filter instanceof Id) {
+            List<SimpleFeature> result = new ArrayList<>();
+            Set<String> fids = new LinkedHashSet<>();
+            for (Identifier id : ((Id) filter).getIdentifiers()) {
+                fids.add(String.valueOf(id.getID()));
+            }
+            for (String fid : fids) {
+                SimpleFeature feature = s.get(fid);
+                if (feature != null) {
+                    result.add(feature);
+                }
+            }
+            return result.iterator();
+        }
+        for (Filter child : filter instanceof And ? ((And) filter).getChildren() : List.of(filter)) {
+            if (child instanceof PropertyIsEqualTo) {
+                List<SimpleFeature> result = s.equalTo((PropertyIsEqualTo) child);
+                if (result != null) {
+                    return result.iterator();
+                }
+            }
+        }
+        Envelope envelope = getSpatialBounds(filter);
+        if (envelope != null) {
+            return s.intersecting(envelope).iterator();
+        }
+        return s.iterator();
+    }
+
+    /** The bounds of the filter on the default geometry, or null if the filter is not spatially bounded */
+    private Envelope getSpatialBounds(Filter filter) {
+        GeometryDescriptor defaultGeometry = schema.getGeometryDescriptor();
+        if (defaultGeometry == null) {
+            return null;
+        }
+        // the bounds extraction does not look at the property names, make sure only the default geometry is used
+        FilterAttributeExtractor extractor = new FilterAttributeExtractor(schema);
+        filter.accept(extractor, null);
+        for (String name : extractor.getAttributeNameSet()) {
+            AttributeDescriptor ad = schema.getDescriptor(name);
+            if (ad instanceof GeometryDescriptor && ad != defaultGeometry) {
+                return null;
+            }
+        }
+        Envelope envelope = (Envelope) filter.accept(ExtractBoundsFilterVisitor.BOUNDS_VISITOR, new Envelope());
+        if (envelope == null
+                || envelope.isNull()
+                || Double.isInfinite(envelope.getWidth())
+                || Double.isInfinite(envelope.getHeight())) {
+            return null;
+        }
+        return envelope;
+    }
+
+    /** Normalizes a value before using it as an index key */
+    static Object key(Object value) {
+        if (value instanceof Double && (Double) value == 0d) {
+            return 0d;
+        } else if (value instanceof Float && (Float) value == 0f) {
+            return 0f;
+        }
+        return value;
+    }
+
+    static Envelope getBounds(SimpleFeature feature) {
+        Object geometry = feature.getDefaultGeometry();
+        return geometry instanceof Geometry ? ((Geometry) geometry).getEnvelopeInternal() : null;
+    }
+
+    /** The compacted part of a snapshot, shared by all the snapshots published until the next compaction */
+    final class Base {
+
+        final SimpleFeature[] features;
+
+        final Map<String, Integer> positions;
+
+        final int[] attributes;
+
+        private volatile STRtree spatialIndex;
+
+        private final AtomicReferenceArray<Map<Object, int[]>> attributeIndexes;
+
+        Base(SimpleFeature[] features, int[] attributes) {
+            this.features = features;
+            this.attributes = attributes;
+            this.positions = new HashMap<>(features.length * 4 / 3 + 1);
+            for (int i = 0; i < features.length; i++) {
+                positions.put(features[i].getID(), i);
+            }
+            this.attributeIndexes = new AtomicReferenceArray<>(attributes.length);
+        }
+
+        STRtree getSpatialIndex() {
+            STRtree result = spatialIndex;
+            if (result == null) {
+                synchronized (this) {
+                    result = spatialIndex;
+                    if (result == null) {
+                        result = new STRtree();
+                        for (int i = 0; i < features.length; i++) {
+                            Envelope envelope = getBounds(features[i]);
+                            if (envelope != null && !envelope.isNull()) {
+                                result.insert(envelope, i);
+                            }
+                        }
+                        result.build();
+                        spatialIndex = result;
+                    }
+                }
+            }
+            return result;
+        }
+
+        /** Returns the index of the given attribute, or null if the attribute is not indexed */
+        Map<Object, int[]> getAttributeIndex(int attribute) {
+            int slot = Arrays.binarySearch(attributes, attribute);
+            if (slot < 0) {
+                return null;
+            }
+            Map<Object, int[]> result = attributeIndexes.get(slot);
+            if (result != null) {
+                return result;
+            }
+            synchronized (this) {
+                result = attributeIndexes.get(slot);
+                if (result == null) {
+                    Map<Object, List<Integer>> rows = new HashMap<>();
+                    for (int i = 0; i < features.length; i++) {
+                        Object value = features[i].getAttribute(attribute);
+                        if (value != null) {
+                            rows.computeIfAbsent(key(value), k -> new ArrayList<>())
+                                    .add(i);
+                        }
+                    }
+                    result = new HashMap<>(rows.size() * 4 / 3 + 1);
+                    for (Map.Entry<Object, List<Integer>> e : rows.entrySet()) {
+                        result.put(
+                                e.getKey(),
+                                e.getValue().stream().mapToInt(i -> i).toArray());
+                    }
+                    attributeIndexes.set(slot, result);
+                }
+                return result;
+            }
+        }
+    }
+
+    /** An immutable view of the storage content */
+    final class Snapshot implements Iterable<SimpleFeature> {
+
+        final Base base;
+
+        final SimpleFeature[] tail;
+
+        final int tailSize;
+
+        /** Replacements for features in the base or in the tail, a null value marks a removed feature */
+        final Map<String, SimpleFeature> overrides;
+
+        final int size;
+
+        Snapshot(Base base, SimpleFeature[] tail, int tailSize, Map<String, SimpleFeature> overrides, int size) {
+            this.base = base;
+            this.tail = tail;
+            this.tailSize = tailSize;
+            this.overrides = overrides;
+            this.size = size;
+        }
+
+        /** The number of features in the snapshot */
+        int size() {
+            return size;
+        }
+
+        /** Returns the feature with the given identifier, or null */
+        SimpleFeature get(String fid) {
+            if (overrides.containsKey(fid)) {
+                return overrides.get(fid);
+            }
+            Integer position = base.positions.get(fid);
+            if (position != null) {
+                return base.features[position];
+            }
+            for (int i = 0; i < tailSize; i++) {
+                if (fid.equals(tail[i].getID())) {
+                    return tail[i];
+                }
+            }
+            return null;
+        }
+
+        /** Iterates over all features, in insertion order */
+        @Override
+        public Iterator<SimpleFeature> iterator() {
+            return new Iterator<>() {
+                int position = 0;
+                SimpleFeature next = advance();
+
+                private SimpleFeature advance() {
+                    int total = base.features.length + tailSize;
+                    while (position < total) {
+                        SimpleFeature f = position < base.features.length
+                                ? base.features[position]
+                                : tail[position - base.features.length];
+                        position++;
+                        if (overrides.isEmpty() || !overrides.containsKey(f.getID())) {
+                            return f;
+                        }
+                        SimpleFeature replacement = overrides.get(f.getID());
+                        if (replacement != null) {
+                            return replacement;
+                        }
+                    }
+                    return null;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public SimpleFeature next() {
+                    if (next == null) {
+                        throw new NoSuchElementException();
+                    }
+                    SimpleFeature result = next;
+                    next = advance();
+                    return result;
+                }
+            };
+        }
+
+        /** Returns the features whose default geometry bounds intersect the envelope */
+        List<SimpleFeature> intersecting(Envelope envelope) {
+            List<SimpleFeature> result = new ArrayList<>();
+            base.getSpatialIndex().query(envelope, item -> {
+                SimpleFeature f = base.features[(Integer) item];
+                if (!overrides.containsKey(f.getID())) {
+                    result.add(f);
+                }
+            });
+            for (SimpleFeature f : delta()) {
+                Envelope bounds = getBounds(f);
+                if (bounds != null && bounds.intersects(envelope)) {
+                    result.add(f);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Returns the features whose value for the attribute of the filter might be equal to the literal, or null if
+         * the filter cannot be answered with an attribute index
+         */
+        List<SimpleFeature> equalTo(PropertyIsEqualTo filter) {
+            Expression e1 = filter.getExpression1();
+            Expression e2 = filter.getExpression2();
+            if (e1 instanceof Literal && e2 instanceof PropertyName) {
+                Expression swap = e1;
+                e1 = e2;
+                e2 = swap;
+            }
+            if (!(e1 instanceof PropertyName) || !(e2 instanceof Literal)) {
+                return null;
+            }
+            int attribute = schema.indexOf(((PropertyName) e1).getPropertyName());
+            if (attribute < 0) {
+                return null;
+            }
+            Class<?> binding = schema.getDescriptor(attribute).getType().getBinding();
+            Object value = ((Literal) e2).getValue();
+            if (!isIndexable(binding) || value == null) {
+                return null;
+            }
+            Object converted = Converters.convert(value, binding);
+            if (converted == null || (converted instanceof String && !filter.isMatchingCase())) {
+                return null;
+            }
+            Map<Object, int[]> index = base.getAttributeIndex(attribute);
+            if (index == null) {
+                return null;
+            }
+            Object key = key(converted);
+
+            List<SimpleFeature> result = new ArrayList<>();
+            int[] rows = index.get(key);
+            if (rows != null) {
+                for (int row : rows) {
+                    SimpleFeature f = base.features[row];
+                    if (!overrides.containsKey(f.getID())) {
+                        result.add(f);
+                    }
+                }
+            }
+            for (SimpleFeature f : delta()) {
+                Object v = f.getAttribute(attribute);
+                if (v != null && key.equals(key(v))) {
+                    result.add(f);
+                }
+            }
+            return result;
+        }
+
+        /** The live features that are not in the base, or that replace a base feature */
+        private List<SimpleFeature> delta() {
+            List<SimpleFeature> result = new ArrayList<>(tailSize + overrides.size());
+            for (int i = 0; i < tailSize; i++) {
+                if (!overrides.containsKey(tail[i].getID())) {
+                    result.add(tail[i]);
+                }
+            }
+            for (SimpleFeature f : overrides.values()) {
+                if (f != null) {
+                    result.add(f);
+                }
+            }
+            return result;
+        }
+    }
+
+    /** Only types with a consistent equals/hashCode, matching the filter notion of equality, are indexed */
+    static boolean isIndexable(Class<?> binding) {
+        return String.class.equals(binding)
+                || Integer.class.equals(binding)
+                || Long.class.equals(binding)
+                || Short.class.equals(binding)
+                || Byte.class.equals(binding)
+                || Double.class.equals(binding)
+                || Float.class.equals(binding)
+                || Boolean.class.equals(binding);
+    }
+
+    /** Map view over the storage */
+    private class SnapshotMap extends AbstractMap<String, SimpleFeature> {
+
+        @Override
+        public int size() {
+            return current.size();
+        }
+
+        @Override
+        public SimpleFeature get(Object key) {
+            return key instanceof String ? current.get((String) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public SimpleFeature put(String key, SimpleFeature value) {
+            if (value == null) {
+                throw new NullPointerException("Null features are not supported");
+            } else if (!key.equals(value.getID())) {
+                throw new IllegalArgumentException("Key " + key + " does not match the feature id " + value.getID());
+            }
+            return MemorySnapshotStorage.this.put(key, value);
+        }
+
+        @Override
+        public SimpleFeature remove(Object key) {
+            return key instanceof String ? MemorySnapshotStorage.this.remove((String) key) : null;
+        }
+
+        @Override
+        public void clear() {
+            MemorySnapshotStorage.this.clear();
+        }
+
+        @Override
+        public Set<Map.Entry<String, SimpleFeature>> entrySet() {
+            final Snapshot snapshot = current;
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return snapshot.size();
+                }
+
+                @Override
+                public Iterator<Map.Entry<String, SimpleFeature>> iterator() {
+                    final Iterator<SimpleFeature> delegate = snapshot.iterator();
+                    return new Iterator<>() {
+                        String last;
+
+                        @Override
+                        public boolean hasNext() {
+                            return delegate.hasNext();
+                        }
+
+                        @Override
+                        public Map.Entry<String, SimpleFeature> next() {
+                            SimpleFeature f = delegate.next();
+                            last = f.getID();
+                            return new SimpleImmutableEntry<>(last, f);
+                        }
+
+                        @Override
+                        public void remove() {
+                            if (last == null) {
+                                throw new IllegalStateException();
+                            }
+                            MemorySnapshotStorage.this.remove(last);
+                            last = null;
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
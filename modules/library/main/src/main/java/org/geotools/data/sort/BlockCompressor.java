@@ -0,0 +1,171 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A fast LZ77 block compressor following the LZ4 block layout: sequences made of a token (literal and match length
+ * nibbles), the extra length bytes, the literals, and a two bytes match offset. Matches are found through a single hash
+ * table probe, trading compression ratio for speed, which suits the spill files of a sort: they are written and read
+ * once, and are mostly made of repeated attribute values, ids and coordinates.
+ *
+ * <p>Instances hold the hash table, and are not thread safe.
+ */
+class BlockCompressor {
+
+    private static final int MIN_MATCH = 4;
+
+    /** The last match must start at least this number of bytes before the end of the block */
+    private static final int MATCH_LIMIT = 12;
+
+    /** The last bytes of the block are always literals */
+    private static final int LAST_LITERALS = 5;
+
+    private static final int MAX_OFFSET = 65535;
+
+    private static final int HASH_LOG = 14;
+
+    private final int[] table = new int[1 << HASH_LOG];
+
+    /** The maximum size of the compressed version of a block of the given length */
+    static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    /**
+     * Compresses a block
+     *
+     * @return The compressed length
+     */
+    int compress(byte[] src, int length, byte[] dst) {
+        Arrays.fill(table, -1);
+        int dp = 0;
+        int anchor = 0;
+        int ip = 0;
+        int limit = length - MATCH_LIMIT;
+        while (ip <= limit) {
+            int sequence = readInt(src, ip);
+            int h = (sequence * -1640531535) >>> (32 - HASH_LOG);
+            int ref = table[h];
+            table[h] = ip;
+            if (ref < 0 || ip - ref > MAX_OFFSET || readInt(src, ref) != sequence) {
+                ip++;
+                continue;
+            }
+            // extend the match forward
+            int matchLength = MIN_MATCH;
+            int matchLimit = length - LAST_LITERALS;
+            while (ip + matchLength < matchLimit && src[ref + matchLength] == src[ip + matchLength]) {
+                matchLength++;
+            }
+            dp = writeSequence(src, anchor, ip - anchor, dst, dp, ip - ref, matchLength);
+            ip += matchLength;
+            anchor = ip;
+        }
+        // the remaining literals
+        int literals = length - anchor;
+        int token = dp++;
+        dst[token] = (byte) (Math.min(literals, 15) << 4);
+        dp = writeLength(dst, dp, literals);
+        System.arraycopy(src, anchor, dst, dp, literals);
+        return dp + literals;
+    }
+
+    private static int writeSequence(
+            byte[] src, int anchor, int literals, byte[] dst, int dp, int offset, int matchLength) {
+        int token = dp++;
+        int extra = matchLength - MIN_MATCH;
+        dst[token] = (byte) ((Math.min(literals, 15) << 4) | Math.min(extra, 15));
+        dp = writeLength(dst, dp, literals);
+        System.arraycopy(src, anchor, dst, dp, literals);
+        dp += literals;
+        dst[dp++] = (byte) offset;
+        dst[dp++] = (byte) (offset >>> 8);
+        return writeLength(dst, dp, extra);
+    }
+
+    /** Writes the part of a length not fitting in its token nibble */
+    private static int writeLength(byte[] dst, int dp, int length) {
+        if (length >= 15) {
+            length -= 15;
+            while (length >= 255) {
+                dst[dp++] = (byte) 255;
+                length -= 255;
+            }
+            dst[dp++] = (byte) length;
+        }
+        return dp;
+    }
+
+    /** Decompresses a block whose original length is known */
+    static void decompress(byte[] src, int length, byte[] dst, int dstLength) throws IOException {
+        int sp = 0;
+        int dp = 0;
+        try {
+            while (sp < length) {
+                int token = src[sp++] & 0xFF;
+                int literals = token >>> 4;
+                if (literals == 15) {
+                    int b;
+                    do {
+                        b = src[sp++] & 0xFF;
+                        literals += b;
+                    } while (b == 255);
+                }
+                System.arraycopy(src, sp, dst, dp, literals);
+                sp += literals;
+                dp += literals;
+                if (sp >= length) {
+                    break;
+                }
+                int offset = (src[sp] & 0xFF) | ((src[sp + 1] & 0xFF) << 8);
+                sp += 2;
+                int matchLength = token & 0x0F;
+                if (matchLength == 15) {
+                    int b;
+                    do {
+                        b = src[sp++] & 0xFF;
+                        matchLength += b;
+                    } while (b == 255);
+                }
+                matchLength += MIN_MATCH;
+                int ref = dp - offset;
+                if (offset == 0 || ref < 0) {
+                    throw new IOException("Corrupted compressed block in spill file");
+                }
+                // byte by byte, the match can overlap the bytes being written
+                for (int i = 0; i < matchLength; i++) {
+                    dst[dp++] = dst[ref++];
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Corrupted compressed block in spill file", e);
+        }
+        if (dp != dstLength) {
+            throw new IOException("Corrupted compressed block in spill file");
+        }
+    }
+
+    private static int readInt(byte[] buffer, int position) {
+        return (buffer[position] & 0xFF)
+                | ((buffer[position + 1] & 0xFF) << 8)
+                | ((buffer[position + 2] & 0xFF) << 16)
+                | ((buffer[position + 3] & 0xFF) << 24);
+    }
+}
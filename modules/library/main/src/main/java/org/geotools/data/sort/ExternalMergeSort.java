@@ -0,0 +1,407 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.data.SimpleFeatureReader;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.sort.SortBy;
+import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.data.simple.DelegateSimpleFeatureReader;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * External merge sort bounded by a memory budget in bytes. Features are accumulated until their estimated size reaches
+ * the share of the budget allotted to a run, then the run is sorted, encoded by a {@link SpillCodec} and written to a
+ * temporary file on a worker thread while the source keeps being read. The runs are finally merged through a loser
+ * tree, comparing the sort keys stored ahead of each record and decoding only the features actually returned. When
+ * there are too many runs to keep them all open, groups of runs are first merged into larger ones, copying the encoded
+ * records as they are.
+ */
+class ExternalMergeSort {
+
+    static final Logger LOGGER = Logging.getLogger(ExternalMergeSort.class);
+
+    /** The maximum number of runs merged at once */
+    static final int MAX_FAN_IN = 128;
+
+    /** The number of runs sorted and written concurrently */
+    static final int PARALLELISM = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    /** Shared by all sorts, each one limits itself to {@link #PARALLELISM} runs in flight */
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "GeoTools sort run writer " + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** A feature along with its sort key */
+    static final class Entry {
+        final Object[] key;
+
+        final SimpleFeature feature;
+
+        Entry(Object[] key, SimpleFeature feature) {
+            this.key = key;
+            this.feature = feature;
+        }
+    }
+
+    /**
+     * Sorts the contents of the reader, which gets closed
+     *
+     * @param maxBytes The memory budget, for the features being sorted in memory and the ones being spilled
+     * @param compress Whether the spill files are compressed
+     */
+    static SimpleFeatureReader sort(SimpleFeatureReader reader, SortBy[] sortBy, long maxBytes, boolean compress)
+            throws IOException {
+        SimpleFeatureType schema = reader.getFeatureType();
+        SortKey sortKey = new SortKey(schema, sortBy);
+        // the run being filled, plus the ones being sorted and written
+        long runBytes = Math.max(1, maxBytes / (PARALLELISM + 1));
+
+        List<Future<SortRun>> pending = new ArrayList<>();
+        List<SortRun> runs = new ArrayList<>();
+        Semaphore inFlight = new Semaphore(PARALLELISM);
+        boolean success = false;
+        try (reader) {
+            List<Entry> entries = new ArrayList<>();
+            long bytes = 0;
+            while (reader.hasNext()) {
+                SimpleFeature feature = reader.next();
+                entries.add(new Entry(sortKey.extract(feature), feature));
+                bytes += estimateSize(feature);
+                if (bytes >= runBytes) {
+                    pending.add(spill(entries, schema, sortKey, compress, inFlight));
+                    entries = new ArrayList<>();
+                    bytes = 0;
+                }
+            }
+
+            if (pending.isEmpty()) {
+                // everything fit in memory
+                entries.sort((e1, e2) -> sortKey.compare(e1.key, e2.key));
+                List<SimpleFeature> features = new ArrayList<>(entries.size());
+                for (Entry entry : entries) {
+                    features.add(entry.feature);
+                }
+                success = true;
+                @SuppressWarnings("PMD.CloseResource") // returned in wrapper
+                SimpleFeatureIterator fi = new ListFeatureCollection(schema, features).features();
+                return new DelegateSimpleFeatureReader(schema, fi);
+            }
+            if (!entries.isEmpty()) {
+                pending.add(spill(entries, schema, sortKey, compress, inFlight));
+            }
+            collect(pending, runs);
+
+            SpillCodec codec = new SpillCodec(schema, sortKey);
+            while (runs.size() > MAX_FAN_IN) {
+                runs = reduce(runs, codec, compress);
+            }
+            MergeReader result = new MergeReader(schema, codec, runs);
+            success = true;
+            return result;
+        } finally {
+            if (!success) {
+                // wait for the runs being written, and remove all the files
+                try {
+                    collect(pending, runs);
+                } catch (IOException e) {
+                    LOGGER.log(Level.FINE, "Failed to write a sort run", e);
+                }
+                runs.forEach(SortRun::delete);
+            }
+        }
+    }
+
+    /** Sorts and writes the run on a worker thread, waiting if too many are already in progress */
+    private static Future<SortRun> spill(
+            List<Entry> entries, SimpleFeatureType schema, SortKey sortKey, boolean compress, Semaphore inFlight)
+            throws IOException {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while sorting", e);
+        }
+        try {
+            return EXECUTOR.submit(() -> {
+                try {
+                    entries.sort((e1, e2) -> sortKey.compare(e1.key, e2.key));
+                    SpillCodec codec = new SpillCodec(schema, sortKey);
+                    File file = SortRun.createFile();
+                    try (SortRun.Writer writer = new SortRun.Writer(file, compress)) {
+                        for (Entry entry : entries) {
+                            writer.write(codec, entry.key, entry.feature);
+                        }
+                        return writer.finish();
+                    } catch (IOException | RuntimeException e) {
+                        file.delete();
+                        throw e;
+                    }
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    /** Waits for the pending runs, in order, adding them to the list */
+    private static void collect(List<Future<SortRun>> pending, List<SortRun> runs) throws IOException {
+        IOException failure = null;
+        for (Future<SortRun> future : pending) {
+            try {
+                runs.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failure == null) {
+                    failure = new IOException("Interrupted while sorting", e);
+                }
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof IOException
+                            ? (IOException) e.getCause()
+                            : new IOException("Failed to write a sort run", e.getCause());
+                }
+            }
+        }
+        pending.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /** Merges consecutive groups of runs, keeping their order so that the sort stays stable */
+    private static List<SortRun> reduce(List<SortRun> runs, SpillCodec codec, boolean compress) throws IOException {
+        List<SortRun> result = new ArrayList<>();
+        try {
+            for (int i = 0; i < runs.size(); i += MAX_FAN_IN) {
+                List<SortRun> group = runs.subList(i, Math.min(runs.size(), i + MAX_FAN_IN));
+                if (group.size() == 1) {
+                    result.add(group.get(0));
+                    continue;
+                }
+                File file = SortRun.createFile();
+                try (SortRun.Writer writer = new SortRun.Writer(file, compress);
+                        LoserTree tree = new LoserTree(codec, group)) {
+                    while (tree.hasNext()) {
+                        SortRun.Reader reader = tree.winner();
+                        writer.write(reader.page(), reader.recordOffset, reader.recordLength);
+                        tree.advance();
+                    }
+                    result.add(writer.finish());
+                } catch (IOException | RuntimeException e) {
+                    file.delete();
+                    throw e;
+                }
+                group.forEach(SortRun::delete);
+            }
+        } catch (IOException | RuntimeException e) {
+            result.forEach(SortRun::delete);
+            throw e;
+        }
+        return result;
+    }
+
+    /** A rough estimate of the heap used by a feature */
+    static long estimateSize(SimpleFeature feature) {
+        long size = 64;
+        String id = feature.getID();
+        if (id != null) {
+            size += 40 + 2L * id.length();
+        }
+        for (Object value : feature.getAttributes()) {
+            size += 8;
+            if (value instanceof String) {
+                size += 40 + 2L * ((String) value).length();
+            } else if (value instanceof Geometry) {
+                size += 80 + 40L * ((Geometry) value).getNumPoints();
+            } else if (value != null) {
+                size += 24;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * The tournament tree of the k-way merge: each internal node holds the run that lost the match played there, the
+     * overall winner is kept at the root, so that replacing it only replays the matches along its path to the root,
+     * with a single comparison per level. Ties are won by the run with the lowest index.
+     */
+    static final class LoserTree implements AutoCloseable {
+
+        private final SortKey sortKey;
+
+        private final SortRun.Reader[] readers;
+
+        private final boolean[] exhausted;
+
+        private final int[] tree;
+
+        private final int k;
+
+        LoserTree(SpillCodec codec, List<SortRun> runs) throws IOException {
+            this.sortKey = codec.key;
+            this.k = runs.size();
+            this.readers = new SortRun.Reader[k];
+            this.exhausted = new boolean[k];
+            try {
+                for (int i = 0; i < k; i++) {
+                    readers[i] = new SortRun.Reader(runs.get(i), codec);
+                    exhausted[i] = !readers[i].next();
+                }
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw e;
+            }
+            // play the initial tournament bottom up, the leaves being at k..2k-1
+            this.tree = new int[k];
+            int[] winners = new int[2 * k];
+            for (int i = 0; i < k; i++) {
+                winners[k + i] = i;
+            }
+            for (int node = k - 1; node >= 1; node--) {
+                int a = winners[2 * node];
+                int b = winners[2 * node + 1];
+                if (beats(a, b)) {
+                    winners[node] = a;
+                    tree[node] = b;
+                } else {
+                    winners[node] = b;
+                    tree[node] = a;
+                }
+            }
+            tree[0] = winners[1];
+        }
+
+        private boolean beats(int a, int b) {
+            if (exhausted[a]) {
+                return false;
+            } else if (exhausted[b]) {
+                return true;
+            }
+            int result = sortKey.compare(readers[a].key, readers[b].key);
+            return result < 0 || (result == 0 && a < b);
+        }
+
+        boolean hasNext() {
+            return !exhausted[tree[0]];
+        }
+
+        /** The reader positioned on the smallest record */
+        SortRun.Reader winner() {
+            return readers[tree[0]];
+        }
+
+        /** Moves the winner to its next record and replays its matches */
+        void advance() throws IOException {
+            int winner = tree[0];
+            exhausted[winner] = !readers[winner].next();
+            for (int node = (winner + k) >> 1; node > 0; node >>= 1) {
+                if (beats(tree[node], winner)) {
+                    int loser = winner;
+                    winner = tree[node];
+                    tree[node] = loser;
+                }
+            }
+            tree[0] = winner;
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException failure = null;
+            for (SortRun.Reader reader : readers) {
+                if (reader != null) {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        failure = e;
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /** Returns the merged contents of the runs, deleting them once closed */
+    static final class MergeReader implements SimpleFeatureReader {
+
+        private final SimpleFeatureType schema;
+
+        private final List<SortRun> runs;
+
+        private final LoserTree tree;
+
+        MergeReader(SimpleFeatureType schema, SpillCodec codec, List<SortRun> runs) throws IOException {
+            this.schema = schema;
+            this.runs = runs;
+            this.tree = new LoserTree(codec, runs);
+        }
+
+        @Override
+        public SimpleFeatureType getFeatureType() {
+            return schema;
+        }
+
+        @Override
+        public SimpleFeature next() throws IOException, NoSuchElementException {
+            if (!tree.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            SimpleFeature feature = tree.winner().feature();
+            tree.advance();
+            return feature;
+        }
+
+        @Override
+        public boolean hasNext() throws IOException {
+            return tree.hasNext();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                tree.close();
+            } finally {
+                runs.forEach(SortRun::delete);
+            }
+        }
+    }
+}
@@ -70,6 +70,14 @@ static final boolean canSort(SimpleFeatureType schema, SortBy... sortBy) {
     }
 
     static SimpleFeatureReader getDelegateReader(SimpleFeatureReader reader, Query query) throws IOException {
+        Long maxBytes = getHint(query, Hints.MAX_MEMORY_SORT_BYTES);
+        if (maxBytes != null) {
+            return getDelegateReader(
+                    reader,
+                    query.getSortBy(),
+                    maxBytes,
+                    !Boolean.FALSE.equals(getHint(query, Hints.SORT_SPILL_COMPRESSION)));
+        }
         int maxFeatures = getMaxFeatures(query);
 
         return getDelegateReader(reader, query.getSortBy(), maxFeatures);
@@ -90,6 +98,38 @@ static int getMaxFeatures(Query query) {
         return maxFeatures;
     }
 
+    /** Gets a hint value from the query, falling back on the system default */
+    @SuppressWarnings("unchecked")
+    static <T> T getHint(Query query, Hints.Key key) {
+        Hints hints = query != null ? query.getHints() : null;
+        if (hints != null && hints.get(key) != null) {
+            return (T) hints.get(key);
+        }
+        return (T) Hints.getSystemDefault(key);
+    }
+
+    /**
+     * Sorts the reader contents using at most the given amount of memory, sorting and spilling runs to disk in parallel
+     *
+     * @param maxBytes The memory budget in bytes
+     * @param compress Whether the spilled runs are compressed
+     */
+    static SimpleFeatureReader getDelegateReader(
+            SimpleFeatureReader reader, SortBy[] sortBy, long maxBytes, boolean compress) throws IOException {
+        if (SortedFeatureReader.getComparator(sortBy, reader.getFeatureType()) == null) {
+            return reader;
+        }
+        SimpleFeatureType schema = reader.getFeatureType();
+        if (!canSort(schema, sortBy)) {
+            throw new IllegalArgumentException("The specified reader cannot be sorted, either the "
+                    + "sorting properties are not comparable or the attributes are not serializable: "
+                    + schema.getTypeName()
+                    + "\n "
+                    + Arrays.toString(sortBy));
+        }
+        return ExternalMergeSort.sort(reader, sortBy, maxBytes, compress);
+    }
+
     static SimpleFeatureReader getDelegateReader(SimpleFeatureReader reader, SortBy[] sortBy, int maxFeatures)
             throws IOException {
         if (maxFeatures < 0) {
@@ -0,0 +1,96 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.util.Comparator;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.filter.sort.SortBy;
+import org.geotools.api.filter.sort.SortOrder;
+
+/**
+ * Extracts the values a feature is sorted on, and compares them with the same semantics as the comparators returned by
+ * {@link SortedFeatureReader#getComparator(SortBy[], SimpleFeatureType)}: nulls first, natural ordering of the values,
+ * reversed for descending directives. The keys are extracted once per feature, and stored ahead of the feature in the
+ * spill files, so that merging runs only needs to decode them.
+ */
+class SortKey implements Comparator<Object[]> {
+
+    /** The attribute indexes, -1 for the feature id */
+    final int[] indexes;
+
+    final boolean[] ascending;
+
+    /** The attributes the key is made of, null for the feature id */
+    final AttributeDescriptor[] descriptors;
+
+    SortKey(SimpleFeatureType schema, SortBy[] sortBy) {
+        int n = sortBy.length;
+        indexes = new int[n];
+        ascending = new boolean[n];
+        descriptors = new AttributeDescriptor[n];
+        for (int i = 0; i < n; i++) {
+            SortBy sb = sortBy[i];
+            if (sb == SortBy.NATURAL_ORDER) {
+                indexes[i] = -1;
+                ascending[i] = true;
+            } else if (sb == SortBy.REVERSE_ORDER) {
+                indexes[i] = -1;
+                ascending[i] = false;
+            } else {
+                String name = sb.getPropertyName().getPropertyName();
+                indexes[i] = schema.indexOf(name);
+                if (indexes[i] < 0) {
+                    throw new IllegalArgumentException("Cannot sort on unknown attribute " + name);
+                }
+                descriptors[i] = schema.getDescriptor(indexes[i]);
+                ascending[i] = sb.getSortOrder() == SortOrder.ASCENDING;
+            }
+        }
+    }
+
+    /** Returns the values the feature is sorted on */
+    Object[] extract(SimpleFeature feature) {
+        Object[] key = new Object[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            key[i] = indexes[i] < 0 ? feature.getID() : feature.getAttribute(indexes[i]);
+        }
+        return key;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int compare(Object[] k1, Object[] k2) {
+        for (int i = 0; i < indexes.length; i++) {
+            Comparable<Object> o1 = (Comparable<Object>) k1[i];
+            Comparable<Object> o2 = (Comparable<Object>) k2[i];
+            int result;
+            if (o1 == null) {
+                result = o2 == null ? 0 : -1;
+            } else if (o2 == null) {
+                result = 1;
+            } else {
+                result = o1.compareTo(o2);
+            }
+            if (result != 0) {
+                return ascending[i] ? result : -result;
+            }
+        }
+        return 0;
+    }
+}
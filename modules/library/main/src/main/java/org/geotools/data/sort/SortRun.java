@@ -0,0 +1,236 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import org.geotools.api.feature.simple.SimpleFeature;
+
+/**
+ * A sorted run spilled to a temporary file. The records encoded by {@link SpillCodec} are grouped in pages of about
+ * {@link #PAGE_SIZE} bytes, each page being compressed by a {@link BlockCompressor} unless compression is disabled or
+ * does not pay off. Each page is prefixed by its raw length, its stored length and a compression flag.
+ */
+class SortRun {
+
+    static final int PAGE_SIZE = 64 * 1024;
+
+    final File file;
+
+    final long count;
+
+    SortRun(File file, long count) {
+        this.file = file;
+        this.count = count;
+    }
+
+    static File createFile() throws IOException {
+        return File.createTempFile("sorted", ".run");
+    }
+
+    void delete() {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            file.deleteOnExit();
+        }
+    }
+
+    /** Writes the records of a run, page by page */
+    static final class Writer implements Closeable {
+
+        private final File file;
+
+        private final DataOutputStream out;
+
+        private final BlockCompressor compressor;
+
+        private final SpillCodec.Output page = new SpillCodec.Output(PAGE_SIZE + 4096);
+
+        private byte[] compressed;
+
+        private long count;
+
+        Writer(File file, boolean compress) throws IOException {
+            this.file = file;
+            this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), PAGE_SIZE));
+            this.compressor = compress ? new BlockCompressor() : null;
+        }
+
+        /** Encodes and appends a feature */
+        void write(SpillCodec codec, Object[] key, SimpleFeature feature) throws IOException {
+            int start = page.skip(4);
+            codec.write(page, key, feature);
+            page.putInt(start, page.position - start - 4);
+            recordAdded();
+        }
+
+        /** Appends a record already encoded */
+        void write(byte[] buffer, int offset, int length) throws IOException {
+            page.writeInt(length);
+            page.write(buffer, offset, length);
+            recordAdded();
+        }
+
+        private void recordAdded() throws IOException {
+            count++;
+            if (page.position >= PAGE_SIZE) {
+                flushPage();
+            }
+        }
+
+        private void flushPage() throws IOException {
+            int length = page.position;
+            if (length == 0) {
+                return;
+            }
+            int stored = length;
+            boolean packed = false;
+            if (compressor != null) {
+                int max = BlockCompressor.maxCompressedLength(length);
+                if (compressed == null || compressed.length < max) {
+                    compressed = new byte[max];
+                }
+                stored = compressor.compress(page.buffer, length, compressed);
+                packed = stored < length;
+            }
+            out.writeInt(length);
+            if (packed) {
+                out.writeInt(stored);
+                out.writeBoolean(true);
+                out.write(compressed, 0, stored);
+            } else {
+                out.writeInt(length);
+                out.writeBoolean(false);
+                out.write(page.buffer, 0, length);
+            }
+            page.reset();
+        }
+
+        /** Flushes the last page and returns the run */
+        SortRun finish() throws IOException {
+            flushPage();
+            out.close();
+            return new SortRun(file, count);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /** Iterates over the records of a run, decoding their sort key eagerly and the features on demand */
+    static final class Reader implements Closeable {
+
+        private final DataInputStream in;
+
+        private final SpillCodec codec;
+
+        private final SpillCodec.Input input = new SpillCodec.Input();
+
+        private byte[] page = new byte[0];
+
+        private byte[] compressed = new byte[0];
+
+        private int pageLength;
+
+        private int position;
+
+        /** The sort key of the current record */
+        Object[] key;
+
+        /** The offset of the current record in the page, after its length */
+        int recordOffset;
+
+        int recordLength;
+
+        /** The offset of the feature of the current record, after its sort key */
+        private int featureOffset;
+
+        Reader(SortRun run, SpillCodec codec) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(run.file), PAGE_SIZE));
+            this.codec = codec;
+        }
+
+        /** Moves to the next record, returns false when the run is over */
+        boolean next() throws IOException {
+            if (position >= pageLength && !readPage()) {
+                key = null;
+                return false;
+            }
+            input.reset(page, position);
+            recordLength = input.readInt();
+            recordOffset = input.position;
+            key = codec.readKey(input);
+            featureOffset = input.position;
+            position = recordOffset + recordLength;
+            return true;
+        }
+
+        /** Decodes the feature of the current record */
+        SimpleFeature feature() throws IOException {
+            input.reset(page, featureOffset);
+            return codec.readFeature(input);
+        }
+
+        /** The page holding the current record, see {@link #recordOffset} and {@link #recordLength} */
+        byte[] page() {
+            return page;
+        }
+
+        private boolean readPage() throws IOException {
+            int length;
+            try {
+                length = in.readInt();
+            } catch (EOFException e) {
+                return false;
+            }
+            int stored = in.readInt();
+            boolean packed = in.readBoolean();
+            if (page.length < length) {
+                page = new byte[length];
+            }
+            if (packed) {
+                if (compressed.length < stored) {
+                    compressed = new byte[stored];
+                }
+                in.readFully(compressed, 0, stored);
+                BlockCompressor.decompress(compressed, stored, page, length);
+            } else {
+                in.readFully(page, 0, length);
+            }
+            pageLength = length;
+            position = 0;
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,377 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.InStream;
+import org.locationtech.jts.io.OutStream;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
+
+/**
+ * Compact binary encoding of the sorted features in the spill files. Each record holds the sort key values followed by
+ * the feature: its id, a bitmap of the null attributes, then the non null values. Integral numbers and dates are
+ * variable length, strings are UTF-8 with a variable length prefix, geometries are WKB. As in {@link SimpleFeatureIO}
+ * the encoding is driven by the attribute bindings, other types fall back on Java serialization, subject to the same
+ * {@link SimpleFeatureIO#ENABLE_DESERIALIZATION} switch.
+ *
+ * <p>Instances are not thread safe, each thread encoding or decoding records needs its own.
+ */
+class SpillCodec {
+
+    final SimpleFeatureType schema;
+
+    final SortKey key;
+
+    final List<AttributeDescriptor> attributes;
+
+    private final Class<?>[] bindings;
+
+    private final SimpleFeatureBuilder builder;
+
+    private final WKBWriter wkbWriter = new WKBWriter();
+
+    private final WKBReader wkbReader = new WKBReader();
+
+    private final boolean deserialization;
+
+    SpillCodec(SimpleFeatureType schema, SortKey key) {
+        this.schema = schema;
+        this.key = key;
+        this.attributes = schema.getAttributeDescriptors();
+        this.bindings = new Class<?>[attributes.size()];
+        for (int i = 0; i < bindings.length; i++) {
+            bindings[i] = attributes.get(i).getType().getBinding();
+        }
+        this.builder = new SimpleFeatureBuilder(schema);
+        // the spill files are always written by this process, deserialization is only denied explicitly
+        this.deserialization = !"false".equalsIgnoreCase(System.getProperty(SimpleFeatureIO.ENABLE_DESERIALIZATION));
+    }
+
+    /** Appends the record of the given feature and its sort key values */
+    void write(Output out, Object[] keyValues, SimpleFeature feature) throws IOException {
+        for (int i = 0; i < keyValues.length; i++) {
+            Object value = keyValues[i];
+            if (value == null) {
+                out.writeByte(0);
+            } else {
+                out.writeByte(1);
+                if (key.indexes[i] < 0) {
+                    out.writeString((String) value);
+                } else {
+                    writeValue(out, key.descriptors[i].getType().getBinding(), value);
+                }
+            }
+        }
+
+        String id = feature.getID();
+        if (id == null) {
+            out.writeByte(0);
+        } else {
+            out.writeByte(1);
+            out.writeString(id);
+        }
+        int n = bindings.length;
+        int bitmap = out.skip((n + 7) / 8);
+        for (int i = 0; i < n; i++) {
+            Object value = feature.getAttribute(i);
+            if (value == null) {
+                out.buffer[bitmap + (i >> 3)] |= (byte) (1 << (i & 7));
+            } else {
+                writeValue(out, bindings[i], value);
+            }
+        }
+    }
+
+    /** Decodes the sort key values of a record, leaving the input at the start of the feature */
+    Object[] readKey(Input in) throws IOException {
+        Object[] values = new Object[key.indexes.length];
+        for (int i = 0; i < values.length; i++) {
+            if (in.readByte() != 0) {
+                values[i] = key.indexes[i] < 0
+                        ? in.readString()
+                        : readValue(in, key.descriptors[i].getType().getBinding());
+            }
+        }
+        return values;
+    }
+
+    /** Decodes the feature following the sort key values of a record */
+    SimpleFeature readFeature(Input in) throws IOException {
+        String id = in.readByte() != 0 ? in.readString() : null;
+        int n = bindings.length;
+        int bitmap = in.position;
+        in.position += (n + 7) / 8;
+        for (int i = 0; i < n; i++) {
+            boolean isNull = (in.buffer[bitmap + (i >> 3)] & (1 << (i & 7))) != 0;
+            builder.add(isNull ? null : readValue(in, bindings[i]));
+        }
+        return builder.buildFeature(id);
+    }
+
+    private void writeValue(Output out, Class<?> binding, Object value) throws IOException {
+        // see SimpleFeatureIO#writeAttribute, the binding is trusted to be the exact value class
+        if (binding == Boolean.class) {
+            out.writeByte((Boolean) value ? 1 : 0);
+        } else if (binding == Byte.class || binding == byte.class) {
+            out.writeByte((Byte) value);
+        } else if (binding == Short.class || binding == short.class) {
+            out.writeVarLong(zigZag((Short) value));
+        } else if (binding == Integer.class || binding == int.class) {
+            out.writeVarLong(zigZag((Integer) value));
+        } else if (binding == Long.class || binding == long.class) {
+            out.writeVarLong(zigZag((Long) value));
+        } else if (binding == Float.class || binding == float.class) {
+            out.writeInt(Float.floatToRawIntBits((Float) value));
+        } else if (binding == Double.class || binding == double.class) {
+            out.writeLong(Double.doubleToRawLongBits((Double) value));
+        } else if (binding == String.class) {
+            out.writeString((String) value);
+        } else if (binding == java.sql.Timestamp.class) {
+            java.sql.Timestamp timestamp = (java.sql.Timestamp) value;
+            out.writeVarLong(zigZag(timestamp.getTime()));
+            out.writeVarLong(timestamp.getNanos());
+        } else if (binding == java.sql.Date.class || binding == java.sql.Time.class || binding == Date.class) {
+            out.writeVarLong(zigZag(((Date) value).getTime()));
+        } else if (Geometry.class.isAssignableFrom(binding)) {
+            int lengthPosition = out.skip(4);
+            wkbWriter.write((Geometry) value, out);
+            out.putInt(lengthPosition, out.position - lengthPosition - 4);
+        } else {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+                oos.writeObject(value);
+            }
+            byte[] bytes = bos.toByteArray();
+            out.writeVarLong(bytes.length);
+            out.write(bytes, bytes.length);
+        }
+    }
+
+    @SuppressWarnings("BanSerializableRead")
+    private Object readValue(Input in, Class<?> binding) throws IOException {
+        if (binding == Boolean.class) {
+            return in.readByte() != 0;
+        } else if (binding == Byte.class || binding == byte.class) {
+            return in.readByte();
+        } else if (binding == Short.class || binding == short.class) {
+            return (short) unZigZag(in.readVarLong());
+        } else if (binding == Integer.class || binding == int.class) {
+            return (int) unZigZag(in.readVarLong());
+        } else if (binding == Long.class || binding == long.class) {
+            return unZigZag(in.readVarLong());
+        } else if (binding == Float.class || binding == float.class) {
+            return Float.intBitsToFloat(in.readInt());
+        } else if (binding == Double.class || binding == double.class) {
+            return Double.longBitsToDouble(in.readLong());
+        } else if (binding == String.class) {
+            return in.readString();
+        } else if (binding == java.sql.Timestamp.class) {
+            java.sql.Timestamp timestamp = new java.sql.Timestamp(unZigZag(in.readVarLong()));
+            timestamp.setNanos((int) in.readVarLong());
+            return timestamp;
+        } else if (binding == java.sql.Date.class) {
+            return new java.sql.Date(unZigZag(in.readVarLong()));
+        } else if (binding == java.sql.Time.class) {
+            return new java.sql.Time(unZigZag(in.readVarLong()));
+        } else if (binding == Date.class) {
+            return new Date(unZigZag(in.readVarLong()));
+        } else if (Geometry.class.isAssignableFrom(binding)) {
+            int end = in.readInt() + in.position;
+            try {
+                return wkbReader.read(in);
+            } catch (ParseException e) {
+                throw new IOException("Failed to parse the geometry WKB", e);
+            } finally {
+                in.position = end;
+            }
+        } else {
+            if (!deserialization) {
+                throw new IllegalStateException("Object deserialization is not allowed");
+            }
+            int length = (int) in.readVarLong();
+            ByteArrayInputStream bis = new ByteArrayInputStream(in.buffer, in.position, length);
+            in.position += length;
+            try (ObjectInputStream ois = new ObjectInputStream(bis)) {
+                return ois.readObject();
+            } catch (ClassNotFoundException e) {
+                throw new IOException("Could not read back object", e);
+            }
+        }
+    }
+
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /** A growable byte array the records are appended to, also usable as a WKB output */
+    static final class Output implements OutStream {
+
+        byte[] buffer;
+
+        int position;
+
+        Output(int capacity) {
+            buffer = new byte[capacity];
+        }
+
+        void reset() {
+            position = 0;
+        }
+
+        private void ensure(int length) {
+            if (position + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+            }
+        }
+
+        /** Reserves the given number of zeroed bytes, returns their position */
+        int skip(int length) {
+            ensure(length);
+            int start = position;
+            Arrays.fill(buffer, start, start + length, (byte) 0);
+            position += length;
+            return start;
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeInt(int value) {
+            ensure(4);
+            putInt(position, value);
+            position += 4;
+        }
+
+        void putInt(int at, int value) {
+            buffer[at] = (byte) (value >>> 24);
+            buffer[at + 1] = (byte) (value >>> 16);
+            buffer[at + 2] = (byte) (value >>> 8);
+            buffer[at + 3] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            write(bytes, bytes.length);
+        }
+
+        @Override
+        public void write(byte[] bytes, int length) {
+            ensure(length);
+            System.arraycopy(bytes, 0, buffer, position, length);
+            position += length;
+        }
+
+        void write(byte[] bytes, int offset, int length) {
+            ensure(length);
+            System.arraycopy(bytes, offset, buffer, position, length);
+            position += length;
+        }
+    }
+
+    /** Reads the records back from a byte array, also usable as a WKB input */
+    static final class Input implements InStream {
+
+        byte[] buffer;
+
+        int position;
+
+        void reset(byte[] buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        byte readByte() {
+            return buffer[position++];
+        }
+
+        int readInt() {
+            int value = ((buffer[position] & 0xFF) << 24)
+                    | ((buffer[position + 1] & 0xFF) << 16)
+                    | ((buffer[position + 2] & 0xFF) << 8)
+                    | (buffer[position + 3] & 0xFF);
+            position += 4;
+            return value;
+        }
+
+        long readLong() {
+            return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed variable length number in spill file");
+        }
+
+        @Override
+        public int read(byte[] buf) {
+            int length = Math.min(buf.length, buffer.length - position);
+            System.arraycopy(buffer, position, buf, 0, length);
+            position += length;
+            return length;
+        }
+
+        String readString() throws IOException {
+            int length = (int) readVarLong();
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.store;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+
+/**
+ * Base class for {@link FeatureBatchReader} implementations, subclasses only have to fill a {@link FeatureBatchBuilder}
+ * with the next rows, see {@link #readRows(FeatureBatchBuilder, int)}.
+ */
+public abstract class AbstractFeatureBatchReader implements FeatureBatchReader {
+
+    protected final SimpleFeatureType featureType;
+
+    protected final int batchSize;
+
+    FeatureBatchBuilder builder;
+
+    FeatureBatch next;
+
+    boolean exhausted;
+
+    protected AbstractFeatureBatchReader(SimpleFeatureType featureType, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive, was " + batchSize);
+        }
+        this.featureType = featureType;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public SimpleFeatureType getFeatureType() {
+        return featureType;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        if (next == null && !exhausted) {
+            if (builder == null) {
+                builder = new FeatureBatchBuilder(featureType, batchSize);
+            }
+            // implementations may return less rows than requested, keep going until the batch is full
+            while (builder.size() < batchSize) {
+                if (readRows(builder, batchSize - builder.size()) <= 0) {
+                    exhausted = true;
+                    break;
+                }
+            }
+            if (builder.size() > 0) {
+                next = builder.build();
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public FeatureBatch next() throws IOException, NoSuchElementException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more batches to read");
+        }
+        FeatureBatch result = next;
+        next = null;
+        return result;
+    }
+
+    /**
+     * Adds up to {@code max} rows to the builder
+     *
+     * @return The number of rows added, zero or less if there are no more rows to read
+     */
+    protected abstract int readRows(FeatureBatchBuilder builder, int max) throws IOException;
+}
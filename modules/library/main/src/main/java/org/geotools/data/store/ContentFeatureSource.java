@@ -70,6 +70,9 @@
 import org.geotools.feature.FeatureTypes;
 import org.geotools.feature.SchemaException;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.feature.visitor.ApproximateVisitors;
+import org.geotools.feature.visitor.MultiVisitor;
+import org.geotools.feature.visitor.ParallelVisitorExecutor;
 import org.geotools.filter.function.Collection_AverageFunction;
 import org.geotools.filter.function.Collection_BoundsFunction;
 import org.geotools.filter.function.Collection_MaxFunction;
@@ -718,6 +721,73 @@ && canRetype(query)
         return reader;
     }
 
+    /**
+     * Returns a reader for the features specified by a query, grouped in column oriented batches of at most
+     * {@code batchSize} features.
+     *
+     * <p>When the subclass can handle the whole query natively this method calls through to
+     * {@link #getBatchReaderInternal(Query, int)}, otherwise, or if the subclass has no native batch support, the
+     * batches are filled from the reader returned by {@link #getReader(Query)}.
+     */
+    public final FeatureBatchReader getBatchReader(Query query, int batchSize) throws IOException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive, was " + batchSize);
+        }
+        Query resolved = resolvePropertyNames(joinQuery(query));
+        // paging requires a stable order, see getReader(Query)
+        if (resolved.getStartIndex() != null && (resolved.getSortBy() == null || resolved.getSortBy().length == 0)) {
+            resolved = new Query(resolved);
+            resolved.setSortBy(SortBy.NATURAL_ORDER);
+        }
+        if (isNativelyHandled(resolved)) {
+            FeatureBatchReader reader = getBatchReaderInternal(resolved, batchSize);
+            if (reader != null) {
+                return reader;
+            }
+        }
+        return new FeatureReaderBatchReader(getReader(query), batchSize);
+    }
+
+    /**
+     * Returns a native batch reader for the given query, or null if the subclass cannot read it in batches. The default
+     * implementation returns null.
+     *
+     * <p>Only called when the query can be fully handled by the subclass (filtering, sorting, retyping, paging and
+     * reprojection, according to the {@code canXYZ} methods), so that no further processing is needed on the batches.
+     */
+    protected FeatureBatchReader getBatchReaderInternal(Query query, int batchSize) throws IOException {
+        return null;
+    }
+
+    /** Returns true if {@link #getReader(Query)} would not need to wrap the reader returned by the subclass */
+    private boolean isNativelyHandled(Query query) {
+        if (!query.getJoins().isEmpty()) {
+            return false;
+        }
+        if (!canTransact() && transaction != null && transaction != Transaction.AUTO_COMMIT) {
+            return false;
+        }
+        if (query.getFilter() != null && query.getFilter() != Filter.INCLUDE && !canFilter(query)) {
+            return false;
+        }
+        if (query.getSortBy() != null && query.getSortBy().length != 0 && !canSort(query)) {
+            return false;
+        }
+        if (query.getPropertyNames() != Query.ALL_NAMES && !canRetype(query)) {
+            return false;
+        }
+        if (query.getStartIndex() != null && query.getStartIndex() > 0 && !canOffset(query)) {
+            return false;
+        }
+        if (query.getMaxFeatures() != -1 && query.getMaxFeatures() < Integer.MAX_VALUE && !canLimit(query)) {
+            return false;
+        }
+        if (!canReproject() && (query.getCoordinateSystem() != null || query.getCoordinateSystemReproject() != null)) {
+            return false;
+        }
+        return true;
+    }
+
     /** Returns all the properties used in the sortBy (excluding primary keys and the like, e.g., natural sorting) */
     private Set<String> getSortPropertyNames(SortBy... sortBy) {
         Set<String> result = new HashSet<>();
@@ -750,7 +820,12 @@ private Set<String> getSortPropertyNames(SortBy... sortBy) {
      *
      * Often in the case of Filter.INCLUDES the information can be determined from a file header or metadata table.
      *
-     * <p>
+     * <p>The visitors wrapped by a {@link MultiVisitor} that cannot be handled natively are computed in a single pass
+     * over the data. Visitors that can be split are run in parallel by a {@link ParallelVisitorExecutor}, if enabled by
+     * its system property or by the {@link Hints#PARALLEL_VISITS} hint.
+     *
+     * <p>When the {@link Hints#APPROXIMATE_AGGREGATES} hint is set, the visitors keeping all the values in memory are
+     * estimated by bounded memory sketches instead, see {@link ApproximateVisitors}.
      *
      * @param visitor Visitor called for each feature
      * @param progress Used to report progress; and errors on a feature by feature basis
@@ -770,12 +845,33 @@ public void accepts(
             // all good, subclass handled
             return;
         }
+        if (visitor instanceof MultiVisitor) {
+            // let the subclass handle what it can, then visit the data once for the rest
+            visitor = handleVisitors(query, (MultiVisitor) visitor);
+            if (visitor == null) {
+                return;
+            }
+        }
+        if (query.getHints() != null && Boolean.TRUE.equals(query.getHints().get(Hints.APPROXIMATE_AGGREGATES))) {
+            // trade accuracy for bounded memory, the approximate visitors get a chance to be handled natively too
+            FeatureVisitor approximate = ApproximateVisitors.approximate(visitor);
+            if (approximate != null) {
+                accepts(query, approximate, progress);
+                ApproximateVisitors.setResult(visitor, approximate);
+                return;
+            }
+        }
 
         // subclass could not handle, resort to manually walkign through
         try (FeatureReader<SimpleFeatureType, SimpleFeature> reader = getReader(query)) {
             float size = progress instanceof NullProgressListener ? 0.0f : (float) getCount(query);
             float position = 0;
             progress.started();
+            int parallelism = ParallelVisitorExecutor.getParallelism(query.getHints());
+            if (ParallelVisitorExecutor.canVisit(visitor, parallelism)) {
+                ParallelVisitorExecutor.visit(reader, visitor, progress, size, parallelism);
+                return;
+            }
             while (reader.hasNext()) {
                 SimpleFeature feature = null;
                 if (size > 0) progress.progress(position++ / size);
@@ -800,6 +896,26 @@ public void accepts(
         }
     }
 
+    /**
+     * Tries to natively handle each of the visitors wrapped by the {@link MultiVisitor}
+     *
+     * @return The visitor computing the remaining ones, or null if all of them were handled
+     */
+    private FeatureVisitor handleVisitors(Query query, MultiVisitor visitor) throws IOException {
+        List<FeatureVisitor> remaining = new ArrayList<>();
+        for (FeatureVisitor child : visitor.getVisitors()) {
+            if (!handleVisitor(query, child)) {
+                remaining.add(child);
+            }
+        }
+        if (remaining.isEmpty()) {
+            return null;
+        } else if (remaining.size() == 1) {
+            return remaining.get(0);
+        }
+        return remaining.size() == visitor.getVisitors().size() ? visitor : new MultiVisitor(remaining);
+    }
+
     /**
      * Subclass method which allows subclasses to natively handle a visitor.
      *
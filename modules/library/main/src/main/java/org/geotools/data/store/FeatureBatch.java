@@ -0,0 +1,418 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFilter;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * A group of features stored by column, as returned by a {@link FeatureBatchReader}.
+ *
+ * <p>Each attribute of the feature type is stored in a {@link Column}: numeric and boolean attributes are kept in
+ * arrays of primitives, geometries are kept as an array of geometries that can also be accessed as a packed array of
+ * coordinates, every other attribute is kept in an array of objects. Consumers working on whole columns (filters,
+ * aggregates, encoders) can thus scan the values without going through a {@link SimpleFeature} per row. Features can
+ * still be materialized on demand with {@link #getFeature(int)}.
+ *
+ * <p>Batches are immutable once built and can be handed over to other threads.
+ */
+public class FeatureBatch {
+
+    final SimpleFeatureType featureType;
+
+    final int size;
+
+    final String[] ids;
+
+    final Column[] columns;
+
+    FeatureBatch(SimpleFeatureType featureType, int size, String[] ids, Column[] columns) {
+        this.featureType = featureType;
+        this.size = size;
+        this.ids = ids;
+        this.columns = columns;
+    }
+
+    /** The feature type of the features in the batch */
+    public SimpleFeatureType getFeatureType() {
+        return featureType;
+    }
+
+    /** The number of features in the batch */
+    public int size() {
+        return size;
+    }
+
+    /** The identifier of the feature at the given row */
+    public String getID(int row) {
+        checkRow(row);
+        return ids[row];
+    }
+
+    /** The number of columns, one per attribute of the feature type */
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    /** Returns the column of the attribute at the given index */
+    public Column getColumn(int index) {
+        return columns[index];
+    }
+
+    /** Returns the column of the attribute with the given name, or null if the feature type has no such attribute */
+    public Column getColumn(String name) {
+        int index = featureType.indexOf(name);
+        return index >= 0 ? columns[index] : null;
+    }
+
+    /** Returns the value of an attribute, boxed */
+    public Object getValue(int row, int column) {
+        return columns[column].getValue(row);
+    }
+
+    /** Builds a feature out of the given row */
+    public SimpleFeature getFeature(int row) {
+        checkRow(row);
+        Object[] values = new Object[columns.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = columns[i].getValue(row);
+        }
+        return SimpleFeatureBuilder.build(featureType, values, ids[row]);
+    }
+
+    /** Builds the features of the batch, in order */
+    public List<SimpleFeature> toFeatures() {
+        List<SimpleFeature> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(getFeature(i));
+        }
+        return result;
+    }
+
+    void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range, batch size is " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FeatureBatch[" + featureType.getTypeName() + ", size=" + size + "]";
+    }
+
+    /** The values of an attribute, for all the features in the batch */
+    public abstract static class Column {
+
+        final AttributeDescriptor descriptor;
+
+        final int size;
+
+        /** The rows holding null values, or null if there are none */
+        final BitSet nulls;
+
+        Column(AttributeDescriptor descriptor, int size, BitSet nulls) {
+            this.descriptor = descriptor;
+            this.size = size;
+            this.nulls = nulls == null || nulls.isEmpty() ? null : nulls;
+        }
+
+        /** The attribute stored in this column */
+        public AttributeDescriptor getDescriptor() {
+            return descriptor;
+        }
+
+        /** The number of values, same as the batch size */
+        public int size() {
+            return size;
+        }
+
+        /** Returns true if the value at the given row is null */
+        public boolean isNull(int row) {
+            return nulls != null && nulls.get(row);
+        }
+
+        /** Returns true if the column contains at least one null value */
+        public boolean hasNulls() {
+            return nulls != null;
+        }
+
+        /** Returns the value at the given row, boxed to the attribute binding, or null */
+        public abstract Object getValue(int row);
+    }
+
+    /** A column of integer, short or byte values */
+    public static class IntColumn extends Column {
+
+        final int[] values;
+
+        IntColumn(AttributeDescriptor descriptor, int size, BitSet nulls, int[] values) {
+            super(descriptor, size, nulls);
+            this.values = values;
+        }
+
+        /** Returns the value at the given row, zero if null */
+        public int getInt(int row) {
+            return values[row];
+        }
+
+        /** The backing array, valid up to {@link #size()}. It's not a copy, don't modify it. */
+        public int[] getValues() {
+            return values;
+        }
+
+        @Override
+        public Object getValue(int row) {
+            if (isNull(row)) {
+                return null;
+            }
+            Class<?> binding = descriptor.getType().getBinding();
+            if (Short.class.equals(binding)) {
+                return (short) values[row];
+            } else if (Byte.class.equals(binding)) {
+                return (byte) values[row];
+            }
+            return values[row];
+        }
+    }
+
+    /** A column of long values */
+    public static class LongColumn extends Column {
+
+        final long[] values;
+
+        LongColumn(AttributeDescriptor descriptor, int size, BitSet nulls, long[] values) {
+            super(descriptor, size, nulls);
+            this.values = values;
+        }
+
+        /** Returns the value at the given row, zero if null */
+        public long getLong(int row) {
+            return values[row];
+        }
+
+        /** The backing array, valid up to {@link #size()}. It's not a copy, don't modify it. */
+        public long[] getValues() {
+            return values;
+        }
+
+        @Override
+        public Object getValue(int row) {
+            return isNull(row) ? null : values[row];
+        }
+    }
+
+    /** A column of double or float values */
+    public static class DoubleColumn extends Column {
+
+        final double[] values;
+
+        DoubleColumn(AttributeDescriptor descriptor, int size, BitSet nulls, double[] values) {
+            super(descriptor, size, nulls);
+            this.values = values;
+        }
+
+        /** Returns the value at the given row, zero if null */
+        public double getDouble(int row) {
+            return values[row];
+        }
+
+        /** The backing array, valid up to {@link #size()}. It's not a copy, don't modify it. */
+        public double[] getValues() {
+            return values;
+        }
+
+        @Override
+        public Object getValue(int row) {
+            if (isNull(row)) {
+                return null;
+            }
+            if (Float.class.equals(descriptor.getType().getBinding())) {
+                return (float) values[row];
+            }
+            return values[row];
+        }
+    }
+
+    /** A column of boolean values */
+    public static class BooleanColumn extends Column {
+
+        final BitSet values;
+
+        BooleanColumn(AttributeDescriptor descriptor, int size, BitSet nulls, BitSet values) {
+            super(descriptor, size, nulls);
+            this.values = values;
+        }
+
+        /** Returns the value at the given row, false if null */
+        public boolean getBoolean(int row) {
+            return values.get(row);
+        }
+
+        @Override
+        public Object getValue(int row) {
+            return isNull(row) ? null : values.get(row);
+        }
+    }
+
+    /** A column of values of any other type */
+    public static class ObjectColumn extends Column {
+
+        final Object[] values;
+
+        ObjectColumn(AttributeDescriptor descriptor, int size, BitSet nulls, Object[] values) {
+            super(descriptor, size, nulls);
+            this.values = values;
+        }
+
+        /** The backing array, valid up to {@link #size()}. It's not a copy, don't modify it. */
+        public Object[] getValues() {
+            return values;
+        }
+
+        @Override
+        public Object getValue(int row) {
+            return values[row];
+        }
+    }
+
+    /**
+     * A column of geometries. Besides the geometries themselves, the column provides their envelopes and their
+     * coordinates packed in a single array, both computed on first access.
+     */
+    public static class GeometryColumn extends ObjectColumn {
+
+        double[] envelopes;
+
+        double[] coordinates;
+
+        int[] offsets;
+
+        GeometryColumn(AttributeDescriptor descriptor, int size, BitSet nulls, Object[] values) {
+            super(descriptor, size, nulls, values);
+        }
+
+        /** Returns the geometry at the given row */
+        public Geometry getGeometry(int row) {
+            return (Geometry) values[row];
+        }
+
+        /**
+         * Returns the envelopes of the geometries, as four values per row, minx, miny, maxx, maxy. Null and empty
+         * geometries have a NaN envelope.
+         */
+        public synchronized double[] getEnvelopes() {
+            if (envelopes == null) {
+                double[] result = new double[size * 4];
+                for (int i = 0; i < size; i++) {
+                    Geometry g = (Geometry) values[i];
+                    Envelope e = g != null ? g.getEnvelopeInternal() : null;
+                    if (e == null || e.isNull()) {
+                        Arrays.fill(result, i * 4, i * 4 + 4, Double.NaN);
+                    } else {
+                        result[i * 4] = e.getMinX();
+                        result[i * 4 + 1] = e.getMinY();
+                        result[i * 4 + 2] = e.getMaxX();
+                        result[i * 4 + 3] = e.getMaxY();
+                    }
+                }
+                envelopes = result;
+            }
+            return envelopes;
+        }
+
+        /**
+         * Returns the x/y ordinates of all geometries packed in a single array, in geometry order. The coordinates of
+         * the geometry at row {@code i} go from {@code getCoordinateOffsets()[i]} included to
+         * {@code getCoordinateOffsets()[i + 1]} excluded, in coordinate units (two ordinates each).
+         */
+        public synchronized double[] getCoordinates() {
+            if (coordinates == null) {
+                packCoordinates();
+            }
+            return coordinates;
+        }
+
+        /** Returns the offsets of each geometry in the packed coordinate array, see {@link #getCoordinates()} */
+        public synchronized int[] getCoordinateOffsets() {
+            if (coordinates == null) {
+                packCoordinates();
+            }
+            return offsets;
+        }
+
+        private void packCoordinates() {
+            int[] offsets = new int[size + 1];
+            int total = 0;
+            for (int i = 0; i < size; i++) {
+                offsets[i] = total;
+                Geometry g = (Geometry) values[i];
+                if (g != null) {
+                    total += g.getNumPoints();
+                }
+            }
+            offsets[size] = total;
+
+            PackingFilter filter = new PackingFilter(new double[total * 2]);
+            for (int i = 0; i < size; i++) {
+                Geometry g = (Geometry) values[i];
+                if (g != null) {
+                    g.apply(filter);
+                }
+            }
+            this.coordinates = filter.ordinates;
+            this.offsets = offsets;
+        }
+    }
+
+    /** Copies the coordinates of the visited geometries in a packed array */
+    static class PackingFilter implements CoordinateSequenceFilter {
+
+        final double[] ordinates;
+
+        int position;
+
+        PackingFilter(double[] ordinates) {
+            this.ordinates = ordinates;
+        }
+
+        @Override
+        public void filter(CoordinateSequence seq, int i) {
+            ordinates[position++] = seq.getX(i);
+            ordinates[position++] = seq.getY(i);
+        }
+
+        @Override
+        public boolean isDone() {
+            return false;
+        }
+
+        @Override
+        public boolean isGeometryChanged() {
+            return false;
+        }
+    }
+}
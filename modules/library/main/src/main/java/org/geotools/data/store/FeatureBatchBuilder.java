@@ -0,0 +1,367 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.store;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.util.Converters;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Accumulates rows into the columns of a {@link FeatureBatch}.
+ *
+ * <p>A row is filled by calling the {@code set} methods for its attributes, in any order, and then committed with
+ * {@link #add(String)}. Attributes that have not been set are null. The typed setters ({@link #setInt(int, int)},
+ * {@link #setDouble(int, double)} and so on) store primitives straight into the column arrays, without boxing.
+ *
+ * <p>Once {@link #build()} is called the accumulated rows are handed over to the batch and the builder starts over with
+ * new arrays. The builder is not thread safe.
+ */
+public class FeatureBatchBuilder {
+
+    static final byte INT = 0;
+    static final byte LONG = 1;
+    static final byte DOUBLE = 2;
+    static final byte BOOLEAN = 3;
+    static final byte GEOMETRY = 4;
+    static final byte OBJECT = 5;
+
+    final SimpleFeatureType featureType;
+
+    final int capacity;
+
+    final byte[] kinds;
+
+    final Class<?>[] bindings;
+
+    Object[] arrays;
+
+    BitSet[] nulls;
+
+    String[] ids;
+
+    final boolean[] assigned;
+
+    int size;
+
+    /**
+     * Creates a new builder
+     *
+     * @param featureType The feature type of the batches
+     * @param capacity The expected number of rows per batch, the builder will grow past it if needed
+     */
+    public FeatureBatchBuilder(SimpleFeatureType featureType, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive, was " + capacity);
+        }
+        this.featureType = featureType;
+        this.capacity = capacity;
+        int count = featureType.getAttributeCount();
+        this.kinds = new byte[count];
+        this.bindings = new Class<?>[count];
+        for (int i = 0; i < count; i++) {
+            Class<?> binding = featureType.getDescriptor(i).getType().getBinding();
+            bindings[i] = binding;
+            kinds[i] = getKind(binding);
+        }
+        this.assigned = new boolean[count];
+        allocate(capacity);
+    }
+
+    static byte getKind(Class<?> binding) {
+        if (Integer.class.equals(binding) || Short.class.equals(binding) || Byte.class.equals(binding)) {
+            return INT;
+        } else if (Long.class.equals(binding)) {
+            return LONG;
+        } else if (Double.class.equals(binding) || Float.class.equals(binding)) {
+            return DOUBLE;
+        } else if (Boolean.class.equals(binding)) {
+            return BOOLEAN;
+        } else if (Geometry.class.isAssignableFrom(binding)) {
+            return GEOMETRY;
+        }
+        return OBJECT;
+    }
+
+    private void allocate(int length) {
+        arrays = new Object[kinds.length];
+        nulls = new BitSet[kinds.length];
+        for (int i = 0; i < kinds.length; i++) {
+            arrays[i] = newArray(kinds[i], length);
+            nulls[i] = new BitSet();
+        }
+        ids = new String[length];
+    }
+
+    private static Object newArray(byte kind, int length) {
+        switch (kind) {
+            case INT:
+                return new int[length];
+            case LONG:
+                return new long[length];
+            case DOUBLE:
+                return new double[length];
+            case BOOLEAN:
+                return new BitSet(length);
+            default:
+                return new Object[length];
+        }
+    }
+
+    private void grow() {
+        int length = ids.length + (ids.length >> 1) + 1;
+        ids = Arrays.copyOf(ids, length);
+        for (int i = 0; i < kinds.length; i++) {
+            switch (kinds[i]) {
+                case INT:
+                    arrays[i] = Arrays.copyOf((int[]) arrays[i], length);
+                    break;
+                case LONG:
+                    arrays[i] = Arrays.copyOf((long[]) arrays[i], length);
+                    break;
+                case DOUBLE:
+                    arrays[i] = Arrays.copyOf((double[]) arrays[i], length);
+                    break;
+                case BOOLEAN:
+                    break;
+                default:
+                    arrays[i] = Arrays.copyOf((Object[]) arrays[i], length);
+            }
+        }
+    }
+
+    /** The feature type of the batches being built */
+    public SimpleFeatureType getFeatureType() {
+        return featureType;
+    }
+
+    /** The number of rows accumulated so far */
+    public int size() {
+        return size;
+    }
+
+    /** Returns true if the builder reached the capacity it was created with */
+    public boolean isFull() {
+        return size >= capacity;
+    }
+
+    /**
+     * Sets the value of an attribute in the current row, converting it to the attribute binding if needed
+     *
+     * @throws IllegalArgumentException If the value cannot be converted to the attribute binding
+     */
+    public void set(int attribute, Object value) {
+        if (size == ids.length) {
+            grow();
+        }
+        assigned[attribute] = true;
+        if (value == null) {
+            nulls[attribute].set(size);
+            clear(attribute);
+            return;
+        }
+        nulls[attribute].clear(size);
+        switch (kinds[attribute]) {
+            case INT:
+                ((int[]) arrays[attribute])[size] = toNumber(attribute, value).intValue();
+                break;
+            case LONG:
+                ((long[]) arrays[attribute])[size] = toNumber(attribute, value).longValue();
+                break;
+            case DOUBLE:
+                ((double[]) arrays[attribute])[size] =
+                        toNumber(attribute, value).doubleValue();
+                break;
+            case BOOLEAN:
+                ((BitSet) arrays[attribute]).set(size, convert(attribute, value, Boolean.class));
+                break;
+            default:
+                ((Object[]) arrays[attribute])[size] = convert(attribute, value, bindings[attribute]);
+        }
+    }
+
+    /** Sets the value of an integer, short or byte attribute in the current row */
+    public void setInt(int attribute, int value) {
+        if (kinds[attribute] != INT) {
+            set(attribute, value);
+            return;
+        }
+        if (size == ids.length) {
+            grow();
+        }
+        assigned[attribute] = true;
+        nulls[attribute].clear(size);
+        ((int[]) arrays[attribute])[size] = value;
+    }
+
+    /** Sets the value of a long attribute in the current row */
+    public void setLong(int attribute, long value) {
+        if (kinds[attribute] != LONG) {
+            set(attribute, value);
+            return;
+        }
+        if (size == ids.length) {
+            grow();
+        }
+        assigned[attribute] = true;
+        nulls[attribute].clear(size);
+        ((long[]) arrays[attribute])[size] = value;
+    }
+
+    /** Sets the value of a double or float attribute in the current row */
+    public void setDouble(int attribute, double value) {
+        if (kinds[attribute] != DOUBLE) {
+            set(attribute, value);
+            return;
+        }
+        if (size == ids.length) {
+            grow();
+        }
+        assigned[attribute] = true;
+        nulls[attribute].clear(size);
+        ((double[]) arrays[attribute])[size] = value;
+    }
+
+    /** Sets the value of a boolean attribute in the current row */
+    public void setBoolean(int attribute, boolean value) {
+        if (kinds[attribute] != BOOLEAN) {
+            set(attribute, value);
+            return;
+        }
+        if (size == ids.length) {
+            grow();
+        }
+        assigned[attribute] = true;
+        nulls[attribute].clear(size);
+        ((BitSet) arrays[attribute]).set(size, value);
+    }
+
+    private Number toNumber(int attribute, Object value) {
+        if (value instanceof Number) {
+            return (Number) value;
+        }
+        return (Number) convert(attribute, value, bindings[attribute]);
+    }
+
+    private <T> T convert(int attribute, Object value, Class<T> target) {
+        if (target.isInstance(value)) {
+            return target.cast(value);
+        }
+        T converted = Converters.convert(value, target);
+        if (converted == null) {
+            AttributeDescriptor ad = featureType.getDescriptor(attribute);
+            throw new IllegalArgumentException(
+                    "Value " + value + " cannot be converted to " + target.getName() + " for " + ad.getLocalName());
+        }
+        return converted;
+    }
+
+    private void clear(int attribute) {
+        switch (kinds[attribute]) {
+            case INT:
+                ((int[]) arrays[attribute])[size] = 0;
+                break;
+            case LONG:
+                ((long[]) arrays[attribute])[size] = 0;
+                break;
+            case DOUBLE:
+                ((double[]) arrays[attribute])[size] = 0;
+                break;
+            case BOOLEAN:
+                ((BitSet) arrays[attribute]).clear(size);
+                break;
+            default:
+                ((Object[]) arrays[attribute])[size] = null;
+        }
+    }
+
+    /** Commits the current row, using the given feature identifier */
+    public void add(String id) {
+        if (size == ids.length) {
+            grow();
+        }
+        for (int i = 0; i < assigned.length; i++) {
+            if (!assigned[i]) {
+                nulls[i].set(size);
+                clear(i);
+            }
+            assigned[i] = false;
+        }
+        ids[size++] = id;
+    }
+
+    /** Sets all the attributes of the current row, in feature type order, and commits it */
+    public void add(String id, Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            set(i, values[i]);
+        }
+        add(id);
+    }
+
+    /** Adds a feature as a new row. The feature is expected to have the same feature type as the builder. */
+    public void add(SimpleFeature feature) {
+        int count = kinds.length;
+        for (int i = 0; i < count; i++) {
+            set(i, feature.getAttribute(i));
+        }
+        add(feature.getID());
+    }
+
+    /** Discards the values set in the current row */
+    public void discard() {
+        Arrays.fill(assigned, false);
+    }
+
+    /** Builds a batch out of the rows accumulated so far, and resets the builder */
+    public FeatureBatch build() {
+        FeatureBatch.Column[] columns = new FeatureBatch.Column[kinds.length];
+        for (int i = 0; i < kinds.length; i++) {
+            AttributeDescriptor ad = featureType.getDescriptor(i);
+            BitSet n = nulls[i];
+            switch (kinds[i]) {
+                case INT:
+                    columns[i] = new FeatureBatch.IntColumn(ad, size, n, (int[]) arrays[i]);
+                    break;
+                case LONG:
+                    columns[i] = new FeatureBatch.LongColumn(ad, size, n, (long[]) arrays[i]);
+                    break;
+                case DOUBLE:
+                    columns[i] = new FeatureBatch.DoubleColumn(ad, size, n, (double[]) arrays[i]);
+                    break;
+                case BOOLEAN:
+                    columns[i] = new FeatureBatch.BooleanColumn(ad, size, n, (BitSet) arrays[i]);
+                    break;
+                case GEOMETRY:
+                    columns[i] = new FeatureBatch.GeometryColumn(ad, size, n, (Object[]) arrays[i]);
+                    break;
+                default:
+                    columns[i] = new FeatureBatch.ObjectColumn(ad, size, n, (Object[]) arrays[i]);
+            }
+        }
+        FeatureBatch batch = new FeatureBatch(featureType, size, ids, columns);
+
+        // the arrays now belong to the batch
+        size = 0;
+        discard();
+        allocate(capacity);
+
+        return batch;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+
+/**
+ * Reads features in {@link FeatureBatch batches}, the columnar counterpart of a
+ * {@link org.geotools.api.data.FeatureReader}.
+ *
+ * <p>Obtained from {@link ContentFeatureSource#getBatchReader(org.geotools.api.data.Query, int)}, it must be closed
+ * once done, just like a feature reader.
+ */
+public interface FeatureBatchReader extends Closeable {
+
+    /** The feature type of the batches returned by this reader */
+    SimpleFeatureType getFeatureType();
+
+    /** Returns true if there is at least one more batch to read. Batches are never empty. */
+    boolean hasNext() throws IOException;
+
+    /** Returns the next batch */
+    FeatureBatch next() throws IOException, NoSuchElementException;
+}
@@ -0,0 +1,53 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.store;
+
+import java.io.IOException;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+
+/** Adapts a {@link FeatureReader} to the {@link FeatureBatchReader} interface, copying features into batches. */
+public class FeatureReaderBatchReader extends AbstractFeatureBatchReader {
+
+    FeatureReader<SimpleFeatureType, SimpleFeature> reader;
+
+    public FeatureReaderBatchReader(FeatureReader<SimpleFeatureType, SimpleFeature> reader, int batchSize) {
+        super(reader.getFeatureType(), batchSize);
+        this.reader = reader;
+    }
+
+    /** The wrapped reader */
+    public FeatureReader<SimpleFeatureType, SimpleFeature> getDelegate() {
+        return reader;
+    }
+
+    @Override
+    protected int readRows(FeatureBatchBuilder builder, int max) throws IOException {
+        int read = 0;
+        while (read < max && reader.hasNext()) {
+            builder.add(reader.next());
+            read++;
+        }
+        return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -32,6 +32,7 @@
 import org.geotools.feature.collection.DecoratingSimpleFeatureCollection;
 import org.geotools.feature.visitor.CountVisitor;
 import org.geotools.feature.visitor.FeatureAttributeVisitor;
+import org.geotools.feature.visitor.MultiVisitor;
 import org.geotools.filter.FilterAttributeExtractor;
 
 /**
@@ -94,6 +95,8 @@ public static boolean isTypeCompatible(FeatureVisitor visitor, SimpleFeatureType
             return true;
         } else if (visitor instanceof CountVisitor) {
             return true;
+        } else if (visitor instanceof MultiVisitor) {
+            return ((MultiVisitor) visitor).getVisitors().stream().allMatch(v -> isTypeCompatible(v, featureType));
         }
         return false;
     }
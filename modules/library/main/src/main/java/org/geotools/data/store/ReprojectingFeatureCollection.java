@@ -44,6 +44,7 @@
 import org.geotools.feature.collection.DecoratingSimpleFeatureCollection;
 import org.geotools.feature.visitor.CountVisitor;
 import org.geotools.feature.visitor.FeatureAttributeVisitor;
+import org.geotools.feature.visitor.MultiVisitor;
 import org.geotools.filter.FilterAttributeExtractor;
 import org.geotools.filter.spatial.DefaultCRSFilterVisitor;
 import org.geotools.filter.spatial.ReprojectingFilterVisitor;
@@ -245,6 +246,8 @@ public static boolean isGeometryless(FeatureVisitor visitor, SimpleFeatureType s
             return true;
         } else if (visitor instanceof CountVisitor) {
             return true;
+        } else if (visitor instanceof MultiVisitor) {
+            return ((MultiVisitor) visitor).getVisitors().stream().allMatch(v -> isGeometryless(v, schema));
         }
         return false;
     }
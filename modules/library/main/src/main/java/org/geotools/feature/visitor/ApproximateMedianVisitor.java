@@ -0,0 +1,99 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.filter.expression.Expression;
+
+/**
+ * Estimates the median with a KLL quantile sketch, using a bounded amount of memory. The value returned is one of the
+ * visited ones, whose rank is within about {@code 1.7 / k} of the middle rank. Nulls are ignored, as in
+ * {@link MedianVisitor}.
+ *
+ * @see MedianVisitor for the exact median
+ * @since 34
+ */
+public class ApproximateMedianVisitor implements FeatureCalc, FeatureAttributeVisitor, MergeableFeatureVisitor {
+
+    private final Expression expr;
+
+    private final KllSketch sketch;
+
+    /** Builds a visitor with the default accuracy, for a rank error below 1% */
+    public ApproximateMedianVisitor(Expression expr) {
+        this(expr, KllSketch.DEFAULT_K);
+    }
+
+    /**
+     * Builds a visitor with the given accuracy
+     *
+     * @param expr The expression whose median is estimated
+     * @param k The accuracy parameter, at least 8, the memory used grows linearly with it
+     */
+    public ApproximateMedianVisitor(Expression expr, int k) {
+        this.expr = expr;
+        this.sketch = new KllSketch(k);
+    }
+
+    public Expression getExpression() {
+        return expr;
+    }
+
+    @Override
+    public List<Expression> getExpressions() {
+        return Arrays.asList(expr);
+    }
+
+    @Override
+    public Optional<List<Class>> getResultType(List<Class> inputTypes) {
+        return CalcUtil.reflectInputTypes(1, inputTypes);
+    }
+
+    @Override
+    public void visit(Feature feature) {
+        Object value = expr.evaluate(feature);
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Comparable) {
+            sketch.add((Comparable) value);
+        } else {
+            throw new IllegalStateException("Expression is not comparable!");
+        }
+    }
+
+    @Override
+    public MergeableFeatureVisitor split() {
+        return getClass() == ApproximateMedianVisitor.class ? new ApproximateMedianVisitor(expr, sketch.getK()) : null;
+    }
+
+    @Override
+    public void merge(MergeableFeatureVisitor split) {
+        sketch.merge(((ApproximateMedianVisitor) split).sketch);
+    }
+
+    @Override
+    public CalcResult getResult() {
+        if (sketch.isEmpty()) {
+            return CalcResult.NULL_RESULT;
+        }
+        return new MedianVisitor.MedianResult(sketch.getQuantile(0.5));
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.filter.expression.Expression;
+
+/**
+ * Approximates {@link QuantileListVisitor} with a KLL quantile sketch, using a bounded amount of memory. The result has
+ * the same structure, an array of sorted bins with about the same number of values each, but the bins are read-only
+ * views over the sketch: their size is the estimated number of values in the bin, and their elements are the retained
+ * values standing for them. Nulls, NaN and infinite values are ignored, as in {@link QuantileListVisitor}.
+ *
+ * @since 34
+ */
+public class ApproximateQuantileListVisitor implements FeatureCalc, MergeableFeatureVisitor {
+
+    private final Expression expr;
+
+    private final int bins;
+
+    private final KllSketch sketch;
+
+    int countNull = 0;
+    int countNaN = 0;
+
+    /** Builds a visitor with the default accuracy, for a rank error below 1% */
+    public ApproximateQuantileListVisitor(Expression expr, int bins) {
+        this(expr, bins, KllSketch.DEFAULT_K);
+    }
+
+    /**
+     * Builds a visitor with the given accuracy
+     *
+     * @param expr The expression whose values are binned
+     * @param bins The number of bins
+     * @param k The accuracy parameter, at least 8, the memory used grows linearly with it
+     */
+    public ApproximateQuantileListVisitor(Expression expr, int bins, int k) {
+        this.expr = expr;
+        this.bins = bins;
+        this.sketch = new KllSketch(k);
+    }
+
+    @Override
+    public void visit(Feature feature) {
+        Object value = expr.evaluate(feature);
+        if (value == null) {
+            countNull++;
+            return;
+        }
+        if (value instanceof Double) {
+            double doubleVal = ((Double) value).doubleValue();
+            if (Double.isNaN(doubleVal) || Double.isInfinite(doubleVal)) {
+                countNaN++;
+                return;
+            }
+        }
+        sketch.add((Comparable) value);
+    }
+
+    @Override
+    public MergeableFeatureVisitor split() {
+        return getClass() == ApproximateQuantileListVisitor.class
+                ? new ApproximateQuantileListVisitor(expr, bins, sketch.getK())
+                : null;
+    }
+
+    @Override
+    public void merge(MergeableFeatureVisitor split) {
+        ApproximateQuantileListVisitor other = (ApproximateQuantileListVisitor) split;
+        sketch.merge(other.sketch);
+        countNull += other.countNull;
+        countNaN += other.countNaN;
+    }
+
+    @Override
+    public CalcResult getResult() {
+        long count = sketch.getCount();
+        if (bins == 0 || count == 0) {
+            return CalcResult.NULL_RESULT;
+        }
+        long[] weights = new long[sketch.getRetained()];
+        Comparable[] items = sketch.getSortedItems(weights);
+
+        int binCount = (int) Math.min(bins, count);
+        @SuppressWarnings("unchecked")
+        List<Comparable>[] bin = new List[binCount];
+        for (int i = 0; i < binCount; i++) {
+            long from = count * i / binCount;
+            long to = count * (i + 1) / binCount;
+            bin[i] = new SketchBin(items, weights, from, to);
+        }
+        return new AbstractCalcResult() {
+            @Override
+            public Object getValue() {
+                return bin;
+            }
+        };
+    }
+
+    /** @return the number of features which returned a NaN */
+    public int getNaNCount() {
+        return countNaN;
+    }
+
+    /** @return the number of features which returned a null */
+    public int getNullCount() {
+        return countNull;
+    }
+
+    /** A view over the values whose ranks fall in a range, as approximated by the sorted, weighted sketch items */
+    @SuppressWarnings("rawtypes")
+    static class SketchBin extends AbstractList<Comparable> {
+
+        private final Comparable[] items;
+
+        private final long[] weights;
+
+        private final long from;
+
+        private final int size;
+
+        SketchBin(Comparable[] items, long[] weights, long from, long to) {
+            this.items = items;
+            this.weights = weights;
+            this.from = from;
+            this.size = (int) Math.min(Integer.MAX_VALUE, to - from);
+        }
+
+        @Override
+        public Comparable get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return items[indexOf(from + index)];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Comparable> iterator() {
+            // walks the items sequentially, rather than searching for each rank
+            return new Iterator<>() {
+                long rank = from;
+                int item = indexOf(from);
+
+                @Override
+                public boolean hasNext() {
+                    return rank < from + size;
+                }
+
+                @Override
+                public Comparable next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    while (weights[item] <= rank) {
+                        item++;
+                    }
+                    rank++;
+                    return items[item];
+                }
+            };
+        }
+
+        /** Index of the first item whose cumulative weight is greater than the rank */
+        private int indexOf(long rank) {
+            // cumulative weights are strictly increasing, so a match is the first one
+            int index = Arrays.binarySearch(weights, rank + 1);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return Math.min(index, items.length - 1);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.filter.expression.Expression;
+
+/**
+ * Estimates the number of distinct values of one or more expressions with a HyperLogLog sketch, using a fixed amount of
+ * memory: {@code 2^precision} bytes, for a relative standard error of {@code 1.04 / sqrt(2^precision)}. As for
+ * {@link UniqueVisitor}, nulls are ignored for a single expression, and the values are combined in a list otherwise.
+ *
+ * @see UniqueCountVisitor for the exact count
+ * @since 34
+ */
+public class ApproximateUniqueCountVisitor implements FeatureCalc, FeatureAttributeVisitor, MergeableFeatureVisitor {
+
+    private final List<Expression> expressions;
+
+    private final HyperLogLog sketch;
+
+    private boolean visited = false;
+
+    /** Builds a visitor with the default precision, for an error of about 0.8% */
+    public ApproximateUniqueCountVisitor(Expression... expressions) {
+        this(HyperLogLog.DEFAULT_PRECISION, expressions);
+    }
+
+    /**
+     * Builds a visitor with the given precision
+     *
+     * @param precision The number of bits used to address the sketch registers, between 4 and 18
+     * @param expressions The expressions whose distinct values are counted
+     */
+    public ApproximateUniqueCountVisitor(int precision, Expression... expressions) {
+        this.expressions = Collections.unmodifiableList(Arrays.asList(expressions));
+        this.sketch = new HyperLogLog(precision);
+    }
+
+    @Override
+    public List<Expression> getExpressions() {
+        return expressions;
+    }
+
+    @Override
+    public Optional<List<Class>> getResultType(List<Class> inputTypes) {
+        return Optional.of(Collections.singletonList(Integer.class));
+    }
+
+    @Override
+    public void visit(Feature feature) {
+        if (expressions.size() == 1) {
+            Object value = expressions.get(0).evaluate(feature);
+            if (value == null) {
+                return;
+            }
+            sketch.add(value);
+        } else {
+            List<Object> values = new ArrayList<>(expressions.size());
+            for (Expression expression : expressions) {
+                values.add(expression.evaluate(feature));
+            }
+            sketch.add(values);
+        }
+        visited = true;
+    }
+
+    @Override
+    public MergeableFeatureVisitor split() {
+        if (getClass() != ApproximateUniqueCountVisitor.class) {
+            return null;
+        }
+        return new ApproximateUniqueCountVisitor(
+                sketch.getPrecision(), expressions.toArray(new Expression[expressions.size()]));
+    }
+
+    @Override
+    public void merge(MergeableFeatureVisitor split) {
+        ApproximateUniqueCountVisitor other = (ApproximateUniqueCountVisitor) split;
+        sketch.merge(other.sketch);
+        visited |= other.visited;
+    }
+
+    /** Returns the estimated count, or {@link CalcResult#NULL_RESULT} if no value was found */
+    @Override
+    public CalcResult getResult() {
+        if (!visited) {
+            return CalcResult.NULL_RESULT;
+        }
+        // at least one value was found
+        long estimate = Math.max(1, sketch.getEstimate());
+        return new CountVisitor.CountResult((int) Math.min(Integer.MAX_VALUE, estimate));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.geotools.api.feature.FeatureVisitor;
+import org.geotools.api.filter.expression.Expression;
+
+/**
+ * Replaces the visitors keeping all the values in memory with their bounded memory, approximate counterparts, and
+ * copies the approximate results back. Used when the {@link org.geotools.util.factory.Hints#APPROXIMATE_AGGREGATES}
+ * query hint is set:
+ *
+ * <ul>
+ *   <li>{@link UniqueCountVisitor} is estimated by {@link ApproximateUniqueCountVisitor}
+ *   <li>{@link MedianVisitor} is estimated by {@link ApproximateMedianVisitor}
+ *   <li>{@link QuantileListVisitor} is estimated by {@link ApproximateQuantileListVisitor}
+ *   <li>{@link UniqueVisitor} is sampled by {@link TopKUniqueVisitor}
+ * </ul>
+ *
+ * Only the visitors of these exact classes are replaced, and unique visitors only when they have no paging and do not
+ * preserve order.
+ *
+ * @since 34
+ */
+public final class ApproximateVisitors {
+
+    private ApproximateVisitors() {}
+
+    /**
+     * Returns the approximate counterpart of the visitor, or of the visitors in a {@link MultiVisitor}
+     *
+     * @return The approximate visitor, to be passed to {@link #setResult} after the visit, or null if there is none
+     */
+    public static FeatureVisitor approximate(FeatureVisitor visitor) {
+        if (visitor instanceof MultiVisitor) {
+            List<FeatureVisitor> visitors = ((MultiVisitor) visitor).getVisitors();
+            List<FeatureVisitor> approximates = new ArrayList<>(visitors.size());
+            boolean found = false;
+            for (FeatureVisitor child : visitors) {
+                FeatureVisitor approximate = approximate(child);
+                found |= approximate != null;
+                approximates.add(approximate != null ? approximate : child);
+            }
+            return found ? new MultiVisitor(approximates) : null;
+        }
+
+        Class<?> type = visitor.getClass();
+        if (type == UniqueCountVisitor.class) {
+            UniqueCountVisitor unique = (UniqueCountVisitor) visitor;
+            return unique.hasLimits() ? null : new ApproximateUniqueCountVisitor(expressions(unique));
+        } else if (type == UniqueVisitor.class) {
+            UniqueVisitor unique = (UniqueVisitor) visitor;
+            if (unique.hasLimits() || unique.isPreserveOrder()) {
+                return null;
+            }
+            return new TopKUniqueVisitor(expressions(unique));
+        } else if (type == MedianVisitor.class) {
+            return new ApproximateMedianVisitor(((MedianVisitor) visitor).getExpression());
+        } else if (type == QuantileListVisitor.class) {
+            QuantileListVisitor quantiles = (QuantileListVisitor) visitor;
+            return new ApproximateQuantileListVisitor(quantiles.getExpression(), quantiles.getBins());
+        }
+        return null;
+    }
+
+    /**
+     * Copies the results of the approximate visitor into the original one
+     *
+     * @param visitor The original visitor
+     * @param approximate The visitor returned by {@link #approximate(FeatureVisitor)}, once visited
+     */
+    @SuppressWarnings("unchecked")
+    public static void setResult(FeatureVisitor visitor, FeatureVisitor approximate) {
+        if (visitor == approximate) {
+            return;
+        } else if (visitor instanceof MultiVisitor) {
+            List<FeatureVisitor> visitors = ((MultiVisitor) visitor).getVisitors();
+            List<FeatureVisitor> approximates = ((MultiVisitor) approximate).getVisitors();
+            for (int i = 0; i < visitors.size(); i++) {
+                setResult(visitors.get(i), approximates.get(i));
+            }
+            return;
+        }
+
+        CalcResult result = ((FeatureCalc) approximate).getResult();
+        if (result == CalcResult.NULL_RESULT) {
+            // nothing was found, leave the original visitor empty
+            return;
+        }
+        if (visitor instanceof UniqueCountVisitor) {
+            ((UniqueCountVisitor) visitor).setValue(result.toInt());
+        } else if (visitor instanceof UniqueVisitor) {
+            ((UniqueVisitor) visitor).setValue(result.getValue());
+        } else if (visitor instanceof MedianVisitor) {
+            ((MedianVisitor) visitor).setValue((Comparable) result.getValue());
+        } else if (visitor instanceof QuantileListVisitor) {
+            ((QuantileListVisitor) visitor).setValue((List<Comparable>[]) result.getValue());
+        }
+    }
+
+    private static Expression[] expressions(UniqueVisitor visitor) {
+        return visitor.getExpressions().toArray(new Expression[visitor.getExpressions().size()]);
+    }
+}
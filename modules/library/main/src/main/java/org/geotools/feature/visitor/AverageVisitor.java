@@ -36,7 +36,7 @@
  * @author Cory Horner, Refractions
  * @since 2.2.M2
  */
-public class AverageVisitor implements FeatureCalc, FeatureAttributeVisitor {
+public class AverageVisitor implements FeatureCalc, FeatureAttributeVisitor, MergeableFeatureVisitor {
     private Expression expr;
 
     /**
@@ -156,6 +156,26 @@ public void reset() {
         isOptimized = false;
     }
 
+    /** An optimized result cannot be merged, see {@link AverageResult#isCompatible(CalcResult)} */
+    @Override
+    public MergeableFeatureVisitor split() {
+        return getClass() == AverageVisitor.class && !isOptimized ? new AverageVisitor(expr) : null;
+    }
+
+    @Override
+    public void merge(MergeableFeatureVisitor split) {
+        AverageStrategy other = ((AverageVisitor) split).strategy;
+        if (other == null) {
+            return;
+        }
+        if (strategy == null) {
+            strategy = other;
+        } else {
+            Number sum = CalcUtil.sum((Number) strategy.getSum(), (Number) other.getSum());
+            strategy.set(strategy.getCount() + other.getCount(), sum);
+        }
+    }
+
     /** Returns a CalcResult object (containing the Average) */
     @Override
     public CalcResult getResult() {
@@ -25,7 +25,7 @@
  * @author Cory Horner, Refractions
  * @since 2.2.M2
  */
-public class BoundsVisitor implements FeatureCalc {
+public class BoundsVisitor implements FeatureCalc, MergeableFeatureVisitor {
     ReferencedEnvelope bounds = new ReferencedEnvelope();
 
     @Override
@@ -41,6 +41,19 @@ public void reset(Envelope bounds) {
         this.bounds = new ReferencedEnvelope();
     }
 
+    @Override
+    public MergeableFeatureVisitor split() {
+        return getClass() == BoundsVisitor.class ? new BoundsVisitor() : null;
+    }
+
+    @Override
+    public void merge(MergeableFeatureVisitor split) {
+        ReferencedEnvelope other = ((BoundsVisitor) split).bounds;
+        if (!other.isEmpty()) {
+            bounds.include(other);
+        }
+    }
+
     @Override
     public CalcResult getResult() {
         if (bounds == null || bounds.isEmpty()) {
@@ -26,7 +26,7 @@
  * @author Cory Horner, Refractions
  * @since 2.2.M2
  */
-public class CountVisitor implements FeatureCalc {
+public class CountVisitor implements FeatureCalc, MergeableFeatureVisitor {
     Integer count = null;
 
     public void init(SimpleFeatureCollection collection) {
@@ -60,6 +60,19 @@ public void reset() {
         this.count = null;
     }
 
+    @Override
+    public MergeableFeatureVisitor split() {
+        return getClass() == CountVisitor.class ? new CountVisitor() : null;
+    }
+
+    @Override
+    public void merge(MergeableFeatureVisitor split) {
+        Integer other = ((CountVisitor) split).count;
+        if (other != null) {
+            count = count == null ? other : count + other;
+        }
+    }
+
     @Override
     public CalcResult getResult() {
         if (count == null) {
@@ -0,0 +1,111 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Misra-Gries frequent items summary, in its mergeable form (Agarwal et al., "Mergeable Summaries"). Tracks at most
+ * {@code 2 * k} values with their counts: when full, the k-th largest count is subtracted from all the counters, and
+ * those left at zero are dropped. All the values occurring more than {@code n / k} times are retained, and the counts
+ * are lower bounds, underestimated by at most {@code n / k}.
+ */
+final class FrequentItemsSketch {
+
+    private final int k;
+
+    private final Map<Object, long[]> counters = new HashMap<>();
+
+    FrequentItemsSketch(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("The number of items must be positive, but was " + k);
+        }
+        this.k = k;
+    }
+
+    int getK() {
+        return k;
+    }
+
+    void add(Object value) {
+        long[] counter = counters.get(value);
+        if (counter != null) {
+            counter[0]++;
+        } else {
+            counters.put(value, new long[] {1});
+            if (counters.size() > 2 * k) {
+                prune();
+            }
+        }
+    }
+
+    /** Adds the contents of another sketch, which should not be used afterwards */
+    void merge(FrequentItemsSketch other) {
+        for (Map.Entry<Object, long[]> entry : other.counters.entrySet()) {
+            long[] counter = counters.get(entry.getKey());
+            if (counter != null) {
+                counter[0] += entry.getValue()[0];
+            } else {
+                counters.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (counters.size() > 2 * k) {
+            prune();
+        }
+    }
+
+    /** Returns at most k values, from the most to the least frequent, with their estimated counts */
+    Map<Object, Long> getFrequentItems() {
+        List<Map.Entry<Object, long[]>> entries = new ArrayList<>(counters.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+        Map<Object, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<Object, long[]> entry : entries) {
+            if (result.size() == k) {
+                break;
+            }
+            result.put(entry.getKey(), entry.getValue()[0]);
+        }
+        return result;
+    }
+
+    boolean isEmpty() {
+        return counters.isEmpty();
+    }
+
+    private void prune() {
+        long[] counts = new long[counters.size()];
+        int i = 0;
+        for (long[] counter : counters.values()) {
+            counts[i++] = counter[0];
+        }
+        Arrays.sort(counts);
+        long threshold = counts[counts.length - k - 1];
+        for (Iterator<long[]> it = counters.values().iterator(); it.hasNext(); ) {
+            long[] counter = it.next();
+            counter[0] -= threshold;
+            if (counter[0] <= 0) {
+                it.remove();
+            }
+        }
+    }
+}
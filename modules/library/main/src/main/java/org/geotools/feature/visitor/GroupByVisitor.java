@@ -34,7 +34,7 @@
 import org.locationtech.jts.geom.Point;
 
 /** Group features by one or several attributes and applies an aggregator visitor to each group. */
-public class GroupByVisitor implements FeatureCalc, FeatureAttributeVisitor {
+public class GroupByVisitor implements FeatureCalc, FeatureAttributeVisitor, MergeableFeatureVisitor {
 
     private final Aggregate aggregate;
     private final Expression expression;
@@ -64,6 +64,32 @@ public boolean wasVisited() {
         return !inMemoryGroupBy.groupByIndexes.isEmpty();
     }
 
+    /** Splits only if the aggregate visitors can be split in turn, and no result was set by an optimization */
+    @Override
+    public MergeableFeatureVisitor split() {
+        if (getClass() != GroupByVisitor.class
+                || optimizationResult != CalcResult.NULL_RESULT
+                || !(visitorProtoType instanceof MergeableFeatureVisitor)
+                || ((MergeableFeatureVisitor) visitorProtoType).split() == null) {
+            return null;
+        }
+        return new GroupByVisitor(aggregate, expression, groupByAttributes, null);
+    }
+
+    @Override
+    public void merge(MergeableFeatureVisitor split) {
+        Map<List<Object>, FeatureCalc> groups = inMemoryGroupBy.groupByIndexes;
+        for (Map.Entry<List<Object>, FeatureCalc> entry :
+                ((GroupByVisitor) split).inMemoryGroupBy.groupByIndexes.entrySet()) {
+            FeatureCalc existing = groups.get(entry.getKey());
+            if (existing == null) {
+                groups.put(entry.getKey(), entry.getValue());
+            } else {
+                ((MergeableFeatureVisitor) existing).merge((MergeableFeatureVisitor) entry.getValue());
+            }
+        }
+    }
+
     /**
      * This method computes and returns the group by visitor result. If the computation was optimized the optimization
      * result is returned otherwise the result is computed in memory. If for some reason an optimization result exists
@@ -0,0 +1,138 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * A HyperLogLog cardinality estimator (Flajolet et al.), using 64 bit hashes and the linear counting correction for
+ * small cardinalities. Uses {@code 2^precision} bytes of memory, with a relative standard error of
+ * {@code 1.04 / sqrt(2^precision)}, that is, about 0.8% with the default precision of 14. Estimators are mergeable.
+ */
+final class HyperLogLog {
+
+    /** Default precision */
+    static final int DEFAULT_PRECISION = 14;
+
+    private final int precision;
+
+    private final byte[] registers;
+
+    HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("The precision must be between 4 and 18, but was " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    int getPrecision() {
+        return precision;
+    }
+
+    void add(Object value) {
+        addHash(mix(hash(value)));
+    }
+
+    void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // position of the leftmost one bit in the remaining bits, a sentinel bit bounds the result
+        long remaining = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    /** Adds the contents of another estimator with the same precision */
+    void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge estimators with different precisions");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /** Returns the estimated number of distinct values */
+    long getEstimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1d / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = m == 16 ? 0.673 : m == 32 ? 0.697 : m == 64 ? 0.709 : 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            // linear counting is more accurate for small cardinalities
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Hashes a value, so that numbers with the same value and type hash the same way, and strings use all their
+     * characters rather than the 32 bits of {@link String#hashCode()}
+     */
+    static long hash(Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof Double || value instanceof Float || value instanceof BigDecimal) {
+            return Double.doubleToLongBits(((Number) value).doubleValue()) * 31 + 1;
+        } else if (value instanceof Long
+                || value instanceof Integer
+                || value instanceof Short
+                || value instanceof Byte
+                || value instanceof BigInteger) {
+            return ((Number) value).longValue();
+        } else if (value instanceof CharSequence) {
+            // FNV-1a
+            CharSequence chars = (CharSequence) value;
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < chars.length(); i++) {
+                hash ^= chars.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        } else if (value instanceof List) {
+            long hash = 1;
+            for (Object item : (List<?>) value) {
+                hash = 31 * hash + mix(hash(item));
+            }
+            return hash;
+        }
+        return value.hashCode();
+    }
+
+    /** The MurmurHash3 64 bit finalizer, spreads the bits of the hash */
+    static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9e62e653f6dL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
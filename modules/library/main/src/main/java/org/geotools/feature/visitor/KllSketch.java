@@ -0,0 +1,197 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A KLL quantile sketch (Karnin, Lang, Liberty, "Optimal Quantile Approximation in Streams"). Keeps a bounded sample of
+ * the values in a stack of compactors, the items at level {@code h} standing for {@code 2^h} values each. When a
+ * compactor is full its items are sorted, and every other one is promoted to the next level.
+ *
+ * <p>The memory used grows with {@code k} and only logarithmically with the number of values. The rank error is about
+ * {@code 1.7 / k}, that is, less than 1% with the default {@code k = 200}. Sketches are mergeable.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+final class KllSketch {
+
+    /** Default accuracy parameter */
+    static final int DEFAULT_K = 200;
+
+    private static final double CAPACITY_DECAY = 2d / 3;
+
+    private final int k;
+
+    private final List<List<Comparable>> compactors = new ArrayList<>();
+
+    /** Number of values added to the sketch */
+    private long count;
+
+    /** Number of items retained by the compactors, and the number that triggers a compaction */
+    private int size;
+
+    private int maxSize;
+
+    KllSketch(int k) {
+        if (k < 8) {
+            throw new IllegalArgumentException("The accuracy parameter must be at least 8, but was " + k);
+        }
+        this.k = k;
+        grow();
+    }
+
+    int getK() {
+        return k;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    void add(Comparable value) {
+        compactors.get(0).add(value);
+        count++;
+        size++;
+        if (size >= maxSize) {
+            compress();
+        }
+    }
+
+    /** Adds the contents of another sketch, which should not be used afterwards */
+    void merge(KllSketch other) {
+        while (compactors.size() < other.compactors.size()) {
+            grow();
+        }
+        for (int h = 0; h < other.compactors.size(); h++) {
+            compactors.get(h).addAll(other.compactors.get(h));
+        }
+        count += other.count;
+        size += other.size;
+        while (size >= maxSize) {
+            compress();
+        }
+    }
+
+    /**
+     * Returns the retained items, sorted, with their cumulative weights
+     *
+     * @param weights Filled with the cumulative weight of each item, must be as long as the number of retained items
+     */
+    Comparable[] getSortedItems(long[] weights) {
+        int n = 0;
+        for (List<Comparable> compactor : compactors) {
+            n += compactor.size();
+        }
+        Comparable[] items = new Comparable[n];
+        long[] itemWeights = new long[n];
+        int i = 0;
+        for (int h = 0; h < compactors.size(); h++) {
+            for (Comparable item : compactors.get(h)) {
+                items[i] = item;
+                itemWeights[i++] = 1L << h;
+            }
+        }
+        // sort the items along with their weights
+        Integer[] order = new Integer[n];
+        for (int j = 0; j < n; j++) {
+            order[j] = j;
+        }
+        Arrays.sort(order, (a, b) -> items[a].compareTo(items[b]));
+        Comparable[] sorted = new Comparable[n];
+        long cumulative = 0;
+        for (int j = 0; j < n; j++) {
+            sorted[j] = items[order[j]];
+            cumulative += itemWeights[order[j]];
+            weights[j] = cumulative;
+        }
+        return sorted;
+    }
+
+    /** Number of items retained by the sketch */
+    int getRetained() {
+        return size;
+    }
+
+    /**
+     * Returns the approximate quantile, for a fraction between 0 and 1
+     *
+     * @return The value, or null if the sketch is empty
+     */
+    Comparable getQuantile(double fraction) {
+        if (count == 0) {
+            return null;
+        }
+        long[] weights = new long[size];
+        Comparable[] items = getSortedItems(weights);
+        long rank = (long) Math.floor(fraction * count);
+        for (int i = 0; i < items.length; i++) {
+            if (weights[i] > rank) {
+                return items[i];
+            }
+        }
+        return items[items.length - 1];
+    }
+
+    private int capacity(int level) {
+        int depth = compactors.size() - level - 1;
+        return (int) Math.max(2, Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private void grow() {
+        compactors.add(new ArrayList<>());
+        maxSize = 0;
+        for (int h = 0; h < compactors.size(); h++) {
+            maxSize += capacity(h);
+        }
+    }
+
+    /** Compacts the lowest full level, promoting half of its items to the level above */
+    private void compress() {
+        for (int h = 0; h < compactors.size(); h++) {
+            List<Comparable> compactor = compactors.get(h);
+            if (compactor.size() >= capacity(h)) {
+                if (h + 1 >= compactors.size()) {
+                    grow();
+                }
+                Collections.sort(compactor);
+                // an odd item out stays at this level
+                Comparable leftover = compactor.size() % 2 == 1 ? compactor.remove(compactor.size() - 1) : null;
+                List<Comparable> upper = compactors.get(h + 1);
+                int offset = ThreadLocalRandom.current().nextBoolean() ? 1 : 0;
+                for (int i = offset; i < compactor.size(); i += 2) {
+                    upper.add(compactor.get(i));
+                }
+                size -= compactor.size() / 2;
+                compactor.clear();
+                if (leftover != null) {
+                    compactor.add(leftover);
+                }
+                if (size < maxSize) {
+                    return;
+                }
+            }
+        }
+    }
+}
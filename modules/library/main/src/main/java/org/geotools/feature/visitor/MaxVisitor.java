@@ -33,7 +33,7 @@
  * @author Cory Horner, Refractions Research Inc.
  * @since 2.2.M2
  */
-public class MaxVisitor implements FeatureCalc, FeatureAttributeVisitor {
+public class MaxVisitor implements FeatureCalc, FeatureAttributeVisitor, MergeableFeatureVisitor {
     private Expression expr;
     Comparable maxvalue;
     boolean visited = false;
@@ -152,6 +152,22 @@ public Expression getExpression() {
         return expr;
     }
 
+    @Override
+    public MergeableFeatureVisitor split() {
+        return getClass() == MaxVisitor.class ? new MaxVisitor(expr) : null;
+    }
+
+    @Override
+    public void merge(MergeableFeatureVisitor split) {
+        MaxVisitor other = (MaxVisitor) split;
+        countNull += other.countNull;
+        countNaN += other.countNaN;
+        if (other.visited && (!visited || compare(other.maxvalue))) {
+            maxvalue = other.maxvalue;
+            visited = true;
+        }
+    }
+
     @Override
     public CalcResult getResult() {
         if (!visited) {
@@ -35,7 +35,7 @@
  * @author Cory Horner, Refractions
  * @since 2.2.M2
  */
-public class MedianVisitor implements FeatureCalc, FeatureAttributeVisitor {
+public class MedianVisitor implements FeatureCalc, FeatureAttributeVisitor, MergeableFeatureVisitor {
     private Expression expr;
     private List<Comparable> list = new ArrayList<>();
     /**
@@ -123,6 +123,16 @@ public void reset() {
         this.median = null;
     }
 
+    @Override
+    public MergeableFeatureVisitor split() {
+        return getClass() == MedianVisitor.class && median == null ? new MedianVisitor(expr) : null;
+    }
+
+    @Override
+    public void merge(MergeableFeatureVisitor split) {
+        list.addAll(((MedianVisitor) split).list);
+    }
+
     @Override
     public CalcResult getResult() {
         if (median != null) {
@@ -0,0 +1,44 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+import org.geotools.api.feature.FeatureVisitor;
+
+/**
+ * A visitor whose work can be split among several copies, each visiting a partition of the features, possibly on a
+ * different thread, and whose states are then merged back. Used by {@link ParallelVisitorExecutor} to compute
+ * aggregates in parallel when they cannot be delegated to the data source.
+ *
+ * @see ParallelVisitorExecutor
+ * @since 34
+ */
+public interface MergeableFeatureVisitor extends FeatureVisitor {
+
+    /**
+     * Returns a new visitor with the same configuration and no accumulated state, or null if the visitor cannot be
+     * split in its current state, for example because it depends on the order of the features, or already holds a
+     * result set by an optimization.
+     */
+    MergeableFeatureVisitor split();
+
+    /**
+     * Merges the state accumulated by a visitor returned by {@link #split()} into this one.
+     *
+     * @param split A visitor obtained from {@link #split()}, which should not be used afterwards
+     */
+    void merge(MergeableFeatureVisitor split);
+}
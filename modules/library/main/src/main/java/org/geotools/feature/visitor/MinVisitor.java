@@ -33,7 +33,7 @@
  * @author Cory Horner, Refractions
  * @since 2.2.M2
  */
-public class MinVisitor implements FeatureCalc, FeatureAttributeVisitor {
+public class MinVisitor implements FeatureCalc, FeatureAttributeVisitor, MergeableFeatureVisitor {
     private Expression expr;
     Comparable minvalue;
     boolean visited = false;
@@ -123,6 +123,20 @@ public void reset() {
         this.minvalue = null;
     }
 
+    @Override
+    public MergeableFeatureVisitor split() {
+        return getClass() == MinVisitor.class ? new MinVisitor(expr) : null;
+    }
+
+    @Override
+    public void merge(MergeableFeatureVisitor split) {
+        MinVisitor other = (MinVisitor) split;
+        if (other.visited && (!visited || compare(other.minvalue))) {
+            minvalue = other.minvalue;
+            visited = true;
+        }
+    }
+
     @Override
     public CalcResult getResult() {
         if (!visited) {
@@ -0,0 +1,84 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.feature.FeatureVisitor;
+
+/**
+ * Runs several visitors in a single pass over the features. Data stores are expected to delegate to the backend the
+ * visitors they can natively handle, and to scan the data only once for the others, see
+ * {@link org.geotools.data.store.ContentFeatureSource#accepts}. The results are read from the wrapped visitors.
+ *
+ * @since 34
+ */
+public class MultiVisitor implements MergeableFeatureVisitor {
+
+    private final List<FeatureVisitor> visitors;
+
+    public MultiVisitor(FeatureVisitor... visitors) {
+        this(Arrays.asList(visitors));
+    }
+
+    public MultiVisitor(List<? extends FeatureVisitor> visitors) {
+        this.visitors = Collections.unmodifiableList(new ArrayList<>(visitors));
+    }
+
+    /** The wrapped visitors */
+    public List<FeatureVisitor> getVisitors() {
+        return visitors;
+    }
+
+    @Override
+    public void visit(Feature feature) {
+        for (FeatureVisitor visitor : visitors) {
+            visitor.visit(feature);
+        }
+    }
+
+    /** Splits all the wrapped visitors, returns null if any of them cannot be split */
+    @Override
+    public MergeableFeatureVisitor split() {
+        List<FeatureVisitor> splits = new ArrayList<>(visitors.size());
+        for (FeatureVisitor visitor : visitors) {
+            MergeableFeatureVisitor split =
+                    visitor instanceof MergeableFeatureVisitor ? ((MergeableFeatureVisitor) visitor).split() : null;
+            if (split == null) {
+                return null;
+            }
+            splits.add(split);
+        }
+        return new MultiVisitor(splits);
+    }
+
+    @Override
+    public void merge(MergeableFeatureVisitor split) {
+        List<FeatureVisitor> splits = ((MultiVisitor) split).visitors;
+        for (int i = 0; i < visitors.size(); i++) {
+            ((MergeableFeatureVisitor) visitors.get(i)).merge((MergeableFeatureVisitor) splits.get(i));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MultiVisitor" + visitors;
+    }
+}
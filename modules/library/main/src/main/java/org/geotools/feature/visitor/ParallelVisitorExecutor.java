@@ -0,0 +1,235 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicReference;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.feature.FeatureVisitor;
+import org.geotools.api.util.ProgressListener;
+import org.geotools.util.factory.Hints;
+
+/**
+ * Visits the contents of a reader in parallel with a {@link MergeableFeatureVisitor}. The features are read in batches
+ * on the calling thread, each batch is then visited on a fork-join pool by one of a bounded set of splits of the
+ * visitor, which are eventually merged back into it. Data small enough to fit in a single batch is visited directly
+ * on the calling thread.
+ *
+ * <p>Parallel visits are opt-in. The {@value #PARALLELISM_KEY} system property sets the degree of parallelism for all
+ * visits, and defaults to 1, which disables them. Single queries can also ask for a parallel visit with the
+ * {@link Hints#PARALLEL_VISITS} hint, using the number of processors capped to 4 unless the system property sets a
+ * higher value. When enabled, floating point sums, averages and standard deviations can differ slightly from run to
+ * run, as the order in which the features are accumulated changes. The readers must also return a new feature object on
+ * each call to {@code next()}, as features are visited after more of them have been read.
+ *
+ * @since 34
+ */
+public final class ParallelVisitorExecutor {
+
+    /** System property controlling the number of threads visiting features */
+    public static final String PARALLELISM_KEY = "org.geotools.visitor.parallelism";
+
+    static final int BATCH_SIZE = 1024;
+
+    static final int PARALLELISM = Integer.getInteger(PARALLELISM_KEY, 1);
+
+    /** The parallelism used when requested through the {@link Hints#PARALLEL_VISITS} hint */
+    static final int HINTED_PARALLELISM =
+            Math.max(PARALLELISM, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    private static volatile ForkJoinPool pool;
+
+    private ParallelVisitorExecutor() {}
+
+    /**
+     * Returns the parallelism for a visit run with the given query hints, the {@value #PARALLELISM_KEY} system property
+     * value unless the {@link Hints#PARALLEL_VISITS} hint asks for a parallel visit
+     */
+    public static int getParallelism(Hints hints) {
+        if (hints != null && Boolean.TRUE.equals(hints.get(Hints.PARALLEL_VISITS))) {
+            return HINTED_PARALLELISM;
+        }
+        return PARALLELISM;
+    }
+
+    /** Returns true if the visitor can be run in parallel by {@link #visit} with the default parallelism */
+    public static boolean canVisit(FeatureVisitor visitor) {
+        return canVisit(visitor, PARALLELISM);
+    }
+
+    /** Returns true if the visitor can be run in parallel by {@link #visit} with the given parallelism */
+    public static boolean canVisit(FeatureVisitor visitor, int parallelism) {
+        return parallelism > 1
+                && visitor instanceof MergeableFeatureVisitor
+                && ((MergeableFeatureVisitor) visitor).split() != null;
+    }
+
+    /**
+     * Visits all the features of the reader with the default parallelism, without closing it
+     *
+     * @param reader The features to visit
+     * @param visitor The visitor, which must satisfy {@link #canVisit(FeatureVisitor)}
+     * @param progress Notified of the progress, after each feature read
+     * @param size The expected number of features, or 0 if unknown
+     */
+    public static void visit(
+            FeatureReader<?, ? extends Feature> reader,
+            FeatureVisitor visitor,
+            ProgressListener progress,
+            float size)
+            throws IOException {
+        visit(reader, visitor, progress, size, PARALLELISM);
+    }
+
+    /**
+     * Visits all the features of the reader, without closing it
+     *
+     * @param reader The features to visit
+     * @param visitor The visitor, which must satisfy {@link #canVisit(FeatureVisitor, int)}
+     * @param progress Notified of the progress, after each feature read
+     * @param size The expected number of features, or 0 if unknown
+     * @param parallelism The maximum number of batches visited at the same time
+     */
+    public static void visit(
+            FeatureReader<?, ? extends Feature> reader,
+            FeatureVisitor visitor,
+            ProgressListener progress,
+            float size,
+            int parallelism)
+            throws IOException {
+        MergeableFeatureVisitor target = (MergeableFeatureVisitor) visitor;
+        int splitCount = Math.max(1, Math.min(parallelism, HINTED_PARALLELISM));
+        BlockingQueue<MergeableFeatureVisitor> idle = new ArrayBlockingQueue<>(splitCount);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<MergeableFeatureVisitor> splits = new ArrayList<>();
+        List<Feature> batch = new ArrayList<>(BATCH_SIZE);
+        float position = 0;
+        try {
+            while (reader.hasNext() && failure.get() == null) {
+                if (size > 0) progress.progress(position++ / size);
+                batch.add(reader.next());
+                if (batch.size() == BATCH_SIZE) {
+                    submit(batch, target, splitCount, splits, idle, failure);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+            if (splits.isEmpty()) {
+                // a single batch, not worth handing over to other threads
+                for (Feature feature : batch) {
+                    target.visit(feature);
+                }
+            } else if (!batch.isEmpty()) {
+                submit(batch, target, splitCount, splits, idle, failure);
+            }
+        } finally {
+            // wait for the batches in progress, even on failure, as they are still using the visitor splits
+            List<MergeableFeatureVisitor> done = new ArrayList<>(splits.size());
+            boolean interrupted = false;
+            while (done.size() < splits.size()) {
+                try {
+                    done.add(idle.take());
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure.get() == null) {
+                done.forEach(target::merge);
+            }
+        }
+        Throwable t = failure.get();
+        if (t != null) {
+            progress.exceptionOccurred(t);
+            throw new IOException("Problem visiting features: " + t, t);
+        }
+    }
+
+    /** Hands over a batch to an idle split of the visitor, creating a new one if the parallelism allows */
+    private static void submit(
+            List<Feature> batch,
+            MergeableFeatureVisitor target,
+            int splitCount,
+            List<MergeableFeatureVisitor> splits,
+            BlockingQueue<MergeableFeatureVisitor> idle,
+            AtomicReference<Throwable> failure)
+            throws IOException {
+        MergeableFeatureVisitor split = idle.poll();
+        if (split == null && splits.size() < splitCount) {
+            split = target.split();
+            splits.add(split);
+        }
+        if (split == null) {
+            try {
+                split = idle.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while visiting features");
+            }
+        }
+        MergeableFeatureVisitor worker = split;
+        try {
+            getPool().execute(() -> {
+                try {
+                    for (Feature feature : batch) {
+                        worker.visit(feature);
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    idle.add(worker);
+                }
+            });
+        } catch (RuntimeException e) {
+            idle.add(worker);
+            throw e;
+        }
+    }
+
+    private static ForkJoinPool getPool() {
+        ForkJoinPool result = pool;
+        if (result == null) {
+            synchronized (ParallelVisitorExecutor.class) {
+                result = pool;
+                if (result == null) {
+                    result = new ForkJoinPool(
+                            HINTED_PARALLELISM,
+                            p -> {
+                                ForkJoinWorkerThread thread =
+                                        ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                                thread.setName("GeoTools visitor " + thread.getPoolIndex());
+                                thread.setDaemon(true);
+                                return thread;
+                            },
+                            null,
+                            false);
+                    pool = result;
+                }
+            }
+        }
+        return result;
+    }
+}
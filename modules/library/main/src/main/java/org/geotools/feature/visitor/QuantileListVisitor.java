@@ -30,7 +30,7 @@
  *
  * @author Cory Horner, Refractions Research Inc.
  */
-public class QuantileListVisitor implements FeatureCalc {
+public class QuantileListVisitor implements FeatureCalc, MergeableFeatureVisitor {
     private Expression expr;
     private int count = 0;
     private int bins;
@@ -38,6 +38,9 @@ public class QuantileListVisitor implements FeatureCalc {
     private List<Comparable>[] bin;
 
     boolean visited = false;
+    /** True if the bins were set by an optimization */
+    boolean optimized = false;
+
     int countNull = 0;
     int countNaN = 0;
 
@@ -52,9 +55,35 @@ public void init(SimpleFeatureCollection collection) {
         // do nothing
     }
 
+    public Expression getExpression() {
+        return expr;
+    }
+
+    /** The number of bins requested */
+    public int getBins() {
+        return bins;
+    }
+
+    @Override
+    public MergeableFeatureVisitor split() {
+        return getClass() == QuantileListVisitor.class && !optimized ? new QuantileListVisitor(expr, bins) : null;
+    }
+
+    @Override
+    public void merge(MergeableFeatureVisitor split) {
+        QuantileListVisitor other = (QuantileListVisitor) split;
+        items.addAll(other.items);
+        count += other.count;
+        countNull += other.countNull;
+        countNaN += other.countNaN;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public CalcResult getResult() {
+        if (optimized) {
+            return binsResult();
+        }
         if (bins == 0 || count == 0) {
             return CalcResult.NULL_RESULT;
         }
@@ -83,6 +112,10 @@ public CalcResult getResult() {
             }
             if (lastBigBin == binIndex) binPop--; // decrease the number of items in a bin for the next item
         }
+        return binsResult();
+    }
+
+    private CalcResult binsResult() {
         return new AbstractCalcResult() {
             @Override
             public Object getValue() {
@@ -125,6 +158,14 @@ public void reset(int bins) {
         this.bin = new List[bins];
         this.countNull = 0;
         this.countNaN = 0;
+        this.optimized = false;
+    }
+
+    /** Sets the bins, as computed by an optimization, each one sorted from the lowest to the highest value */
+    public void setValue(List<Comparable>[] bin) {
+        reset(bin.length);
+        this.bin = bin;
+        this.optimized = true;
     }
 
     /** @return the number of features which returned a NaN */
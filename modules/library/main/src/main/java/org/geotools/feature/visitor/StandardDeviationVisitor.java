@@ -42,7 +42,7 @@
  * @author Cory Horner, Refractions Research Inc.
  * @author Andrea Aime, GeoSolutions
  */
-public class StandardDeviationVisitor implements FeatureCalc, FeatureAttributeVisitor {
+public class StandardDeviationVisitor implements FeatureCalc, FeatureAttributeVisitor, MergeableFeatureVisitor {
     public static class Result extends AbstractCalcResult {
         final Double deviation;
 
@@ -107,6 +107,29 @@ public Optional<List<Class>> getResultType(List<Class> inputTypes) {
         return Optional.of(Collections.singletonList(Double.class));
     }
 
+    @Override
+    public MergeableFeatureVisitor split() {
+        return getClass() == StandardDeviationVisitor.class && result == null
+                ? new StandardDeviationVisitor(expr)
+                : null;
+    }
+
+    /** Combines the partial variances as described in Chan et al. parallel algorithm */
+    @Override
+    public void merge(MergeableFeatureVisitor split) {
+        StandardDeviationVisitor other = (StandardDeviationVisitor) split;
+        countNull += other.countNull;
+        countNaN += other.countNaN;
+        if (other.count == 0) {
+            return;
+        }
+        int total = count + other.count;
+        double delta = other.mean - mean;
+        m2 = m2 + other.m2 + delta * delta * count * other.count / total;
+        mean = mean + delta * other.count / total;
+        count = total;
+    }
+
     @Override
     public CalcResult getResult() {
         if (result != null) return result;
@@ -37,7 +37,7 @@
  * @author Cory Horner, Refractions
  * @since 2.2.M2
  */
-public class SumVisitor implements FeatureCalc, FeatureAttributeVisitor {
+public class SumVisitor implements FeatureCalc, FeatureAttributeVisitor, MergeableFeatureVisitor {
     private Expression expr;
 
     SumStrategy strategy;
@@ -141,6 +141,25 @@ public void reset() {
         strategy = null;
     }
 
+    /** Subclasses might compute the sum differently, and are not split */
+    @Override
+    public MergeableFeatureVisitor split() {
+        return getClass() == SumVisitor.class ? new SumVisitor(expr) : null;
+    }
+
+    @Override
+    public void merge(MergeableFeatureVisitor split) {
+        SumStrategy other = ((SumVisitor) split).strategy;
+        if (other == null) {
+            return;
+        }
+        if (strategy == null) {
+            strategy = other;
+        } else {
+            strategy.add(other.getResult());
+        }
+    }
+
     @Override
     public CalcResult getResult() {
         if (strategy == null) {
@@ -0,0 +1,119 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.filter.expression.Expression;
+
+/**
+ * Collects a bounded sample of the distinct values of one or more expressions: the {@code k} most frequent ones,
+ * tracked by a frequent items summary using memory proportional to {@code k}. When there are no more than {@code k}
+ * distinct values the result is the same as {@link UniqueVisitor}, otherwise the values returned are the most frequent
+ * ones, as estimated by the summary.
+ *
+ * <p>As for {@link UniqueVisitor}, nulls are ignored for a single expression, and the values are combined in a list
+ * otherwise.
+ *
+ * @since 34
+ */
+public class TopKUniqueVisitor implements FeatureCalc, FeatureAttributeVisitor, MergeableFeatureVisitor {
+
+    /** Default number of values returned */
+    public static final int DEFAULT_K = 1000;
+
+    private final List<Expression> expressions;
+
+    private final FrequentItemsSketch sketch;
+
+    /** Builds a visitor returning at most {@link #DEFAULT_K} values */
+    public TopKUniqueVisitor(Expression... expressions) {
+        this(DEFAULT_K, expressions);
+    }
+
+    /**
+     * Builds a visitor returning at most k values
+     *
+     * @param k The maximum number of values returned
+     * @param expressions The expressions whose values are collected
+     */
+    public TopKUniqueVisitor(int k, Expression... expressions) {
+        this.expressions = Collections.unmodifiableList(Arrays.asList(expressions));
+        this.sketch = new FrequentItemsSketch(k);
+    }
+
+    @Override
+    public List<Expression> getExpressions() {
+        return expressions;
+    }
+
+    @Override
+    public Optional<List<Class>> getResultType(List<Class> inputTypes) {
+        return CalcUtil.reflectInputTypes(inputTypes.size(), inputTypes);
+    }
+
+    @Override
+    public void visit(Feature feature) {
+        if (expressions.size() == 1) {
+            Object value = expressions.get(0).evaluate(feature);
+            if (value != null) {
+                sketch.add(value);
+            }
+        } else {
+            List<Object> values = new ArrayList<>(expressions.size());
+            for (Expression expression : expressions) {
+                values.add(expression.evaluate(feature));
+            }
+            sketch.add(values);
+        }
+    }
+
+    @Override
+    public MergeableFeatureVisitor split() {
+        if (getClass() != TopKUniqueVisitor.class) {
+            return null;
+        }
+        return new TopKUniqueVisitor(sketch.getK(), expressions.toArray(new Expression[expressions.size()]));
+    }
+
+    @Override
+    public void merge(MergeableFeatureVisitor split) {
+        sketch.merge(((TopKUniqueVisitor) split).sketch);
+    }
+
+    /**
+     * Returns the values found, from the most to the least frequent, with their estimated number of occurrences. The
+     * estimates are lower bounds, and are exact when there are no more than {@code 2 * k} distinct values.
+     */
+    public Map<Object, Long> getFrequencies() {
+        return sketch.getFrequentItems();
+    }
+
+    @Override
+    public CalcResult getResult() {
+        if (sketch.isEmpty()) {
+            return CalcResult.NULL_RESULT;
+        }
+        return new UniqueVisitor.UniqueResult(new HashSet<>(getFrequencies().keySet()));
+    }
+}
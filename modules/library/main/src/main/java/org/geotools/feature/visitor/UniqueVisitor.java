@@ -42,7 +42,7 @@
  * @author Cory Horner, Refractions
  * @since 2.2.M2
  */
-public class UniqueVisitor implements FeatureCalc, FeatureAttributeVisitor, LimitingVisitor {
+public class UniqueVisitor implements FeatureCalc, FeatureAttributeVisitor, LimitingVisitor, MergeableFeatureVisitor {
     private List<Expression> expressions = new LinkedList<>();
     Set<Object> set = new HashSet<>();
     Set<Object> skipped = new HashSet<>();
@@ -213,6 +213,21 @@ public void reset() {
         currentItem = 0;
     }
 
+    /** Pagination and order preservation depend on the order the values are found in, and prevent splitting */
+    @Override
+    public MergeableFeatureVisitor split() {
+        if (getClass() != UniqueVisitor.class || preserveOrder || hasLimits()) {
+            return null;
+        }
+        return new UniqueVisitor(expressions.toArray(new Expression[expressions.size()]));
+    }
+
+    @Override
+    public void merge(MergeableFeatureVisitor split) {
+        set.addAll(((UniqueVisitor) split).set);
+        currentItem = set.size();
+    }
+
     @Override
     public CalcResult getResult() {
         if (set.isEmpty()) return CalcResult.NULL_RESULT;
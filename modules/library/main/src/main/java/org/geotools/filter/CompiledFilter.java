@@ -0,0 +1,100 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter;
+
+import java.util.function.Predicate;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterVisitor;
+
+/**
+ * A filter evaluating simple features with a predicate compiled by {@link FilterCompiler}. The predicate is compiled
+ * against the type of the first feature evaluated, and again whenever the type changes; other objects are evaluated by
+ * the original filter. Visitors and the string representation are those of the original filter. Compiled filters are
+ * equal to each other when their original filters are, but never equal to a filter that is not compiled, use
+ * {@link #getFilter()} to compare with those.
+ *
+ * <p>This class is thread safe, a compiled filter can be shared among threads.
+ *
+ * @since 34
+ */
+public final class CompiledFilter implements Filter {
+
+    private final Filter filter;
+
+    private volatile Compiled compiled;
+
+    CompiledFilter(Filter filter) {
+        this.filter = filter;
+    }
+
+    /** Returns the original filter */
+    public Filter getFilter() {
+        return filter;
+    }
+
+    @Override
+    public boolean evaluate(Object object) {
+        if (!(object instanceof SimpleFeature)) {
+            return filter.evaluate(object);
+        }
+        SimpleFeature feature = (SimpleFeature) object;
+        SimpleFeatureType schema = feature.getFeatureType();
+        Compiled current = compiled;
+        if (current == null || current.schema != schema) {
+            current = new Compiled(schema, FilterCompiler.compile(filter, schema));
+            compiled = current;
+        }
+        return current.predicate.test(feature);
+    }
+
+    @Override
+    public Object accept(FilterVisitor visitor, Object extraData) {
+        return filter.accept(visitor, extraData);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        // only other compiled filters, so that equality stays symmetric
+        if (obj instanceof CompiledFilter) {
+            return filter.equals(((CompiledFilter) obj).filter);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return filter.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return filter.toString();
+    }
+
+    /** The predicate compiled for a feature type */
+    private static class Compiled {
+        final SimpleFeatureType schema;
+        final Predicate<SimpleFeature> predicate;
+
+        Compiled(SimpleFeatureType schema, Predicate<SimpleFeature> predicate) {
+            this.schema = schema;
+            this.predicate = predicate;
+        }
+    }
+}
@@ -0,0 +1,395 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.geotools.api.feature.Attribute;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.filter.BinaryComparisonOperator;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.util.ConverterFactory;
+import org.geotools.util.Converters;
+import org.geotools.util.factory.Hints;
+
+/**
+ * Compiles a {@link Filter} into a predicate bound to a {@link SimpleFeatureType}, avoiding the per feature overhead of
+ * the interpreted evaluation: attributes are accessed by index rather than by name, literals are converted once to the
+ * attribute type, and numbers are compared as primitives.
+ *
+ * <p>Logical operators, comparisons, ranges and null checks between a plain attribute and a literal are compiled, any
+ * other filter is evaluated as is. The compiled predicates return the same results as {@link Filter#evaluate(Object)}:
+ * whenever an attribute value is not of the declared type, for example null or a collection, evaluation falls back on
+ * the original filter for that feature.
+ *
+ * @since 34
+ */
+public final class FilterCompiler {
+
+    private static final Hints SAFE_CONVERSION = new Hints(ConverterFactory.SAFE_CONVERSION, true);
+
+    private static final Set<Class<?>> NUMBERS =
+            Set.of(Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class);
+
+    private FilterCompiler() {}
+
+    /**
+     * Wraps the filter so that it gets compiled against the type of the simple features it evaluates. Returns the
+     * filter as is when there is nothing to compile.
+     */
+    public static Filter compile(Filter filter) {
+        if (filter == null
+                || filter == Filter.INCLUDE
+                || filter == Filter.EXCLUDE
+                || filter instanceof CompiledFilter
+                || filter instanceof FidFilterImpl) {
+            return filter;
+        }
+        return new CompiledFilter(filter);
+    }
+
+    /** Compiles the filter into a predicate, valid only for features of the given type */
+    public static Predicate<SimpleFeature> compile(Filter filter, SimpleFeatureType schema) {
+        return new FilterCompiler.Builder(schema).build(filter);
+    }
+
+    private static class Builder {
+
+        private final SimpleFeatureType schema;
+
+        Builder(SimpleFeatureType schema) {
+            this.schema = schema;
+        }
+
+        Predicate<SimpleFeature> build(Filter filter) {
+            if (filter == Filter.INCLUDE) {
+                return f -> true;
+            } else if (filter == Filter.EXCLUDE) {
+                return f -> false;
+            }
+            Class<?> type = filter.getClass();
+            Predicate<SimpleFeature> result = null;
+            if (type == AndImpl.class) {
+                result = and(((AndImpl) filter).getChildren());
+            } else if (type == OrImpl.class) {
+                result = or(((OrImpl) filter).getChildren());
+            } else if (type == NotImpl.class) {
+                result = build(((NotImpl) filter).getFilter()).negate();
+            } else if (type == IsEqualsToImpl.class || type == IsNotEqualToImpl.class) {
+                result = equality((BinaryComparisonOperator) filter, type == IsNotEqualToImpl.class);
+            } else if (type == IsLessThenImpl.class
+                    || type == IsLessThenOrEqualToImpl.class
+                    || type == IsGreaterThanImpl.class
+                    || type == IsGreaterThanOrEqualToImpl.class) {
+                result = comparison((BinaryComparisonOperator) filter);
+            } else if (type == IsBetweenImpl.class) {
+                result = between((IsBetweenImpl) filter);
+            } else if (type == IsNullImpl.class) {
+                result = isNull((IsNullImpl) filter);
+            }
+            // not supported, interpret it
+            return result != null ? result : filter::evaluate;
+        }
+
+        private Predicate<SimpleFeature> and(List<Filter> children) {
+            @SuppressWarnings("unchecked")
+            Predicate<SimpleFeature>[] predicates = children.stream().map(this::build).toArray(Predicate[]::new);
+            return f -> {
+                for (Predicate<SimpleFeature> predicate : predicates) {
+                    if (!predicate.test(f)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+
+        private Predicate<SimpleFeature> or(List<Filter> children) {
+            @SuppressWarnings("unchecked")
+            Predicate<SimpleFeature>[] predicates = children.stream().map(this::build).toArray(Predicate[]::new);
+            return f -> {
+                for (Predicate<SimpleFeature> predicate : predicates) {
+                    if (predicate.test(f)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+
+        /** Mirrors {@link IsEqualsToImpl#evaluateInternal(Object, Object)} for a value of the attribute type */
+        private Predicate<SimpleFeature> equality(BinaryComparisonOperator filter, boolean negate) {
+            Operands operands = operands(filter.getExpression1(), filter.getExpression2());
+            if (operands == null) {
+                return null;
+            }
+            Object literal = operands.literal;
+            Class<?> binding = operands.binding;
+            Predicate<Object> test;
+            if (literal.getClass() == binding) {
+                if (!filter.isMatchCase() && binding == String.class) {
+                    test = v -> ((String) v).equalsIgnoreCase((String) literal);
+                } else {
+                    test = literal::equals;
+                }
+            } else if (NUMBERS.contains(binding) && (literal instanceof Number || literal instanceof String)) {
+                Object converted = Converters.convert(literal, binding);
+                Object safe = literal instanceof String ? Converters.convert(literal, binding, SAFE_CONVERSION) : null;
+                Number number = literal instanceof Number ? (Number) literal : parseToNumber(literal.toString());
+                test = v -> (converted != null && converted.equals(v))
+                        || (safe != null && safe.equals(v))
+                        || (number != null && numericEquals((Number) v, number));
+            } else {
+                return null;
+            }
+            return attributeTest(operands.index, binding, negate ? test.negate() : test, filter);
+        }
+
+        /** Mirrors the ordering comparisons of {@link CompareFilterImpl} for a value of the attribute type */
+        @SuppressWarnings("unchecked")
+        private Predicate<SimpleFeature> comparison(BinaryComparisonOperator filter) {
+            Operands operands = operands(filter.getExpression1(), filter.getExpression2());
+            if (operands == null || !Comparable.class.isAssignableFrom(operands.binding)) {
+                return null;
+            }
+            Class<?> binding = operands.binding;
+            boolean first = operands.propertyFirst;
+            // compares the operands in the filter order, the value of the attribute being v
+            CompareTest compare;
+            if (NUMBERS.contains(binding) && operands.literal instanceof Number) {
+                // numbers are always compared as doubles, whatever the alignment
+                double d = ((Number) operands.literal).doubleValue();
+                compare = first
+                        ? v -> compareDoubles(((Number) v).doubleValue(), d)
+                        : v -> compareDoubles(d, ((Number) v).doubleValue());
+            } else {
+                Object aligned = operands.literal;
+                if (aligned.getClass() != binding) {
+                    // the second operand is converted to the type of the first one, otherwise it depends on the value
+                    aligned = first ? Converters.convert(aligned, binding, SAFE_CONVERSION) : null;
+                    if (aligned == null || aligned.getClass() != binding) {
+                        return null;
+                    }
+                }
+                if (Number.class.isAssignableFrom(binding)) {
+                    double d = ((Number) aligned).doubleValue();
+                    compare = first
+                            ? v -> compareDoubles(((Number) v).doubleValue(), d)
+                            : v -> compareDoubles(d, ((Number) v).doubleValue());
+                } else if (binding == String.class) {
+                    String literal = (String) aligned;
+                    compare = first
+                            ? v -> compareStrings((String) v, literal)
+                            : v -> compareStrings(literal, (String) v);
+                } else {
+                    Comparable<Object> literal = (Comparable<Object>) aligned;
+                    compare = first ? v -> ((Comparable<Object>) v).compareTo(literal) : literal::compareTo;
+                }
+            }
+            Class<?> type = filter.getClass();
+            Predicate<Object> test;
+            if (type == IsLessThenImpl.class) {
+                test = v -> compare.compare(v) < 0;
+            } else if (type == IsLessThenOrEqualToImpl.class) {
+                test = v -> compare.compare(v) <= 0;
+            } else if (type == IsGreaterThanImpl.class) {
+                test = v -> compare.compare(v) > 0;
+            } else {
+                test = v -> compare.compare(v) >= 0;
+            }
+            return attributeTest(operands.index, binding, test, filter);
+        }
+
+        /** Mirrors {@link IsBetweenImpl#evaluateInternal(Object, Object, Object)} for a value of the attribute type */
+        @SuppressWarnings("unchecked")
+        private Predicate<SimpleFeature> between(IsBetweenImpl filter) {
+            int index = index(filter.getExpression());
+            if (index < 0
+                    || !(filter.getLowerBoundary() instanceof Literal)
+                    || !(filter.getUpperBoundary() instanceof Literal)) {
+                return null;
+            }
+            Class<?> binding = binding(index);
+            Object lower = ((Literal) filter.getLowerBoundary()).getValue();
+            Object upper = ((Literal) filter.getUpperBoundary()).getValue();
+            if (binding == null || !isPlain(lower) || !isPlain(upper)) {
+                return null;
+            }
+            Object l = Converters.convert(lower, binding);
+            Object u = Converters.convert(upper, binding);
+            if (!(l instanceof Comparable) || !(u instanceof Comparable)) {
+                return null;
+            }
+            Comparable<Object> lc = (Comparable<Object>) l;
+            Comparable<Object> uc = (Comparable<Object>) u;
+            return attributeTest(index, binding, v -> lc.compareTo(v) <= 0 && uc.compareTo(v) >= 0, filter);
+        }
+
+        private Predicate<SimpleFeature> isNull(IsNullImpl filter) {
+            int index = index(filter.getExpression());
+            if (index < 0) {
+                return null;
+            }
+            return f -> {
+                Object value = f.getAttribute(index);
+                if (value == null) {
+                    return true;
+                } else if (value instanceof Attribute) {
+                    return filter.evaluate(f);
+                }
+                return false;
+            };
+        }
+
+        /**
+         * Tests the attribute value when it has the expected type, and falls back on the filter otherwise, to handle
+         * nulls, multiple values and conversions
+         */
+        private Predicate<SimpleFeature> attributeTest(
+                int index, Class<?> binding, Predicate<Object> test, Filter filter) {
+            return f -> {
+                Object value = f.getAttribute(index);
+                if (value != null && value.getClass() == binding) {
+                    return test.test(value);
+                }
+                return filter.evaluate(f);
+            };
+        }
+
+        /** Returns the attribute and the literal being compared, or null if the operands are of another kind */
+        private Operands operands(Expression expression1, Expression expression2) {
+            boolean propertyFirst = expression1 instanceof PropertyName && expression2 instanceof Literal;
+            if (!propertyFirst && !(expression1 instanceof Literal && expression2 instanceof PropertyName)) {
+                return null;
+            }
+            int index = index(propertyFirst ? expression1 : expression2);
+            Object literal = ((Literal) (propertyFirst ? expression2 : expression1)).getValue();
+            if (index < 0 || !isPlain(literal)) {
+                return null;
+            }
+            Class<?> binding = binding(index);
+            return binding == null ? null : new Operands(index, binding, literal, propertyFirst);
+        }
+
+        /** Index of a plain attribute name in the schema, or -1 */
+        private int index(Expression expression) {
+            if (!(expression instanceof PropertyName)) {
+                return -1;
+            }
+            PropertyName property = (PropertyName) expression;
+            String name = property.getPropertyName();
+            if (name == null
+                    || name.isEmpty()
+                    || property.getNamespaceContext() != null
+                    || name.indexOf('/') >= 0
+                    || name.indexOf(':') >= 0
+                    || name.indexOf('@') >= 0
+                    || name.indexOf('[') >= 0) {
+                return -1;
+            }
+            return schema.indexOf(name);
+        }
+
+        /** The binding of the attribute, or null if values of that type are not compared directly */
+        private Class<?> binding(int index) {
+            AttributeDescriptor descriptor = schema.getDescriptor(index);
+            Class<?> binding = descriptor.getType().getBinding();
+            if (!isPlainType(binding) || binding == Object.class || binding.isInterface()) {
+                return null;
+            }
+            return binding;
+        }
+    }
+
+    /** An attribute compared against a literal */
+    private static class Operands {
+        final int index;
+        final Class<?> binding;
+        final Object literal;
+        final boolean propertyFirst;
+
+        Operands(int index, Class<?> binding, Object literal, boolean propertyFirst) {
+            this.index = index;
+            this.binding = binding;
+            this.literal = literal;
+            this.propertyFirst = propertyFirst;
+        }
+    }
+
+    @FunctionalInterface
+    private interface CompareTest {
+        /** Compares the operands, given the attribute value */
+        int compare(Object value);
+    }
+
+    private static boolean isPlain(Object value) {
+        return value != null && isPlainType(value.getClass());
+    }
+
+    /** Collections and arrays are compared value by value, and are not compiled */
+    private static boolean isPlainType(Class<?> type) {
+        return !type.isArray() && !Collection.class.isAssignableFrom(type) && !Attribute.class.isAssignableFrom(type);
+    }
+
+    /** Same as {@link CompareFilterImpl#compare(Comparable, Comparable)} for two numbers */
+    private static int compareDoubles(double left, double right) {
+        return left > right ? 1 : (left == right ? 0 : -1);
+    }
+
+    /** Same as {@link CompareFilterImpl#compare(Comparable, Comparable)} for two strings */
+    private static int compareStrings(String left, String right) {
+        Double l = parseDouble(left);
+        Double r = l != null ? parseDouble(right) : null;
+        return r != null ? l.compareTo(r) : left.compareTo(right);
+    }
+
+    private static Double parseDouble(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /** Same as the number parsing of {@link IsEqualsToImpl}, returns null if the value is not a number */
+    private static Number parseToNumber(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return parseDouble(value);
+        }
+    }
+
+    /** Same as the numeric comparison of {@link IsEqualsToImpl} */
+    private static boolean numericEquals(Number n1, Number n2) {
+        final double fp1 = n1.doubleValue();
+        final double fp2 = n2.doubleValue();
+        final long lg1 = n1.longValue();
+        final long lg2 = n2.longValue();
+        if (fp1 == lg1 && fp2 == lg2) {
+            return lg1 == lg2;
+        }
+        return (fp1 == fp2) || (Double.isNaN(fp1) && Double.isNaN(fp2));
+    }
+}
@@ -60,12 +60,13 @@ private Object calculate(SimpleFeatureCollection featureCollection) {
         List[] bin = (List[]) calcResult.getValue();
 
         // generate the min and max values, and round off if applicable/necessary
-        Comparable globalMin = (Comparable) bin[0].toArray()[0];
-        Object[] lastBin = bin[bin.length - 1].toArray();
-        if (lastBin.length == 0) {
+        // bins might be views over approximate results, avoid copying them
+        Comparable globalMin = (Comparable) bin[0].get(0);
+        List lastBin = bin[bin.length - 1];
+        if (lastBin.isEmpty()) {
             return null;
         }
-        Comparable globalMax = (Comparable) lastBin[lastBin.length - 1];
+        Comparable globalMax = (Comparable) lastBin.get(lastBin.size() - 1);
         Classifier result;
         if ((globalMin instanceof Number) && (globalMax instanceof Number)) {
             result = (Classifier) calculateNumerical(bin, globalMin, globalMax);
@@ -30,6 +30,7 @@
 import org.geotools.feature.FeatureCollection;
 import org.geotools.feature.visitor.MaxVisitor;
 import org.geotools.feature.visitor.MinVisitor;
+import org.geotools.feature.visitor.MultiVisitor;
 import org.geotools.feature.visitor.UniqueVisitor;
 import org.geotools.filter.IllegalFilterException;
 import org.geotools.filter.capability.FunctionNameImpl;
@@ -58,15 +59,13 @@ private RangedClassifier calculate(SimpleFeatureCollection featureCollection) {
         Comparable globalMin;
         Comparable globalMax;
         try {
+            // compute min and max in a single pass, unless the store can handle them natively
             MinVisitor minVisit = new MinVisitor(getParameters().get(0));
+            MaxVisitor maxVisit = new MaxVisitor(getParameters().get(0));
             if (progress == null) progress = new NullProgressListener();
-            featureCollection.accepts(minVisit, progress);
+            featureCollection.accepts(new MultiVisitor(minVisit, maxVisit), progress);
             if (progress.isCanceled()) return null;
             globalMin = (Comparable) minVisit.getResult().getValue();
-
-            MaxVisitor maxVisit = new MaxVisitor(getParameters().get(0));
-            featureCollection.accepts(maxVisit, progress);
-            if (progress.isCanceled()) return null;
             globalMax = (Comparable) maxVisit.getResult().getValue();
             RangedClassifier result;
             boolean percentages = false;
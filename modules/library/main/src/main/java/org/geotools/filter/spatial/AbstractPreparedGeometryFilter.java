@@ -21,7 +21,6 @@
 import org.geotools.filter.GeometryFilterImpl;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.prep.PreparedGeometry;
-import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
 
 /**
  * A base class for GeometryFilters that will use PreparedGeometries when the Expression
@@ -41,6 +40,11 @@
  * If <strong>BOTH</strong> of the expressions are literals then a cached value is generated by calling {@link #basicEvaluate(Geometry, Geometry)}.
  * </p>
  * <p>
+ * The prepared geometries are shared by all the filters using the same literal geometry, such as the copies of a filter
+ * made by filter visitors, so that the indexes they build are computed only once. They are thread safe, and prepared
+ * again whenever an expression is set.
+ * </p>
+ * <p>
  * The method {@link #basicEvaluate(Geometry, Geometry)} is required to be implemented so that a cached value can be generated in the case
  * that both expressions are literals
  * </p>
@@ -121,8 +125,6 @@ private static Literals calculate(Expression expression1, Expression expression2
         }
     }
 
-    private final PreparedGeometryFactory pGeomFac;
-
     /** Indicates which expressions are {@link Literal}s */
     protected Literals literals;
     /** The PreparedGeometry for the left Geometry. Null if the left geometry is not a {@link Literal} */
@@ -137,14 +139,12 @@ private static Literals calculate(Expression expression1, Expression expression2
 
     protected AbstractPreparedGeometryFilter(Expression e1, Expression e2) {
         super(e1, e2);
-        pGeomFac = new PreparedGeometryFactory();
         if (e1 != null) setExpression1(e1);
         if (e2 != null) setExpression2(e2);
     }
 
     protected AbstractPreparedGeometryFilter(Expression e1, Expression e2, MatchAction matchAction) {
         super(e1, e2, matchAction);
-        pGeomFac = new PreparedGeometryFactory();
         if (e1 != null) setExpression1(e1);
         if (e2 != null) setExpression2(e2);
     }
@@ -165,14 +165,14 @@ private void prepare() {
             }
             case LEFT: {
                 Geometry left = (Geometry) ((Literal) expression1).getValue();
-                leftPreppedGeom = pGeomFac.create(left);
+                leftPreppedGeom = PreparedGeometryCache.prepare(left);
                 rightPreppedGeom = null;
                 cacheValue = false;
                 break;
             }
             case RIGHT: {
                 Geometry right = (Geometry) ((Literal) expression2).getValue();
-                rightPreppedGeom = pGeomFac.create(right);
+                rightPreppedGeom = PreparedGeometryCache.prepare(right);
                 leftPreppedGeom = null;
                 cacheValue = false;
                 break;
@@ -0,0 +1,122 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter.spatial;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+
+/**
+ * Shares the prepared geometries among the filters using the same literal geometry. Filters are often copied, by the
+ * duplicating and binding visitors among others, and each copy would otherwise prepare the literal again and build
+ * its own indexes, which for a large polygon costs as much as evaluating the filter against many features.
+ *
+ * <p>Geometries are matched by identity, as their equality is expensive to compute. An entry lives as long as a filter
+ * holds its prepared geometry, and the prepared geometries built by JTS are thread safe, so they can be evaluated
+ * concurrently by all the filters sharing them.
+ *
+ * <p>A geometry can be changed in place, so each entry also records the envelope and number of points the geometry had
+ * when prepared, and the geometry is prepared again if either differs. This catches the changes notified with
+ * {@link Geometry#geometryChanged()}, which resets the cached envelope, but not the ones keeping both the envelope and
+ * the number of points intact.
+ */
+final class PreparedGeometryCache {
+
+    private static final PreparedGeometryFactory FACTORY = new PreparedGeometryFactory();
+
+    private static final Map<Key, Entry> CACHE = new HashMap<>();
+
+    private static final ReferenceQueue<Geometry> QUEUE = new ReferenceQueue<>();
+
+    private PreparedGeometryCache() {}
+
+    /** Returns the prepared geometry for the given geometry, shared with the other filters using it */
+    static PreparedGeometry prepare(Geometry geometry) {
+        synchronized (CACHE) {
+            expunge();
+            Key key = new Key(geometry, QUEUE);
+            Entry entry = CACHE.get(key);
+            PreparedGeometry prepared = entry != null && entry.matches(geometry) ? entry.get() : null;
+            if (prepared == null) {
+                prepared = FACTORY.create(geometry);
+                CACHE.put(key, new Entry(prepared, geometry));
+            }
+            return prepared;
+        }
+    }
+
+    /** Removes the entries whose geometry has been garbage collected */
+    private static void expunge() {
+        Reference<? extends Geometry> reference;
+        while ((reference = QUEUE.poll()) != null) {
+            CACHE.remove(reference);
+        }
+    }
+
+    /** A weak reference to a geometry, compared by identity */
+    private static final class Key extends WeakReference<Geometry> {
+
+        private final int hash;
+
+        Key(Geometry geometry, ReferenceQueue<Geometry> queue) {
+            super(geometry, queue);
+            this.hash = System.identityHashCode(geometry);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Geometry geometry = get();
+            return geometry != null && geometry == ((Key) obj).get();
+        }
+    }
+
+    /** A weak reference to a prepared geometry, along with the state of the geometry when it was prepared */
+    private static final class Entry extends WeakReference<PreparedGeometry> {
+
+        private final Envelope envelope;
+
+        private final int numPoints;
+
+        Entry(PreparedGeometry prepared, Geometry geometry) {
+            super(prepared);
+            this.envelope = new Envelope(geometry.getEnvelopeInternal());
+            this.numPoints = geometry.getNumPoints();
+        }
+
+        /** Returns true if the geometry looks unchanged since it was prepared */
+        boolean matches(Geometry geometry) {
+            return numPoints == geometry.getNumPoints() && envelope.equals(geometry.getEnvelopeInternal());
+        }
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.FeatureWriter;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.data.Transaction;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.sort.SortOrder;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.DefaultTransaction;
+import org.geotools.data.memory.MemoryDataStore;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.data.store.DecoratingDataStore;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.io.WKTReader;
+
+public class CachingDataStoreTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    GeometryFactory gf = new GeometryFactory();
+
+    MemoryDataStore memory;
+
+    SimpleFeatureType type;
+
+    @Before
+    public void setUp() throws Exception {
+        type = DataUtilities.createType(
+                "shapes",
+                "geom:Geometry,id:Integer,code:java.lang.Long,value:Double,flag:Boolean,name:String,"
+                        + "stamp:java.sql.Timestamp,amount:java.math.BigDecimal");
+        memory = new MemoryDataStore(type);
+        Random random = new Random(7);
+        for (int i = 0; i < 3000; i++) {
+            double x = random.nextDouble() * 100;
+            double y = random.nextDouble() * 100;
+            Geometry geometry;
+            switch (i % 3) {
+                case 0:
+                    geometry = gf.createPoint(new Coordinate(x, y));
+                    break;
+                case 1:
+                    geometry =
+                            gf.createLineString(new Coordinate[] {new Coordinate(x, y), new Coordinate(x + 1, y + 2)});
+                    break;
+                default:
+                    geometry = square(x, y, 2);
+            }
+            Timestamp stamp = new Timestamp(1_000_000L * i);
+            stamp.setNanos(i);
+            Object[] values = {
+                i % 50 == 0 ? null : geometry,
+                i,
+                (long) i * 1_000_000_000L,
+                i % 7 == 0 ? null : random.nextDouble(),
+                i % 2 == 0,
+                i % 11 == 0 ? null : "name" + (i % 20),
+                stamp,
+                new BigDecimal(i).movePointLeft(2)
+            };
+            memory.addFeature(SimpleFeatureBuilder.build(type, values, "shapes." + i));
+        }
+    }
+
+    private Polygon square(double x, double y, double size) {
+        Coordinate[] coords = {
+            new Coordinate(x, y),
+            new Coordinate(x + size, y),
+            new Coordinate(x + size, y + size),
+            new Coordinate(x, y + size),
+            new Coordinate(x, y)
+        };
+        return gf.createPolygon(coords);
+    }
+
+    private List<SimpleFeature> read(SimpleFeatureSource source, Query query) throws Exception {
+        List<SimpleFeature> result = new ArrayList<>();
+        try (SimpleFeatureIterator it = source.getFeatures(query).features()) {
+            while (it.hasNext()) {
+                result.add(it.next());
+            }
+        }
+        return result;
+    }
+
+    private void assertSameFeatures(List<SimpleFeature> expected, List<SimpleFeature> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            SimpleFeature e = expected.get(i);
+            SimpleFeature a = actual.get(i);
+            assertEquals(e.getID(), a.getID());
+            assertEquals(e.getAttributeCount(), a.getAttributeCount());
+            for (int j = 0; j < e.getAttributeCount(); j++) {
+                Object ev = e.getAttribute(j);
+                Object av = a.getAttribute(j);
+                if (ev instanceof Geometry) {
+                    assertTrue(((Geometry) ev).equalsExact((Geometry) av));
+                } else {
+                    assertEquals(ev, av);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testQueriesMatchWrappedStore() throws Exception {
+        CachingDataStore cache = new CachingDataStore(memory, Long.MAX_VALUE);
+        SimpleFeatureSource expected = memory.getFeatureSource("shapes");
+        SimpleFeatureSource actual = cache.getFeatureSource("shapes");
+
+        List<Query> queries = new ArrayList<>();
+        queries.add(Query.ALL);
+        queries.add(new Query("shapes", FF.bbox("geom", 10, 10, 30, 30, null)));
+        queries.add(new Query("shapes", FF.bbox("", 50, 0, 60, 100, null)));
+        queries.add(new Query("shapes", FF.equals(FF.property("name"), FF.literal("name3"))));
+        queries.add(new Query("shapes", FF.isNull(FF.property("name"))));
+        queries.add(new Query("shapes", FF.greater(FF.property("value"), FF.literal(0.5))));
+        queries.add(new Query("shapes", FF.equals(FF.property("flag"), FF.literal(true))));
+        queries.add(new Query(
+                "shapes",
+                FF.and(
+                        FF.bbox("geom", 0, 0, 50, 50, null),
+                        FF.less(FF.property("code"), FF.literal(1_000_000_000_000L)))));
+        queries.add(new Query("shapes", FF.id(FF.featureId("shapes.10"), FF.featureId("shapes.2000"))));
+        queries.add(new Query("shapes", Filter.EXCLUDE));
+        queries.add(new Query("shapes", Filter.INCLUDE, "id", "name"));
+        queries.add(new Query("shapes", FF.bbox("geom", 20, 20, 40, 40, null), "name", "id"));
+        Query sorted = new Query("shapes", FF.bbox("geom", 20, 20, 80, 80, null));
+        sorted.setSortBy(FF.sort("value", SortOrder.DESCENDING), FF.sort("id", SortOrder.ASCENDING));
+        queries.add(sorted);
+        Query paged = new Query("shapes");
+        paged.setSortBy(FF.sort("id", SortOrder.ASCENDING));
+        paged.setStartIndex(100);
+        paged.setMaxFeatures(50);
+        queries.add(paged);
+
+        for (Query query : queries) {
+            assertSameFeatures(read(expected, query), read(actual, query));
+            assertEquals(
+                    expected.getFeatures(query.getFilter()).size(),
+                    actual.getFeatures(query.getFilter()).size());
+        }
+        assertEquals(expected.getBounds(), actual.getBounds());
+        assertEquals(3000, actual.getCount(Query.ALL));
+        assertTrue(cache.isCached("shapes"));
+        assertTrue(cache.getCachedBytes() > 0);
+    }
+
+    @Test
+    public void testGeometryTypes() throws Exception {
+        SimpleFeatureType geometries = DataUtilities.createType("geometries", "geom:Geometry");
+        MemoryDataStore store = new MemoryDataStore(geometries);
+        WKTReader reader = new WKTReader();
+        String[] wkts = {
+            "POINT (1 2)",
+            "POINT EMPTY",
+            "POINT Z (1 2 3)",
+            "POINT M (1 2 4)",
+            "POINT ZM (1 2 3 4)",
+            "LINESTRING (0 0, 1 1, 2 0)",
+            "LINESTRING EMPTY",
+            "LINEARRING (0 0, 1 0, 1 1, 0 0)",
+            "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0), (2 2, 4 2, 4 4, 2 2), (6 6, 8 6, 8 8, 6 6))",
+            "POLYGON EMPTY",
+            "MULTIPOINT ((0 0), (1 1))",
+            "MULTILINESTRING ((0 0, 1 1), (2 2, 3 3))",
+            "MULTIPOLYGON (((0 0, 1 0, 1 1, 0 0)), ((2 2, 3 2, 3 3, 2 2)))",
+            "GEOMETRYCOLLECTION (POINT (1 1), LINESTRING (0 0, 2 2), GEOMETRYCOLLECTION (POINT (3 3)))",
+        };
+        List<Geometry> expected = new ArrayList<>();
+        for (int i = 0; i < wkts.length; i++) {
+            Geometry g = reader.read(wkts[i]);
+            expected.add(g);
+            store.addFeature(SimpleFeatureBuilder.build(geometries, new Object[] {g}, "g." + i));
+        }
+
+        CachingDataStore cache = new CachingDataStore(store, Long.MAX_VALUE);
+        List<SimpleFeature> features = read(cache.getFeatureSource("geometries"), Query.ALL);
+        assertEquals(wkts.length, features.size());
+        for (int i = 0; i < wkts.length; i++) {
+            Geometry g = (Geometry) features.get(i).getDefaultGeometry();
+            assertEquals(wkts[i], expected.get(i).getClass(), g.getClass());
+            assertTrue(wkts[i], expected.get(i).equalsExact(g));
+        }
+        // ordinates and measures are preserved
+        Point zm = (Point) features.get(4).getDefaultGeometry();
+        assertEquals(4, zm.getCoordinateSequence().getDimension());
+        assertEquals(1, zm.getCoordinateSequence().getMeasures());
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        SimpleFeatureType other = DataUtilities.createType("other", "geom:Point,name:String");
+        memory.createSchema(other);
+        for (int i = 0; i < 3000; i++) {
+            Object[] values = {gf.createPoint(new Coordinate(i, i)), "n" + i};
+            memory.addFeature(SimpleFeatureBuilder.build(other, values, "other." + i));
+        }
+
+        // measure the two tables, then allow only one of them at a time
+        CachingDataStore unbounded = new CachingDataStore(memory, Long.MAX_VALUE);
+        unbounded.getFeatureSource("shapes").getCount(Query.ALL);
+        long shapes = unbounded.getCachedBytes();
+        unbounded.getFeatureSource("other").getCount(Query.ALL);
+        long total = unbounded.getCachedBytes();
+        assertTrue(total > shapes);
+
+        CachingDataStore cache = new CachingDataStore(memory, total - 1);
+        assertEquals(3000, cache.getFeatureSource("shapes").getCount(Query.ALL));
+        assertTrue(cache.isCached("shapes"));
+        assertEquals(3000, cache.getFeatureSource("other").getCount(Query.ALL));
+        assertTrue(cache.isCached("other"));
+        assertFalse(cache.isCached("shapes"));
+        assertTrue(cache.getCachedBytes() <= cache.getMaxBytes());
+
+        // too large to be cached at all, served by the wrapped store
+        CachingDataStore tiny = new CachingDataStore(memory, 1024);
+        SimpleFeatureSource source = tiny.getFeatureSource("shapes");
+        assertEquals(
+                memory.getFeatureSource("shapes")
+                        .getFeatures(FF.bbox("geom", 10, 10, 20, 20, null))
+                        .size(),
+                source.getFeatures(FF.bbox("geom", 10, 10, 20, 20, null)).size());
+        assertFalse(tiny.isCached("shapes"));
+        assertEquals(0, tiny.getCachedBytes());
+    }
+
+    @Test
+    public void testSelectedTypes() throws Exception {
+        CachingDataStore cache = new CachingDataStore(memory, Long.MAX_VALUE, "other");
+        assertFalse(cache.isCacheable("shapes"));
+        assertEquals(3000, cache.getFeatureSource("shapes").getCount(Query.ALL));
+        assertFalse(cache.isCached("shapes"));
+        assertEquals(0, cache.getCachedBytes());
+    }
+
+    @Test
+    public void testRefreshAndInvalidate() throws Exception {
+        CachingDataStore cache = new CachingDataStore(memory, Long.MAX_VALUE);
+        SimpleFeatureSource source = cache.getFeatureSource("shapes");
+        assertEquals(3000, source.getCount(Query.ALL));
+
+        // changes on the wrapped store are not seen until refreshed
+        memory.addFeature(SimpleFeatureBuilder.build(type, new Object[8], "shapes.new"));
+        assertEquals(3000, source.getCount(Query.ALL));
+        cache.refresh("shapes");
+        assertEquals(3001, source.getCount(Query.ALL));
+
+        memory.addFeature(SimpleFeatureBuilder.build(type, new Object[8], "shapes.new2"));
+        cache.invalidate("shapes");
+        assertFalse(cache.isCached("shapes"));
+        assertEquals(0, cache.getCachedBytes());
+        assertEquals(3002, source.getCount(Query.ALL));
+
+        // expiration
+        memory.addFeature(SimpleFeatureBuilder.build(type, new Object[8], "shapes.new3"));
+        cache.setTimeToLive(1);
+        Thread.sleep(5);
+        assertEquals(3003, source.getCount(Query.ALL));
+    }
+
+    @Test
+    public void testInvalidateWhileLoading() throws Exception {
+        CachingDataStore[] cache = new CachingDataStore[1];
+        // a writer commits and invalidates the type while the cache is reading from the wrapped store
+        DecoratingDataStore committing = new DecoratingDataStore(memory) {
+            @Override
+            public FeatureReader<SimpleFeatureType, SimpleFeature> getFeatureReader(
+                    Query query, Transaction transaction) throws IOException {
+                FeatureReader<SimpleFeatureType, SimpleFeature> reader = super.getFeatureReader(query, transaction);
+                cache[0].invalidate("shapes");
+                return reader;
+            }
+        };
+        cache[0] = new CachingDataStore(committing, Long.MAX_VALUE);
+        SimpleFeatureSource source = cache[0].getFeatureSource("shapes");
+        source.getCount(Query.ALL);
+        // the table loaded before the commit is not kept around
+        assertFalse(cache[0].isCached("shapes"));
+        assertEquals(0, cache[0].getCachedBytes());
+    }
+
+    @Test
+    public void testWritersInvalidate() throws Exception {
+        CachingDataStore cache = new CachingDataStore(memory, Long.MAX_VALUE);
+        SimpleFeatureSource source = cache.getFeatureSource("shapes");
+        assertEquals(3000, source.getCount(Query.ALL));
+
+        try (FeatureWriter<SimpleFeatureType, SimpleFeature> writer =
+                cache.getFeatureWriter("shapes", FF.id(FF.featureId("shapes.1")), Transaction.AUTO_COMMIT)) {
+            writer.next();
+            writer.remove();
+        }
+        assertFalse(cache.isCached("shapes"));
+        assertEquals(2999, source.getCount(Query.ALL));
+
+        try (Transaction transaction = new DefaultTransaction()) {
+            try (FeatureWriter<SimpleFeatureType, SimpleFeature> writer =
+                    cache.getFeatureWriter("shapes", FF.id(FF.featureId("shapes.2")), transaction)) {
+                writer.next();
+                writer.remove();
+            }
+            // reads in the transaction go to the wrapped store
+            Set<String> fids = new HashSet<>();
+            try (FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                    cache.getFeatureReader(new Query("shapes"), transaction)) {
+                while (reader.hasNext()) {
+                    fids.add(reader.next().getID());
+                }
+            }
+            assertEquals(2998, fids.size());
+            assertEquals(2999, source.getCount(Query.ALL));
+            transaction.commit();
+        }
+        assertEquals(2998, source.getCount(Query.ALL));
+        assertEquals(
+                0,
+                memory.getFeatureSource("shapes")
+                        .getFeatures(FF.id(FF.featureId("shapes.2")))
+                        .size());
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.memory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.data.SimpleFeatureStore;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.data.DataTestCase;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Point;
+
+public class MemoryDataStoreSnapshotTest extends DataTestCase {
+
+    private SimpleFeatureType pointType;
+
+    private MemoryDataStore newStore(boolean snapshot) throws Exception {
+        MemoryDataStore store = new MemoryDataStore();
+        store.setSnapshotStorage(snapshot);
+        pointType = DataUtilities.createType("point", "id:Integer,geom:Point,name:String");
+        store.createSchema(pointType);
+        return store;
+    }
+
+    private SimpleFeature point(int id, double x, double y, String name) {
+        Point p = gf.createPoint(new Coordinate(x, y));
+        return SimpleFeatureBuilder.build(pointType, new Object[] {id, p, name}, "point." + id);
+    }
+
+    private Set<String> fids(SimpleFeatureSource source, Filter filter) throws Exception {
+        Set<String> result = new TreeSet<>();
+        try (SimpleFeatureIterator it = source.getFeatures(filter).features()) {
+            while (it.hasNext()) {
+                result.add(it.next().getID());
+            }
+        }
+        return result;
+    }
+
+    @Test
+    public void testRoads() throws Exception {
+        MemoryDataStore data = new MemoryDataStore();
+        data.setSnapshotStorage(true);
+        data.addFeatures(roadFeatures);
+        assertTrue(data.entry("road").isSnapshotStorage());
+        data.addAttributeIndex("road", "name");
+
+        SimpleFeatureSource roads = data.getFeatureSource("road");
+        assertEquals(roadFeatures.length, roads.getCount(Query.ALL));
+        assertEquals(roadBounds, roads.getBounds());
+        assertEquals(1, roads.getFeatures(rd1Filter).size());
+        assertEquals(2, roads.getFeatures(rd12Filter).size());
+        assertEquals(
+                1,
+                roads.getFeatures(ff.equals(ff.property("name"), ff.literal("r1")))
+                        .size());
+        assertEquals(1, roads.getFeatures(ff.bbox("geom", 1, 1, 2, 2, null)).size());
+    }
+
+    @Test
+    public void testAttributeIndexRequiresSnapshots() throws Exception {
+        MemoryDataStore data = newStore(false);
+        try {
+            data.addAttributeIndex("point", "name");
+            throw new AssertionError("Should have failed, snapshot storage not enabled");
+        } catch (IllegalStateException e) {
+            // fine
+        }
+    }
+
+    @Test
+    public void testQueriesMatchScan() throws Exception {
+        MemoryDataStore reference = newStore(false);
+        MemoryDataStore snapshots = newStore(true);
+        snapshots.addAttributeIndex("point", "name");
+        snapshots.addAttributeIndex("point", "id");
+        SimpleFeatureStore referenceStore = (SimpleFeatureStore) reference.getFeatureSource("point");
+        SimpleFeatureStore snapshotStore = (SimpleFeatureStore) snapshots.getFeatureSource("point");
+
+        // enough features to go through several compactions
+        Random random = new Random(42);
+        List<SimpleFeature> features = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            features.add(point(i, random.nextDouble() * 100, random.nextDouble() * 100, "n" + (i % 50)));
+        }
+        // the default storage modifies features in place, do not share them
+        for (SimpleFeature f : features) {
+            reference.addFeature(f);
+            snapshots.addFeature(SimpleFeatureBuilder.copy(f));
+        }
+
+        // moves, renames and removals, leaving changes in the delta
+        for (int i = 0; i < 300; i++) {
+            int id = random.nextInt(2000);
+            Filter fid = ff.id(ff.featureId("point." + id));
+            if (i % 3 == 0) {
+                referenceStore.removeFeatures(fid);
+                snapshotStore.removeFeatures(fid);
+            } else {
+                Point p = gf.createPoint(new Coordinate(random.nextDouble() * 100, random.nextDouble() * 100));
+                String name = "n" + random.nextInt(60);
+                String[] names = {"geom", "name"};
+                referenceStore.modifyFeatures(names, new Object[] {p, name}, fid);
+                snapshotStore.modifyFeatures(names, new Object[] {p, name}, fid);
+            }
+        }
+        assertEquals(referenceStore.getCount(Query.ALL), snapshotStore.getCount(Query.ALL));
+        assertTrue(snapshotStore.getCount(Query.ALL) < 2000);
+
+        List<Filter> filters = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            double x = random.nextDouble() * 90;
+            double y = random.nextDouble() * 90;
+            filters.add(ff.bbox("geom", x, y, x + 10, y + 10, null));
+            filters.add(ff.equals(ff.property("name"), ff.literal("n" + random.nextInt(60))));
+            filters.add(ff.and(
+                    ff.bbox("geom", x, y, x + 30, y + 30, null),
+                    ff.equals(ff.property("name"), ff.literal("n" + random.nextInt(60)))));
+            filters.add(ff.equals(ff.property("id"), ff.literal(String.valueOf(random.nextInt(2000)))));
+            filters.add(ff.id(ff.featureId("point." + random.nextInt(2000))));
+        }
+        filters.add(ff.equals(ff.property("name"), ff.literal("N1")));
+        filters.add(ff.equal(ff.property("name"), ff.literal("N1"), false));
+        filters.add(ff.not(ff.bbox("geom", 0, 0, 50, 50, null)));
+        for (Filter filter : filters) {
+            assertEquals(filter.toString(), fids(referenceStore, filter), fids(snapshotStore, filter));
+        }
+    }
+
+    @Test
+    public void testUpdatesDoNotChangeSnapshots() throws Exception {
+        MemoryDataStore data = newStore(true);
+        data.addFeatures(point(1, 1, 1, "a"), point(2, 2, 2, "b"));
+        SimpleFeatureStore store = (SimpleFeatureStore) data.getFeatureSource("point");
+        MemoryEntry entry = data.entry("point");
+
+        Iterator<SimpleFeature> iterator = entry.getMemory().values().iterator();
+        SimpleFeature first = entry.getMemory().get("point.1");
+        store.modifyFeatures("name", "c", ff.id(ff.featureId("point.1")));
+        store.removeFeatures(ff.id(ff.featureId("point.2")));
+        data.addFeature(point(3, 3, 3, "d"));
+
+        // the features are replaced, not modified in place
+        assertEquals("a", first.getAttribute("name"));
+        assertEquals("c", entry.getMemory().get("point.1").getAttribute("name"));
+        assertNull(entry.getMemory().get("point.2"));
+        assertEquals(2, entry.getMemory().size());
+
+        // the iterator still sees the content at the time it was created
+        List<String> names = new ArrayList<>();
+        iterator.forEachRemaining(f -> names.add((String) f.getAttribute("name")));
+        assertEquals(List.of("a", "b"), names);
+    }
+
+    @Test
+    public void testConcurrentReadsAndWrites() throws Exception {
+        MemoryDataStore data = newStore(true);
+        for (int i = 0; i < 1000; i++) {
+            data.addFeature(point(i, i % 100, i / 10, "n" + i));
+        }
+        SimpleFeatureSource source = data.getFeatureSource("point");
+        Filter bbox = ff.bbox("geom", 10, 10, 20, 20, null);
+        int expected = source.getFeatures(bbox).size();
+
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> readers = new ArrayList<>();
+            for (int t = 0; t < 3; t++) {
+                readers.add(executor.submit(() -> {
+                    boolean ok = true;
+                    while (!done.get()) {
+                        // writers only touch features outside of the bbox
+                        ok &= source.getFeatures(bbox).size() == expected;
+                    }
+                    return ok;
+                }));
+            }
+            for (int i = 1000; i < 3000; i++) {
+                data.addFeature(point(i, 50 + i % 50, 50, "n" + i));
+                if (i % 2 == 0) {
+                    data.entry("point").getMemory().remove("point." + (i - 1));
+                }
+            }
+            done.set(true);
+            for (Future<Boolean> reader : readers) {
+                assertTrue(reader.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(2000, source.getCount(Query.ALL));
+        assertFalse(data.entry("point").getMemory().containsKey("point.1999"));
+    }
+}
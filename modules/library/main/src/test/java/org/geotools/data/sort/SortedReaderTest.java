@@ -1,12 +1,16 @@
 package org.geotools.data.sort;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.NoSuchElementException;
+import org.geotools.api.data.Query;
 import org.geotools.api.data.SimpleFeatureReader;
 import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.feature.simple.SimpleFeatureType;
@@ -20,6 +24,7 @@
 import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
 import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.util.factory.Hints;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -218,6 +223,92 @@ public void testSortNaturalPartialLastPage() throws IOException {
         }
     }
 
+    @Test
+    public void testByteBudgetMemorySort() throws IOException {
+        try (SimpleFeatureReader sr = new SortedFeatureReader(fr, byteBudgetQuery(peopleAsc, 1L << 30, true))) {
+            assertSortedOnPeopleAsc(sr);
+        }
+    }
+
+    @Test
+    public void testByteBudgetFileSortPeople() throws IOException {
+        // about 20 features per run
+        try (SimpleFeatureReader sr = new SortedFeatureReader(fr, byteBudgetQuery(peopleAsc, 50_000, true))) {
+            assertRoundTrip(sr, peopleAsc);
+        }
+    }
+
+    @Test
+    public void testByteBudgetFileSortUncompressed() throws IOException {
+        try (SimpleFeatureReader sr = new SortedFeatureReader(fr, byteBudgetQuery(peopleDesc, 50_000, false))) {
+            assertRoundTrip(sr, peopleDesc);
+        }
+    }
+
+    @Test
+    public void testByteBudgetFileSortDate() throws IOException {
+        try (SimpleFeatureReader sr = new SortedFeatureReader(fr, byteBudgetQuery(dateAsc, 50_000, true))) {
+            assertSortedOnDateAsc(sr);
+        }
+    }
+
+    @Test
+    public void testByteBudgetFileSortNatural() throws IOException {
+        try (SimpleFeatureReader sr = new SortedFeatureReader(fr, byteBudgetQuery(fidAsc, 50_000, true))) {
+            assertRoundTrip(sr, fidAsc);
+        }
+    }
+
+    @Test
+    public void testByteBudgetMultiPassMerge() throws IOException {
+        // one run per feature, more than can be merged at once
+        try (SimpleFeatureReader sr = new SortedFeatureReader(fr, byteBudgetQuery(peopleDesc, 1, true))) {
+            assertRoundTrip(sr, peopleDesc);
+        }
+    }
+
+    @Test
+    public void testBlockCompressorRoundTrip() throws IOException {
+        byte[] data = new byte[10000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i % 97 < 50 ? i % 7 : i * 31);
+        }
+        byte[] compressed = new byte[BlockCompressor.maxCompressedLength(data.length)];
+        int length = new BlockCompressor().compress(data, data.length, compressed);
+        assertTrue(length < data.length);
+        byte[] restored = new byte[data.length];
+        BlockCompressor.decompress(compressed, length, restored, data.length);
+        assertArrayEquals(data, restored);
+    }
+
+    private Query byteBudgetQuery(SortBy[] sortBy, long maxBytes, boolean compress) {
+        Query query = new Query(schema.getTypeName());
+        query.setSortBy(sortBy);
+        query.getHints().put(Hints.MAX_MEMORY_SORT_BYTES, maxBytes);
+        query.getHints().put(Hints.SORT_SPILL_COMPRESSION, compress);
+        return query;
+    }
+
+    /** Checks the sorted features are all there, in order, and unchanged by the trip to disk */
+    private void assertRoundTrip(SimpleFeatureReader sr, SortBy[] sortBy) throws IOException {
+        List<SimpleFeature> expected = new ArrayList<>();
+        try (SimpleFeatureIterator fi = fc.features()) {
+            while (fi.hasNext()) {
+                expected.add(fi.next());
+            }
+        }
+        expected.sort(SortedFeatureReader.getComparator(sortBy, schema));
+        for (SimpleFeature e : expected) {
+            assertTrue(sr.hasNext());
+            SimpleFeature f = sr.next();
+            assertEquals(e.getID(), f.getID());
+            for (int i = 0; i < schema.getAttributeCount(); i++) {
+                assertEquals(e.getAttribute(i), f.getAttribute(i));
+            }
+        }
+        assertFalse(sr.hasNext());
+    }
+
     private void assertSortedOnPeopleAsc(SimpleFeatureReader fr)
             throws IllegalArgumentException, NoSuchElementException, IOException {
         double prev = -1;
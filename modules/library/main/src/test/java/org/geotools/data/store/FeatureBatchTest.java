@@ -0,0 +1,187 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.store;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.memory.MemoryDataStore;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Point;
+
+public class FeatureBatchTest {
+
+    static final GeometryFactory GF = new GeometryFactory();
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    SimpleFeatureType type;
+
+    @Before
+    public void setUp() throws Exception {
+        type = DataUtilities.createType(
+                "test",
+                "geom:Geometry,id:Integer,small:java.lang.Short,big:java.lang.Long,value:Double,ratio:java.lang.Float,flag:Boolean,name:String");
+    }
+
+    @Test
+    public void testBuilder() throws Exception {
+        FeatureBatchBuilder builder = new FeatureBatchBuilder(type, 2);
+        builder.add("test.1", new Object[] {point(1, 2), 1, (short) 10, 100L, 1.5, 2.5f, true, "one"});
+        // typed setters and conversions
+        builder.setInt(1, 2);
+        builder.set(2, "20");
+        builder.setLong(3, 200L);
+        builder.setDouble(4, 3.5);
+        builder.setDouble(5, 4.5);
+        builder.setBoolean(6, false);
+        builder.set(7, 2);
+        builder.add("test.2");
+        // nulls, also past the initial capacity
+        builder.set(1, 3);
+        builder.add("test.3");
+        assertEquals(3, builder.size());
+
+        FeatureBatch batch = builder.build();
+        assertEquals(0, builder.size());
+        assertEquals(3, batch.size());
+        assertEquals("test.2", batch.getID(1));
+
+        FeatureBatch.IntColumn ids = (FeatureBatch.IntColumn) batch.getColumn("id");
+        assertEquals(1, ids.getInt(0));
+        assertEquals(3, ids.getInt(2));
+        assertFalse(ids.hasNulls());
+        assertEquals(Short.valueOf((short) 20), batch.getColumn("small").getValue(1));
+        assertEquals(Long.valueOf(200), batch.getColumn("big").getValue(1));
+        assertEquals(Float.valueOf(4.5f), batch.getColumn("ratio").getValue(1));
+        assertEquals(Boolean.TRUE, batch.getColumn("flag").getValue(0));
+        assertEquals(Boolean.FALSE, batch.getColumn("flag").getValue(1));
+        assertEquals("2", batch.getColumn("name").getValue(1));
+        assertTrue(batch.getColumn("value").isNull(2));
+        assertNull(batch.getValue(2, 4));
+        assertNull(batch.getColumn("missing"));
+
+        SimpleFeature feature = batch.getFeature(0);
+        assertEquals("test.1", feature.getID());
+        assertEquals(Short.valueOf((short) 10), feature.getAttribute("small"));
+        assertEquals("one", feature.getAttribute("name"));
+    }
+
+    @Test
+    public void testDiscard() throws Exception {
+        FeatureBatchBuilder builder = new FeatureBatchBuilder(type, 10);
+        builder.setInt(1, 5);
+        builder.discard();
+        builder.set(7, "abc");
+        builder.add("test.1");
+        FeatureBatch batch = builder.build();
+        assertTrue(batch.getColumn("id").isNull(0));
+        assertEquals("abc", batch.getValue(0, 7));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidConversion() throws Exception {
+        new FeatureBatchBuilder(type, 10).set(1, "abc");
+    }
+
+    @Test
+    public void testPackedCoordinates() throws Exception {
+        FeatureBatchBuilder builder = new FeatureBatchBuilder(type, 10);
+        builder.set(0, point(1, 2));
+        builder.add("test.1");
+        builder.add("test.2");
+        LineString line = GF.createLineString(new Coordinate[] {new Coordinate(3, 4), new Coordinate(5, 6)});
+        builder.set(0, line);
+        builder.add("test.3");
+        FeatureBatch.GeometryColumn geometries =
+                (FeatureBatch.GeometryColumn) builder.build().getColumn(0);
+
+        assertArrayEquals(new double[] {1, 2, 3, 4, 5, 6}, geometries.getCoordinates(), 0d);
+        assertArrayEquals(new int[] {0, 1, 1, 3}, geometries.getCoordinateOffsets());
+        double[] envelopes = geometries.getEnvelopes();
+        assertArrayEquals(new double[] {1, 2, 1, 2}, slice(envelopes, 0), 0d);
+        assertTrue(Double.isNaN(envelopes[4]));
+        assertArrayEquals(new double[] {3, 4, 5, 6}, slice(envelopes, 2), 0d);
+        assertEquals(line, geometries.getGeometry(2));
+    }
+
+    @Test
+    public void testFeatureSourceBatches() throws Exception {
+        MemoryDataStore store = new MemoryDataStore(type);
+        List<SimpleFeature> features = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            features.add(SimpleFeatureBuilder.build(
+                    type, new Object[] {point(i, i), i, null, null, i * 0.5, null, i % 2 == 0, "f" + i}, "test." + i));
+        }
+        store.addFeatures(features);
+        ContentFeatureSource source = store.getFeatureSource("test");
+
+        List<SimpleFeature> read = new ArrayList<>();
+        int batches = 0;
+        try (FeatureBatchReader reader = source.getBatchReader(Query.ALL, 10)) {
+            while (reader.hasNext()) {
+                FeatureBatch batch = reader.next();
+                assertTrue(batch.size() <= 10);
+                read.addAll(batch.toFeatures());
+                batches++;
+            }
+        }
+        assertEquals(3, batches);
+        assertEquals(25, read.size());
+        for (SimpleFeature f : read) {
+            int id = (Integer) f.getAttribute("id");
+            assertEquals(features.get(id).getAttributes(), f.getAttributes());
+            assertEquals(features.get(id).getID(), f.getID());
+        }
+
+        // filtering and retyping are applied before batching
+        Query query = new Query("test", FF.less(FF.property("id"), FF.literal(5)), "id", "value");
+        try (FeatureBatchReader reader = source.getBatchReader(query, 100)) {
+            FeatureBatch batch = reader.next();
+            assertEquals(5, batch.size());
+            assertEquals(2, batch.getColumnCount());
+            assertTrue(batch.getColumn("value") instanceof FeatureBatch.DoubleColumn);
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    private double[] slice(double[] envelopes, int row) {
+        double[] result = new double[4];
+        System.arraycopy(envelopes, row * 4, result, 0, 4);
+        return result;
+    }
+
+    private Point point(double x, double y) {
+        return GF.createPoint(new Coordinate(x, y));
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.memory.MemoryDataStore;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.util.factory.Hints;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ApproximateVisitorsTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    static final int COUNT = 20000;
+
+    SimpleFeatureSource source;
+
+    @Before
+    public void setUp() throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("test", "value:Integer,name:String");
+        MemoryDataStore store = new MemoryDataStore();
+        store.createSchema(type);
+        SimpleFeature[] features = new SimpleFeature[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            // "common" is found in half of the features, all the other names are distinct
+            String name = i % 2 == 0 ? "common" : "name" + i;
+            features[i] = SimpleFeatureBuilder.build(type, new Object[] {i, name}, "test." + i);
+        }
+        store.addFeatures(features);
+        source = store.getFeatureSource("test");
+    }
+
+    @Test
+    public void testHyperLogLog() {
+        HyperLogLog sketch = new HyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+        HyperLogLog other = new HyperLogLog(HyperLogLog.DEFAULT_PRECISION);
+        for (int i = 0; i < 100000; i++) {
+            sketch.add("value" + i);
+            other.add("value" + (i + 50000));
+        }
+        assertEquals(100000, sketch.getEstimate(), 100000 * 0.03);
+        sketch.merge(other);
+        assertEquals(150000, sketch.getEstimate(), 150000 * 0.03);
+    }
+
+    @Test
+    public void testKllSketch() {
+        KllSketch sketch = new KllSketch(KllSketch.DEFAULT_K);
+        KllSketch other = new KllSketch(KllSketch.DEFAULT_K);
+        for (int i = 0; i < 100000; i++) {
+            sketch.add(i);
+            other.add(i + 100000);
+        }
+        assertTrue(sketch.getRetained() < 1000);
+        assertEquals(50000, (Integer) sketch.getQuantile(0.5), 100000 * 0.03);
+        sketch.merge(other);
+        assertEquals(200000, sketch.getCount());
+        assertEquals(100000, (Integer) sketch.getQuantile(0.5), 200000 * 0.03);
+        assertEquals(180000, (Integer) sketch.getQuantile(0.9), 200000 * 0.03);
+    }
+
+    @Test
+    public void testFrequentItems() {
+        FrequentItemsSketch sketch = new FrequentItemsSketch(10);
+        for (int i = 0; i < 10000; i++) {
+            sketch.add(i % 3 == 0 ? "frequent" : i);
+        }
+        Map<Object, Long> items = sketch.getFrequentItems();
+        assertTrue(items.size() <= 10);
+        assertEquals("frequent", items.keySet().iterator().next());
+        assertTrue(items.get("frequent") > 10000 / 3 - 10000 / 10);
+    }
+
+    @Test
+    public void testApproximate() {
+        assertNull(ApproximateVisitors.approximate(new CountVisitor()));
+
+        UniqueVisitor ordered = new UniqueVisitor("name");
+        ordered.setPreserveOrder(true);
+        assertNull(ApproximateVisitors.approximate(ordered));
+
+        assertTrue(ApproximateVisitors.approximate(new MedianVisitor("value")) instanceof ApproximateMedianVisitor);
+        MultiVisitor multi = (MultiVisitor)
+                ApproximateVisitors.approximate(new MultiVisitor(new CountVisitor(), new UniqueCountVisitor("name")));
+        assertTrue(multi.getVisitors().get(0) instanceof CountVisitor);
+        assertTrue(multi.getVisitors().get(1) instanceof ApproximateUniqueCountVisitor);
+    }
+
+    @Test
+    public void testQueryHint() throws Exception {
+        Query query = new Query("test");
+        query.getHints().put(Hints.APPROXIMATE_AGGREGATES, true);
+        SimpleFeatureCollection features = source.getFeatures(query);
+
+        UniqueCountVisitor uniqueCount = new UniqueCountVisitor("name");
+        MedianVisitor median = new MedianVisitor("value");
+        UniqueVisitor unique = new UniqueVisitor("name");
+        features.accepts(new MultiVisitor(uniqueCount, median, unique), null);
+
+        assertEquals(COUNT / 2 + 1, uniqueCount.getResult().toInt(), COUNT * 0.03);
+        assertEquals(COUNT / 2, ((Number) median.getResult().getValue()).doubleValue(), COUNT * 0.03);
+        Set<?> sample = unique.getResult().toSet();
+        assertTrue(sample.size() <= TopKUniqueVisitor.DEFAULT_K);
+        assertTrue(sample.contains("common"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testQuantileListHint() throws Exception {
+        Query query = new Query("test");
+        query.getHints().put(Hints.APPROXIMATE_AGGREGATES, true);
+        QuantileListVisitor visitor = new QuantileListVisitor(FF.property("value"), 4);
+        source.getFeatures(query).accepts(visitor, null);
+
+        List<Comparable>[] bins = (List<Comparable>[]) visitor.getResult().getValue();
+        assertEquals(4, bins.length);
+        for (int i = 0; i < bins.length; i++) {
+            assertEquals(COUNT / 4, bins[i].size());
+            int first = (Integer) bins[i].get(0);
+            int last = (Integer) bins[i].get(bins[i].size() - 1);
+            assertEquals(COUNT / 4 * i, first, COUNT * 0.03);
+            assertEquals(COUNT / 4 * (i + 1), last, COUNT * 0.03);
+            // the iterator walks the same values as the random access
+            int count = 0;
+            Comparable previous = null;
+            for (Comparable value : bins[i]) {
+                assertTrue(previous == null || previous.compareTo(value) <= 0);
+                previous = value;
+                count++;
+            }
+            assertEquals(bins[i].size(), count);
+            assertEquals(last, previous);
+        }
+    }
+}
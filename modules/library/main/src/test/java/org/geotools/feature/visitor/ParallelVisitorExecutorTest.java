@@ -0,0 +1,189 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.memory.MemoryDataStore;
+import org.geotools.data.store.ContentFeatureSource;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.util.NullProgressListener;
+import org.geotools.util.factory.Hints;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelVisitorExecutorTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    // enough features to span several batches, with a partial one at the end
+    static final int COUNT = ParallelVisitorExecutor.BATCH_SIZE * 5 + 17;
+
+    SimpleFeatureSource source;
+
+    @Before
+    public void setUp() throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("test", "id:Integer,value:Double,group:String");
+        MemoryDataStore store = new MemoryDataStore();
+        store.createSchema(type);
+        SimpleFeature[] features = new SimpleFeature[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            Double value = i % 100 == 0 ? null : Double.valueOf(i % 1000);
+            features[i] = SimpleFeatureBuilder.build(type, new Object[] {i, value, "g" + (i % 7)}, "test." + i);
+        }
+        store.addFeatures(features);
+        source = store.getFeatureSource("test");
+    }
+
+    @Test
+    public void testSplit() {
+        assertNotNull(new SumVisitor(FF.property("value")).split());
+        assertNotNull(new UniqueVisitor(FF.property("group")).split());
+
+        UniqueVisitor ordered = new UniqueVisitor(FF.property("group"));
+        ordered.setPreserveOrder(true);
+        assertNull(ordered.split());
+
+        UniqueVisitor paged = new UniqueVisitor(FF.property("group"));
+        paged.setMaxFeatures(10);
+        assertNull(paged.split());
+
+        MedianVisitor optimized = new MedianVisitor(FF.property("value"));
+        optimized.setValue(10);
+        assertNull(optimized.split());
+
+        // a single visitor that cannot be split prevents splitting the whole set
+        assertNull(new MultiVisitor(new CountVisitor(), ordered).split());
+    }
+
+    @Test
+    public void testParallelMatchesSequential() throws Exception {
+        List<FeatureCalc> parallel = visitors();
+        List<FeatureCalc> sequential = visitors();
+
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                ((ContentFeatureSource) source).getReader(Query.ALL)) {
+            ParallelVisitorExecutor.visit(reader, new MultiVisitor(parallel), new NullProgressListener(), 0, 4);
+        }
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                ((ContentFeatureSource) source).getReader(Query.ALL)) {
+            while (reader.hasNext()) {
+                SimpleFeature feature = reader.next();
+                sequential.forEach(v -> v.visit(feature));
+            }
+        }
+
+        for (int i = 0; i < parallel.size(); i++) {
+            Object expected = sequential.get(i).getResult().getValue();
+            Object actual = parallel.get(i).getResult().getValue();
+            if (expected instanceof Double) {
+                assertEquals((Double) expected, (Double) actual, 1e-6);
+            } else {
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void testMultiVisitorSinglePass() throws Exception {
+        MinVisitor min = new MinVisitor(FF.property("value"));
+        MaxVisitor max = new MaxVisitor(FF.property("value"));
+        CountVisitor count = new CountVisitor();
+        UniqueVisitor unique = new UniqueVisitor(FF.property("group"));
+        source.getFeatures().accepts(new MultiVisitor(min, max, count, unique), null);
+
+        assertEquals(1d, min.getResult().getValue());
+        assertEquals(999d, max.getResult().getValue());
+        assertEquals(COUNT, count.getResult().toInt());
+        Set<?> groups = unique.getResult().toSet();
+        assertEquals(7, groups.size());
+        assertTrue(groups.contains("g0"));
+    }
+
+    @Test
+    public void testParallelismOptIn() throws Exception {
+        // off unless the system property is set
+        assertEquals(ParallelVisitorExecutor.PARALLELISM, ParallelVisitorExecutor.getParallelism(null));
+        assertEquals(ParallelVisitorExecutor.PARALLELISM, ParallelVisitorExecutor.getParallelism(new Hints()));
+        assertFalse(ParallelVisitorExecutor.canVisit(new CountVisitor(), 1));
+        assertTrue(ParallelVisitorExecutor.canVisit(new CountVisitor(), 2));
+
+        // requested by the query
+        Hints hints = new Hints(Hints.PARALLEL_VISITS, true);
+        assertEquals(ParallelVisitorExecutor.HINTED_PARALLELISM, ParallelVisitorExecutor.getParallelism(hints));
+
+        Query query = new Query("test");
+        query.setHints(hints);
+        CountVisitor count = new CountVisitor();
+        SumVisitor sum = new SumVisitor(FF.property("id"));
+        source.getFeatures(query).accepts(new MultiVisitor(count, sum), null);
+        assertEquals(COUNT, count.getResult().toInt());
+        assertEquals((long) COUNT * (COUNT - 1) / 2, sum.getResult().toLong());
+    }
+
+    @Test
+    public void testGroupBy() throws Exception {
+        GroupByVisitor parallel = groupBy();
+        GroupByVisitor sequential = groupBy();
+        assertNotNull(parallel.split());
+
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                ((ContentFeatureSource) source).getReader(Query.ALL)) {
+            ParallelVisitorExecutor.visit(reader, parallel, new NullProgressListener(), 0, 4);
+        }
+        source.getFeatures().accepts(sequential, null);
+
+        assertEquals(sequential.getResult().toMap(), parallel.getResult().toMap());
+        assertFalse(parallel.getResult().toMap().isEmpty());
+    }
+
+    private GroupByVisitor groupBy() {
+        return new GroupByVisitorBuilder()
+                .withAggregateAttribute("value", source.getSchema())
+                .withAggregateVisitor("Sum")
+                .withGroupByAttribute("group", source.getSchema())
+                .build();
+    }
+
+    private List<FeatureCalc> visitors() {
+        return Arrays.asList(
+                new CountVisitor(),
+                new SumVisitor(FF.property("value")),
+                new AverageVisitor(FF.property("value")),
+                new MinVisitor(FF.property("value")),
+                new MaxVisitor(FF.property("value")),
+                new MedianVisitor(FF.property("value")),
+                new StandardDeviationVisitor(FF.property("value")),
+                new UniqueVisitor(FF.property("group")),
+                new BoundsVisitor());
+    }
+}
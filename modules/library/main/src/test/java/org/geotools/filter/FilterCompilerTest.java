@@ -0,0 +1,134 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.data.DataUtilities;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FilterCompilerTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    SimpleFeatureType type;
+
+    List<SimpleFeature> features = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        type = DataUtilities.createType("test", "i:Integer,d:Double,s:String,date:java.util.Date,geom:Point");
+        Object[][] values = {
+            {1, 1.0, "one", new Date(1000), null},
+            {2, 2.5, "two", new Date(2000), null},
+            {3, -0.0, "THREE", new Date(3000), null},
+            {10, Double.NaN, "10", null, null},
+            {null, null, null, null, null},
+            {-5, 1e10, "", new Date(0), null},
+        };
+        for (int i = 0; i < values.length; i++) {
+            features.add(SimpleFeatureBuilder.build(type, values[i], "test." + i));
+        }
+    }
+
+    @Test
+    public void testComparisons() {
+        Object[] literals = {2, 2L, 2.5, 0.0, "2", "2.5", "two", "Two", "abc", "10", new Date(2000), Double.NaN};
+        String[] properties = {"i", "d", "s", "date"};
+        for (String property : properties) {
+            for (Object value : literals) {
+                Expression p = FF.property(property);
+                Expression l = FF.literal(value);
+                assertCompiled(FF.equals(p, l));
+                assertCompiled(FF.equal(p, l, false));
+                assertCompiled(FF.notEqual(p, l));
+                assertCompiled(FF.equals(l, p));
+                assertCompiled(FF.less(p, l));
+                assertCompiled(FF.lessOrEqual(l, p));
+                assertCompiled(FF.greater(p, l));
+                assertCompiled(FF.greaterOrEqual(l, p));
+                assertCompiled(FF.between(p, l, FF.literal(value instanceof String ? "z" : 100)));
+            }
+            assertCompiled(FF.isNull(FF.property(property)));
+        }
+    }
+
+    @Test
+    public void testLogical() {
+        Filter equals = FF.equals(FF.property("s"), FF.literal("two"));
+        Filter less = FF.less(FF.property("i"), FF.literal(3));
+        Filter like = FF.like(FF.property("s"), "t*");
+        assertCompiled(FF.and(equals, less));
+        assertCompiled(FF.or(equals, FF.not(less)));
+        assertCompiled(FF.and(like, FF.or(less, FF.isNull(FF.property("d")))));
+        assertCompiled(FF.or(Filter.EXCLUDE, FF.and(Filter.INCLUDE, less)));
+    }
+
+    @Test
+    public void testUnsupported() {
+        // functions, unknown attributes and attribute to attribute comparisons are interpreted
+        assertCompiled(FF.equals(FF.function("strToUpperCase", FF.property("s")), FF.literal("TWO")));
+        assertCompiled(FF.equals(FF.property("missing"), FF.literal(1)));
+        assertCompiled(FF.less(FF.property("i"), FF.property("d")));
+        assertCompiled(FF.id(FF.featureId("test.1")));
+    }
+
+    @Test
+    public void testCompile() throws Exception {
+        assertSame(Filter.INCLUDE, FilterCompiler.compile(Filter.INCLUDE));
+        Filter compiled = FilterCompiler.compile(FF.equals(FF.property("i"), FF.literal(1)));
+        assertTrue(compiled instanceof CompiledFilter);
+        assertSame(compiled, FilterCompiler.compile(compiled));
+        // equality is symmetric, compiled filters are only equal to each other
+        Filter original = FF.equals(FF.property("i"), FF.literal(1));
+        assertNotEquals(compiled, original);
+        assertNotEquals(original, compiled);
+        Filter otherCompiled = FilterCompiler.compile(FF.equals(FF.property("i"), FF.literal(1)));
+        assertEquals(compiled, otherCompiled);
+        assertEquals(otherCompiled, compiled);
+        assertEquals(compiled.hashCode(), otherCompiled.hashCode());
+        assertEquals(original, ((CompiledFilter) compiled).getFilter());
+        // the compiled predicate follows the feature type
+        SimpleFeatureType other = DataUtilities.createType("other", "s:String,i:Integer");
+        SimpleFeature feature = SimpleFeatureBuilder.build(other, new Object[] {"one", 1}, "other.1");
+        assertTrue(compiled.evaluate(features.get(0)));
+        assertTrue(compiled.evaluate(feature));
+        assertFalse(compiled.evaluate(features.get(1)));
+    }
+
+    private void assertCompiled(Filter filter) {
+        Filter compiled = FilterCompiler.compile(filter);
+        for (SimpleFeature feature : features) {
+            assertEquals(filter + " on " + feature.getID(), filter.evaluate(feature), compiled.evaluate(feature));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter.spatial;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.data.DataUtilities;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.filter.visitor.DuplicatingFilterVisitor;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateFilter;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+
+public class PreparedGeometryCacheTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    static final GeometryFactory GF = new GeometryFactory();
+
+    @Test
+    public void testSharedAmongCopies() {
+        Geometry polygon = GF.createPoint(new Coordinate(0, 0)).buffer(10, 64);
+        IntersectsImpl filter = (IntersectsImpl) FF.intersects(FF.property("geom"), FF.literal(polygon));
+        IntersectsImpl copy = (IntersectsImpl) filter.accept(new DuplicatingFilterVisitor(), null);
+        assertNotSame(filter, copy);
+        assertSame(filter.rightPreppedGeom, copy.rightPreppedGeom);
+
+        // another geometry, even if equal, gets its own preparation
+        copy.setExpression2(FF.literal(polygon.copy()));
+        assertNotSame(filter.rightPreppedGeom, copy.rightPreppedGeom);
+        assertSame(copy.rightPreppedGeom, PreparedGeometryCache.prepare(copy.rightPreppedGeom.getGeometry()));
+    }
+
+    @Test
+    public void testChangedInPlace() throws Exception {
+        Geometry polygon = GF.createPoint(new Coordinate(0, 0)).buffer(10, 64);
+        Literal literal = FF.literal(polygon);
+        IntersectsImpl filter = (IntersectsImpl) FF.intersects(FF.property("geom"), literal);
+        SimpleFeatureType type = DataUtilities.createType("test", "geom:Point");
+        SimpleFeature feature =
+                SimpleFeatureBuilder.build(type, new Object[] {GF.createPoint(new Coordinate(100, 0))}, null);
+        assertFalse(filter.evaluate(feature));
+        PreparedGeometry prepared = filter.rightPreppedGeom;
+
+        // move the polygon over the point, and set the same literal again
+        polygon.apply((CoordinateFilter) c -> c.x += 100);
+        polygon.geometryChanged();
+        filter.setExpression2(literal);
+        assertNotSame(prepared, filter.rightPreppedGeom);
+        assertTrue(filter.evaluate(feature));
+    }
+
+    @Test
+    public void testConcurrentEvaluation() throws Exception {
+        Geometry polygon = GF.createPoint(new Coordinate(0, 0)).buffer(100, 256);
+        ContainsImpl filter = (ContainsImpl) FF.contains(FF.literal(polygon), FF.property("geom"));
+        SimpleFeatureType type = DataUtilities.createType("test", "geom:Point");
+        List<SimpleFeature> features = new ArrayList<>();
+        int expected = 0;
+        for (int i = 0; i < 1000; i++) {
+            Point point = GF.createPoint(new Coordinate(i % 250 - 125, i / 4 - 125));
+            features.add(SimpleFeatureBuilder.build(type, new Object[] {point}, null));
+            expected += polygon.contains(point) ? 1 : 0;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                ContainsImpl copy = (ContainsImpl) filter.accept(new DuplicatingFilterVisitor(), null);
+                results.add(executor.submit(() -> {
+                    int count = 0;
+                    for (SimpleFeature feature : features) {
+                        count += copy.evaluate(feature) ? 1 : 0;
+                    }
+                    return count;
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(expected, (int) result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.util;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A size bounded {@link ObjectCache} that does not block readers. Values are held through strong references in a
+ * {@link ConcurrentHashMap}, lookups neither lock nor contend on shared counters, the write locks are per key.
+ *
+ * <p>Once the limit is exceeded the least recently read entries are evicted, bringing the cache back to 90% of its
+ * limit. The bound is approximate, the cache may exceed it by the number of threads adding values while an eviction is
+ * in progress. Hits, misses and evictions are counted, see {@link #getStatistics()}.
+ *
+ * @since 34
+ */
+public final class ConcurrentObjectCache<K, V> implements ObjectCache<K, V> {
+
+    /** A cached value along with the last time it was read */
+    private static final class Entry<V> {
+        final V value;
+
+        volatile long access;
+
+        Entry(V value) {
+            this.value = value;
+            this.access = System.nanoTime();
+        }
+    }
+
+    /** A snapshot of the usage statistics of a cache */
+    public static final class Statistics {
+
+        private final long hits;
+
+        private final long misses;
+
+        private final long evictions;
+
+        private final int size;
+
+        private final int limit;
+
+        Statistics(long hits, long misses, long evictions, int size, int limit) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.size = size;
+            this.limit = limit;
+        }
+
+        /** The number of {@link ObjectCache#get} calls that found a value */
+        public long getHits() {
+            return hits;
+        }
+
+        /** The number of {@link ObjectCache#get} calls that did not find a value */
+        public long getMisses() {
+            return misses;
+        }
+
+        /** The number of entries evicted to keep the cache within its limit */
+        public long getEvictions() {
+            return evictions;
+        }
+
+        /** The number of entries in the cache */
+        public int getSize() {
+            return size;
+        }
+
+        /** The maximum number of entries, or zero if unbounded */
+        public int getLimit() {
+            return limit;
+        }
+
+        /** The ratio of hits over lookups, or zero if the cache has not been used yet */
+        public double getHitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics[hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", size=" + size
+                    + ", limit=" + limit + "]";
+        }
+    }
+
+    private final int limit;
+
+    /** The cached values for each key. */
+    private final Map<K, Entry<V>> cache = new ConcurrentHashMap<>();
+
+    /** The locks for keys under construction. */
+    private final Map<K, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a new cache
+     *
+     * @param limit The maximum number of entries, zero or negative for no limit
+     */
+    public ConcurrentObjectCache(int limit) {
+        this.limit = Math.max(0, limit);
+    }
+
+    /** The maximum number of entries, or zero if unbounded */
+    public int getLimit() {
+        return limit;
+    }
+
+    /** The number of entries in the cache */
+    public int size() {
+        return cache.size();
+    }
+
+    /** Returns the usage statistics of this cache */
+    public Statistics getStatistics() {
+        return new Statistics(hits.sum(), misses.sum(), evictions.sum(), cache.size(), limit);
+    }
+
+    /** Resets the hit, miss and eviction counters */
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public V get(K key) {
+        Entry<V> entry = cache.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        entry.access = System.nanoTime();
+        return entry.value;
+    }
+
+    @Override
+    public V peek(K key) {
+        Entry<V> entry = cache.get(key);
+        return entry != null ? entry.value : null;
+    }
+
+    @Override
+    public void put(K key, V object) {
+        if (object == null) {
+            cache.remove(key);
+            return;
+        }
+        cache.put(key, new Entry<>(object));
+        if (limit > 0 && cache.size() > limit) {
+            evict();
+        }
+    }
+
+    /** Removes the least recently read entries, a single thread at a time, the others carry on */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int target = limit - limit / 10;
+            int excess = cache.size() - target;
+            if (excess <= 0) {
+                return;
+            }
+            List<Map.Entry<K, Entry<V>>> entries = new ArrayList<>(cache.entrySet());
+            entries.sort((e1, e2) -> Long.compare(e1.getValue().access, e2.getValue().access));
+            for (int i = 0; i < excess && i < entries.size(); i++) {
+                Map.Entry<K, Entry<V>> eldest = entries.get(i);
+                // skip entries replaced in the meantime
+                if (cache.remove(eldest.getKey(), eldest.getValue())) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    @Override
+    public void writeLock(K key) {
+        locks.computeIfAbsent(key, k -> new ReentrantLock()).lock();
+    }
+
+    @Override
+    public void writeUnLock(K key) {
+        ReentrantLock lock = locks.get(key);
+        if (lock == null || !lock.isHeldByCurrentThread()) {
+            throw new IllegalMonitorStateException("Cannot unlock prior to locking");
+        }
+        if (lock.getHoldCount() == 1 && !lock.hasQueuedThreads()) {
+            // a thread obtaining the lock right now may end up with a new one, at worst the
+            // value gets computed twice
+            locks.remove(key, lock);
+        }
+        lock.unlock();
+    }
+
+    @Override
+    public Set<K> getKeys() {
+        return new HashSet<>(cache.keySet());
+    }
+
+    @Override
+    public void remove(K key) {
+        cache.remove(key);
+    }
+}
@@ -540,6 +540,41 @@ public class Hints extends RenderingHints {
      */
     public static final Key MAX_MEMORY_SORT = new Key(Integer.class);
 
+    /**
+     * Key to control the amount of memory, in bytes, used when performing a fallback merge-sort. When set, it takes
+     * precedence over {@link #MAX_MEMORY_SORT}, and the sorted runs are built in parallel and spilled to disk in a
+     * compact binary format.
+     *
+     * @since 34
+     */
+    public static final Key MAX_MEMORY_SORT_BYTES = new Key(Long.class);
+
+    /**
+     * Whether the runs spilled to disk by a fallback merge-sort using {@link #MAX_MEMORY_SORT_BYTES} are compressed,
+     * true by default.
+     *
+     * @since 34
+     */
+    public static final Key SORT_SPILL_COMPRESSION = new Key(Boolean.class);
+
+    /**
+     * Allows aggregates that keep all the values in memory, such as the median, quantiles and unique values, to be
+     * estimated with bounded memory sketches when they cannot be computed natively by the datastore. The results are
+     * approximate, false by default.
+     *
+     * @since 34
+     */
+    public static final Key APPROXIMATE_AGGREGATES = new Key(Boolean.class);
+
+    /**
+     * Allows aggregates that cannot be computed natively by the datastore to be computed by visiting the features on
+     * several threads. Sums, averages and standard deviations can then differ slightly from run to run, false by
+     * default.
+     *
+     * @since 34
+     */
+    public static final Key PARALLEL_VISITS = new Key(Boolean.class);
+
     /**
      * Asks a datastore having a vector pyramid (pre-generalized geometries) to return the geometry version whose points
      * have been generalized less than the specified distance (further generalization might be performed by the client
@@ -784,11 +819,14 @@ public class Hints extends RenderingHints {
      *   <li>{@code "fixed") for holding a fixed number of values specified by {@link #CACHE_LIMIT}. <li>{@code "all"}
      *       for holding values through strong references.</li> <li>{@code "none"} for disabling the cache.</li>
      *       <li>{@code "soft"} for holding the value throuhg(@linkplain java.lang.ref.SoftReference soft references}.
+     *   <li>{@code "concurrent"} for holding up to {@link #CACHE_LIMIT} values through strong references, evicting the
+     *       least recently used ones, without blocking readers.
      * </ul>
      *
      * @since 2.5
      */
-    public static final OptionKey CACHE_POLICY = new OptionKey("weak", "all", "fixed", "none", "default", "soft");
+    public static final OptionKey CACHE_POLICY =
+            new OptionKey("weak", "all", "fixed", "none", "default", "soft", "concurrent");
 
     /**
      * The recommended maximum number of referencing objects to hold in a
@@ -798,6 +836,15 @@ public class Hints extends RenderingHints {
      */
     public static final IntegerKey CACHE_LIMIT = new IntegerKey(50);
 
+    /**
+     * The maximum number of entries held by each of the caches of {@link org.geotools.referencing.CRS}: decoded and
+     * parsed coordinate reference systems, looked up identifiers and math transforms. The least recently used entries
+     * are evicted once the limit is reached, a non positive value disables these caches.
+     *
+     * @since 34
+     */
+    public static final IntegerKey CRS_CACHE_LIMIT = new IntegerKey(1000);
+
     /**
      * The maximum number of active {@linkplain org.geotools.api.referencing.AuthorityFactory authority factories}. The
      * default is the {@linkplain Runtime#availableProcessors number of available processors} plus one.
@@ -0,0 +1,131 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public final class ConcurrentObjectCacheTest {
+
+    @Test
+    public void testPolicy() {
+        assertTrue(ObjectCaches.create("concurrent", 10) instanceof ConcurrentObjectCache);
+    }
+
+    @Test
+    public void testStatistics() {
+        ConcurrentObjectCache<Integer, String> cache = new ConcurrentObjectCache<>(10);
+        assertNull(cache.get(1));
+        cache.put(1, "one");
+        assertEquals("one", cache.get(1));
+        assertEquals("one", cache.peek(1));
+
+        ConcurrentObjectCache.Statistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getHits());
+        assertEquals(1, statistics.getMisses());
+        assertEquals(0, statistics.getEvictions());
+        assertEquals(1, statistics.getSize());
+        assertEquals(10, statistics.getLimit());
+        assertEquals(0.5, statistics.getHitRatio(), 0d);
+
+        cache.resetStatistics();
+        assertEquals(0, cache.getStatistics().getHits());
+        assertEquals(1, cache.getStatistics().getSize());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() throws Exception {
+        ConcurrentObjectCache<Integer, String> cache = new ConcurrentObjectCache<>(10);
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, "v" + i);
+        }
+        // make sure the reads happen after the writes, even with a coarse clock
+        Thread.sleep(1);
+        for (int i = 5; i < 10; i++) {
+            assertNotNull(cache.get(i));
+        }
+        cache.put(10, "v10");
+
+        // back to 90% of the limit, the entries that were not read are gone
+        assertEquals(9, cache.size());
+        assertEquals(2, cache.getStatistics().getEvictions());
+        for (int i = 5; i <= 10; i++) {
+            assertNotNull(cache.peek(i));
+        }
+    }
+
+    @Test
+    public void testUnbounded() {
+        ConcurrentObjectCache<Integer, String> cache = new ConcurrentObjectCache<>(0);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, "v" + i);
+        }
+        assertEquals(1000, cache.size());
+        assertEquals(0, cache.getStatistics().getEvictions());
+    }
+
+    @Test(expected = IllegalMonitorStateException.class)
+    public void testUnlockWithoutLock() {
+        new ConcurrentObjectCache<Integer, String>(10).writeUnLock(1);
+    }
+
+    @Test
+    public void testConcurrentCreation() throws Exception {
+        ConcurrentObjectCache<Integer, String> cache = new ConcurrentObjectCache<>(100);
+        AtomicInteger created = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        int key = i % 50;
+                        if (cache.get(key) == null) {
+                            cache.writeLock(key);
+                            try {
+                                if (cache.peek(key) == null) {
+                                    created.incrementAndGet();
+                                    cache.put(key, "v" + key);
+                                }
+                            } finally {
+                                cache.writeUnLock(key);
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(50, cache.size());
+        // the per key locks avoid most duplicate creations
+        assertTrue(created.get() < 100);
+    }
+}
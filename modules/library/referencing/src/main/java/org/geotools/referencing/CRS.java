@@ -22,11 +22,16 @@
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -90,8 +95,10 @@
 import org.geotools.referencing.operation.transform.IdentityTransform;
 import org.geotools.referencing.util.CRSUtilities;
 import org.geotools.referencing.wkt.Formattable;
+import org.geotools.util.ConcurrentObjectCache;
 import org.geotools.util.GenericName;
-import org.geotools.util.SoftValueHashMap;
+import org.geotools.util.ObjectCache;
+import org.geotools.util.ObjectCaches;
 import org.geotools.util.UnsupportedImplementationException;
 import org.geotools.util.Version;
 import org.geotools.util.factory.Factory;
@@ -167,15 +174,23 @@ public static enum AxisOrder {
     private static volatile CoordinateOperationFactory lenientFactory;
 
     /** A cache for coordinate reference systems in the default axis order */
-    private static SoftValueHashMap<String, CoordinateReferenceSystem> defaultCache = new SoftValueHashMap<>();
+    private static volatile ObjectCache<String, CoordinateReferenceSystem> defaultCache;
 
     /** A cache for the coordinate reference systems in the xy (east/north) axis order */
-    private static SoftValueHashMap<String, CoordinateReferenceSystem> xyCache = new SoftValueHashMap<>();
+    private static volatile ObjectCache<String, CoordinateReferenceSystem> xyCache;
 
-    private static SoftValueHashMap<String, CoordinateReferenceSystem> wktCache = new SoftValueHashMap<>();
+    /** A cache for the coordinate reference systems parsed from WKT */
+    private static volatile ObjectCache<String, CoordinateReferenceSystem> wktCache;
+
+    /** A cache for the identifiers found by the lookup methods, keyed by authority, object and scan mode */
+    private static volatile ObjectCache<List<Object>, Optional<String>> identifierCache;
+
+    /** A cache for the math transforms, keyed by source CRS, target CRS and leniency */
+    private static volatile ObjectCache<List<Object>, MathTransform> transformCache;
 
     /** Registers a listener automatically invoked when the system-wide configuration changed. */
     static {
+        resetCaches();
         GeoTools.addChangeListener(new ChangeListener() {
             @Override
             public void stateChanged(ChangeEvent e) {
@@ -184,9 +199,7 @@ public void stateChanged(ChangeEvent e) {
                     xyFactory = null;
                     strictFactory = null;
                     lenientFactory = null;
-                    xyCache.clear();
-                    wktCache.clear();
-                    defaultCache.clear();
+                    resetCaches();
                 }
             }
         });
@@ -195,6 +208,71 @@ public void stateChanged(ChangeEvent e) {
     /** Do not allow instantiation of this class. */
     private CRS() {}
 
+    /** Replaces the caches with empty ones, sized according to {@link Hints#CRS_CACHE_LIMIT} */
+    private static void resetCaches() {
+        int limit = Hints.CRS_CACHE_LIMIT.toValue(GeoTools.getDefaultHints());
+        defaultCache = createCache(limit);
+        xyCache = createCache(limit);
+        wktCache = createCache(limit);
+        identifierCache = createCache(limit);
+        transformCache = createCache(limit);
+    }
+
+    private static <K, V> ObjectCache<K, V> createCache(int limit) {
+        return limit > 0 ? new ConcurrentObjectCache<>(limit) : ObjectCaches.create("none", 0);
+    }
+
+    /**
+     * Returns the usage statistics of the caches used by the decoding, parsing, lookup and transform methods of this
+     * class. The statistics are keyed by cache name: {@code "decode"} and {@code "decodeLongitudeFirst"} for
+     * {@link #decode(String, boolean)} without and with forced longitude first axis order, {@code "wkt"} for
+     * {@link #parseWKT(String)}, {@code "identifier"} for the identifier lookups, {@code "transform"} for
+     * {@link #findMathTransform(CoordinateReferenceSystem, CoordinateReferenceSystem, boolean)}. The map is empty if
+     * the caches are disabled.
+     *
+     * @see Hints#CRS_CACHE_LIMIT
+     * @since 34
+     */
+    public static Map<String, ConcurrentObjectCache.Statistics> getCacheStatistics() {
+        Map<String, ConcurrentObjectCache.Statistics> result = new LinkedHashMap<>();
+        addStatistics(result, "decode", xyCache);
+        addStatistics(result, "decodeLongitudeFirst", defaultCache);
+        addStatistics(result, "wkt", wktCache);
+        addStatistics(result, "identifier", identifierCache);
+        addStatistics(result, "transform", transformCache);
+        return result;
+    }
+
+    private static void addStatistics(
+            Map<String, ConcurrentObjectCache.Statistics> statistics, String name, ObjectCache<?, ?> cache) {
+        if (cache instanceof ConcurrentObjectCache) {
+            statistics.put(name, ((ConcurrentObjectCache<?, ?>) cache).getStatistics());
+        }
+    }
+
+    /**
+     * Decodes the given codes ahead of time, so that the first requests using them find them in cache. Codes that
+     * cannot be decoded are logged and skipped.
+     *
+     * @param codes The Coordinate Reference System authority codes
+     * @param longitudeFirst {@code true} if axis order should be forced to (<var>longitude</var>, <var>latitude</var>),
+     *     see {@link #decode(String, boolean)}
+     * @return The number of codes successfully decoded
+     * @since 34
+     */
+    public static int preload(Collection<String> codes, boolean longitudeFirst) {
+        int loaded = 0;
+        for (String code : codes) {
+            try {
+                decode(code, longitudeFirst);
+                loaded++;
+            } catch (FactoryException e) {
+                LOGGER.log(Level.FINE, "Could not preload " + code, e);
+            }
+        }
+        return loaded;
+    }
+
     /**
      * Returns the CRS authority factory used by the {@link #decode(String,boolean) decode} methods. This factory is
      * {@linkplain org.geotools.referencing.factory.BufferedAuthorityFactory buffered}, scans over
@@ -501,20 +579,12 @@ public static CoordinateReferenceSystem decode(String code, final boolean longit
             throws NoSuchAuthorityCodeException, FactoryException {
         code = code.trim().toUpperCase();
 
-        CoordinateReferenceSystem result;
-        if (longitudeFirst) {
-            result = defaultCache.get(code);
-        } else {
-            result = xyCache.get(code);
-        }
-
+        // no lock, concurrent misses on the same code may decode it more than once
+        ObjectCache<String, CoordinateReferenceSystem> cache = longitudeFirst ? defaultCache : xyCache;
+        CoordinateReferenceSystem result = cache.get(code);
         if (result == null) {
             result = getAuthorityFactory(longitudeFirst).createCoordinateReferenceSystem(code);
-            if (longitudeFirst) {
-                defaultCache.put(code, result);
-            } else {
-                xyCache.put(code, result);
-            }
+            cache.put(code, result);
         }
 
         return result;
@@ -535,10 +605,11 @@ public static CoordinateReferenceSystem decode(String code, final boolean longit
      * </blockquote>
      */
     public static CoordinateReferenceSystem parseWKT(final String wkt) throws FactoryException {
-        CoordinateReferenceSystem result = wktCache.get(wkt);
+        ObjectCache<String, CoordinateReferenceSystem> cache = wktCache;
+        CoordinateReferenceSystem result = cache.get(wkt);
         if (result == null) {
             result = ReferencingFactoryFinder.getCRSFactory(null).createFromWKT(wkt);
-            wktCache.put(wkt, result);
+            cache.put(wkt, result);
         }
         return result;
     }
@@ -1045,6 +1116,18 @@ public static String toSRS(final CoordinateReferenceSystem crs, boolean codeOnly
      */
     public static String lookupIdentifier(final IdentifiedObject object, final boolean fullScan)
             throws FactoryException {
+        ObjectCache<List<Object>, Optional<String>> cache = identifierCache;
+        List<Object> key = Arrays.asList(null, object, fullScan);
+        Optional<String> cached = cache.get(key);
+        if (cached == null) {
+            cached = Optional.ofNullable(findIdentifier(object, fullScan));
+            cache.put(key, cached);
+        }
+        return cached.orElse(null);
+    }
+
+    private static String findIdentifier(final IdentifiedObject object, final boolean fullScan)
+            throws FactoryException {
         /*
          * We perform the search using the 'xyFactory' because our implementation of IdentifiedObjectFinder should be able to inspect both the (x,y)
          * and (y,x) axis order using this factory.
@@ -1085,6 +1168,19 @@ public static String lookupIdentifier(
         if (id != null) {
             return id.getCode();
         }
+        ObjectCache<List<Object>, Optional<String>> cache = identifierCache;
+        List<Object> key = Arrays.asList(authority, crs, fullScan);
+        Optional<String> cached = cache.get(key);
+        if (cached == null) {
+            cached = Optional.ofNullable(findIdentifier(authority, crs, fullScan));
+            cache.put(key, cached);
+        }
+        return cached.orElse(null);
+    }
+
+    private static String findIdentifier(
+            final Citation authority, final CoordinateReferenceSystem crs, final boolean fullScan)
+            throws FactoryException {
         for (final CRSAuthorityFactory factory :
                 ReferencingFactoryFinder.getCRSAuthorityFactories(FORCE_LONGITUDE_FIRST_AXIS_ORDER)) {
             if (!Citations.identifierMatches(factory.getAuthority(), authority)) {
@@ -1267,8 +1363,15 @@ public static MathTransform findMathTransform(
             // engine.
             return IdentityTransform.create(sourceCRS.getCoordinateSystem().getDimension());
         }
-        CoordinateOperationFactory operationFactory = getCoordinateOperationFactory(lenient);
-        return operationFactory.createOperation(sourceCRS, targetCRS).getMathTransform();
+        ObjectCache<List<Object>, MathTransform> cache = transformCache;
+        List<Object> key = Arrays.asList(sourceCRS, targetCRS, lenient);
+        MathTransform transform = cache.get(key);
+        if (transform == null) {
+            CoordinateOperationFactory operationFactory = getCoordinateOperationFactory(lenient);
+            transform = operationFactory.createOperation(sourceCRS, targetCRS).getMathTransform();
+            cache.put(key, transform);
+        }
+        return transform;
     }
 
     /**
@@ -1660,8 +1763,7 @@ public static void reset(final String aspects) {
                 MapProjection.resetWarnings();
             }
         }
-        xyCache.clear();
-        defaultCache.clear();
+        resetCaches();
         FORCED_LON_LAT = null;
         defaultFactory = null;
         xyFactory = null;
@@ -209,6 +209,36 @@ protected Point2D transformNormalized(double x, double y, Point2D ptDst) throws
         return new Point2D.Double(x, y);
     }
 
+    /** Transforms a block of (<var>&lambda;</var>,<var>&phi;</var>) coordinates (units in radians) in place. */
+    @Override
+    protected void transformNormalized(final double[] ordinates, final int offset, final int numPts)
+            throws ProjectionException {
+        ProjectionException firstException = null;
+        for (int i = offset, end = offset + 2 * numPts; i < end; i += 2) {
+            final double x = ordinates[i] * n;
+            final double sinphi = sin(ordinates[i + 1]);
+            double rho = isSpherical ? c - n * 2 * sinphi : c - n * qsfn(sinphi);
+            if (rho < 0.0) {
+                if (rho > -EPSILON) {
+                    rho = 0.0;
+                } else {
+                    ordinates[i] = Double.NaN;
+                    ordinates[i + 1] = Double.NaN;
+                    if (firstException == null) {
+                        firstException = new ProjectionException(ErrorKeys.TOLERANCE_ERROR);
+                    }
+                    continue;
+                }
+            }
+            rho = sqrt(rho) / n;
+            ordinates[i] = rho * sin(x);
+            ordinates[i + 1] = rho0 - rho * cos(x);
+        }
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
     /** Transforms the specified (<var>x</var>,<var>y</var>) coordinates and stores the result in {@code ptDst}. */
     @Override
     protected Point2D inverseTransformNormalized(double x, double y, Point2D ptDst) throws ProjectionException {
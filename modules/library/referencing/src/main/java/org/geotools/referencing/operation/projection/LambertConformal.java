@@ -230,6 +230,43 @@ protected Point2D transformNormalized(double x, double y, Point2D ptDst) throws
         return new Point2D.Double(x, y);
     }
 
+    /** Transforms a block of (<var>&lambda;</var>,<var>&phi;</var>) coordinates (units in radians) in place. */
+    @Override
+    protected void transformNormalized(final double[] ordinates, final int offset, final int numPts)
+            throws ProjectionException {
+        ProjectionException firstException = null;
+        for (int i = offset, end = offset + 2 * numPts; i < end; i += 2) {
+            double x = ordinates[i];
+            final double y = ordinates[i + 1];
+            final double rho;
+            // Snyder p. 108
+            if (abs(abs(y) - PI / 2) < EPSILON) {
+                if (y * n <= 0) {
+                    ordinates[i] = Double.NaN;
+                    ordinates[i + 1] = Double.NaN;
+                    if (firstException == null) {
+                        firstException = new ProjectionException(y);
+                    }
+                    continue;
+                }
+                rho = 0;
+            } else if (isSpherical) {
+                rho = F * pow(tan(PI / 4 + 0.5 * y), -n);
+            } else {
+                rho = F * pow(tsfn(y, sin(y)), n);
+            }
+            x *= n;
+            if (belgium) {
+                x -= BELGE_A;
+            }
+            ordinates[i] = rho * sin(x);
+            ordinates[i + 1] = rho0 - rho * cos(x);
+        }
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
     /** Transforms the specified (<var>x</var>,<var>y</var>) coordinates and stores the result in {@code ptDst}. */
     @Override
     protected Point2D inverseTransformNormalized(double x, double y, Point2D ptDst) throws ProjectionException {
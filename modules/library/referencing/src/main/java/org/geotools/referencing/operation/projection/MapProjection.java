@@ -255,6 +255,22 @@ public abstract class MapProjection extends AbstractMathTransform implements Mat
     /** Marks if the projection is invertible. The vast majority is, subclasses can override. */
     protected boolean invertible = true;
 
+    /** The number of points transformed together by the bulk methods, 8 kb of ordinates fit in any data cache. */
+    static final int BLOCK_SIZE = 512;
+
+    /**
+     * Whether the {@linkplain #transformNormalized(double[], int, int) bulk projection} of a class can be used, which
+     * is the case unless the point variant is overridden in a subclass of the class declaring the bulk one.
+     */
+    private static final ClassValue<Boolean> BULK_KERNEL = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            final Class<?> bulk = declaringClass(type, double[].class, int.class, int.class);
+            final Class<?> point = declaringClass(type, double.class, double.class, Point2D.class);
+            return bulk != null && point != null && point.isAssignableFrom(bulk);
+        }
+    };
+
     /**
      * Constructs a new map projection from the suplied parameters.
      *
@@ -855,10 +871,62 @@ public final Point2D transform(final Point2D ptSrc, Point2D ptDst) throws Projec
         return ptDst;
     }
 
+    /**
+     * Transforms a block of normalized coordinates in place. Ordinates are (<var>lambda</var>,<var>phi</var>) pairs in
+     * <strong>radians</strong> on input, with the {@link #centralMeridian} already removed, and are replaced by
+     * dimensionless projected coordinates on a unit sphere or ellipse, exactly as {@link #transformNormalized(double,
+     * double, Point2D)} would compute them.
+     *
+     * <p>The default implementation invokes {@link #transformNormalized(double, double, Point2D)} for each point,
+     * reusing the same {@link Point2D}. Subclasses can override this method with a tight loop over the array, which
+     * avoids the per point virtual calls and lets the JIT keep the projection constants in registers. Overriding
+     * implementations are used only by the instances of classes that do not override the point variant again, so a
+     * subclass specializing {@link #transformNormalized(double, double, Point2D)} keeps working without changes.
+     *
+     * @param ordinates The ordinates to transform in place.
+     * @param offset The index of the first ordinate to transform.
+     * @param numPts The number of points to transform.
+     * @throws ProjectionException if a point can't be transformed. Implementations shall try to transform every point,
+     *     setting the ones that can't be transformed to {@link Double#NaN}, and throw the first exception at the end.
+     * @since 34
+     */
+    protected void transformNormalized(final double[] ordinates, final int offset, final int numPts)
+            throws ProjectionException {
+        transformNormalizedPointwise(ordinates, offset, numPts);
+    }
+
+    /** Transforms a block of normalized coordinates in place, one point at a time. */
+    private void transformNormalizedPointwise(final double[] ordinates, final int offset, final int numPts)
+            throws ProjectionException {
+        final Point2D.Double point = new Point2D.Double();
+        ProjectionException firstException = null;
+        for (int i = offset, end = offset + 2 * numPts; i < end; i += 2) {
+            try {
+                final Point2D result = transformNormalized(ordinates[i], ordinates[i + 1], point);
+                ordinates[i] = result.getX();
+                ordinates[i + 1] = result.getY();
+            } catch (ProjectionException exception) {
+                ordinates[i] = Double.NaN;
+                ordinates[i + 1] = Double.NaN;
+                if (firstException == null) {
+                    firstException = exception;
+                }
+            }
+        }
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
     /**
      * Transforms a list of coordinate point ordinal values. Ordinates must be
      * (<var>longitude</var>,<var>latitude</var>) pairs in decimal degrees.
      *
+     * <p>Points are processed in blocks of {@value #BLOCK_SIZE}: the conversion to radians and the removal of the
+     * central meridian, the {@linkplain #transformNormalized(double[], int, int) normalized projection}, and the scale
+     * and false origin are each applied as a tight loop over a block while it is still in the processor cache, without
+     * allocating a point per coordinate.
+     *
      * @throws ProjectionException if a point can't be transformed. This method tries to transform every points even if
      *     some of them can't be transformed. Non-transformable points will have value {@link Double#NaN}. If more than
      *     one point can't be transformed, then this exception may be about an arbitrary point.
@@ -866,35 +934,24 @@ public final Point2D transform(final Point2D ptSrc, Point2D ptDst) throws Projec
     @Override
     public final void transform(final double[] srcPts, int srcOff, final double[] dstPts, int dstOff, int numPts)
             throws ProjectionException {
+        if (numPts <= 0) {
+            return;
+        }
         /*
-         * Vérifie s'il faudra parcourir le tableau en sens inverse.
-         * Ce sera le cas si les tableaux source et destination se
-         * chevauchent et que la destination est après la source.
+         * If the source and destination arrays overlap with the destination after the source,
+         * move the coordinates to their final location first and transform them in place there.
+         * Otherwise reading the source forward never reads an ordinate already overwritten.
          */
-        final boolean reverse = (srcPts == dstPts && srcOff < dstOff && srcOff + (2 * numPts) > dstOff);
-        if (reverse) {
-            srcOff += 2 * numPts;
-            dstOff += 2 * numPts;
+        if (srcPts == dstPts && srcOff < dstOff && srcOff + (2 * numPts) > dstOff) {
+            System.arraycopy(srcPts, srcOff, dstPts, dstOff, 2 * numPts);
+            srcOff = dstOff;
         }
-        final Point2D.Double point = new Point2D.Double();
         ProjectionException firstException = null;
-        while (--numPts >= 0) {
-            try {
-                point.x = srcPts[srcOff++];
-                point.y = srcPts[srcOff++];
-                transform(point, point);
-                dstPts[dstOff++] = point.x;
-                dstPts[dstOff++] = point.y;
-            } catch (ProjectionException exception) {
-                dstPts[dstOff++] = Double.NaN;
-                dstPts[dstOff++] = Double.NaN;
-                if (firstException == null) {
-                    firstException = exception;
-                }
-            }
-            if (reverse) {
-                srcOff -= 4;
-                dstOff -= 4;
+        for (int done = 0; done < numPts; done += BLOCK_SIZE) {
+            final ProjectionException exception = transformBlock(
+                    srcPts, srcOff + 2 * done, dstPts, dstOff + 2 * done, Math.min(BLOCK_SIZE, numPts - done));
+            if (firstException == null) {
+                firstException = exception;
             }
         }
         if (firstException != null) {
@@ -913,30 +970,29 @@ public final void transform(final double[] srcPts, int srcOff, final double[] ds
     @Override
     public final void transform(final float[] srcPts, int srcOff, final float[] dstPts, int dstOff, int numPts)
             throws ProjectionException {
-        final boolean reverse = (srcPts == dstPts && srcOff < dstOff && srcOff + (2 * numPts) > dstOff);
-        if (reverse) {
-            srcOff += 2 * numPts;
-            dstOff += 2 * numPts;
+        if (numPts <= 0) {
+            return;
         }
-        final Point2D.Double point = new Point2D.Double();
+        if (srcPts == dstPts && srcOff < dstOff && srcOff + (2 * numPts) > dstOff) {
+            System.arraycopy(srcPts, srcOff, dstPts, dstOff, 2 * numPts);
+            srcOff = dstOff;
+        }
+        final double[] buffer = new double[2 * Math.min(BLOCK_SIZE, numPts)];
         ProjectionException firstException = null;
-        while (--numPts >= 0) {
-            try {
-                point.x = srcPts[srcOff++];
-                point.y = srcPts[srcOff++];
-                transform(point, point);
-                dstPts[dstOff++] = (float) point.x;
-                dstPts[dstOff++] = (float) point.y;
-            } catch (ProjectionException exception) {
-                dstPts[dstOff++] = Float.NaN;
-                dstPts[dstOff++] = Float.NaN;
-                if (firstException == null) {
-                    firstException = exception;
-                }
+        for (int done = 0; done < numPts; done += BLOCK_SIZE) {
+            final int count = Math.min(BLOCK_SIZE, numPts - done);
+            final int length = 2 * count;
+            final int src = srcOff + 2 * done;
+            final int dst = dstOff + 2 * done;
+            for (int i = 0; i < length; i++) {
+                buffer[i] = srcPts[src + i];
             }
-            if (reverse) {
-                srcOff -= 4;
-                dstOff -= 4;
+            final ProjectionException exception = transformBlock(buffer, 0, buffer, 0, count);
+            if (firstException == null) {
+                firstException = exception;
+            }
+            for (int i = 0; i < length; i++) {
+                dstPts[dst + i] = (float) buffer[i];
             }
         }
         if (firstException != null) {
@@ -944,6 +1000,59 @@ public final void transform(final float[] srcPts, int srcOff, final float[] dstP
         }
     }
 
+    /**
+     * Transforms at most {@value #BLOCK_SIZE} points, the destination is either distinct from the source or starts at
+     * or before it. The denormalization steps applied by {@link #transform(Point2D, Point2D)} around the normalized
+     * projection are fused with the block loops here.
+     *
+     * @return The first exception thrown by the normalized projection, or {@code null} if all points were transformed.
+     */
+    private ProjectionException transformBlock(
+            final double[] srcPts, final int srcOff, final double[] dstPts, final int dstOff, final int numPts) {
+        final int length = 2 * numPts;
+        final boolean rollLongitude = centralMeridian != 0;
+        for (int i = 0; i < length; i += 2) {
+            final double x = srcPts[srcOff + i];
+            final double y = srcPts[srcOff + i + 1];
+            if (verifyCoordinateRanges()) {
+                if (verifyGeographicRanges(this, x, y)) {
+                    warningLogged();
+                }
+            }
+            // See transform(Point2D, Point2D) for why the longitude is rolled only if rotated
+            dstPts[dstOff + i] = rollLongitude ? rollLongitude(toRadians(x) - centralMeridian) : toRadians(x);
+            dstPts[dstOff + i + 1] = toRadians(y);
+        }
+        ProjectionException exception = null;
+        try {
+            if (BULK_KERNEL.get(getClass())) {
+                transformNormalized(dstPts, dstOff, numPts);
+            } else {
+                transformNormalizedPointwise(dstPts, dstOff, numPts);
+            }
+        } catch (ProjectionException e) {
+            exception = e;
+        }
+        for (int i = dstOff, end = dstOff + length; i < end; i += 2) {
+            dstPts[i] = globalScale * dstPts[i] + falseEasting;
+            dstPts[i + 1] = globalScale * dstPts[i + 1] + falseNorthing;
+        }
+        return exception;
+    }
+
+    /** Returns the most specific class declaring {@code transformNormalized} with the given parameters. */
+    private static Class<?> declaringClass(Class<?> type, final Class<?>... parameters) {
+        for (; type != null; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod("transformNormalized", parameters);
+                return type;
+            } catch (NoSuchMethodException e) {
+                // not declared here, try the parent class
+            }
+        }
+        return null;
+    }
+
     /**
      * Inverse of a map projection. Will be created by {@link MapProjection#inverse()} only when first required.
      * Implementation of {@code transform(...)} methods are mostly identical to {@code MapProjection.transform(...)},
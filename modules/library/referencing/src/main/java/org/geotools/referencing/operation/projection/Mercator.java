@@ -151,6 +151,28 @@ protected Point2D transformNormalized(double x, double y, final Point2D ptDst) t
         return new Point2D.Double(x, y);
     }
 
+    /** Transforms a block of (<var>&lambda;</var>,<var>&phi;</var>) coordinates (units in radians) in place. */
+    @Override
+    protected void transformNormalized(final double[] ordinates, final int offset, final int numPts)
+            throws ProjectionException {
+        ProjectionException firstException = null;
+        for (int i = offset + 1, end = offset + 2 * numPts; i < end; i += 2) {
+            final double y = ordinates[i];
+            if (abs(y) > (PI / 2 - EPSILON)) {
+                ordinates[i - 1] = Double.NaN;
+                ordinates[i] = Double.NaN;
+                if (firstException == null) {
+                    firstException = new ProjectionException(y);
+                }
+            } else {
+                ordinates[i] = -log(tsfn(y, sin(y)));
+            }
+        }
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
     /** Transforms the specified (<var>x</var>,<var>y</var>) coordinates and stores the result in {@code ptDst}. */
     @Override
     protected Point2D inverseTransformNormalized(double x, double y, final Point2D ptDst) throws ProjectionException {
@@ -208,6 +230,31 @@ protected Point2D transformNormalized(double x, double y, Point2D ptDst) throws
             return new Point2D.Double(x, y);
         }
 
+        /**
+         * Transforms a block of (<var>&lambda;</var>,<var>&phi;</var>) coordinates (units in radians) in place using
+         * equations for a sphere.
+         */
+        @Override
+        protected void transformNormalized(final double[] ordinates, final int offset, final int numPts)
+                throws ProjectionException {
+            ProjectionException firstException = null;
+            for (int i = offset + 1, end = offset + 2 * numPts; i < end; i += 2) {
+                final double y = ordinates[i];
+                if (abs(y) > (PI / 2 - EPSILON)) {
+                    ordinates[i - 1] = Double.NaN;
+                    ordinates[i] = Double.NaN;
+                    if (firstException == null) {
+                        firstException = new ProjectionException(y);
+                    }
+                } else {
+                    ordinates[i] = log(tan(PI / 4 + 0.5 * y));
+                }
+            }
+            if (firstException != null) {
+                throw firstException;
+            }
+        }
+
         /**
          * Transforms the specified (<var>x</var>,<var>y</var>) coordinates and stores the result in {@code ptDst} using
          * equations for a sphere.
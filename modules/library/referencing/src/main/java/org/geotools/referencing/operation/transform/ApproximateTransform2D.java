@@ -0,0 +1,360 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.referencing.operation.transform;
+
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.List;
+import org.geotools.api.geometry.Position;
+import org.geotools.api.referencing.operation.MathTransform2D;
+import org.geotools.api.referencing.operation.Matrix;
+import org.geotools.api.referencing.operation.NoninvertibleTransformException;
+import org.geotools.api.referencing.operation.TransformException;
+import org.geotools.util.ConcurrentObjectCache;
+import org.geotools.util.ObjectCache;
+
+/**
+ * A {@link MathTransform2D} approximating another one by bilinear interpolation over an adaptive grid. The exact
+ * transform is sampled over a rectangular domain, cells are split in four until the interpolation at their center and
+ * edge midpoints is within the given tolerance, so that the grid is dense only where the transform is strongly non
+ * linear. Once built, transforming a point inside the domain costs a few comparisons to locate its cell and a few
+ * multiplications, regardless of the complexity of the exact transform.
+ *
+ * <p>Points outside of the domain, and points in cells that could not be approximated within the tolerance at the
+ * maximum depth (e.g. near a projection singularity), are transformed by the exact transform. The
+ * {@linkplain #inverse() inverse} and the {@linkplain #derivative(Point2D) derivatives} are the ones of the exact
+ * transform as well.
+ *
+ * <p>Rendering code usually picks a tolerance in the order of a fraction of the target pixel size, the grids built by
+ * {@link #create} are cached, so that the renderings over the same area and resolution share them.
+ *
+ * @since 34
+ */
+public final class ApproximateTransform2D extends AbstractMathTransform implements MathTransform2D {
+
+    /** The default maximum depth of the grid, which is then at most 128 by 128 cells. */
+    public static final int DEFAULT_MAX_DEPTH = 7;
+
+    /** The cells are always split at least this number of times, a coarser grid could miss non linear areas. */
+    private static final int MIN_DEPTH = 2;
+
+    /** The grids built by {@link #create}. */
+    private static final ObjectCache<List<Object>, ApproximateTransform2D> CACHE = new ConcurrentObjectCache<>(64);
+
+    /** The transform being approximated. */
+    private final MathTransform2D exact;
+
+    private final double minX;
+
+    private final double minY;
+
+    private final double width;
+
+    private final double height;
+
+    private final double tolerance;
+
+    /** For each node, the index of the first of its four children, or -1 if the node is a leaf. */
+    private int[] children = new int[64];
+
+    /**
+     * For each leaf, the index of its interpolation coefficients in {@link #coefficients}, or -1 if the points of the
+     * leaf have to be transformed exactly.
+     */
+    private int[] leaves = new int[64];
+
+    /**
+     * For each approximated leaf, 8 coefficients {@code (a, b, c, d)} for x then y, so that the interpolated value at
+     * the relative position {@code (u, v)} in the cell is {@code a + u * b + v * (c + u * d)}.
+     */
+    private double[] coefficients = new double[256];
+
+    private int nodeCount;
+
+    private int coefficientCount;
+
+    /**
+     * Returns an approximation of the given transform over the given domain, sharing the ones already built for the
+     * same transform, domain and tolerance.
+     *
+     * @param exact The transform to approximate.
+     * @param domain The area where the transform is approximated, in source coordinates.
+     * @param tolerance The maximum distance between an approximated and an exact point, in target units.
+     */
+    public static ApproximateTransform2D create(MathTransform2D exact, Rectangle2D domain, double tolerance) {
+        final List<Object> key =
+                Arrays.asList(exact, domain.getMinX(), domain.getMinY(), domain.getMaxX(), domain.getMaxY(), tolerance);
+        ApproximateTransform2D transform = CACHE.get(key);
+        if (transform == null) {
+            CACHE.writeLock(key);
+            try {
+                transform = CACHE.peek(key);
+                if (transform == null) {
+                    transform = new ApproximateTransform2D(exact, domain, tolerance, DEFAULT_MAX_DEPTH);
+                    CACHE.put(key, transform);
+                }
+            } finally {
+                CACHE.writeUnLock(key);
+            }
+        }
+        return transform;
+    }
+
+    /**
+     * Builds the approximation of the given transform over the given domain, sampling the exact transform as needed.
+     *
+     * @param exact The transform to approximate.
+     * @param domain The area where the transform is approximated, in source coordinates.
+     * @param tolerance The maximum distance between an approximated and an exact point, in target units.
+     * @param maxDepth The maximum number of times the domain can be split in four.
+     */
+    public ApproximateTransform2D(MathTransform2D exact, Rectangle2D domain, double tolerance, int maxDepth) {
+        ensureNonNull("exact", exact);
+        ensureNonNull("domain", domain);
+        this.exact = exact;
+        this.minX = domain.getMinX();
+        this.minY = domain.getMinY();
+        this.width = domain.getWidth();
+        this.height = domain.getHeight();
+        this.tolerance = tolerance;
+        nodeCount = 1;
+        if (width > 0 && height > 0) {
+            build(0, minX, minY, width, height, 0, Math.max(MIN_DEPTH, maxDepth), tolerance * tolerance);
+        } else {
+            children[0] = -1;
+            leaves[0] = -1;
+        }
+    }
+
+    /** Samples a cell, and either stores its interpolation coefficients or splits it in four. */
+    private void build(int node, double x0, double y0, double w, double h, int depth, int maxDepth, double tol2) {
+        final double[] samples = sample(x0, y0, w, h);
+        final boolean accurate = samples != null && depth >= MIN_DEPTH && isAccurate(samples, tol2);
+        if (accurate || depth >= maxDepth) {
+            children[node] = -1;
+            leaves[node] = accurate ? addCoefficients(samples) : -1;
+            return;
+        }
+        final int first = nodeCount;
+        nodeCount += 4;
+        if (nodeCount > children.length) {
+            children = Arrays.copyOf(children, nodeCount * 2);
+            leaves = Arrays.copyOf(leaves, nodeCount * 2);
+        }
+        children[node] = first;
+        leaves[node] = -1;
+        final double hw = w / 2;
+        final double hh = h / 2;
+        build(first, x0, y0, hw, hh, depth + 1, maxDepth, tol2);
+        build(first + 1, x0 + hw, y0, hw, hh, depth + 1, maxDepth, tol2);
+        build(first + 2, x0, y0 + hh, hw, hh, depth + 1, maxDepth, tol2);
+        build(first + 3, x0 + hw, y0 + hh, hw, hh, depth + 1, maxDepth, tol2);
+    }
+
+    /**
+     * Transforms the 3x3 grid of points of a cell, row by row from the bottom left corner, or returns {@code null} if
+     * any of them cannot be transformed.
+     */
+    private double[] sample(double x0, double y0, double w, double h) {
+        final double[] points = new double[18];
+        for (int row = 0, i = 0; row < 3; row++) {
+            for (int col = 0; col < 3; col++) {
+                points[i++] = x0 + w * col / 2;
+                points[i++] = y0 + h * row / 2;
+            }
+        }
+        try {
+            exact.transform(points, 0, points, 0, 9);
+        } catch (TransformException e) {
+            return null;
+        }
+        for (double value : points) {
+            if (!Double.isFinite(value)) {
+                return null;
+            }
+        }
+        return points;
+    }
+
+    /** Checks the bilinear interpolation of the corners against the edge midpoints and the center. */
+    private static boolean isAccurate(double[] samples, double tol2) {
+        // 0 1 2 bottom row, 3 4 5 middle row, 6 7 8 top row
+        return isAccurate(samples, 1, 0, 2, tol2)
+                && isAccurate(samples, 7, 6, 8, tol2)
+                && isAccurate(samples, 3, 0, 6, tol2)
+                && isAccurate(samples, 5, 2, 8, tol2)
+                && isAccurate(samples, 4, 0, 8, 2, 6, tol2);
+    }
+
+    private static boolean isAccurate(double[] samples, int middle, int p1, int p2, double tol2) {
+        final double dx = samples[2 * middle] - (samples[2 * p1] + samples[2 * p2]) / 2;
+        final double dy = samples[2 * middle + 1] - (samples[2 * p1 + 1] + samples[2 * p2 + 1]) / 2;
+        return dx * dx + dy * dy <= tol2;
+    }
+
+    private static boolean isAccurate(double[] samples, int middle, int p1, int p2, int p3, int p4, double tol2) {
+        final double dx =
+                samples[2 * middle] - (samples[2 * p1] + samples[2 * p2] + samples[2 * p3] + samples[2 * p4]) / 4;
+        final double dy = samples[2 * middle + 1]
+                - (samples[2 * p1 + 1] + samples[2 * p2 + 1] + samples[2 * p3 + 1] + samples[2 * p4 + 1]) / 4;
+        return dx * dx + dy * dy <= tol2;
+    }
+
+    /** Stores the interpolation coefficients of the corners of the sampled cell, returns their index. */
+    private int addCoefficients(double[] samples) {
+        final int index = coefficientCount;
+        coefficientCount += 8;
+        if (coefficientCount > coefficients.length) {
+            coefficients = Arrays.copyOf(coefficients, coefficientCount * 2);
+        }
+        for (int i = 0; i < 2; i++) {
+            final double p00 = samples[i];
+            final double p10 = samples[4 + i];
+            final double p01 = samples[12 + i];
+            final double p11 = samples[16 + i];
+            coefficients[index + 4 * i] = p00;
+            coefficients[index + 4 * i + 1] = p10 - p00;
+            coefficients[index + 4 * i + 2] = p01 - p00;
+            coefficients[index + 4 * i + 3] = p00 - p10 - p01 + p11;
+        }
+        return index;
+    }
+
+    /** The transform being approximated. */
+    public MathTransform2D getExactTransform() {
+        return exact;
+    }
+
+    /** The maximum distance between an approximated and an exact point, in target units. */
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    /** The area where the transform is approximated, in source coordinates. */
+    public Rectangle2D getDomain() {
+        return new Rectangle2D.Double(minX, minY, width, height);
+    }
+
+    /** The number of cells in the grid, including the ones transformed exactly. */
+    int getCellCount() {
+        return (nodeCount - 1) / 4 * 3 + 1;
+    }
+
+    @Override
+    public int getSourceDimensions() {
+        return 2;
+    }
+
+    @Override
+    public int getTargetDimensions() {
+        return 2;
+    }
+
+    @Override
+    public void transform(double[] srcPts, int srcOff, final double[] dstPts, int dstOff, int numPts)
+            throws TransformException {
+        if (srcPts == dstPts && srcOff < dstOff && srcOff + 2 * numPts > dstOff) {
+            srcPts = Arrays.copyOfRange(srcPts, srcOff, srcOff + 2 * numPts);
+            srcOff = 0;
+        }
+        TransformException firstException = null;
+        for (int i = 0; i < numPts; i++, srcOff += 2, dstOff += 2) {
+            final double x = srcPts[srcOff];
+            final double y = srcPts[srcOff + 1];
+            if (x >= minX && y >= minY && x <= minX + width && y <= minY + height) {
+                // locate the cell
+                double x0 = minX;
+                double y0 = minY;
+                double w = width;
+                double h = height;
+                int node = 0;
+                int child;
+                while ((child = children[node]) >= 0) {
+                    w *= 0.5;
+                    h *= 0.5;
+                    node = child;
+                    if (x >= x0 + w) {
+                        x0 += w;
+                        node++;
+                    }
+                    if (y >= y0 + h) {
+                        y0 += h;
+                        node += 2;
+                    }
+                }
+                final int c = leaves[node];
+                if (c >= 0) {
+                    final double u = (x - x0) / w;
+                    final double v = (y - y0) / h;
+                    final double[] k = coefficients;
+                    dstPts[dstOff] = k[c] + u * k[c + 1] + v * (k[c + 2] + u * k[c + 3]);
+                    dstPts[dstOff + 1] = k[c + 4] + u * k[c + 5] + v * (k[c + 6] + u * k[c + 7]);
+                    continue;
+                }
+            }
+            try {
+                exact.transform(srcPts, srcOff, dstPts, dstOff, 1);
+            } catch (TransformException e) {
+                dstPts[dstOff] = Double.NaN;
+                dstPts[dstOff + 1] = Double.NaN;
+                if (firstException == null) {
+                    firstException = e;
+                }
+            }
+        }
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
+    @Override
+    public Matrix derivative(Point2D point) throws TransformException {
+        return exact.derivative(point);
+    }
+
+    @Override
+    public Matrix derivative(Position point) throws TransformException {
+        return exact.derivative(point);
+    }
+
+    /** Returns the inverse of the exact transform, the approximation only works forward. */
+    @Override
+    public MathTransform2D inverse() throws NoninvertibleTransformException {
+        return exact.inverse();
+    }
+
+    @Override
+    public int hashCode() {
+        return exact.hashCode() ^ Double.hashCode(tolerance) ^ getDomain().hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        if (object == this) {
+            return true;
+        }
+        if (object instanceof ApproximateTransform2D) {
+            final ApproximateTransform2D that = (ApproximateTransform2D) object;
+            return exact.equals(that.exact)
+                    && Double.doubleToLongBits(tolerance) == Double.doubleToLongBits(that.tolerance)
+                    && getDomain().equals(that.getDomain())
+                    && nodeCount == that.nodeCount;
+        }
+        return false;
+    }
+}
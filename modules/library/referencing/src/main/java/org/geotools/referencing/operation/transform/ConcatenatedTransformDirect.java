@@ -33,6 +33,9 @@ class ConcatenatedTransformDirect extends ConcatenatedTransform {
     /** Serial number for interoperability with different versions. */
     private static final long serialVersionUID = -3568975979013908920L;
 
+    /** The number of points going through both steps at once, 8 to 12 kb of ordinates for 2D and 3D points. */
+    static final int BLOCK_SIZE = 512;
+
     /** Constructs a concatenated transform. */
     public ConcatenatedTransformDirect(final MathTransform transform1, final MathTransform transform2) {
         super(transform1, transform2);
@@ -54,14 +57,45 @@ public Position transform(final Position ptSrc, Position ptDst) throws Transform
         return transform2.transform(ptDst, ptDst);
     }
 
-    /** Transforms a list of coordinate point ordinal values. */
+    /**
+     * Transforms a list of coordinate point ordinal values. Long lists are transformed in blocks of
+     * {@value #BLOCK_SIZE} points, each block going through both steps while it is still in the processor cache. All
+     * blocks are transformed even if some points fail, the first exception is thrown at the end.
+     */
     @Override
     public void transform(
             final double[] srcPts, final int srcOff, final double[] dstPts, final int dstOff, final int numPts)
             throws TransformException {
         assert isValid();
-        transform1.transform(srcPts, srcOff, dstPts, dstOff, numPts);
-        transform2.transform(dstPts, dstOff, dstPts, dstOff, numPts);
+        // Moving forward block by block is not safe if the destination overlaps after the source
+        if (numPts <= BLOCK_SIZE || (srcPts == dstPts && srcOff < dstOff)) {
+            transform1.transform(srcPts, srcOff, dstPts, dstOff, numPts);
+            transform2.transform(dstPts, dstOff, dstPts, dstOff, numPts);
+            return;
+        }
+        final int dimension = transform1.getSourceDimensions();
+        TransformException firstException = null;
+        for (int done = 0; done < numPts; done += BLOCK_SIZE) {
+            final int count = Math.min(BLOCK_SIZE, numPts - done);
+            final int dst = dstOff + done * dimension;
+            try {
+                transform1.transform(srcPts, srcOff + done * dimension, dstPts, dst, count);
+            } catch (TransformException e) {
+                if (firstException == null) {
+                    firstException = e;
+                }
+            }
+            try {
+                transform2.transform(dstPts, dst, dstPts, dst, count);
+            } catch (TransformException e) {
+                if (firstException == null) {
+                    firstException = e;
+                }
+            }
+        }
+        if (firstException != null) {
+            throw firstException;
+        }
     }
 
     // Do NOT override the transform(float[]...) version because we really need to use an
@@ -0,0 +1,157 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.referencing.operation.transform;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import org.geotools.api.referencing.operation.MathTransform;
+import org.geotools.api.referencing.operation.TransformException;
+
+/**
+ * Transforms very long coordinate arrays by splitting them in chunks transformed concurrently in a
+ * {@link ForkJoinPool}. Math transforms are immutable, so the chunks can be handed to different threads, while the
+ * arrays shorter than {@link #THRESHOLD} points, or whose source and destination overlap, are transformed by the
+ * calling thread as usual.
+ *
+ * <p>As for {@link MathTransform#transform(double[], int, double[], int, int)}, every point is transformed even if some
+ * of them fail, and the first exception found is thrown at the end.
+ *
+ * @since 34
+ */
+public final class ParallelTransform {
+
+    /** The number of points below which the arrays are not split. */
+    public static final int THRESHOLD = 65536;
+
+    /** Do not allow instantiation of this class. */
+    private ParallelTransform() {}
+
+    /**
+     * Transforms a list of coordinate point ordinal values, in parallel in the {@linkplain ForkJoinPool#commonPool()
+     * common pool} if the list is long enough.
+     *
+     * @see MathTransform#transform(double[], int, double[], int, int)
+     */
+    public static void transform(
+            MathTransform transform, double[] srcPts, int srcOff, double[] dstPts, int dstOff, int numPts)
+            throws TransformException {
+        transform(ForkJoinPool.commonPool(), transform, srcPts, srcOff, dstPts, dstOff, numPts);
+    }
+
+    /**
+     * Transforms a list of coordinate point ordinal values, in parallel in the given pool if the list is long enough.
+     *
+     * @see MathTransform#transform(double[], int, double[], int, int)
+     */
+    public static void transform(
+            ForkJoinPool pool,
+            MathTransform transform,
+            double[] srcPts,
+            int srcOff,
+            double[] dstPts,
+            int dstOff,
+            int numPts)
+            throws TransformException {
+        final int sourceDim = transform.getSourceDimensions();
+        final int targetDim = transform.getTargetDimensions();
+        if (numPts < THRESHOLD
+                || pool.getParallelism() < 2
+                || overlaps(srcPts, srcOff, numPts * sourceDim, dstPts, dstOff, numPts * targetDim)) {
+            transform.transform(srcPts, srcOff, dstPts, dstOff, numPts);
+            return;
+        }
+        final int chunk = Math.max(THRESHOLD / 4, numPts / (4 * pool.getParallelism()) + 1);
+        final AtomicReference<TransformException> failure = new AtomicReference<>();
+        pool.invoke(new Chunk(transform, srcPts, srcOff, dstPts, dstOff, 0, numPts, chunk, failure));
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    /** Returns {@code true} if the two array ranges share some elements. */
+    private static boolean overlaps(
+            Object srcPts, int srcOff, int srcLength, Object dstPts, int dstOff, int dstLength) {
+        return srcPts == dstPts && srcOff < dstOff + dstLength && dstOff < srcOff + srcLength;
+    }
+
+    /** Transforms the points from {@code start} inclusive to {@code end} exclusive, splitting them if too many. */
+    @SuppressWarnings("serial")
+    private static final class Chunk extends RecursiveAction {
+
+        private final MathTransform transform;
+
+        private final double[] srcPts;
+
+        private final int srcOff;
+
+        private final double[] dstPts;
+
+        private final int dstOff;
+
+        private final int start;
+
+        private final int end;
+
+        private final int chunk;
+
+        private final AtomicReference<TransformException> failure;
+
+        Chunk(
+                MathTransform transform,
+                double[] srcPts,
+                int srcOff,
+                double[] dstPts,
+                int dstOff,
+                int start,
+                int end,
+                int chunk,
+                AtomicReference<TransformException> failure) {
+            this.transform = transform;
+            this.srcPts = srcPts;
+            this.srcOff = srcOff;
+            this.dstPts = dstPts;
+            this.dstOff = dstOff;
+            this.start = start;
+            this.end = end;
+            this.chunk = chunk;
+            this.failure = failure;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > chunk) {
+                final int middle = (start + end) >>> 1;
+                invokeAll(
+                        new Chunk(transform, srcPts, srcOff, dstPts, dstOff, start, middle, chunk, failure),
+                        new Chunk(transform, srcPts, srcOff, dstPts, dstOff, middle, end, chunk, failure));
+                return;
+            }
+            try {
+                transform.transform(
+                        srcPts,
+                        srcOff + start * transform.getSourceDimensions(),
+                        dstPts,
+                        dstOff + start * transform.getTargetDimensions(),
+                        end - start);
+            } catch (TransformException e) {
+                // keep the first failure, the other chunks carry on
+                failure.compareAndSet(null, e);
+            }
+        }
+    }
+}
@@ -20,9 +20,11 @@
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.List;
 import java.util.Set;
 import org.geotools.api.referencing.FactoryException;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
@@ -34,6 +36,7 @@
 import org.geotools.referencing.crs.DefaultEngineeringCRS;
 import org.geotools.referencing.crs.DefaultGeographicCRS;
 import org.geotools.referencing.operation.projection.MapProjection;
+import org.geotools.util.ConcurrentObjectCache;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -44,6 +47,11 @@
  * @author Martin Desruisseaux (IRD)
  */
 public final class CrsTest {
+
+    private static final String LATLON_WKT = "GEOGCS[\"WGS 84\","
+            + "DATUM[\"WGS_1984\",SPHEROID[\"WGS 84\",6378137,298.257223563]],"
+            + "PRIMEM[\"Greenwich\",0],UNIT[\"degree\",0.0174532925199433],"
+            + "AXIS[\"Lat\",NORTH],AXIS[\"Lon\",EAST]]";
     /** Tests the {@link CRS#getSupportedAuthorities} method. */
     @Test
     public void testSupportedAuthorities() {
@@ -69,6 +77,36 @@ public void testDecode() throws FactoryException {
         assertSame(WGS84, CRS.decode("WGS84(DD)"));
     }
 
+    /** Tests the caches of decoded objects, identifiers and transforms. */
+    @Test
+    public void testCaches() throws Exception {
+        CRS.reset("all");
+        assertEquals(2, CRS.preload(List.of("CRS:84", "WGS84(DD)", "NOT:A:CODE"), false));
+        ConcurrentObjectCache.Statistics decode = CRS.getCacheStatistics().get("decode");
+        assertEquals(2, decode.getSize());
+        assertEquals(0, decode.getHits());
+
+        CoordinateReferenceSystem crs84 = CRS.decode("crs:84 ");
+        assertSame(crs84, CRS.decode("CRS:84"));
+        assertEquals(2, CRS.getCacheStatistics().get("decode").getHits());
+
+        CoordinateReferenceSystem latLon = CRS.parseWKT(LATLON_WKT);
+        assertSame(latLon, CRS.parseWKT(LATLON_WKT));
+        MathTransform transform = CRS.findMathTransform(crs84, latLon, true);
+        assertSame(transform, CRS.findMathTransform(crs84, latLon, true));
+        ConcurrentObjectCache.Statistics transforms = CRS.getCacheStatistics().get("transform");
+        assertEquals(1, transforms.getHits());
+        assertEquals(1, transforms.getMisses());
+
+        // negative lookups are cached as well
+        assertNull(CRS.lookupIdentifier(latLon, false));
+        assertNull(CRS.lookupIdentifier(latLon, false));
+        assertEquals(1, CRS.getCacheStatistics().get("identifier").getHits());
+
+        CRS.reset("all");
+        assertEquals(0, CRS.getCacheStatistics().get("transform").getSize());
+    }
+
     /**
      * Tests an ESRI code.
      *
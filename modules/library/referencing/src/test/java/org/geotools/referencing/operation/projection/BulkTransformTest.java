@@ -0,0 +1,235 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.referencing.operation.projection;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import org.geotools.api.parameter.ParameterDescriptorGroup;
+import org.geotools.api.parameter.ParameterValueGroup;
+import org.geotools.api.referencing.operation.MathTransform;
+import org.geotools.api.referencing.operation.TransformException;
+import org.geotools.referencing.operation.transform.ConcatenatedTransform;
+import org.geotools.referencing.operation.transform.ParallelTransform;
+import org.geotools.referencing.operation.transform.ProjectiveTransform;
+import org.junit.Test;
+
+/** Checks the block by block array transformations against the point by point ones. */
+public final class BulkTransformTest {
+
+    private static final double SPHERE = 6371007;
+
+    private static ParameterValueGroup parameters(ParameterDescriptorGroup descriptor, double semiMinor) {
+        ParameterValueGroup values = descriptor.createValue();
+        values.parameter("semi_major").setValue(6378137.0);
+        values.parameter("semi_minor").setValue(semiMinor);
+        values.parameter("false_easting").setValue(500000.0);
+        values.parameter("false_northing").setValue(100000.0);
+        return values;
+    }
+
+    private static MapProjection mercator(double semiMinor) throws Exception {
+        ParameterValueGroup values = parameters(Mercator1SP.Provider.PARAMETERS, semiMinor);
+        values.parameter("central_meridian").setValue(10.0);
+        return (MapProjection) new Mercator1SP.Provider().createMathTransform(values);
+    }
+
+    private static MapProjection transverseMercator(double semiMinor) throws Exception {
+        ParameterValueGroup values = parameters(TransverseMercator.Provider.PARAMETERS, semiMinor);
+        values.parameter("central_meridian").setValue(9.0);
+        values.parameter("scale_factor").setValue(0.9996);
+        return (MapProjection) new TransverseMercator.Provider().createMathTransform(values);
+    }
+
+    private static MapProjection lambert(double semiMinor) throws Exception {
+        ParameterValueGroup values = parameters(LambertConformal2SP.Provider.PARAMETERS, semiMinor);
+        values.parameter("central_meridian").setValue(3.0);
+        values.parameter("latitude_of_origin").setValue(46.5);
+        values.parameter("standard_parallel_1").setValue(49.0);
+        values.parameter("standard_parallel_2").setValue(44.0);
+        return new LambertConformal2SP(values);
+    }
+
+    private static MapProjection albers(double semiMinor) throws Exception {
+        ParameterValueGroup values = parameters(AlbersEqualArea.Provider.PARAMETERS, semiMinor);
+        values.parameter("central_meridian").setValue(-96.0);
+        values.parameter("latitude_of_origin").setValue(23.0);
+        values.parameter("standard_parallel_1").setValue(29.5);
+        values.parameter("standard_parallel_2").setValue(45.5);
+        return new AlbersEqualArea(values);
+    }
+
+    /** A grid of geographic coordinates, more than one block long */
+    private static double[] grid(double minX, double minY, double span) {
+        int side = 40;
+        double[] ordinates = new double[side * side * 2];
+        int i = 0;
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                ordinates[i++] = minX + span * col / side;
+                ordinates[i++] = minY + span * row / side;
+            }
+        }
+        return ordinates;
+    }
+
+    private static void assertSameAsPointwise(MathTransform transform, double[] source) throws TransformException {
+        double[] expected = new double[source.length];
+        Point2D.Double point = new Point2D.Double();
+        for (int i = 0; i < source.length; i += 2) {
+            point.setLocation(source[i], source[i + 1]);
+            ((MapProjection) transform).transform(point, point);
+            expected[i] = point.x;
+            expected[i + 1] = point.y;
+        }
+        double[] actual = new double[source.length];
+        transform.transform(source, 0, actual, 0, source.length / 2);
+        assertArrayEquals(expected, actual, 1e-9);
+
+        float[] floats = new float[source.length];
+        for (int i = 0; i < source.length; i++) {
+            floats[i] = (float) source[i];
+        }
+        transform.transform(floats, 0, floats, 0, source.length / 2);
+        for (int i = 0; i < source.length; i++) {
+            assertEquals(expected[i], floats[i], 1);
+        }
+    }
+
+    @Test
+    public void testProjections() throws Exception {
+        double semiMinor = 6356752.314245179;
+        assertSameAsPointwise(mercator(semiMinor), grid(-170, -80, 160));
+        assertSameAsPointwise(mercator(6378137.0), grid(-170, -80, 160));
+        assertSameAsPointwise(transverseMercator(semiMinor), grid(3, 0, 12));
+        assertSameAsPointwise(transverseMercator(6378137.0), grid(3, 0, 12));
+        assertSameAsPointwise(lambert(semiMinor), grid(-5, 40, 15));
+        assertSameAsPointwise(lambert(6378137.0), grid(-5, 40, 15));
+        assertSameAsPointwise(albers(semiMinor), grid(-120, 25, 40));
+        assertSameAsPointwise(albers(SPHERE), grid(-120, 25, 40));
+    }
+
+    @Test
+    public void testOverlappingArrays() throws Exception {
+        MapProjection projection = lambert(6356752.314245179);
+        double[] source = grid(-5, 40, 15);
+        double[] expected = new double[source.length];
+        projection.transform(source, 0, expected, 0, source.length / 2);
+
+        // destination shifted after the source in the same array
+        double[] shared = new double[source.length + 6];
+        System.arraycopy(source, 0, shared, 0, source.length);
+        projection.transform(shared, 0, shared, 6, source.length / 2);
+        for (int i = 0; i < source.length; i++) {
+            assertEquals(expected[i], shared[i + 6], 1e-9);
+        }
+
+        // destination shifted before the source
+        shared = new double[source.length + 6];
+        System.arraycopy(source, 0, shared, 6, source.length);
+        projection.transform(shared, 6, shared, 0, source.length / 2);
+        for (int i = 0; i < source.length; i++) {
+            assertEquals(expected[i], shared[i], 1e-9);
+        }
+    }
+
+    @Test
+    public void testFailingPoints() throws Exception {
+        MapProjection projection = mercator(6356752.314245179);
+        double[] ordinates = grid(-170, -80, 160);
+        ordinates[1001] = 90;
+        try {
+            projection.transform(ordinates, 0, ordinates, 0, ordinates.length / 2);
+            fail("The pole cannot be projected");
+        } catch (ProjectionException e) {
+            // expected
+        }
+        assertTrue(Double.isNaN(ordinates[1000]));
+        assertTrue(Double.isNaN(ordinates[1001]));
+        // the other points, before and after, are projected
+        assertTrue(Math.abs(ordinates[998]) > 180);
+        assertTrue(Math.abs(ordinates[2003]) > 90);
+    }
+
+    @Test
+    public void testPointOverrideInSubclass() throws Exception {
+        ParameterValueGroup values = parameters(TransverseMercator.Provider.PARAMETERS, 6356752.314245179);
+        MapProjection projection = new TransverseMercator(values) {
+            @Override
+            protected Point2D transformNormalized(double x, double y, Point2D ptDst) throws ProjectionException {
+                ptDst.setLocation(1, 2);
+                return ptDst;
+            }
+        };
+        double[] ordinates = {1, 1, 2, 2};
+        projection.transform(ordinates, 0, ordinates, 0, 2);
+        double[] expected = {6878137, 12856274, 6878137, 12856274};
+        assertArrayEquals(expected, ordinates, 1e-3);
+    }
+
+    @Test
+    public void testConcatenated() throws Exception {
+        MapProjection projection = transverseMercator(6356752.314245179);
+        // lat/lon axis order on input, km on output
+        MathTransform swap = ProjectiveTransform.create(new AffineTransform(0, 1, 1, 0, 0, 0));
+        MathTransform km = ProjectiveTransform.create(AffineTransform.getScaleInstance(0.001, 0.001));
+        MathTransform chain = ConcatenatedTransform.create(ConcatenatedTransform.create(swap, projection), km);
+
+        double[] source = grid(3, 0, 12);
+        double[] swapped = new double[source.length];
+        for (int i = 0; i < source.length; i += 2) {
+            swapped[i] = source[i + 1];
+            swapped[i + 1] = source[i];
+        }
+        double[] expected = new double[source.length];
+        projection.transform(source, 0, expected, 0, source.length / 2);
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] *= 0.001;
+        }
+        double[] actual = new double[source.length];
+        chain.transform(swapped, 0, actual, 0, source.length / 2);
+        assertArrayEquals(expected, actual, 1e-9);
+
+        // in place
+        chain.transform(swapped, 0, swapped, 0, source.length / 2);
+        assertArrayEquals(expected, swapped, 1e-9);
+    }
+
+    @Test
+    public void testParallel() throws Exception {
+        MapProjection projection = albers(6356752.314245179);
+        int numPts = ParallelTransform.THRESHOLD * 2 + 17;
+        double[] source = new double[numPts * 2];
+        for (int i = 0; i < numPts; i++) {
+            source[2 * i] = -120 + 40.0 * i / numPts;
+            source[2 * i + 1] = 25 + (i % 400) / 10.0;
+        }
+        double[] expected = new double[source.length];
+        projection.transform(source, 0, expected, 0, numPts);
+        double[] actual = new double[source.length];
+        ParallelTransform.transform(projection, source, 0, actual, 0, numPts);
+        assertArrayEquals(expected, actual, 0);
+
+        // overlapping arrays are transformed by the calling thread
+        ParallelTransform.transform(projection, source, 0, source, 0, numPts);
+        assertArrayEquals(expected, source, 0);
+    }
+}
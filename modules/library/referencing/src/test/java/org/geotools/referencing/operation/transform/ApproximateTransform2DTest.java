@@ -0,0 +1,106 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.referencing.operation.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import org.geotools.api.parameter.ParameterValueGroup;
+import org.geotools.api.referencing.operation.MathTransform2D;
+import org.geotools.api.referencing.operation.MathTransformFactory;
+import org.geotools.referencing.ReferencingFactoryFinder;
+import org.junit.Test;
+
+public final class ApproximateTransform2DTest {
+
+    private static MathTransform2D projection(String name, double centralMeridian, double latitudeOfOrigin)
+            throws Exception {
+        MathTransformFactory factory = ReferencingFactoryFinder.getMathTransformFactory(null);
+        ParameterValueGroup parameters = factory.getDefaultParameters(name);
+        parameters.parameter("semi_major").setValue(6378137.0);
+        parameters.parameter("semi_minor").setValue(6356752.314245179);
+        parameters.parameter("central_meridian").setValue(centralMeridian);
+        parameters.parameter("latitude_of_origin").setValue(latitudeOfOrigin);
+        return (MathTransform2D) factory.createParameterizedTransform(parameters);
+    }
+
+    /** Checks the approximation over a dense grid of points, including some outside of the domain */
+    private static void assertWithinTolerance(MathTransform2D exact, Rectangle2D domain, double tolerance)
+            throws Exception {
+        ApproximateTransform2D approximate = new ApproximateTransform2D(exact, domain, tolerance, 7);
+        int side = 101;
+        double[] source = new double[side * side * 2];
+        for (int row = 0, i = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                source[i++] = domain.getMinX() - 1 + (domain.getWidth() + 2) * col / (side - 1);
+                source[i++] = domain.getMinY() - 1 + (domain.getHeight() + 2) * row / (side - 1);
+            }
+        }
+        double[] expected = new double[source.length];
+        exact.transform(source, 0, expected, 0, side * side);
+        double[] actual = new double[source.length];
+        approximate.transform(source, 0, actual, 0, side * side);
+        for (int i = 0; i < source.length; i += 2) {
+            double distance = Math.hypot(expected[i] - actual[i], expected[i + 1] - actual[i + 1]);
+            assertTrue("Error " + distance + " at " + source[i] + "," + source[i + 1], distance <= tolerance);
+        }
+        // far fewer cells than the maximum, at about a quarter of a pixel on a 1000 pixels wide map
+        assertTrue(approximate.getCellCount() < 128 * 128);
+    }
+
+    @Test
+    public void testTransverseMercator() throws Exception {
+        MathTransform2D exact = projection("Transverse_Mercator", 9, 0);
+        assertWithinTolerance(exact, new Rectangle2D.Double(5, 40, 8, 10), 100);
+    }
+
+    @Test
+    public void testPolarStereographic() throws Exception {
+        MathTransform2D exact = projection("Polar_Stereographic", 0, 90);
+        assertWithinTolerance(exact, new Rectangle2D.Double(-40, 60, 80, 29), 500);
+    }
+
+    @Test
+    public void testLinear() throws Exception {
+        MathTransform2D exact = (MathTransform2D) ProjectiveTransform.create(new AffineTransform(2, 0, 0, 3, 10, 20));
+        ApproximateTransform2D approximate =
+                new ApproximateTransform2D(exact, new Rectangle2D.Double(0, 0, 10, 10), 0.01, 7);
+        // an affine transform is captured exactly by the minimum grid
+        assertEquals(16, approximate.getCellCount());
+        double[] points = {1, 1, 5, 7, 20, 20};
+        approximate.transform(points, 0, points, 0, 3);
+        assertEquals(12, points[0], 1e-9);
+        assertEquals(23, points[1], 1e-9);
+        assertEquals(20, points[2], 1e-9);
+        assertEquals(41, points[3], 1e-9);
+        assertEquals(50, points[4], 1e-9);
+        assertEquals(80, points[5], 1e-9);
+        assertSame(exact.inverse(), approximate.inverse());
+    }
+
+    @Test
+    public void testCache() throws Exception {
+        MathTransform2D exact = projection("Transverse_Mercator", 9, 0);
+        Rectangle2D domain = new Rectangle2D.Double(5, 40, 8, 10);
+        ApproximateTransform2D first = ApproximateTransform2D.create(exact, domain, 100);
+        assertSame(first, ApproximateTransform2D.create(exact, new Rectangle2D.Double(5, 40, 8, 10), 100));
+        assertTrue(first != ApproximateTransform2D.create(exact, domain, 200));
+    }
+}
@@ -226,6 +226,10 @@ private static TextSymbolizer labelless(TextSymbolizer orig) {
 
     private BiFunction<Graphics2D, LabelRenderingMode, LabelPainter> constructPainter = LabelPainter::new;
 
+    private LabelPlacementCache placementCache;
+
+    private AffineTransform worldToScreen;
+
     @Override
     public void enableLayer(String layerId) {
         needsOrdering = true;
@@ -246,6 +250,18 @@ public void setConstructPainter(BiFunction<Graphics2D, LabelRenderingMode, Label
         this.constructPainter = constructPainter;
     }
 
+    /**
+     * Sets the cache sharing the label placements with the renders of the neighbouring areas, such as the other tiles
+     * of a tiled map, or null to place the labels independently.
+     *
+     * @param placementCache The placement cache, shared by the renders of the same layers and styles
+     * @param worldToScreen The world to screen transformation of the current render
+     */
+    public void setPlacementCache(LabelPlacementCache placementCache, AffineTransform worldToScreen) {
+        this.placementCache = placementCache;
+        this.worldToScreen = worldToScreen;
+    }
+
     @Override
     public void stop() {
         stop = true;
@@ -550,6 +566,13 @@ void paintLabels(Graphics2D graphics, Rectangle displayArea) {
         // Used to check the paintLineLabel function
         int paintedLineLabels = 0;
 
+        LabelPainter painter = constructPainter.apply(graphics, labelRenderingMode);
+        LabelPlacementCache.Render placements = startPlacementCache(painter, displayArea, glyphs);
+        if (placements != null) {
+            // place the labels crossing the border too, the neighbouring renders will paint the rest of them
+            displayArea = placements.getPlacementArea();
+        }
+
         // Hack: let's reduce the display area width and height by one pixel.
         // If the rendered image is 256x256, proper rendering of polygons and
         // lines occurr only if the display area is [0,0; 256,256], yet if you
@@ -571,18 +594,45 @@ void paintLabels(Graphics2D graphics, Rectangle displayArea) {
         } else {
             items = getActiveLabels();
         }
-        LabelPainter painter = constructPainter.apply(graphics, labelRenderingMode);
         for (LabelCacheItem labelItem : items) {
             if (stop) return;
 
+            if (placements != null) {
+                if (placements.isPlaced(labelItem)) continue;
+                placements.startLabel(labelItem);
+            }
             paintedLineLabels = paintLabel(graphics, displayArea, glyphs, paintedLineLabels, painter, labelItem);
         }
+        if (placements != null) {
+            painter.paintListener = null;
+            placements.end();
+        }
         // Output for line labels
         LOGGER.log(Level.FINE, "TOTAL LINE LABELS : {0}", items.size());
         LOGGER.log(Level.FINE, "PAINTED LINE LABELS : {0}", paintedLineLabels);
         LOGGER.log(Level.FINE, "REMAINING LINE LABELS : {0}", items.size() - paintedLineLabels);
     }
 
+    /**
+     * Paints the labels placed by the previous renders sharing the placement cache, if any, and returns the render
+     * recording the new placements
+     */
+    private LabelPlacementCache.Render startPlacementCache(
+            LabelPainter painter, Rectangle displayArea, LabelIndex glyphs) {
+        if (placementCache == null || worldToScreen == null) {
+            return null;
+        }
+        try {
+            LabelPlacementCache.Render placements = placementCache.startRender(worldToScreen, displayArea);
+            placements.paintCachedLabels(painter, glyphs);
+            painter.paintListener = placements;
+            return placements;
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Failed to use the label placement cache, placing labels independently", e);
+            return null;
+        }
+    }
+
     int paintLabel(
             Graphics2D graphics,
             Rectangle displayArea,
@@ -175,6 +175,11 @@ public LabelCacheItem(
         this.graphicsResize = other.graphicsResize;
         this.graphicMargin = other.graphicMargin;
         this.textUnderlined = other.textUnderlined;
+        this.textStrikethrough = other.textStrikethrough;
+        this.wordSpacing = other.wordSpacing;
+        this.partialsEnabled = other.partialsEnabled;
+        this.displacementAngles = other.displacementAngles;
+        this.graphicPlacement = other.graphicPlacement;
         this.symbolizer = other.symbolizer;
         this.fontShrinkSizeMin = other.fontShrinkSizeMin;
     }
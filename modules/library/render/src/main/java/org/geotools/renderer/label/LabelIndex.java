@@ -17,20 +17,35 @@
 package org.geotools.renderer.label;
 
 import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Map;
 import org.locationtech.jts.geom.Envelope;
-import org.locationtech.jts.index.quadtree.Quadtree;
 
 /**
  * Stores label items and helps in finding the interferering ones, either by pure overlap or within a certain distance
- * from the specified bounds
+ * from the specified bounds.
+ *
+ * <p>Labels are small and spread over the screen, so they are indexed by a uniform grid of {@link #CELL_SIZE} pixels
+ * cells, which makes both insertions and lookups cost a few hash lookups, and lets lookups stop at the first
+ * interference found. Items spanning too many cells, like large reserved areas, are checked one by one.
  *
  * @author Andrea Aime
  */
 public class LabelIndex {
 
-    Quadtree index = new Quadtree();
+    /** The size in pixels of the grid cells */
+    static final int CELL_SIZE = 64;
+
+    /** Items spanning more cells than this are not put in the grid */
+    static final int MAX_ITEM_CELLS = 64;
+
+    Map<Long, List<InterferenceItem>> cells = new HashMap<>();
+
+    List<InterferenceItem> largeItems = new ArrayList<>();
+
+    int size;
 
     /**
      * Returns true if there is any label in the index within the specified distance from the bounds. For speed reasons
@@ -41,21 +56,89 @@ public boolean labelsWithinDistance(Rectangle2D bounds, double distance) {
 
         Envelope e = toEnvelope(bounds);
         e.expandBy(distance);
-        AtomicBoolean intersectionFound = new AtomicBoolean(false);
-        index.query(e, o -> {
-            if (intersectionFound.get()) return;
-            InterferenceItem item = (InterferenceItem) o;
+        for (InterferenceItem item : largeItems) {
             if (item.env.intersects(e)) {
-                intersectionFound.set(true);
+                return true;
+            }
+        }
+
+        long minCol = cell(e.getMinX());
+        long maxCol = cell(e.getMaxX());
+        long minRow = cell(e.getMinY());
+        long maxRow = cell(e.getMaxY());
+        if (cellCount(minCol, maxCol, minRow, maxRow) > cells.size()) {
+            // cheaper to scan the occupied cells than to probe the empty ones
+            for (List<InterferenceItem> items : cells.values()) {
+                if (intersects(items, e)) {
+                    return true;
+                }
             }
-        });
-        return intersectionFound.get();
+            return false;
+        }
+        for (long col = minCol; col <= maxCol; col++) {
+            for (long row = minRow; row <= maxRow; row++) {
+                List<InterferenceItem> items = cells.get(key(col, row));
+                if (items != null && intersects(items, e)) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     /** Adds a label into the index */
     public void addLabel(LabelCacheItem item, Rectangle2D bounds) {
-        Envelope e = toEnvelope(bounds);
-        index.insert(e, new InterferenceItem(e, item));
+        insert(new InterferenceItem(toEnvelope(bounds), item));
+    }
+
+    private void insert(InterferenceItem item) {
+        size++;
+        Envelope e = item.env;
+        long minCol = cell(e.getMinX());
+        long maxCol = cell(e.getMaxX());
+        long minRow = cell(e.getMinY());
+        long maxRow = cell(e.getMaxY());
+        if (cellCount(minCol, maxCol, minRow, maxRow) > MAX_ITEM_CELLS) {
+            largeItems.add(item);
+            return;
+        }
+        for (long col = minCol; col <= maxCol; col++) {
+            for (long row = minRow; row <= maxRow; row++) {
+                cells.computeIfAbsent(key(col, row), k -> new ArrayList<>(4)).add(item);
+            }
+        }
+    }
+
+    /** Returns the number of items in the index, labels and reserved areas */
+    public int size() {
+        return size;
+    }
+
+    private static boolean intersects(List<InterferenceItem> items, Envelope e) {
+        for (InterferenceItem item : items) {
+            if (item.env.intersects(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** The number of cells in the range, as a double as it can exceed the long range */
+    private static double cellCount(long minCol, long maxCol, long minRow, long maxRow) {
+        return (double) (maxCol - minCol + 1) * (maxRow - minRow + 1);
+    }
+
+    /** The grid cell containing the ordinate, clamped so that the cells count cannot overflow */
+    private static long cell(double ordinate) {
+        double cell = Math.floor(ordinate / CELL_SIZE);
+        if (cell > Integer.MAX_VALUE) return Integer.MAX_VALUE;
+        if (cell < Integer.MIN_VALUE) return Integer.MIN_VALUE;
+        // NaN ends up in cell 0, where it does not intersect anything anyways
+        return (long) cell;
+    }
+
+    private static Long key(long col, long row) {
+        return (col << 32) | (row & 0xFFFFFFFFL);
     }
 
     /** Turns the specified Java2D rectangle into a JTS envelope */
@@ -64,7 +147,7 @@ private Envelope toEnvelope(Rectangle2D bounds) {
     }
 
     /**
-     * Simple structure stored into the quadtree (keeping the item around helps in debugging)
+     * Simple structure stored into the grid (keeping the item around helps in debugging)
      *
      * @author Andrea Aime
      */
@@ -83,10 +166,7 @@ public InterferenceItem(Envelope env, LabelCacheItem item) {
     /** Reserve the area indicated by these Geometry. */
     public void reserveArea(List<Rectangle2D> reserved) {
         for (Rectangle2D area : reserved) {
-            Envelope env = toEnvelope(area);
-
-            InterferenceItem item = new InterferenceItem(env, null);
-            index.insert(env, item);
+            insert(new InterferenceItem(toEnvelope(area), null));
         }
     }
 }
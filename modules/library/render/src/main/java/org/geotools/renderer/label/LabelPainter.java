@@ -93,6 +93,19 @@ public class LabelPainter {
     /** The class in charge of splitting the labels in multiple lines/scripts/fonts */
     LabelSplitter splitter = new LabelSplitter();
 
+    /** Notified of the labels being painted, if set */
+    PaintListener paintListener;
+
+    /** Receives the position of the labels being painted, along with the painter, set up for the label */
+    interface PaintListener {
+
+        /** A straight label is being painted with the given transformation */
+        void straightLabelPainted(LabelPainter painter, AffineTransform transform, Coordinate labelPoint);
+
+        /** A curved label is being painted, centered in the current cursor position */
+        void curvedLabelPainted(LabelPainter painter, LineStringCursor cursor);
+    }
+
     /** Builds a new painter */
     public LabelPainter(Graphics2D graphics, LabelRenderingMode labelRenderingMode) {
         this.graphics = graphics;
@@ -293,6 +306,9 @@ public void paintStraightLabel(AffineTransform transform) throws Exception {
 
     /** Paints the label as a non curved one. The positioning and rotation are provided by the transformation */
     public void paintStraightLabel(AffineTransform transform, Coordinate labelPoint) throws Exception {
+        if (paintListener != null) {
+            paintListener.straightLabelPainted(this, transform, labelPoint);
+        }
         AffineTransform oldTransform = graphics.getTransform();
         try {
 
@@ -598,6 +614,9 @@ private void configureLabelStyle() {
 
     /** Paints a label that follows the line, centered in the current cursor position */
     public void paintCurvedLabel(LineStringCursor cursor) {
+        if (paintListener != null) {
+            paintListener.curvedLabelPainted(this, cursor);
+        }
         // 0 is unfortunately an acceptable value if people only want to draw shields
         if (labelItem.getTextStyle().getFont().getSize() == 0) return;
         AffineTransform oldTransform = graphics.getTransform();
@@ -0,0 +1,469 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.label;
+
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.geotools.renderer.style.TextStyle2D;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.index.quadtree.Quadtree;
+
+/**
+ * Shares the label placements among the renders of neighbouring areas at the same scale, such as the tiles of a tiled
+ * map. Without it each tile places its labels on its own, so a label crossing a tile border is usually placed
+ * differently, or not at all, by the tile on the other side, and ends up cut in half.
+ *
+ * <p>The labels placed by a render are stored in world coordinates, along with the area the render covered. The
+ * following renders at the same zoom level paint the stored labels touching their area, treat them as obstacles when
+ * placing their own labels, and do not place again the point and polygon labels already placed by a previous render.
+ * Each render places labels in an area larger than its own by a buffer, so that labels crossing its border are placed
+ * and stored for the neighbouring tiles to complete them, and keeps away from the areas already rendered, whose labels
+ * are known and cannot be changed anymore.
+ *
+ * <p>This class is thread safe, but tiles rendered concurrently do not see each other placements, and may place
+ * conflicting labels along their shared border. A cache should be shared only among the renders of the same layers
+ * with the same styles, typically one cache per map layer or layer group. Zoom levels are told apart by the scale and
+ * rotation of the world to screen transformation.
+ *
+ * @since 34
+ */
+public class LabelPlacementCache {
+
+    /** Default size in pixels of the buffer around the rendered area where labels are placed */
+    public static final int DEFAULT_BUFFER = 128;
+
+    /** Default max number of labels stored for a zoom level, when it is exceeded the zoom level is cleared */
+    public static final int DEFAULT_MAX_LABELS = 100000;
+
+    private final int buffer;
+
+    private final int maxLabels;
+
+    private final Map<ZoomKey, Zoom> zooms = new ConcurrentHashMap<>();
+
+    /** Builds a cache with the default buffer and max number of labels */
+    public LabelPlacementCache() {
+        this(DEFAULT_BUFFER, DEFAULT_MAX_LABELS);
+    }
+
+    /**
+     * Builds a cache
+     *
+     * @param buffer The size in pixels of the buffer around the rendered area where labels are placed, should be at
+     *     least as large as the longest label
+     * @param maxLabels The max number of labels stored for a zoom level
+     */
+    public LabelPlacementCache(int buffer, int maxLabels) {
+        if (buffer < 0) {
+            throw new IllegalArgumentException("The buffer cannot be negative: " + buffer);
+        }
+        if (maxLabels <= 0) {
+            throw new IllegalArgumentException("The max number of labels must be positive: " + maxLabels);
+        }
+        this.buffer = buffer;
+        this.maxLabels = maxLabels;
+    }
+
+    /** Returns the size in pixels of the buffer around the rendered area where labels are placed */
+    public int getBuffer() {
+        return buffer;
+    }
+
+    /** Returns the max number of labels stored for a zoom level */
+    public int getMaxLabels() {
+        return maxLabels;
+    }
+
+    /** Removes all the placements, to be called when the data or the styles change */
+    public void clear() {
+        zooms.clear();
+    }
+
+    /** Returns the number of labels stored for the zoom level of the given world to screen transformation */
+    public int size(AffineTransform worldToScreen) {
+        Zoom zoom = zooms.get(new ZoomKey(worldToScreen));
+        return zoom == null ? 0 : zoom.size();
+    }
+
+    /** Starts the render of an area, the returned render must be used only by the calling thread */
+    Render startRender(AffineTransform worldToScreen, Rectangle displayArea) throws NoninvertibleTransformException {
+        Zoom zoom = zooms.computeIfAbsent(new ZoomKey(worldToScreen), k -> new Zoom());
+        return new Render(zoom, worldToScreen, displayArea);
+    }
+
+    /** Identifies a zoom level by the scale and rotation of the world to screen transformation */
+    private static final class ZoomKey {
+
+        final float scaleX;
+
+        final float shearY;
+
+        final float shearX;
+
+        final float scaleY;
+
+        ZoomKey(AffineTransform tx) {
+            this.scaleX = (float) tx.getScaleX();
+            this.shearY = (float) tx.getShearY();
+            this.shearX = (float) tx.getShearX();
+            this.scaleY = (float) tx.getScaleY();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof ZoomKey)) {
+                return false;
+            }
+            ZoomKey other = (ZoomKey) obj;
+            return Float.compare(scaleX, other.scaleX) == 0
+                    && Float.compare(shearY, other.shearY) == 0
+                    && Float.compare(shearX, other.shearX) == 0
+                    && Float.compare(scaleY, other.scaleY) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Float.hashCode(scaleX);
+            result = 31 * result + Float.hashCode(shearY);
+            result = 31 * result + Float.hashCode(shearX);
+            return 31 * result + Float.hashCode(scaleY);
+        }
+    }
+
+    /** The labels placed and the areas rendered at a zoom level, in world coordinates */
+    private final class Zoom {
+
+        private Quadtree labels = new Quadtree();
+
+        private Quadtree renderedAreas = new Quadtree();
+
+        synchronized int size() {
+            return labels.size();
+        }
+
+        synchronized List<PlacedLabel> getLabels(Envelope area) {
+            List<PlacedLabel> result = new ArrayList<>();
+            labels.query(area, o -> {
+                PlacedLabel label = (PlacedLabel) o;
+                if (label.bounds.intersects(area)) {
+                    result.add(label);
+                }
+            });
+            return result;
+        }
+
+        synchronized List<Envelope> getRenderedAreas(Envelope area) {
+            List<Envelope> result = new ArrayList<>();
+            renderedAreas.query(area, o -> {
+                Envelope rendered = (Envelope) o;
+                if (rendered.intersects(area)) {
+                    result.add(rendered);
+                }
+            });
+            return result;
+        }
+
+        synchronized void add(List<PlacedLabel> placed, Envelope renderedArea) {
+            if (labels.size() + placed.size() > maxLabels) {
+                // labels and rendered areas go together, a rendered area without its labels would stay empty
+                labels = new Quadtree();
+                renderedAreas = new Quadtree();
+            }
+            for (PlacedLabel label : placed) {
+                labels.insert(label.bounds, label);
+            }
+            renderedAreas.insert(renderedArea, renderedArea);
+        }
+    }
+
+    /** A label placed by a previous render, in world coordinates */
+    static final class PlacedLabel {
+
+        /** A copy of the label item, without geometries, shared by all the placements of the label */
+        final LabelCacheItem item;
+
+        /** The label bounds, without the space around */
+        final Envelope bounds;
+
+        /** The world to label transformation, for straight labels */
+        final AffineTransform transform;
+
+        /** The label point, for straight labels with a graphic */
+        final Coordinate labelPoint;
+
+        /** The portion of line the label follows, for curved labels */
+        final LineString line;
+
+        /** The position of the label center along the line, in pixels */
+        final double ordinate;
+
+        /** The envelope of the labelled geometry, for point and polygon labels */
+        final Envelope anchor;
+
+        PlacedLabel(
+                LabelCacheItem item,
+                Envelope bounds,
+                AffineTransform transform,
+                Coordinate labelPoint,
+                LineString line,
+                double ordinate,
+                Envelope anchor) {
+            this.item = item;
+            this.bounds = bounds;
+            this.transform = transform;
+            this.labelPoint = labelPoint;
+            this.line = line;
+            this.ordinate = ordinate;
+            this.anchor = anchor;
+        }
+    }
+
+    /** The render of an area, painting the cached labels and recording the new ones */
+    final class Render implements LabelPainter.PaintListener {
+
+        private final Zoom zoom;
+
+        private final AffineTransform worldToScreen;
+
+        private final AffineTransform screenToWorld;
+
+        private final Rectangle displayArea;
+
+        private final Rectangle placementArea;
+
+        private final Map<String, List<Envelope>> placedAnchors = new HashMap<>();
+
+        private final Map<LabelCacheItem, LabelCacheItem> copies = new IdentityHashMap<>();
+
+        private final List<PlacedLabel> placed = new ArrayList<>();
+
+        private Envelope anchor;
+
+        Render(Zoom zoom, AffineTransform worldToScreen, Rectangle displayArea) throws NoninvertibleTransformException {
+            this.zoom = zoom;
+            this.worldToScreen = new AffineTransform(worldToScreen);
+            this.screenToWorld = worldToScreen.createInverse();
+            this.displayArea = new Rectangle(displayArea);
+            this.placementArea = new Rectangle(displayArea);
+            this.placementArea.grow(buffer, buffer);
+        }
+
+        /** Returns the area where labels should be placed, the display area grown by the buffer */
+        Rectangle getPlacementArea() {
+            return placementArea;
+        }
+
+        /**
+         * Paints the cached labels touching the display area, and adds to the index the cached labels in the placement
+         * area, along with the parts of it already rendered
+         */
+        void paintCachedLabels(LabelPainter painter, LabelIndex glyphs) throws Exception {
+            Envelope area = toWorld(placementArea);
+            for (PlacedLabel label : zoom.getLabels(area)) {
+                Rectangle2D bounds = toScreen(label.bounds);
+                if (bounds.intersects(displayArea)) {
+                    paint(painter, label);
+                }
+                if (label.item.isConflictResolutionEnabled()) {
+                    glyphs.addLabel(label.item, bounds);
+                }
+                if (label.anchor != null) {
+                    placedAnchors
+                            .computeIfAbsent(getKey(label.item), k -> new ArrayList<>())
+                            .add(label.anchor);
+                }
+            }
+            List<Rectangle2D> reserved = new ArrayList<>();
+            for (Envelope rendered : zoom.getRenderedAreas(area)) {
+                addOutside(toScreen(rendered), displayArea, reserved);
+            }
+            glyphs.reserveArea(reserved);
+        }
+
+        /** Returns true if the point or polygon label has already been placed by a previous render */
+        boolean isPlaced(LabelCacheItem item) {
+            List<Envelope> anchors = placedAnchors.get(getKey(item));
+            if (anchors == null || !isAnchored(item)) {
+                return false;
+            }
+            Envelope envelope = getAnchor(item);
+            for (Envelope placed : anchors) {
+                if (placed.intersects(envelope)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** Starts painting a new label, whose placements will be recorded */
+        void startLabel(LabelCacheItem item) {
+            anchor = isAnchored(item) ? getAnchor(item) : null;
+        }
+
+        @Override
+        public void straightLabelPainted(LabelPainter painter, AffineTransform transform, Coordinate labelPoint) {
+            Rectangle2D bounds = transform.createTransformedShape(painter.getFullLabelBounds()).getBounds2D();
+            AffineTransform worldTransform = new AffineTransform(screenToWorld);
+            worldTransform.concatenate(transform);
+            Coordinate worldPoint = labelPoint == null ? null : transform(labelPoint, screenToWorld);
+            placed.add(new PlacedLabel(
+                    copy(painter.getLabel()), toWorld(bounds), worldTransform, worldPoint, null, 0, anchor));
+        }
+
+        @Override
+        public void curvedLabelPainted(LabelPainter painter, LineStringCursor cursor) {
+            // painting moves the cursor around, keep only the portion of line around the label
+            double width = painter.getStraightLabelWidth();
+            double ordinate = cursor.getCurrentOrdinate();
+            double start = Math.max(0, ordinate - width);
+            double end = Math.min(cursor.getLineStringLength(), ordinate + width);
+            LineString line = cursor.getSubLineString(start, end);
+            Envelope envelope = cursor.getSubLineString(
+                            Math.max(0, ordinate - width / 2), Math.min(end, ordinate + width / 2))
+                    .getEnvelopeInternal();
+            envelope.expandBy(painter.getLineHeight());
+            Rectangle2D bounds = new Rectangle2D.Double(
+                    envelope.getMinX(), envelope.getMinY(), envelope.getWidth(), envelope.getHeight());
+            placed.add(new PlacedLabel(
+                    copy(painter.getLabel()),
+                    toWorld(bounds),
+                    null,
+                    null,
+                    transform(line, screenToWorld),
+                    ordinate - start,
+                    null));
+        }
+
+        /** Stores the labels placed and marks the display area as rendered */
+        void end() {
+            zoom.add(placed, toWorld(displayArea));
+        }
+
+        private void paint(LabelPainter painter, PlacedLabel label) throws Exception {
+            // the painter sets the label into the text style, which is shared by the renders using the label
+            synchronized (label.item) {
+                painter.setLabel(label.item);
+                if (label.line == null) {
+                    AffineTransform transform = new AffineTransform(worldToScreen);
+                    transform.concatenate(label.transform);
+                    Coordinate labelPoint =
+                            label.labelPoint == null ? null : transform(label.labelPoint, worldToScreen);
+                    painter.paintStraightLabel(transform, labelPoint);
+                } else {
+                    LineStringCursor cursor = new LineStringCursor(transform(label.line, worldToScreen));
+                    cursor.moveTo(label.ordinate);
+                    painter.paintCurvedLabel(cursor);
+                }
+            }
+        }
+
+        private LabelCacheItem copy(LabelCacheItem item) {
+            return copies.computeIfAbsent(item, i -> {
+                LabelCacheItem copy = new LabelCacheItem(i);
+                copy.setTextStyle(new TextStyle2D(i.getTextStyle()));
+                copy.getGeoms().clear();
+                return copy;
+            });
+        }
+
+        /** Point labels and polygon labels placed inside the polygon are placed once, line and border labels repeat */
+        private boolean isAnchored(LabelCacheItem item) {
+            Geometry geometry = item.getGeometry();
+            if (geometry.getDimension() == 0) {
+                return true;
+            }
+            return geometry.getDimension() == 2
+                    && item.getTextStyle().isPointPlacement()
+                    && !item.isFollowLineEnabled();
+        }
+
+        /** The envelope of the labelled geometry in world coordinates, grown by a pixel to absorb rounding errors */
+        private Envelope getAnchor(LabelCacheItem item) {
+            Envelope envelope = item.getGeometry().getEnvelopeInternal();
+            Rectangle2D.Double screen = new Rectangle2D.Double(
+                    envelope.getMinX(), envelope.getMinY(), envelope.getWidth(), envelope.getHeight());
+            screen.setRect(screen.getX() - 1, screen.getY() - 1, screen.getWidth() + 2, screen.getHeight() + 2);
+            return toWorld(screen);
+        }
+
+        private String getKey(LabelCacheItem item) {
+            return item.getLayerIds() + ":" + item.getLabel();
+        }
+
+        private Envelope toWorld(Rectangle2D screen) {
+            Rectangle2D world = screenToWorld.createTransformedShape(screen).getBounds2D();
+            return new Envelope(world.getMinX(), world.getMaxX(), world.getMinY(), world.getMaxY());
+        }
+
+        private Rectangle2D toScreen(Envelope world) {
+            Rectangle2D.Double rect =
+                    new Rectangle2D.Double(world.getMinX(), world.getMinY(), world.getWidth(), world.getHeight());
+            return worldToScreen.createTransformedShape(rect).getBounds2D();
+        }
+    }
+
+    /** Adds to the list the parts of the rectangle outside of the area, as up to four rectangles */
+    static void addOutside(Rectangle2D rect, Rectangle2D area, List<Rectangle2D> result) {
+        if (!rect.intersects(area)) {
+            result.add(rect);
+            return;
+        }
+        if (rect.getMinX() < area.getMinX()) {
+            result.add(new Rectangle2D.Double(
+                    rect.getMinX(), rect.getMinY(), area.getMinX() - rect.getMinX(), rect.getHeight()));
+        }
+        if (rect.getMaxX() > area.getMaxX()) {
+            result.add(new Rectangle2D.Double(
+                    area.getMaxX(), rect.getMinY(), rect.getMaxX() - area.getMaxX(), rect.getHeight()));
+        }
+        double minX = Math.max(rect.getMinX(), area.getMinX());
+        double maxX = Math.min(rect.getMaxX(), area.getMaxX());
+        if (rect.getMinY() < area.getMinY()) {
+            result.add(new Rectangle2D.Double(minX, rect.getMinY(), maxX - minX, area.getMinY() - rect.getMinY()));
+        }
+        if (rect.getMaxY() > area.getMaxY()) {
+            result.add(new Rectangle2D.Double(minX, area.getMaxY(), maxX - minX, rect.getMaxY() - area.getMaxY()));
+        }
+    }
+
+    private static Coordinate transform(Coordinate c, AffineTransform transform) {
+        Point2D.Double p = new Point2D.Double(c.x, c.y);
+        transform.transform(p, p);
+        return new Coordinate(p.x, p.y);
+    }
+
+    private static LineString transform(LineString line, AffineTransform transform) {
+        Coordinate[] source = line.getCoordinates();
+        Coordinate[] target = new Coordinate[source.length];
+        for (int i = 0; i < source.length; i++) {
+            target[i] = transform(source[i], transform);
+        }
+        return line.getFactory().createLineString(target);
+    }
+}
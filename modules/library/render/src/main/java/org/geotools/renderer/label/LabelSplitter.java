@@ -31,8 +31,10 @@
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.regex.Pattern;
 import org.geotools.renderer.label.LineInfo.LineComponent;
 
@@ -52,7 +54,35 @@ class LabelSplitter {
 
     private static final Pattern NEWLINE_SPLITTER = Pattern.compile("\\n");
 
+    /** Max number of layouts kept in the cache */
+    static final int MAX_CACHED_LAYOUTS = 512;
+
+    /**
+     * The layouts computed so far, maps often repeat the same labels (road names, place types, house numbers) and
+     * shaping the text is the most expensive part of placing a label, even when the label is then discarded
+     */
+    private final Map<LayoutKey, List<LineInfo>> layouts = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LayoutKey, List<LineInfo>> eldest) {
+            return size() > MAX_CACHED_LAYOUTS;
+        }
+    };
+
+    /**
+     * Lays out the label text. The returned lines are shared with the other labels having the same text and fonts, the
+     * caller can only change their relative positions.
+     */
     public List<LineInfo> layout(LabelCacheItem labelItem, Graphics2D graphics) {
+        LayoutKey key = new LayoutKey(labelItem, graphics.getFontRenderContext());
+        List<LineInfo> lines = layouts.get(key);
+        if (lines == null) {
+            lines = buildLayout(labelItem, graphics);
+            layouts.put(key, lines);
+        }
+        return lines;
+    }
+
+    private List<LineInfo> buildLayout(LabelCacheItem labelItem, Graphics2D graphics) {
         String text = labelItem.getLabel();
         Font[] fonts = labelItem.getTextStyle().getFonts();
 
@@ -284,6 +314,45 @@ GlyphVector layoutSentence(String label, LabelCacheItem item, Graphics2D graphic
         return font.layoutGlyphVector(graphics.getFontRenderContext(), chars, 0, chars.length, 0);
     }
 
+    /** Identifies a layout by the text, the fonts and the label options affecting it */
+    private static class LayoutKey {
+        final String text;
+
+        final List<Font> fonts;
+
+        final int autoWrap;
+
+        final double wordSpacing;
+
+        final FontRenderContext frc;
+
+        LayoutKey(LabelCacheItem item, FontRenderContext frc) {
+            this.text = item.getLabel();
+            this.fonts = Arrays.asList(item.getTextStyle().getFonts());
+            this.autoWrap = item.getAutoWrap();
+            this.wordSpacing = item.getWordSpacing();
+            this.frc = frc;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof LayoutKey)) {
+                return false;
+            }
+            LayoutKey other = (LayoutKey) obj;
+            return autoWrap == other.autoWrap
+                    && Double.compare(wordSpacing, other.wordSpacing) == 0
+                    && text.equals(other.text)
+                    && fonts.equals(other.fonts)
+                    && frc.equals(other.frc);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(text, fonts, autoWrap, wordSpacing, frc);
+        }
+    }
+
     List<FontRange> buildFontRanges(String text, Font[] fonts) {
         if (fonts.length == 1) {
             return Arrays.asList(new FontRange(text, 0, text.length(), fonts[0]));
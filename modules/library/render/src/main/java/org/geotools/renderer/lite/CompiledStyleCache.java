@@ -0,0 +1,152 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.List;
+import org.geotools.api.feature.type.FeatureType;
+import org.geotools.api.filter.expression.Function;
+import org.geotools.api.style.Style;
+import org.geotools.filter.function.EnvFunction;
+import org.geotools.renderer.style.StyleAttributeExtractor;
+
+/**
+ * Caches the styles prepared by {@link StreamingRenderer} for rendering a layer, so that they can be reused by the
+ * following renders at the same scale, including the ones made by other renderer instances. Preparing a style
+ * involves selecting the rules active at the current scale, simplifying their filters against the feature type,
+ * rescaling the symbolizers to pixels, and estimating the rendering buffer and the attributes to be read, which for
+ * small tiles can take a significant share of the rendering time.
+ *
+ * <p>The styles are prepared for a given style and feature type, matched by identity, and for a given scale
+ * denominator and DPI. The cache assumes the styles are not modified once used for rendering, {@link #clear()} has to
+ * be called otherwise. Styles using environment variables are not cached, as their preparation depends on the variable
+ * values. The prepared rules are shared among concurrent renders, as the original style already is.
+ *
+ * <p>The cache is used by setting it as the {@link StreamingRenderer#COMPILED_STYLE_CACHE_KEY} renderer hint. This
+ * class is thread safe.
+ *
+ * @since 34
+ */
+public class CompiledStyleCache {
+
+    /** The default max number of prepared styles kept in the cache */
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private final Cache<Key, List<LiteFeatureTypeStyle>> cache;
+
+    /** Builds a cache holding up to {@link #DEFAULT_MAX_ENTRIES} prepared styles */
+    public CompiledStyleCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    /** Builds a cache holding up to the specified number of prepared styles */
+    public CompiledStyleCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("The max number of entries must be positive: " + maxEntries);
+        }
+        this.cache = CacheBuilder.newBuilder().maximumSize(maxEntries).build();
+    }
+
+    /** Removes all the prepared styles, to be called when styles are modified */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /** Returns the number of prepared styles in the cache */
+    public long size() {
+        return cache.size();
+    }
+
+    List<LiteFeatureTypeStyle> get(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    void put(Key key, List<LiteFeatureTypeStyle> styles) {
+        cache.put(key, styles);
+    }
+
+    /** Returns true if the style uses environment variables, whose values are embedded in the prepared style */
+    static boolean usesEnvVariables(Style style) {
+        boolean[] found = {false};
+        StyleAttributeExtractor envFinder = new StyleAttributeExtractor() {
+            @Override
+            public Object visit(Function expression, Object data) {
+                found[0] |= expression instanceof EnvFunction;
+                return super.visit(expression, data);
+            }
+        };
+        style.accept(envFinder);
+        return found[0];
+    }
+
+    /** Identifies a prepared style */
+    static final class Key {
+
+        final Style style;
+
+        final FeatureType schema;
+
+        final double scaleDenominator;
+
+        final double dpi;
+
+        final double pixelsPerMeter;
+
+        final boolean epsgAxisOrderForced;
+
+        Key(
+                Style style,
+                FeatureType schema,
+                double scaleDenominator,
+                double dpi,
+                double pixelsPerMeter,
+                boolean epsgAxisOrderForced) {
+            this.style = style;
+            this.schema = schema;
+            this.scaleDenominator = scaleDenominator;
+            this.dpi = dpi;
+            this.pixelsPerMeter = pixelsPerMeter;
+            this.epsgAxisOrderForced = epsgAxisOrderForced;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            // styles and feature types are mutable and expensive to compare, match them by identity
+            return style == other.style
+                    && schema == other.schema
+                    && Double.compare(scaleDenominator, other.scaleDenominator) == 0
+                    && Double.compare(dpi, other.dpi) == 0
+                    && Double.compare(pixelsPerMeter, other.pixelsPerMeter) == 0
+                    && epsgAxisOrderForced == other.epsgAxisOrderForced;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(style);
+            result = 31 * result + System.identityHashCode(schema);
+            result = 31 * result + Double.hashCode(scaleDenominator);
+            result = 31 * result + Double.hashCode(dpi);
+            result = 31 * result + Double.hashCode(pixelsPerMeter);
+            return 31 * result + Boolean.hashCode(epsgAxisOrderForced);
+        }
+    }
+}
@@ -0,0 +1,599 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A scanline rasterizer painting solid fills and strokes straight into the pixels of a {@link BufferedImage}, skipping
+ * the generic Java2D pipeline. Shapes are flattened into a packed array of screen space edges, and each row of pixels
+ * is filled by walking the edge crossings, with four sub-scanlines and exact horizontal coverage when antialiasing is
+ * enabled, or sampling the pixel centers otherwise.
+ *
+ * <p>Only plain colors painted with alpha blending, on images of type {@link BufferedImage#TYPE_INT_ARGB},
+ * {@link BufferedImage#TYPE_INT_ARGB_PRE}, {@link BufferedImage#TYPE_INT_RGB} or {@link BufferedImage#TYPE_4BYTE_ABGR}
+ * are supported, with graphics using an integer translation as the transform and a rectangular clip. Strokes must be
+ * solid {@link BasicStroke}s, their outline is computed by the stroke itself and then filled. In all other cases the
+ * methods return false, and the caller is expected to paint through Java2D. The output is close, but not identical, to
+ * the Java2D one.
+ *
+ * <p>Instances keep scratch buffers and are not thread safe, a renderer uses one for each paint.
+ */
+final class DirectRasterizer {
+
+    /** Sub-scanlines sampled for each row of pixels when antialiasing */
+    static final int SUBSAMPLES = 4;
+
+    /** Flatness used to turn curves into segments, in pixels */
+    static final double FLATNESS = 0.25;
+
+    /** Horizontal precision of the crossings, in fractions of pixel */
+    static final int X_PRECISION = 256;
+
+    /** The graphics the renderer has been asked to paint on, and the image it paints onto */
+    final Graphics2D graphics;
+
+    final BufferedImage image;
+
+    /** The pixel data of the images painted so far */
+    final Map<BufferedImage, Target> targets = new IdentityHashMap<>();
+
+    /** The packed edges, as x0, y0, x1, y1 with y0 < y1 */
+    double[] edges = new double[64];
+
+    /** The winding direction of each edge */
+    int[] directions = new int[16];
+
+    int edgeCount;
+
+    /** The edges indexes, grouped by starting row, and the edges crossing the current row */
+    int[] rowEdges = new int[16];
+
+    int[] rowStarts = new int[64];
+
+    int[] active = new int[16];
+
+    /** The crossings of the current sub-scanline, as the quantized x shifted left, and the winding direction bit */
+    long[] crossings = new long[16];
+
+    /** The partial coverage of the pixels in the current row, and the deltas of the fully covered runs */
+    float[] coverage = new float[0];
+
+    float[] runs = new float[0];
+
+    DirectRasterizer(Graphics2D graphics, BufferedImage image) {
+        this.graphics = graphics;
+        this.image = image;
+    }
+
+    /**
+     * Fills the shape with the graphics paint and composite, returns false if that cannot be done by this rasterizer
+     */
+    boolean fill(Graphics2D g, Shape shape) {
+        return rasterize(g, shape, null);
+    }
+
+    /**
+     * Strokes the shape with the graphics stroke, paint and composite, returns false if that cannot be done by this
+     * rasterizer
+     */
+    boolean draw(Graphics2D g, Shape shape) {
+        Stroke stroke = g.getStroke();
+        if (!(stroke instanceof BasicStroke) || ((BasicStroke) stroke).getDashArray() != null) {
+            return false;
+        }
+        // without antialiasing Java2D paints thin lines as connected runs of pixels, not as outlines
+        if (((BasicStroke) stroke).getLineWidth() <= 1 && !isAntialiasing(g)) {
+            return false;
+        }
+        return rasterize(g, shape, stroke);
+    }
+
+    private boolean rasterize(Graphics2D g, Shape shape, Stroke stroke) {
+        Target target = getTarget(g);
+        if (target == null) {
+            return false;
+        }
+        AffineTransform tx = g.getTransform();
+        if ((tx.getType() & ~AffineTransform.TYPE_TRANSLATION) != 0
+                || tx.getTranslateX() != Math.rint(tx.getTranslateX())
+                || tx.getTranslateY() != Math.rint(tx.getTranslateY())) {
+            return false;
+        }
+        Shape clip = g.getClip();
+        if (clip != null && !(clip instanceof Rectangle2D)) {
+            return false;
+        }
+        Paint paint = g.getPaint();
+        Composite composite = g.getComposite();
+        if (!(paint instanceof Color)
+                || !(composite instanceof AlphaComposite)
+                || ((AlphaComposite) composite).getRule() != AlphaComposite.SRC_OVER) {
+            return false;
+        }
+
+        Color color = (Color) paint;
+        float alpha = color.getAlpha() / 255f * ((AlphaComposite) composite).getAlpha();
+        if (alpha == 0) {
+            return true;
+        }
+
+        // the device area that can be painted
+        int dx = (int) tx.getTranslateX();
+        int dy = (int) tx.getTranslateY();
+        Rectangle area = new Rectangle(0, 0, target.image.getWidth(), target.image.getHeight());
+        if (clip != null) {
+            Rectangle deviceClip = clip.getBounds();
+            deviceClip.translate(dx, dy);
+            area = area.intersection(deviceClip);
+        }
+        if (area.isEmpty()) {
+            return true;
+        }
+
+        // like Java2D, move the points to the pixel grid unless pure strokes are requested, antialiased fills excluded
+        boolean antialias = isAntialiasing(g);
+        Object strokeControl = g.getRenderingHint(RenderingHints.KEY_STROKE_CONTROL);
+        boolean normalize =
+                !RenderingHints.VALUE_STROKE_PURE.equals(strokeControl) && (stroke != null || !antialias);
+        if (normalize) {
+            shape = normalize(shape, dx, dy, antialias);
+            dx = 0;
+            dy = 0;
+        }
+        Shape outline = stroke != null ? stroke.createStrokedShape(shape) : shape;
+        PathIterator it = outline.getPathIterator(null, FLATNESS);
+        boolean evenOdd = it.getWindingRule() == PathIterator.WIND_EVEN_ODD;
+        buildEdges(it, dx, dy);
+        if (edgeCount > 0) {
+            fillEdges(target, area, evenOdd, antialias, color.getRGB(), alpha);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the shape translated to the device space, with the points moved to the nearest quarter of pixel, or to
+     * the center of their pixel when antialiasing, as Java2D does
+     */
+    private static Shape normalize(Shape shape, int dx, int dy, boolean antialias) {
+        PathIterator it = shape.getPathIterator(null, FLATNESS);
+        Path2D.Double path = new Path2D.Double(it.getWindingRule());
+        double[] coords = new double[6];
+        while (!it.isDone()) {
+            int type = it.currentSegment(coords);
+            if (type == PathIterator.SEG_CLOSE) {
+                path.closePath();
+            } else {
+                double x = normalize(coords[0] + dx, antialias);
+                double y = normalize(coords[1] + dy, antialias);
+                if (type == PathIterator.SEG_MOVETO) {
+                    path.moveTo(x, y);
+                } else {
+                    path.lineTo(x, y);
+                }
+            }
+            it.next();
+        }
+        return path;
+    }
+
+    private static double normalize(double ordinate, boolean antialias) {
+        return antialias ? Math.floor(ordinate) + 0.5 : Math.floor(ordinate + 0.25) + 0.25;
+    }
+
+    private static boolean isAntialiasing(Graphics2D g) {
+        return RenderingHints.VALUE_ANTIALIAS_ON.equals(g.getRenderingHint(RenderingHints.KEY_ANTIALIASING));
+    }
+
+    /** Returns the pixel data of the image the graphics paints onto, or null if not known or not supported */
+    private Target getTarget(Graphics2D g) {
+        BufferedImage targetImage;
+        if (g == graphics) {
+            targetImage = image;
+        } else if (g instanceof DelayedBackbufferGraphic) {
+            targetImage = ((DelayedBackbufferGraphic) g).image;
+        } else {
+            return null;
+        }
+        if (targetImage == null) {
+            return null;
+        }
+        Target target = targets.get(targetImage);
+        if (target == null) {
+            target = Target.create(targetImage);
+            targets.put(targetImage, target);
+        }
+        return target.type == Target.UNSUPPORTED ? null : target;
+    }
+
+    /** Flattens the path into the packed edges, closing each sub path */
+    private void buildEdges(PathIterator it, int dx, int dy) {
+        edgeCount = 0;
+        double[] coords = new double[6];
+        double startX = 0, startY = 0, lastX = 0, lastY = 0;
+        boolean open = false;
+        while (!it.isDone()) {
+            int type = it.currentSegment(coords);
+            double x = coords[0] + dx;
+            double y = coords[1] + dy;
+            if (type == PathIterator.SEG_MOVETO) {
+                if (open) {
+                    addEdge(lastX, lastY, startX, startY);
+                }
+                startX = lastX = x;
+                startY = lastY = y;
+                open = true;
+            } else if (type == PathIterator.SEG_CLOSE) {
+                addEdge(lastX, lastY, startX, startY);
+                lastX = startX;
+                lastY = startY;
+            } else {
+                // the iterator is flattened, only line segments are left
+                addEdge(lastX, lastY, x, y);
+                lastX = x;
+                lastY = y;
+            }
+            it.next();
+        }
+        if (open) {
+            addEdge(lastX, lastY, startX, startY);
+        }
+    }
+
+    private void addEdge(double x0, double y0, double x1, double y1) {
+        // horizontal edges do not cross any scanline
+        if (y0 == y1 || !Double.isFinite(x0 + y0 + x1 + y1)) {
+            return;
+        }
+        if (edgeCount * 4 + 4 > edges.length) {
+            edges = Arrays.copyOf(edges, edges.length * 2);
+        }
+        if (edgeCount == directions.length) {
+            directions = Arrays.copyOf(directions, directions.length * 2);
+        }
+        int i = edgeCount * 4;
+        if (y0 < y1) {
+            edges[i] = x0;
+            edges[i + 1] = y0;
+            edges[i + 2] = x1;
+            edges[i + 3] = y1;
+            directions[edgeCount] = 1;
+        } else {
+            edges[i] = x1;
+            edges[i + 1] = y1;
+            edges[i + 2] = x0;
+            edges[i + 3] = y0;
+            directions[edgeCount] = -1;
+        }
+        edgeCount++;
+    }
+
+    /** Fills the area enclosed by the edges, blending the color into the target */
+    private void fillEdges(Target target, Rectangle area, boolean evenOdd, boolean antialias, int rgb, float alpha) {
+        int minRow = area.y;
+        int maxRow = area.y + area.height;
+        int rows = maxRow - minRow;
+
+        // group the edges by the row they start at, skipping the ones outside of the area
+        if (rowStarts.length < rows + 2) {
+            rowStarts = new int[rows + 2];
+        } else {
+            Arrays.fill(rowStarts, 0, rows + 2, 0);
+        }
+        if (rowEdges.length < edgeCount) {
+            rowEdges = new int[edgeCount];
+        }
+        for (int e = 0; e < edgeCount; e++) {
+            int row = startRow(e, minRow, maxRow);
+            if (row >= 0) {
+                rowStarts[row - minRow + 2]++;
+            }
+        }
+        for (int r = 2; r < rows + 2; r++) {
+            rowStarts[r] += rowStarts[r - 1];
+        }
+        for (int e = 0; e < edgeCount; e++) {
+            int row = startRow(e, minRow, maxRow);
+            if (row >= 0) {
+                rowEdges[rowStarts[row - minRow + 1]++] = e;
+            }
+        }
+        // rowStarts[r] is now the start of the edges of row minRow + r
+
+        int width = area.width;
+        if (coverage.length < width + 1) {
+            coverage = new float[width + 1];
+            runs = new float[width + 1];
+        }
+        if (active.length < edgeCount) {
+            active = new int[edgeCount];
+        }
+        int activeCount = 0;
+        int samples = antialias ? SUBSAMPLES : 1;
+        float weight = 1f / samples;
+        double minX = area.x;
+        double maxX = area.x + width;
+        for (int row = minRow; row < maxRow; row++) {
+            int r = row - minRow;
+            for (int i = rowStarts[r]; i < rowStarts[r + 1]; i++) {
+                active[activeCount++] = rowEdges[i];
+            }
+            if (activeCount == 0) {
+                continue;
+            }
+
+            int touchedMin = Integer.MAX_VALUE;
+            int touchedMax = Integer.MIN_VALUE;
+            for (int s = 0; s < samples; s++) {
+                double y = row + (s + 0.5) / samples;
+                int count = 0;
+                for (int a = 0; a < activeCount; a++) {
+                    int e = active[a];
+                    int i = e * 4;
+                    double y0 = edges[i + 1];
+                    double y1 = edges[i + 3];
+                    if (y < y0 || y >= y1) {
+                        continue;
+                    }
+                    double x = edges[i] + (y - y0) * (edges[i + 2] - edges[i]) / (y1 - y0);
+                    // the area starts at a positive x, the crossings can be sorted as positive longs
+                    x = Math.max(minX, Math.min(maxX, x));
+                    if (count == crossings.length) {
+                        crossings = Arrays.copyOf(crossings, count * 2);
+                    }
+                    crossings[count++] = Math.round(x * X_PRECISION) << 1 | (directions[e] > 0 ? 1 : 0);
+                }
+                if (count < 2) {
+                    continue;
+                }
+                Arrays.sort(crossings, 0, count);
+
+                // walk the crossings, accumulating the coverage of the inside spans
+                int winding = 0;
+                double spanStart = 0;
+                for (int c = 0; c < count; c++) {
+                    long crossing = crossings[c];
+                    boolean wasInside = winding != 0;
+                    if (evenOdd) {
+                        winding ^= 1;
+                    } else {
+                        winding += (crossing & 1) == 1 ? 1 : -1;
+                    }
+                    double x = (double) (crossing >> 1) / X_PRECISION;
+                    if (!wasInside && winding != 0) {
+                        spanStart = x;
+                    } else if (wasInside && winding == 0 && x > spanStart) {
+                        int from, to;
+                        if (antialias) {
+                            from = (int) Math.floor(spanStart) - area.x;
+                            to = (int) Math.ceil(x) - area.x;
+                            addCoverage(spanStart - area.x, x - area.x, weight);
+                        } else {
+                            // pixels whose center is inside the span
+                            from = (int) Math.ceil(spanStart - 0.5) - area.x;
+                            to = (int) Math.ceil(x - 0.5) - area.x;
+                            if (from >= to) {
+                                continue;
+                            }
+                            runs[from] += 1;
+                            runs[to] -= 1;
+                        }
+                        touchedMin = Math.min(touchedMin, from);
+                        touchedMax = Math.max(touchedMax, to);
+                    }
+                }
+            }
+
+            if (touchedMin <= touchedMax) {
+                target.blendRow(row, area.x, coverage, runs, touchedMin, Math.min(touchedMax, width), rgb, alpha);
+            }
+
+            // drop the edges ending in this row
+            int kept = 0;
+            for (int a = 0; a < activeCount; a++) {
+                int e = active[a];
+                if (edges[e * 4 + 3] > row + 1) {
+                    active[kept++] = e;
+                }
+            }
+            activeCount = kept;
+        }
+    }
+
+    /** Returns the first row whose samples can cross the edge, or -1 if none in the area */
+    private int startRow(int e, int minRow, int maxRow) {
+        double y0 = edges[e * 4 + 1];
+        double y1 = edges[e * 4 + 3];
+        if (y1 <= minRow || y0 >= maxRow) {
+            return -1;
+        }
+        return Math.max(minRow, (int) Math.floor(y0));
+    }
+
+    /** Adds the coverage of the span [from, to), in pixels relative to the row start, sampled with the given weight */
+    private void addCoverage(double from, double to, float weight) {
+        int first = (int) Math.floor(from);
+        int last = (int) Math.floor(to);
+        if (first == last) {
+            coverage[first] += (float) ((to - from) * weight);
+            return;
+        }
+        coverage[first] += (float) ((first + 1 - from) * weight);
+        runs[first + 1] += weight;
+        runs[last] -= weight;
+        coverage[last] += (float) ((to - last) * weight);
+    }
+
+    /** The pixel data of an image, with the methods to blend a color into it */
+    static final class Target {
+
+        static final int UNSUPPORTED = -1;
+
+        final BufferedImage image;
+
+        final int type;
+
+        final int[] ints;
+
+        final byte[] bytes;
+
+        /** Offset of the first pixel and distance between rows, in array elements */
+        final int offset;
+
+        final int stride;
+
+        private Target(BufferedImage image, int type, int[] ints, byte[] bytes, int offset, int stride) {
+            this.image = image;
+            this.type = type;
+            this.ints = ints;
+            this.bytes = bytes;
+            this.offset = offset;
+            this.stride = stride;
+        }
+
+        static Target create(BufferedImage image) {
+            int type = image.getType();
+            WritableRaster raster = image.getRaster();
+            DataBuffer buffer = raster.getDataBuffer();
+            int tx = raster.getSampleModelTranslateX();
+            int ty = raster.getSampleModelTranslateY();
+            if (type == BufferedImage.TYPE_INT_ARGB
+                    || type == BufferedImage.TYPE_INT_ARGB_PRE
+                    || type == BufferedImage.TYPE_INT_RGB) {
+                SinglePixelPackedSampleModel sm = (SinglePixelPackedSampleModel) raster.getSampleModel();
+                int stride = sm.getScanlineStride();
+                int offset = buffer.getOffset() + sm.getOffset(-tx, -ty);
+                return new Target(image, type, ((DataBufferInt) buffer).getData(), null, offset, stride);
+            } else if (type == BufferedImage.TYPE_4BYTE_ABGR) {
+                ComponentSampleModel sm = (ComponentSampleModel) raster.getSampleModel();
+                int stride = sm.getScanlineStride();
+                // the alpha band comes first in each pixel
+                int offset = buffer.getOffset() + sm.getOffset(-tx, -ty, 3);
+                return new Target(image, type, null, ((DataBufferByte) buffer).getData(), offset, stride);
+            }
+            return new Target(image, UNSUPPORTED, null, null, 0, 0);
+        }
+
+        /**
+         * Blends the color into the row pixels between from and to, relative to x, resetting the coverage buffers
+         * along the way
+         */
+        void blendRow(int y, int x, float[] coverage, float[] runs, int from, int to, int rgb, float alpha) {
+            int red = (rgb >> 16) & 0xFF;
+            int green = (rgb >> 8) & 0xFF;
+            int blue = rgb & 0xFF;
+            float run = 0;
+            for (int i = from; i <= to; i++) {
+                run += runs[i];
+                float cover = Math.min(1f, run + coverage[i]);
+                runs[i] = 0;
+                coverage[i] = 0;
+                if (i == to || cover <= 0) {
+                    // the last position holds only the run end
+                    continue;
+                }
+                int sa = (int) (alpha * cover * 255 + 0.5f);
+                if (sa > 0) {
+                    blendPixel(x + i, y, red, green, blue, sa);
+                }
+            }
+        }
+
+        private void blendPixel(int x, int y, int red, int green, int blue, int sa) {
+            int inv = 255 - sa;
+            if (type == BufferedImage.TYPE_4BYTE_ABGR) {
+                int i = offset + y * stride + x * 4;
+                if (sa == 255) {
+                    bytes[i] = (byte) 255;
+                    bytes[i + 1] = (byte) blue;
+                    bytes[i + 2] = (byte) green;
+                    bytes[i + 3] = (byte) red;
+                    return;
+                }
+                int da = bytes[i] & 0xFF;
+                int outA = sa * 255 + da * inv;
+                if (outA == 0) {
+                    return;
+                }
+                bytes[i] = (byte) div255(outA);
+                bytes[i + 1] = (byte) unpremultiply(blue, bytes[i + 1] & 0xFF, sa, da, inv, outA);
+                bytes[i + 2] = (byte) unpremultiply(green, bytes[i + 2] & 0xFF, sa, da, inv, outA);
+                bytes[i + 3] = (byte) unpremultiply(red, bytes[i + 3] & 0xFF, sa, da, inv, outA);
+                return;
+            }
+
+            int i = offset + y * stride + x;
+            if (sa == 255) {
+                ints[i] = 0xFF000000 | red << 16 | green << 8 | blue;
+                return;
+            }
+            int d = ints[i];
+            int da = type == BufferedImage.TYPE_INT_RGB ? 255 : d >>> 24;
+            int dr = (d >> 16) & 0xFF;
+            int dg = (d >> 8) & 0xFF;
+            int db = d & 0xFF;
+            if (type == BufferedImage.TYPE_INT_ARGB) {
+                int outA = sa * 255 + da * inv;
+                if (outA == 0) {
+                    return;
+                }
+                ints[i] = div255(outA) << 24
+                        | unpremultiply(red, dr, sa, da, inv, outA) << 16
+                        | unpremultiply(green, dg, sa, da, inv, outA) << 8
+                        | unpremultiply(blue, db, sa, da, inv, outA);
+            } else {
+                // premultiplied, or opaque, destination
+                ints[i] = div255(sa * 255 + da * inv) << 24
+                        | div255(red * sa + dr * inv) << 16
+                        | div255(green * sa + dg * inv) << 8
+                        | div255(blue * sa + db * inv);
+            }
+        }
+
+        /** Blends a non premultiplied component, outA being the output alpha scaled by 255 */
+        private static int unpremultiply(int source, int dest, int sa, int da, int inv, int outA) {
+            return Math.min(255, (source * sa * 255 + dest * da * inv + outA / 2) / outA);
+        }
+
+        private static int div255(int value) {
+            return (value + 127) / 255;
+        }
+    }
+}
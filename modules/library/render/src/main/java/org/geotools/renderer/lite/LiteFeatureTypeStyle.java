@@ -19,12 +19,15 @@
 import java.awt.Composite;
 import java.awt.Graphics2D;
 import java.util.List;
+import org.geotools.api.filter.Filter;
 import org.geotools.api.filter.expression.Expression;
 import org.geotools.api.filter.sort.SortBy;
 import org.geotools.api.style.Rule;
 import org.geotools.data.util.ScreenMap;
+import org.geotools.filter.FilterCompiler;
 import org.geotools.map.Layer;
 import org.geotools.renderer.crs.ProjectionHandler;
+import org.geotools.renderer.style.StyleAttributeExtractor;
 
 /**
  * This is a simple class that contains the information needed to render a layer.
@@ -76,6 +79,12 @@ final class LiteFeatureTypeStyle {
     /** The bit map used to decide whether to skip geometries that have been already drawn */
     ScreenMap screenMap;
 
+    /**
+     * When true, point features sitting on a pixel already marked in the screen map are skipped before evaluating the
+     * rules (the style only contains point symbolizers)
+     */
+    boolean screenMapPoints;
+
     /**
      * Whether the feature should be generalized in memory, or not (in this case, the store did it for us). True by
      * default
@@ -91,6 +100,19 @@ final class LiteFeatureTypeStyle {
     /** The meta buffer for the current layer */
     int metaBuffer;
 
+    /**
+     * The rendering buffer estimate and the attributes used by the rules, computed once for the styles kept in a
+     * {@link CompiledStyleCache}, null otherwise
+     */
+    MetaBufferEstimator bufferEstimate;
+
+    StyleAttributeExtractor attributeExtractor;
+
+    /** The compiled filters of the rules, and the rule filters they have been compiled from */
+    private Filter[] compiledFilters;
+
+    private Filter[] sourceFilters;
+
     /**
      * use this for only the 1st FTS. We don't actually create an image for it -- we just use the graphics. WATCH OUT
      * FOR THIS. NOTE: image=null in this case
@@ -103,4 +125,39 @@ public LiteFeatureTypeStyle(
         this.elseRules = elseRuleList.toArray(new Rule[elseRuleList.size()]);
         this.transformation = transformation;
     }
+
+    /**
+     * Creates a style for a new render out of a prepared one, possibly shared with other renders. The rule arrays are
+     * copied, as the renderer replaces their rules while optimizing them.
+     */
+    LiteFeatureTypeStyle(LiteFeatureTypeStyle prepared, Layer layer, Graphics2D graphics) {
+        this.layer = layer;
+        this.graphics = graphics;
+        this.ruleList = prepared.ruleList.clone();
+        this.elseRules = prepared.elseRules == null ? null : prepared.elseRules.clone();
+        this.transformation = prepared.transformation;
+        this.composite = prepared.composite;
+        this.sortBy = prepared.sortBy;
+        this.rtOversample = prepared.rtOversample;
+        this.matchFirst = prepared.matchFirst;
+        this.bufferEstimate = prepared.bufferEstimate;
+        this.attributeExtractor = prepared.attributeExtractor;
+    }
+
+    /**
+     * Returns the filter of the rule at the given position in {@link #ruleList}, compiled for the repeated evaluation
+     * against the features of the layer. The filter is compiled again if the rule, or its filter, got replaced.
+     */
+    Filter getRuleFilter(int index) {
+        if (compiledFilters == null || compiledFilters.length != ruleList.length) {
+            compiledFilters = new Filter[ruleList.length];
+            sourceFilters = new Filter[ruleList.length];
+        }
+        Filter filter = ruleList[index].getFilter();
+        if (sourceFilters[index] != filter) {
+            sourceFilters[index] = filter;
+            compiledFilters[index] = FilterCompiler.compile(filter);
+        }
+        return compiledFilters[index];
+    }
 }
@@ -0,0 +1,360 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import org.geotools.renderer.style.MarkStyle2D;
+
+/**
+ * An atlas of pre-rasterized point symbols. Marks, and rotated external graphics, are painted once for each distinct
+ * combination of shape, size, rotation, colors, opacity and sub-pixel position into shared sprite sheets, and then
+ * copied onto the target graphics at each point, instead of filling and stroking the mark shape, or resampling the
+ * image, over and over.
+ *
+ * <p>The sprites are painted on sub-pixel positions rounded to a quarter of pixel, and rotations rounded to one
+ * degree, so the output can differ slightly from the one of direct painting. Symbols are painted directly, without
+ * the atlas, when the target graphics is not using a plain integer translation as its transform, when they use
+ * paints other than plain colors, compositions other than alpha blending, or when they are too large to fit a sprite.
+ *
+ * <p>The atlas is used by setting it as the {@link StreamingRenderer#MARK_ATLAS_KEY} renderer hint, and can be shared
+ * among renderers. When the sheets are full, the atlas starts over with new ones. This class is thread safe.
+ *
+ * @since 34
+ */
+public class MarkAtlas {
+
+    /** The default size of the sprite sheets */
+    public static final int DEFAULT_SHEET_SIZE = 1024;
+
+    /** The default max number of sprite sheets */
+    public static final int DEFAULT_MAX_SHEETS = 4;
+
+    /** Sub-pixel positions are rounded to 1/SUBPIXEL_STEPS of pixel */
+    static final int SUBPIXEL_STEPS = 4;
+
+    /** Rotations are rounded to multiples of this angle, in radians */
+    static final double ROTATION_STEP = Math.toRadians(1);
+
+    /** The target graphics hints affecting how the symbols are painted */
+    private static final RenderingHints.Key[] SPRITE_HINTS = {
+        RenderingHints.KEY_ANTIALIASING, RenderingHints.KEY_STROKE_CONTROL, RenderingHints.KEY_RENDERING
+    };
+
+    /** Marker for the symbols that cannot be painted through the atlas, never stored in the sprites map */
+    private static final Sprite NOT_CACHEABLE = new Sprite(null, 0, 0, 0, 0, 0, 0);
+
+    private final int sheetSize;
+
+    private final int maxSheets;
+
+    private final int maxSpriteSize;
+
+    private volatile Map<List<Object>, Sprite> sprites = new ConcurrentHashMap<>();
+
+    private final List<BufferedImage> sheets = new ArrayList<>();
+
+    /** Position of the next sprite in the last sheet, and height of the current row of sprites */
+    private int cursorX, cursorY, rowHeight;
+
+    /** Builds an atlas with up to {@link #DEFAULT_MAX_SHEETS} sheets of {@link #DEFAULT_SHEET_SIZE} pixels */
+    public MarkAtlas() {
+        this(DEFAULT_SHEET_SIZE, DEFAULT_MAX_SHEETS);
+    }
+
+    /** Builds an atlas with up to the specified number of square sheets of the given size */
+    public MarkAtlas(int sheetSize, int maxSheets) {
+        if (sheetSize <= 0 || maxSheets <= 0) {
+            throw new IllegalArgumentException(
+                    "Sheet size and max number of sheets must be positive: " + sheetSize + ", " + maxSheets);
+        }
+        this.sheetSize = sheetSize;
+        this.maxSheets = maxSheets;
+        this.maxSpriteSize = Math.max(sheetSize / 4, 1);
+    }
+
+    /** Removes all the sprites */
+    public synchronized void clear() {
+        sprites = new ConcurrentHashMap<>();
+        sheets.clear();
+    }
+
+    /** Returns the number of symbols painted in the sheets */
+    public int size() {
+        return sprites.size();
+    }
+
+    /**
+     * Paints the mark at the given position, returns false if the mark cannot be painted through the atlas, in which
+     * case nothing has been painted
+     */
+    boolean paintMark(Graphics2D graphics, MarkStyle2D style, double x, double y) {
+        if (!isIntegerTranslation(graphics)) {
+            return false;
+        }
+        Paint fill = style.getFill();
+        Paint contour = style.getContour();
+        Composite fillComposite = fill != null ? style.getFillComposite() : null;
+        Composite contourComposite = contour != null ? style.getContourComposite() : null;
+        if (fill == null && contour == null
+                || !isPlainColor(fill)
+                || !isPlainColor(contour)
+                || fill != null && !isAlphaBlending(fillComposite)
+                || contour != null && !isAlphaBlending(contourComposite)
+                || style.getShape() == null
+                || style.getSize() > maxSpriteSize) {
+            // marks are normalized to a unit size, too large ones are not worth building a key for
+            return false;
+        }
+
+        long qx = Math.round(x * SUBPIXEL_STEPS);
+        long qy = Math.round(y * SUBPIXEL_STEPS);
+        float fx = (float) Math.floorMod(qx, SUBPIXEL_STEPS) / SUBPIXEL_STEPS;
+        float fy = (float) Math.floorMod(qy, SUBPIXEL_STEPS) / SUBPIXEL_STEPS;
+        float rotation = (float) roundRotation(style.getRotation());
+        Stroke stroke = contour != null ? style.getStroke() : null;
+        List<Object> key = Arrays.asList(
+                style.getShape(), // paths do not override equals, they are matched by identity
+                style.getSize(),
+                rotation,
+                style.getDisplacementX(),
+                style.getDisplacementY(),
+                style.getAnchorPointX(),
+                style.getAnchorPointY(),
+                fill,
+                fillComposite,
+                contour,
+                contourComposite,
+                stroke,
+                fx,
+                fy,
+                graphics.getRenderingHint(RenderingHints.KEY_ANTIALIASING),
+                graphics.getRenderingHint(RenderingHints.KEY_STROKE_CONTROL),
+                graphics.getRenderingHint(RenderingHints.KEY_RENDERING));
+        Sprite sprite = sprites.get(key);
+        if (sprite == null) {
+            Shape shape = style.getTransformedShape(fx, fy, 0, rotation);
+            Rectangle2D bounds = shape.getBounds2D();
+            if (stroke != null) {
+                bounds.add(stroke.createStrokedShape(shape).getBounds2D());
+            }
+            sprite = addSprite(key, bounds, graphics, g -> {
+                if (fill != null) {
+                    g.setPaint(fill);
+                    g.setComposite(fillComposite);
+                    g.fill(shape);
+                }
+                if (contour != null) {
+                    g.setPaint(contour);
+                    g.setStroke(stroke);
+                    g.setComposite(contourComposite);
+                    g.draw(shape);
+                }
+            });
+        }
+        return blit(graphics, sprite, qx, qy);
+    }
+
+    /**
+     * Paints the image at the given position, displacement and rotation, as done by {@link StyledShapePainter}, returns
+     * false if the image cannot be painted through the atlas, in which case nothing has been painted
+     */
+    boolean paintImage(
+            Graphics2D graphics,
+            BufferedImage image,
+            double x,
+            double y,
+            double dx,
+            double dy,
+            double rotation,
+            Composite composite) {
+        if (!isIntegerTranslation(graphics)
+                || !isAlphaBlending(composite)
+                || image.getWidth() > maxSpriteSize
+                || image.getHeight() > maxSpriteSize) {
+            return false;
+        }
+
+        long qx = Math.round(x * SUBPIXEL_STEPS);
+        long qy = Math.round(y * SUBPIXEL_STEPS);
+        double fx = (double) Math.floorMod(qx, SUBPIXEL_STEPS) / SUBPIXEL_STEPS;
+        double fy = (double) Math.floorMod(qy, SUBPIXEL_STEPS) / SUBPIXEL_STEPS;
+        double roundedRotation = roundRotation(rotation);
+        List<Object> key = Arrays.asList(
+                image, // images do not override equals, this is an identity match
+                dx,
+                dy,
+                roundedRotation,
+                composite,
+                fx,
+                fy,
+                graphics.getRenderingHint(RenderingHints.KEY_ANTIALIASING),
+                graphics.getRenderingHint(RenderingHints.KEY_RENDERING));
+        Sprite sprite = sprites.get(key);
+        if (sprite == null) {
+            AffineTransform at = new AffineTransform();
+            at.translate(fx, fy);
+            at.rotate(roundedRotation);
+            at.translate(dx, dy);
+            Rectangle2D bounds = at.createTransformedShape(
+                            new Rectangle2D.Double(0, 0, image.getWidth(), image.getHeight()))
+                    .getBounds2D();
+            sprite = addSprite(key, bounds, graphics, g -> {
+                g.setComposite(composite);
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.drawRenderedImage(image, at);
+            });
+        }
+        return blit(graphics, sprite, qx, qy);
+    }
+
+    /** Copies the sprite onto the graphics, at the given position expressed in 1/SUBPIXEL_STEPS of pixel */
+    private boolean blit(Graphics2D graphics, Sprite sprite, long qx, long qy) {
+        if (sprite == NOT_CACHEABLE) {
+            return false;
+        }
+        int x = (int) Math.floorDiv(qx, SUBPIXEL_STEPS) + sprite.offsetX;
+        int y = (int) Math.floorDiv(qy, SUBPIXEL_STEPS) + sprite.offsetY;
+        graphics.setComposite(AlphaComposite.SrcOver);
+        graphics.drawImage(
+                sprite.sheet,
+                x,
+                y,
+                x + sprite.width,
+                y + sprite.height,
+                sprite.x,
+                sprite.y,
+                sprite.x + sprite.width,
+                sprite.y + sprite.height,
+                null);
+        return true;
+    }
+
+    /**
+     * Allocates room for the symbol in the sheets and paints it there, the bounds are the ones of the symbol painted
+     * around the origin, at the sub-pixel offset contained in the key
+     */
+    private synchronized Sprite addSprite(
+            List<Object> key, Rectangle2D bounds, Graphics2D target, Consumer<Graphics2D> painter) {
+        Sprite sprite = sprites.get(key);
+        if (sprite != null) {
+            return sprite;
+        }
+
+        // one extra pixel on each side for antialiasing
+        int offsetX = (int) Math.floor(bounds.getMinX()) - 1;
+        int offsetY = (int) Math.floor(bounds.getMinY()) - 1;
+        int width = (int) Math.ceil(bounds.getMaxX()) + 1 - offsetX;
+        int height = (int) Math.ceil(bounds.getMaxY()) + 1 - offsetY;
+        if (bounds.isEmpty() || width > maxSpriteSize || height > maxSpriteSize) {
+            // not remembered, as keys that use no sheet space would pile up without ever triggering a start over
+            return NOT_CACHEABLE;
+        }
+
+        if (!sheets.isEmpty() && cursorX + width > sheetSize) {
+            // start a new row
+            cursorX = 0;
+            cursorY += rowHeight;
+            rowHeight = 0;
+        }
+        if (sheets.isEmpty() || cursorY + height > sheetSize) {
+            if (sheets.size() == maxSheets) {
+                // start over, renders still painting sprites hold a reference to the old sheets
+                sprites = new ConcurrentHashMap<>();
+                sheets.clear();
+            }
+            sheets.add(new BufferedImage(sheetSize, sheetSize, BufferedImage.TYPE_INT_ARGB_PRE));
+            cursorX = 0;
+            cursorY = 0;
+            rowHeight = 0;
+        }
+        BufferedImage sheet = sheets.get(sheets.size() - 1);
+        sprite = new Sprite(sheet, cursorX, cursorY, width, height, offsetX, offsetY);
+        cursorX += width;
+        rowHeight = Math.max(rowHeight, height);
+
+        Graphics2D g = sheet.createGraphics();
+        try {
+            for (RenderingHints.Key hint : SPRITE_HINTS) {
+                Object value = target.getRenderingHint(hint);
+                if (value != null) {
+                    g.setRenderingHint(hint, value);
+                }
+            }
+            g.clipRect(sprite.x, sprite.y, width, height);
+            g.translate(sprite.x - offsetX, sprite.y - offsetY);
+            painter.accept(g);
+        } finally {
+            g.dispose();
+        }
+        // publishing through the concurrent map makes the painted pixels visible to the other threads
+        sprites.put(key, sprite);
+        return sprite;
+    }
+
+    private static double roundRotation(double rotation) {
+        return Math.round(rotation / ROTATION_STEP) * ROTATION_STEP;
+    }
+
+    private static boolean isIntegerTranslation(Graphics2D graphics) {
+        AffineTransform tx = graphics.getTransform();
+        return (tx.getType() & ~AffineTransform.TYPE_TRANSLATION) == 0
+                && tx.getTranslateX() == Math.rint(tx.getTranslateX())
+                && tx.getTranslateY() == Math.rint(tx.getTranslateY());
+    }
+
+    private static boolean isPlainColor(Paint paint) {
+        return paint == null || paint instanceof Color;
+    }
+
+    private static boolean isAlphaBlending(Composite composite) {
+        return composite instanceof AlphaComposite && ((AlphaComposite) composite).getRule() == AlphaComposite.SRC_OVER;
+    }
+
+    /** A symbol painted in a sheet, with the offset of its top left corner from the symbol position */
+    static final class Sprite {
+
+        final BufferedImage sheet;
+
+        final int x, y, width, height, offsetX, offsetY;
+
+        Sprite(BufferedImage sheet, int x, int y, int width, int height, int offsetX, int offsetY) {
+            this.sheet = sheet;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.style.TextSymbolizer;
+import org.geotools.geometry.jts.LiteShape2;
+import org.geotools.util.NumberRange;
+
+/**
+ * A label cache that does not perform any labelling, but records the labels and reserved areas it receives, so that
+ * they can be replayed later, in order, against the actual label cache. Used by the parallel layer rendering, where
+ * each layer is rendered by its own renderer, but labels have to be resolved once for the whole map.
+ */
+final class RecordingLabelCache implements LabelCache {
+
+    /** A recorded {@link LabelCache#put(String, TextSymbolizer, Feature, LiteShape2, NumberRange)} call */
+    private static final class LabelRecord {
+        final TextSymbolizer symbolizer;
+        final Feature feature;
+        final LiteShape2 shape;
+        final NumberRange<Double> scaleRange;
+
+        LabelRecord(TextSymbolizer symbolizer, Feature feature, LiteShape2 shape, NumberRange<Double> scaleRange) {
+            this.symbolizer = symbolizer;
+            this.feature = feature;
+            this.shape = shape;
+            this.scaleRange = scaleRange;
+        }
+    }
+
+    private final List<LabelRecord> labels = new ArrayList<>();
+
+    private final List<Rectangle2D> reserved = new ArrayList<>();
+
+    /**
+     * Replays the recorded labels and reserved areas against the target cache, associating the labels to the specified
+     * layer, and then clears the recorded state.
+     */
+    public synchronized void replay(LabelCache target, String layerId) {
+        for (Rectangle2D area : reserved) {
+            target.put(area);
+        }
+        for (LabelRecord label : labels) {
+            target.put(layerId, label.symbolizer, label.feature, label.shape, label.scaleRange);
+        }
+        clear();
+    }
+
+    @Override
+    public synchronized void put(
+            String layerId,
+            TextSymbolizer symbolizer,
+            Feature feature,
+            LiteShape2 shape,
+            NumberRange<Double> scaleRange) {
+        labels.add(new LabelRecord(symbolizer, feature, shape, scaleRange));
+    }
+
+    @Override
+    public synchronized void put(Rectangle2D area) {
+        reserved.add(area);
+    }
+
+    @Override
+    public synchronized void clear() {
+        labels.clear();
+        reserved.clear();
+    }
+
+    @Override
+    public void start() {
+        // nothing to do, the target cache lifecycle is managed by the parent renderer
+    }
+
+    @Override
+    public void startLayer(String layerId) {
+        // nothing to do
+    }
+
+    @Override
+    public void endLayer(String layerId, Graphics2D graphics, Rectangle displayArea) {
+        // nothing to do
+    }
+
+    @Override
+    public void end(Graphics2D graphics, Rectangle displayArea) {
+        // nothing to do, labels are painted by the parent renderer
+    }
+
+    @Override
+    public void stop() {
+        // nothing to do
+    }
+
+    @Override
+    public void clear(String layerId) {
+        // there is a single layer, clear it all
+        clear();
+    }
+
+    @Override
+    public void disableLayer(String layerId) {
+        // nothing to do
+    }
+
+    @Override
+    public void enableLayer(String layerId) {
+        // nothing to do
+    }
+
+    @Override
+    public List orderedLabels() {
+        return Collections.emptyList();
+    }
+}
@@ -24,11 +24,13 @@
 import java.awt.Color;
 import java.awt.Composite;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.Paint;
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.RenderingHints.Key;
 import java.awt.Shape;
+import java.awt.Transparency;
 import java.awt.font.GlyphVector;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.NoninvertibleTransformException;
@@ -43,6 +45,7 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -50,7 +53,10 @@
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -139,6 +145,7 @@
 import org.geotools.referencing.operation.LinearTransform;
 import org.geotools.referencing.operation.matrix.XAffineTransform;
 import org.geotools.referencing.operation.transform.AffineTransform2D;
+import org.geotools.referencing.operation.transform.ApproximateTransform2D;
 import org.geotools.referencing.operation.transform.ConcatenatedTransform;
 import org.geotools.referencing.operation.transform.ProjectiveTransform;
 import org.geotools.referencing.operation.transform.WarpBuilder;
@@ -149,6 +156,7 @@
 import org.geotools.renderer.crs.WrappingProjectionHandler;
 import org.geotools.renderer.label.LabelCacheImpl;
 import org.geotools.renderer.label.LabelCacheImpl.LabelRenderingMode;
+import org.geotools.renderer.label.LabelPlacementCache;
 import org.geotools.renderer.lite.gridcoverage2d.GridCoverageRenderer;
 import org.geotools.renderer.style.LineStyle2D;
 import org.geotools.renderer.style.MarkAlongLine;
@@ -341,6 +349,33 @@ public class StreamingRenderer implements GTRenderer {
      */
     public static final String OPTIMIZE_FTS_RENDERING_KEY = "optimizeFTSRendering";
 
+    /**
+     * Boolean flag controlling a memory/speed trade off related to how multiple layers are rendered.
+     *
+     * <p>When enabled each layer is read, transformed and painted in its own back buffer, using a separate thread taken
+     * from the layer thread pool (see {@link #setLayerThreadPool(ExecutorService)}), and the back buffers are then
+     * merged in the original layer order. Labels are still resolved once for the whole map. Layers drawing directly on
+     * the graphics, z-ordered layer groups and layers using composition are still rendered sequentially.
+     *
+     * <p>When disabled (by default) layers are read and painted one after the other.
+     */
+    public static final String PARALLEL_LAYER_RENDERING_KEY = "parallelLayerRendering";
+
+    /**
+     * Boolean flag enabling the screenmap optimization for point layers.
+     *
+     * <p>When enabled, feature type styles made only of point symbolizers against the default geometry will skip point
+     * features falling on a pixel that has already been painted, before evaluating rules and building the shapes to be
+     * painted. The screenmap is expanded by the symbol footprint (the meta buffer) so that tiles skip the same points
+     * along their borders. The screenmap is also handed down to the stores supporting {@link Hints#SCREENMAP}, allowing
+     * them to skip decoding the covered features altogether. Dense point layers are then painted in a time proportional
+     * to the number of pixels, rather than to the number of features.
+     *
+     * <p>When disabled (by default) each point is painted, which might give different results when overlapping points
+     * are painted with different symbols.
+     */
+    public static final String SCREENMAP_POINTS_KEY = "screenMapPoints";
+
     /**
      * Enables advanced reprojection handling. Geometries will be sliced to fit into the area of definition of the
      * rendering projection.
@@ -377,7 +412,43 @@ public class StreamingRenderer implements GTRenderer {
 
     private static boolean DATELINE_WRAPPING_HEURISTIC_DEFAULT = true;
 
+    /**
+     * Tolerance in pixels, as a {@link Number}, for the approximation of the reprojection of vector data. When set, the
+     * transform from the data CRS to the map CRS is replaced by an {@link ApproximateTransform2D} interpolating it over
+     * an adaptive grid covering the map extent, much cheaper for each vertex. Disabled by default, each vertex is then
+     * reprojected exactly.
+     */
+    public static final String APPROXIMATE_TRANSFORM_TOLERANCE_KEY = "approximateTransformTolerance";
+
     public static final String LABEL_CACHE_KEY = "labelCache";
+
+    /**
+     * A {@link org.geotools.renderer.label.LabelPlacementCache} sharing the label placements among the renders of
+     * neighbouring areas at the same scale, such as the tiles of a tiled map, so that labels crossing the tile borders
+     * are painted whole. Used only along with a {@link LabelCacheImpl}, not set by default.
+     */
+    public static final String LABEL_PLACEMENT_CACHE_KEY = "labelPlacementCache";
+
+    /**
+     * A {@link CompiledStyleCache} keeping the styles prepared for rendering, so that the renders at the same scale can
+     * skip the preparation, even across renderer instances. Not set by default, styles are then prepared at each
+     * render.
+     */
+    public static final String COMPILED_STYLE_CACHE_KEY = "compiledStyleCache";
+
+    /**
+     * A {@link MarkAtlas} used to paint marks and rotated external graphics by copying pre-painted sprites, instead of
+     * painting them at each point. Not set by default, as the sprites are placed with a quarter of pixel accuracy.
+     */
+    public static final String MARK_ATLAS_KEY = "markAtlas";
+
+    /**
+     * The {@link BufferedImage} the graphics passed to the paint methods is drawing onto. When set, solid fills and
+     * strokes are rasterized straight into the image pixels, falling back on Java2D for dashes, non solid paints,
+     * compositions other than alpha blending, non rectangular clips and unsupported image types. Not set by default.
+     */
+    public static final String DIRECT_RASTER_TARGET_KEY = "directRasterTarget";
+
     public static final String FORCE_EPSG_AXIS_ORDER_KEY = "ForceEPSGAxisOrder";
     public static final String DPI_KEY = "dpi";
     public static final String DECLARED_SCALE_DENOM_KEY = "declaredScaleDenominator";
@@ -413,6 +484,12 @@ public class StreamingRenderer implements GTRenderer {
 
     private PainterThread painterThread;
 
+    /** The thread pool used to render layers in parallel, see {@link #PARALLEL_LAYER_RENDERING_KEY} */
+    private ExecutorService layerThreadPool;
+
+    /** The layers being rendered in parallel during the current paint */
+    private List<ParallelLayer> parallelLayers = new CopyOnWriteArrayList<>();
+
     private static int MAX_PIXELS_DENSIFY =
             Integer.valueOf(System.getProperty("ADVANCED_PROJECTION_DENSIFY_MAX_PIXELS", "5"));
 
@@ -427,6 +504,16 @@ public void setThreadPool(ExecutorService threadPool) {
         this.threadPool = threadPool;
     }
 
+    /**
+     * Sets the thread pool used to render layers in parallel, when {@link #PARALLEL_LAYER_RENDERING_KEY} is enabled. If
+     * not set, a pool sized after the number of available processors will be created, and disposed of, at each paint.
+     * The pool should not be the same one used for the painter workers (see {@link #setThreadPool(ExecutorService)}),
+     * as the painter worker waits for the layers to be completed.
+     */
+    public void setLayerThreadPool(ExecutorService layerThreadPool) {
+        this.layerThreadPool = layerThreadPool;
+    }
+
     /**
      * Sets the flag which controls behaviour for applying affine transformation to the graphics object.
      *
@@ -512,21 +599,27 @@ private void fireErrorEvent(Throwable t) {
     @Override
     public void stopRendering() {
         renderingStopRequested = true;
-        // un-block the queue in case it was filled with requests and the main
-        // thread got blocked on it
-        requests.clear();
-        // wake up the painter and put a death pill in the queue
-        painterThread.interrupt();
-        try {
-            requests.put(new EndRequest());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(
-                    "Interrupted while trying to put the end "
-                            + "request in the requests queue, this should never happen",
-                    e);
+        // the rendering might not have started yet
+        if (requests != null) {
+            // un-block the queue in case it was filled with requests and the main
+            // thread got blocked on it
+            requests.clear();
+            // wake up the painter and put a death pill in the queue
+            painterThread.interrupt();
+            try {
+                requests.put(new EndRequest());
+            } catch (InterruptedException e) {
+                throw new RuntimeException(
+                        "Interrupted while trying to put the end "
+                                + "request in the requests queue, this should never happen",
+                        e);
+            }
         }
 
         labelCache.stop();
+        for (ParallelLayer parallelLayer : parallelLayers) {
+            parallelLayer.stop();
+        }
     }
 
     /**
@@ -735,6 +828,9 @@ public void paint(
         Point2D textureAnchor =
                 new Point2D.Double(worldToScreenTransform.getTranslateX(), worldToScreenTransform.getTranslateY());
         graphics.setRenderingHint(StyledShapePainter.TEXTURE_ANCHOR_HINT_KEY, textureAnchor);
+        // paint solid fills and strokes straight into the image pixels, if possible
+        BufferedImage rasterTarget = getDirectRasterTarget();
+        painter.rasterizer = rasterTarget != null ? new DirectRasterizer(graphics, rasterTarget) : null;
         // reset the abort flag
         renderingStopRequested = false;
 
@@ -783,6 +879,18 @@ public void paint(
             localPool = true;
         }
         Future painterFuture = localThreadPool.submit(painterThread);
+        // Setup the parallel layer rendering, if enabled
+        parallelLayers.clear();
+        ExecutorService localLayerThreadPool = null;
+        boolean localLayerPool = false;
+        if (isParallelLayerRenderingEnabled()) {
+            localLayerThreadPool = layerThreadPool;
+            if (localLayerThreadPool == null) {
+                localLayerThreadPool =
+                        Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+                localLayerPool = true;
+            }
+        }
         List<CompositingGroup> compositingGroups = null;
         try {
             if (mapContent == null) {
@@ -846,7 +954,18 @@ public void paint(
                         } catch (InterruptedException e) {
                             fireErrorEvent(e);
                         }
+                    } else if (localLayerThreadPool != null && isParallelRenderingSupported(layer)) {
+                        ParallelLayer parallelLayer = new ParallelLayer(graphics, layer, layerId, paintArea);
+                        parallelLayer.future = localLayerThreadPool.submit(parallelLayer);
+                        parallelLayers.add(parallelLayer);
+                        try {
+                            requests.put(new MergeParallelLayerRequest(compositingGraphic, parallelLayer));
+                        } catch (InterruptedException e) {
+                            fireErrorEvent(e);
+                        }
                     } else if (layer instanceof ZGroupLayer) {
+                        // labels are accumulated in order, wait for the layers rendered in parallel
+                        replayParallelLayerLabels();
                         try {
                             ZGroupLayer zGroup = (ZGroupLayer) layer;
                             zGroup.drawFeatures(compositingGraphic, this, layerId);
@@ -854,6 +973,8 @@ public void paint(
                             fireErrorEvent(t);
                         }
                     } else {
+                        // labels are accumulated in order, wait for the layers rendered in parallel
+                        replayParallelLayerLabels();
                         try {
                             // extract the feature type stylers from the style object
                             // and process them
@@ -881,6 +1002,9 @@ public void paint(
                     }
                 }
             }
+
+            // collect the labels of the layers rendered in parallel before painting them
+            replayParallelLayerLabels();
         } finally {
             try {
                 // clean up generated map contents (in finally block to ensure it's done regardless
@@ -906,12 +1030,22 @@ public void paint(
                     if (localPool) {
                         localThreadPool.shutdown();
                     }
+                    if (localLayerPool) {
+                        localLayerThreadPool.shutdown();
+                    }
+                    for (ParallelLayer parallelLayer : parallelLayers) {
+                        parallelLayer.future.cancel(true);
+                    }
+                    parallelLayers.clear();
                 }
             }
         }
 
         if (!renderingStopRequested) {
             renderListeners.forEach(l -> l.labellingStart());
+            if (labelCache instanceof LabelCacheImpl) {
+                ((LabelCacheImpl) labelCache).setPlacementCache(getLabelPlacementCache(), worldToScreenTransform);
+            }
             labelCache.end(graphics, paintArea);
             renderListeners.forEach(l -> l.labellingEnd());
         } else {
@@ -1596,6 +1730,68 @@ private boolean isOptimizedFTSRenderingEnabled() {
         return Boolean.TRUE.equals(result);
     }
 
+    private boolean isScreenMapPointsEnabled() {
+        if (rendererHints == null) return false;
+        Object result = rendererHints.get(SCREENMAP_POINTS_KEY);
+        return Boolean.TRUE.equals(result);
+    }
+
+    /**
+     * Checks if parallel layer rendering is enabled, or not. See {@link #PARALLEL_LAYER_RENDERING_KEY} description for
+     * a full explanation.
+     */
+    private boolean isParallelLayerRenderingEnabled() {
+        if (rendererHints == null || concatTransforms) return false;
+        Object result = rendererHints.get(PARALLEL_LAYER_RENDERING_KEY);
+        return Boolean.TRUE.equals(result);
+    }
+
+    /**
+     * Returns true if the layer can be painted in its own back buffer, and merged later. Layers using composition need
+     * to be painted against the layers below them, while layers with a background fill the whole map.
+     */
+    private boolean isParallelRenderingSupported(Layer layer) {
+        if (layer instanceof DirectLayer || layer instanceof ZGroupLayer) {
+            return false;
+        }
+        Style style = layer.getStyle();
+        if (style == null || style.getBackground() != null) {
+            return false;
+        }
+        for (FeatureTypeStyle fts : style.featureTypeStyles()) {
+            if (fts.getOptions() != null && SLDStyleFactory.getComposite(fts.getOptions()) != null) {
+                return false;
+            }
+            for (Rule rule : fts.rules()) {
+                for (Symbolizer symbolizer : rule.symbolizers()) {
+                    if (symbolizer.getOptions() != null
+                            && SLDStyleFactory.getComposite(symbolizer.getOptions()) != null) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Waits for the layers being rendered in parallel and moves their labels in the label cache, in layer order, so
+     * that the label priorities and conflict resolution are the same as in sequential rendering
+     */
+    private void replayParallelLayerLabels() {
+        for (ParallelLayer parallelLayer : parallelLayers) {
+            if (renderingStopRequested) {
+                return;
+            }
+            if (!parallelLayer.labelsReplayed) {
+                // wait for the layer to complete, errors are reported by the painter thread
+                parallelLayer.getImage(false);
+                parallelLayer.labels.replay(labelCache, parallelLayer.layerId);
+                parallelLayer.labelsReplayed = true;
+            }
+        }
+    }
+
     /** Checks if the advanced projection handling is enabled */
     private boolean isAdvancedProjectionHandlingEnabled() {
         if (rendererHints == null) return false;
@@ -1612,6 +1808,34 @@ private boolean isMapWrappingEnabled() {
         return Boolean.TRUE.equals(result);
     }
 
+    private CompiledStyleCache getCompiledStyleCache() {
+        if (rendererHints == null) return null;
+        Object result = rendererHints.get(COMPILED_STYLE_CACHE_KEY);
+        if (result instanceof CompiledStyleCache) return (CompiledStyleCache) result;
+        return null;
+    }
+
+    private BufferedImage getDirectRasterTarget() {
+        if (rendererHints == null) return null;
+        Object result = rendererHints.get(DIRECT_RASTER_TARGET_KEY);
+        if (result instanceof BufferedImage) return (BufferedImage) result;
+        return null;
+    }
+
+    private MarkAtlas getMarkAtlas() {
+        if (rendererHints == null) return null;
+        Object result = rendererHints.get(MARK_ATLAS_KEY);
+        if (result instanceof MarkAtlas) return (MarkAtlas) result;
+        return null;
+    }
+
+    private LabelPlacementCache getLabelPlacementCache() {
+        if (rendererHints == null) return null;
+        Object result = rendererHints.get(LABEL_PLACEMENT_CACHE_KEY);
+        if (result instanceof LabelPlacementCache) return (LabelPlacementCache) result;
+        return null;
+    }
+
     /**
      * Checks if the geometries in spatial filters in the SLD must be assumed to be expressed in the official EPSG axis
      * order, regardless of how the referencing subsystem is configured (this is required to support filter reprojection
@@ -1658,6 +1882,45 @@ private boolean isWrappingHeuristicEnabled() {
         return ((Boolean) result).booleanValue();
     }
 
+    /** Returns the tolerance in pixels for approximated reprojections, zero if exact reprojection is requested. */
+    private double getApproximateTransformTolerance() {
+        if (rendererHints == null) return 0;
+        Object result = rendererHints.get(APPROXIMATE_TRANSFORM_TOLERANCE_KEY);
+        if (result == null) return 0;
+        return ((Number) result).doubleValue();
+    }
+
+    /**
+     * Returns an approximation of the given transform from the data CRS to the map CRS over the map extent, if enabled
+     * by the {@link #APPROXIMATE_TRANSFORM_TOLERANCE_KEY} hint, or the transform itself otherwise.
+     */
+    private MathTransform approximateTransform(MathTransform transform) {
+        double pixels = getApproximateTransformTolerance();
+        if (pixels <= 0
+                || !(transform instanceof MathTransform2D)
+                || transform instanceof LinearTransform
+                || mapExtent == null
+                || screenSize == null
+                || screenSize.width <= 0) {
+            return transform;
+        }
+        try {
+            // the rendering area, in the data CRS
+            Rectangle2D target = new Rectangle2D.Double(
+                    mapExtent.getMinX(), mapExtent.getMinY(), mapExtent.getWidth(), mapExtent.getHeight());
+            MathTransform2D inverse = ((MathTransform2D) transform).inverse();
+            Rectangle2D domain = CRS.transform(inverse, target, null);
+            if (domain.isEmpty() || Double.isNaN(domain.getWidth()) || Double.isInfinite(domain.getWidth())) {
+                return transform;
+            }
+            double tolerance = pixels * mapExtent.getWidth() / screenSize.width;
+            return ApproximateTransform2D.create((MathTransform2D) transform, domain, tolerance);
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Cannot approximate the reprojection, using the exact one", e);
+            return transform;
+        }
+    }
+
     /**
      * Returns an estimate of the rendering buffer needed to properly display this layer taking into consideration the
      * constant stroke sizes in the feature type styles.
@@ -1667,28 +1930,38 @@ private boolean isWrappingHeuristicEnabled() {
      *     styles
      */
     private int findRenderingBuffer(List<LiteFeatureTypeStyle> styles) {
-        final MetaBufferEstimator rbe = new MetaBufferEstimator();
-
+        int buffer = 0;
+        boolean accurate = true;
         for (LiteFeatureTypeStyle lfts : styles) {
-            Rule[] rules = lfts.elseRules;
-            for (Rule value : rules) {
-                rbe.visit(value);
-            }
-            rules = lfts.ruleList;
-            for (Rule rule : rules) {
-                rbe.visit(rule);
-            }
+            MetaBufferEstimator rbe = estimateRenderingBuffer(lfts);
+            buffer = Math.max(buffer, rbe.getBuffer());
+            accurate &= rbe.isEstimateAccurate();
         }
 
-        if (!rbe.isEstimateAccurate())
+        if (!accurate)
             LOGGER.fine("Assuming rendering buffer = "
-                    + rbe.getBuffer()
+                    + buffer
                     + ", but estimation is not accurate, you may want to set a buffer manually");
 
         // the actual amount we have to grow the rendering area by is half of the stroke/symbol
         // sizes
         // plus one extra pixel for antialiasing effects
-        return (int) Math.round(rbe.getBuffer() / 2.0 + 1);
+        return (int) Math.round(buffer / 2.0 + 1);
+    }
+
+    /** Estimates the rendering buffer of a single feature type style, unless already available */
+    private MetaBufferEstimator estimateRenderingBuffer(LiteFeatureTypeStyle lfts) {
+        if (lfts.bufferEstimate != null) {
+            return lfts.bufferEstimate;
+        }
+        final MetaBufferEstimator rbe = new MetaBufferEstimator();
+        for (Rule rule : lfts.elseRules) {
+            rbe.visit(rule);
+        }
+        for (Rule rule : lfts.ruleList) {
+            rbe.visit(rule);
+        }
+        return rbe;
     }
 
     /**
@@ -1700,23 +1973,19 @@ private int findRenderingBuffer(List<LiteFeatureTypeStyle> styles) {
      * @return the minimum set of attribute names needed to render <code>layer</code>
      */
     private List<PropertyName> findStyleAttributes(List<LiteFeatureTypeStyle> styles, FeatureType schema) {
-        final StyleAttributeExtractor sae = new StyleAttributeExtractor();
-
+        Set<PropertyName> attributes = new HashSet<>();
+        Set<String> attributeNames = new HashSet<>();
+        boolean defaultGeometryUsed = false;
         for (LiteFeatureTypeStyle lfts : styles) {
-            for (Rule rule : lfts.elseRules) {
-                sae.visit(rule);
-            }
-            for (Rule rule : lfts.ruleList) {
-                sae.visit(rule);
+            StyleAttributeExtractor sae = extractStyleAttributes(lfts);
+            if (sae.isUsingDynamincProperties()) {
+                return null;
             }
+            attributes.addAll(sae.getAttributes());
+            attributeNames.addAll(sae.getAttributeNameSet());
+            defaultGeometryUsed |= sae.getDefaultGeometryUsed();
         }
 
-        if (sae.isUsingDynamincProperties()) {
-            return null;
-        }
-        Set<PropertyName> attributes = sae.getAttributes();
-        Set<String> attributeNames = sae.getAttributeNameSet();
-
         /*
          * DJB: this is an old comment - erase it soon (see geos-469 and below) -
          * we only add the default geometry if it was used.
@@ -1765,7 +2034,7 @@ private List<PropertyName> findStyleAttributes(List<LiteFeatureTypeStyle> styles
             // name (this will help us avoid
             // situations were the geometry is not read because of the default geometry attribute ""
             // not being taken in account)
-            if (sae.getDefaultGeometryUsed()
+            if (defaultGeometryUsed
                     && !attributeNames.contains(
                             schema.getGeometryDescriptor().getName().toString())) {
                 atts.add(filterFactory.property(schema.getGeometryDescriptor().getName()));
@@ -1788,6 +2057,21 @@ private List<PropertyName> findStyleAttributes(List<LiteFeatureTypeStyle> styles
         return atts;
     }
 
+    /** Extracts the attributes used by a single feature type style, unless already available */
+    private StyleAttributeExtractor extractStyleAttributes(LiteFeatureTypeStyle lfts) {
+        if (lfts.attributeExtractor != null) {
+            return lfts.attributeExtractor;
+        }
+        final StyleAttributeExtractor sae = new StyleAttributeExtractor();
+        for (Rule rule : lfts.elseRules) {
+            sae.visit(rule);
+        }
+        for (Rule rule : lfts.ruleList) {
+            sae.visit(rule);
+        }
+        return sae;
+    }
+
     /**
      * Creates the bounding box filters (one for each geometric attribute) needed to query a <code>
      * MapLayer</code>'s feature source to return just the features for the target rendering extent
@@ -1868,6 +2152,59 @@ ArrayList<LiteFeatureTypeStyle> createLiteFeatureTypeStyles(
 
         LiteFeatureTypeStyle lfts;
         boolean foundComposite = false;
+        for (LiteFeatureTypeStyle prepared : prepareStyle(layer)) {
+            foundComposite |= prepared.composite != null;
+            // we can optimize this one and draw directly on the graphics, assuming
+            // there is no composition
+            if (!foundComposite && (result.isEmpty() || !optimizedFTSRendering)) {
+                lfts = new LiteFeatureTypeStyle(prepared, layer, graphics);
+            } else {
+                lfts = new LiteFeatureTypeStyle(prepared, layer, new DelayedBackbufferGraphic(graphics, screenSize));
+            }
+
+            if (screenMapEnabled(lfts)) {
+                int renderingBuffer = getRenderingBuffer();
+                lfts.screenMap = new ScreenMap(
+                        screenSize.x - renderingBuffer,
+                        screenSize.y - renderingBuffer,
+                        screenSize.width + renderingBuffer * 2,
+                        screenSize.height + renderingBuffer * 2);
+                lfts.screenMapPoints = isScreenMapPointsEnabled() && isPointOnly(lfts);
+            }
+
+            result.add(lfts);
+        }
+
+        return result;
+    }
+
+    /**
+     * Prepares the layer style for the current scale and feature type, returning one {@link LiteFeatureTypeStyle} for
+     * each active feature type style, not bound to a layer nor a graphics. The result is taken from, or stored into,
+     * the {@link CompiledStyleCache} set in the hints, if any, and should not be modified.
+     */
+    private List<LiteFeatureTypeStyle> prepareStyle(Layer layer) throws IOException, FactoryException {
+        FeatureType schema = layer.getFeatureSource().getSchema();
+        CompiledStyleCache cache = getCompiledStyleCache();
+        CompiledStyleCache.Key key = null;
+        if (cache != null) {
+            key = new CompiledStyleCache.Key(
+                    layer.getStyle(),
+                    schema,
+                    scaleDenominator,
+                    RendererUtilities.getDpi(getRendererHints()),
+                    RendererUtilities.calculatePixelsPerMeterRatio(scaleDenominator, rendererHints),
+                    isEPSGAxisOrderForced());
+            List<LiteFeatureTypeStyle> cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            if (CompiledStyleCache.usesEnvVariables(layer.getStyle())) {
+                key = null;
+            }
+        }
+
+        ArrayList<LiteFeatureTypeStyle> result = new ArrayList<>();
 
         // check if any <VendorOption name="renderingMap">false</VendorOption>
         // is present in the style removing style's elements not meant to be applied
@@ -1876,7 +2213,6 @@ ArrayList<LiteFeatureTypeStyle> createLiteFeatureTypeStyles(
         layer.getStyle().accept(selectorStyleVisitor);
         Style style = (Style) selectorStyleVisitor.getCopy();
 
-        FeatureType schema = layer.getFeatureSource().getSchema();
         for (FeatureTypeStyle fts : style.featureTypeStyles()) {
             if (isFeatureTypeStyleActive(schema, fts)) {
 
@@ -1894,22 +2230,11 @@ ArrayList<LiteFeatureTypeStyle> createLiteFeatureTypeStyles(
                 // if none, skip it
                 if ((ruleList.isEmpty()) && (elseRuleList.isEmpty())) continue;
 
+                LiteFeatureTypeStyle lfts =
+                        new LiteFeatureTypeStyle(null, null, ruleList, elseRuleList, fts.getTransformation());
+
                 // get the fts level composition, if any
-                Composite composite = styleFactory.getComposite(fts.getOptions());
-                foundComposite |= composite != null;
-                // we can optimize this one and draw directly on the graphics, assuming
-                // there is no composition
-                if (!foundComposite && (result.isEmpty() || !optimizedFTSRendering)) {
-                    lfts = new LiteFeatureTypeStyle(layer, graphics, ruleList, elseRuleList, fts.getTransformation());
-                } else {
-                    lfts = new LiteFeatureTypeStyle(
-                            layer,
-                            new DelayedBackbufferGraphic(graphics, screenSize),
-                            ruleList,
-                            elseRuleList,
-                            fts.getTransformation());
-                }
-                lfts.composite = composite;
+                lfts.composite = styleFactory.getComposite(fts.getOptions());
                 if (org.geotools.api.style.FeatureTypeStyle.VALUE_EVALUATION_MODE_FIRST.equals(
                         fts.getOptions().get(org.geotools.api.style.FeatureTypeStyle.KEY_EVALUATION_MODE))) {
                     lfts.matchFirst = true;
@@ -1922,15 +2247,6 @@ ArrayList<LiteFeatureTypeStyle> createLiteFeatureTypeStyles(
                 // check if the rendering transformations should be oversampled
                 lfts.rtOversample = Boolean.valueOf(fts.getOptions().get(FeatureTypeStyle.RT_OVERASAMPLE));
 
-                if (screenMapEnabled(lfts)) {
-                    int renderingBuffer = getRenderingBuffer();
-                    lfts.screenMap = new ScreenMap(
-                            screenSize.x - renderingBuffer,
-                            screenSize.y - renderingBuffer,
-                            screenSize.width + renderingBuffer * 2,
-                            screenSize.height + renderingBuffer * 2);
-                }
-
                 result.add(lfts);
             }
         }
@@ -1943,6 +2259,15 @@ ArrayList<LiteFeatureTypeStyle> createLiteFeatureTypeStyles(
             applyUnitRescale(result);
         }
 
+        if (key != null) {
+            // the buffer and attributes depend only on the rules, compute them once
+            for (LiteFeatureTypeStyle lfts : result) {
+                lfts.bufferEstimate = estimateRenderingBuffer(lfts);
+                lfts.attributeExtractor = extractStyleAttributes(lfts);
+            }
+            cache.put(key, result);
+        }
+
         return result;
     }
 
@@ -1967,6 +2292,25 @@ boolean screenMapEnabled(LiteFeatureTypeStyle lfts) {
         return !finder.hasOpacity;
     }
 
+    /**
+     * Returns true if the feature type style contains only point symbolizers working against the default geometry, in
+     * that case points falling on the same pixel paint the same symbols
+     */
+    boolean isPointOnly(LiteFeatureTypeStyle lfts) {
+        boolean found = false;
+        for (Rule[] rules : new Rule[][] {lfts.ruleList, lfts.elseRules}) {
+            for (Rule r : rules) {
+                for (Symbolizer s : r.symbolizers()) {
+                    if (!(s instanceof PointSymbolizer) || s.getGeometry() != null) {
+                        return false;
+                    }
+                    found = true;
+                }
+            }
+        }
+        return found;
+    }
+
     private boolean isFeatureTypeStyleActive(FeatureType ftype, FeatureTypeStyle fts) {
         // TODO: find a complex feature equivalent for this check
         return fts.featureTypeNames().isEmpty()
@@ -2693,6 +3037,15 @@ void processFeature(RenderableFeature rf, LiteFeatureTypeStyle fts, ProjectionHa
             rf.layer = fts.layer;
             rf.metaBuffer = fts.metaBuffer;
 
+            // for dense point layers, skip the point before evaluating rules if its pixel is already busy
+            Envelope pointEnvelope = null;
+            if (fts.screenMapPoints && fts.screenMap != null) {
+                pointEnvelope = rf.getScreenMapPointEnvelope();
+                if (pointEnvelope != null && fts.screenMap.get(pointEnvelope)) {
+                    return;
+                }
+            }
+
             // can the rules
             boolean doElse = true;
             Rule[] elseRuleList = fts.elseRules;
@@ -2702,9 +3055,9 @@ void processFeature(RenderableFeature rf, LiteFeatureTypeStyle fts, ProjectionHa
             Graphics2D graphics = fts.graphics;
             // applicable rules
             int paintCommands = 0;
-            for (Rule value : ruleList) {
-                r = value;
-                filter = r.getFilter();
+            for (int i = 0; i < ruleList.length; i++) {
+                r = ruleList[i];
+                filter = fts.getRuleFilter(i);
 
                 if (filter == null || filter.evaluate(rf.feature)) {
                     doElse = false;
@@ -2729,6 +3082,9 @@ void processFeature(RenderableFeature rf, LiteFeatureTypeStyle fts, ProjectionHa
             // if it has been clipped out or eliminated by the screenmap we won't emit the event
             // instead
             if (paintCommands > 0) {
+                if (pointEnvelope != null) {
+                    fts.screenMap.checkAndSet(pointEnvelope);
+                }
                 requests.put(new FeatureRenderedRequest(rf.feature));
             }
 
@@ -3127,6 +3483,7 @@ public void setRendererHints(Map<?, ?> hints) {
             styleFactory.setLineOptimizationEnabled(Boolean.TRUE.equals(hints.get(LINE_WIDTH_OPTIMIZATION_KEY)));
         }
         rendererHints = hints;
+        painter.markAtlas = getMarkAtlas();
 
         // sets whether vector rendering is enabled in the SLDStyleFactory
         styleFactory.setVectorRenderingEnabled(isVectorRenderingEnabled());
@@ -3218,6 +3575,22 @@ public void setFeature(Feature feature) {
             shapes.clear();
         }
 
+        /**
+         * Returns the envelope of the feature default geometry, in the native CRS, if it's a point that can be checked
+         * against the screenmap. Returns null if the geometry is not a point, or if it has already been transformed in
+         * place while building the shapes for another feature type style.
+         */
+        Envelope getScreenMapPointEnvelope() {
+            if (!geometries.isEmpty() || !(feature instanceof SimpleFeature)) {
+                return null;
+            }
+            Object g = ((SimpleFeature) feature).getDefaultGeometry();
+            if (!(g instanceof Point) || ((Point) g).isEmpty()) {
+                return null;
+            }
+            return new Envelope(((Point) g).getCoordinate());
+        }
+
         public LiteShape2 getShape(Symbolizer symbolizer, AffineTransform at) throws FactoryException {
             Geometry g = findGeometry(feature, symbolizer); // pulls the geometry
 
@@ -3276,6 +3649,7 @@ && getGeometryIndex(g) == -1) {
                     } else {
                         sa.rxform = sa.crsxform;
                     }
+                    sa.rxform = approximateTransform(sa.rxform);
 
                     symbolizerAssociationHT.put(symbolizer, sa);
                 }
@@ -3580,6 +3954,144 @@ void execute() {
         }
     }
 
+    /** A request to merge the back buffer of a layer rendered in parallel to the main graphics */
+    class MergeParallelLayerRequest extends RenderingRequest {
+        Graphics2D graphics;
+
+        ParallelLayer layer;
+
+        MergeParallelLayerRequest(Graphics2D graphics, ParallelLayer layer) {
+            this.graphics = graphics;
+            this.layer = layer;
+        }
+
+        @Override
+        void execute() {
+            // waits for the layer to be rendered, in order to preserve the z-order
+            final BufferedImage image = layer.getImage(true);
+            if (image != null) {
+                if (graphics instanceof DelayedBackbufferGraphic) {
+                    ((DelayedBackbufferGraphic) graphics).init();
+                }
+                graphics.setComposite(AlphaComposite.SrcOver);
+                graphics.drawImage(image, 0, 0, null);
+            }
+        }
+    }
+
+    /**
+     * A layer painted by a separate renderer, in its own back buffer, on a thread of the layer thread pool. Labels are
+     * recorded, to be replayed against the main label cache in layer order.
+     */
+    class ParallelLayer implements Callable<BufferedImage> {
+        final Layer layer;
+
+        final String layerId;
+
+        final RecordingLabelCache labels = new RecordingLabelCache();
+
+        final StreamingRenderer renderer = new StreamingRenderer();
+
+        final GraphicsConfiguration configuration;
+
+        final RenderingHints graphicsHints;
+
+        final Rectangle paintArea;
+
+        final ReferencedEnvelope mapArea;
+
+        final AffineTransform worldToScreen;
+
+        /** The hints of the layer renderer */
+        final Map<Object, Object> hints;
+
+        Future<BufferedImage> future;
+
+        boolean labelsReplayed;
+
+        ParallelLayer(Graphics2D graphics, Layer layer, String layerId, Rectangle paintArea) {
+            this.layer = layer;
+            this.layerId = layerId;
+            this.configuration = graphics.getDeviceConfiguration();
+            this.graphicsHints = graphics.getRenderingHints();
+            this.paintArea = paintArea;
+            this.mapArea = originalMapExtent;
+            this.worldToScreen = worldToScreenTransform;
+
+            this.hints = new HashMap<>(rendererHints);
+            hints.remove(PARALLEL_LAYER_RENDERING_KEY);
+            hints.put(LABEL_CACHE_KEY, labels);
+            renderer.setRendererHints(hints);
+            renderer.setJava2DHints(java2dHints);
+            renderer.setGeneralizationDistance(generalizationDistance);
+            renderer.setInteractive(interactive);
+            renderer.addRenderListener(new RenderListener() {
+                @Override
+                public void featureRenderer(SimpleFeature feature) {
+                    fireFeatureRenderedEvent(feature);
+                }
+
+                @Override
+                public void errorOccurred(Exception e) {
+                    // already logged by the layer renderer, just notify
+                    for (RenderListener listener : renderListeners) {
+                        listener.errorOccurred(e);
+                    }
+                }
+            });
+        }
+
+        @Override
+        public BufferedImage call() throws Exception {
+            if (renderingStopRequested) {
+                return null;
+            }
+            BufferedImage image =
+                    configuration.createCompatibleImage(paintArea.width, paintArea.height, Transparency.TRANSLUCENT);
+            Graphics2D graphics = image.createGraphics();
+            MapContent content = new MapContent();
+            try {
+                if (hints.containsKey(DIRECT_RASTER_TARGET_KEY)) {
+                    // the layer is painted on its own back buffer, not on the main image
+                    hints.put(DIRECT_RASTER_TARGET_KEY, image);
+                }
+                graphics.setRenderingHints(graphicsHints);
+                content.addLayer(layer);
+                renderer.setMapContent(content);
+                renderer.paint(graphics, paintArea, mapArea, worldToScreen);
+            } finally {
+                graphics.dispose();
+                // remove the layer before disposing the content, it's not ours to dispose
+                content.removeLayer(layer);
+                content.dispose();
+            }
+            return image;
+        }
+
+        /**
+         * Waits for the layer to be painted and returns its back buffer, or null if the rendering failed or got stopped
+         */
+        BufferedImage getImage(boolean reportErrors) {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (CancellationException e) {
+                // rendering got stopped, nothing to report
+            } catch (ExecutionException e) {
+                if (reportErrors) {
+                    fireErrorEvent(e.getCause());
+                }
+            }
+            return null;
+        }
+
+        void stop() {
+            renderer.stopRendering();
+            future.cancel(true);
+        }
+    }
+
     /**
      * A request to render a raster
      *
@@ -82,6 +82,12 @@ public class StyledShapePainter {
     /** the label cache, used to populate the label cache with reserved areas for labeling obstacles */
     LabelCache labelCache;
 
+    /** the atlas of pre-painted point symbols, if any, used to paint marks and rotated graphics */
+    MarkAtlas markAtlas;
+
+    /** the rasterizer painting solid fills and strokes straight into the target image pixels, if any */
+    DirectRasterizer rasterizer;
+
     public StyledShapePainter() {
         // nothing do do, just needs to exist
     }
@@ -175,17 +181,20 @@ public void paint(
                 if (citer.currentSegment(coords) != PathIterator.SEG_MOVETO) {
                     transformedShape = ms2d.getTransformedShape(coords[0], coords[1]);
                     if (transformedShape != null) {
-                        if (ms2d.getFill() != null) {
-                            graphics.setPaint(ms2d.getFill());
-                            graphics.setComposite(ms2d.getFillComposite());
-                            graphics.fill(transformedShape);
-                        }
-
-                        if (ms2d.getContour() != null) {
-                            graphics.setPaint(ms2d.getContour());
-                            graphics.setStroke(ms2d.getStroke());
-                            graphics.setComposite(ms2d.getContourComposite());
-                            graphics.draw(transformedShape);
+                        // paint the shape unless it could be copied from a pre-painted sprite
+                        if (markAtlas == null || !markAtlas.paintMark(graphics, ms2d, coords[0], coords[1])) {
+                            if (ms2d.getFill() != null) {
+                                graphics.setPaint(ms2d.getFill());
+                                graphics.setComposite(ms2d.getFillComposite());
+                                graphics.fill(transformedShape);
+                            }
+
+                            if (ms2d.getContour() != null) {
+                                graphics.setPaint(ms2d.getContour());
+                                graphics.setStroke(ms2d.getStroke());
+                                graphics.setComposite(ms2d.getContourComposite());
+                                graphics.draw(transformedShape);
+                            }
                         }
 
                         if (isLabelObstacle) {
@@ -353,7 +362,9 @@ void paintLineStyle(
                 graphics.setPaint(paint);
                 graphics.setStroke(stroke);
                 graphics.setComposite(ls2d.getContourComposite());
-                graphics.draw(shape);
+                if (rasterizer == null || !rasterizer.draw(graphics, shape)) {
+                    graphics.draw(shape);
+                }
             }
         }
     }
@@ -670,6 +681,13 @@ private void renderImage(
             labelCache.put(new Rectangle2D.Double(x + dx, y + dy, w, h));
         }
 
+        // unrotated images are already copied pixel by pixel when icon coordinates are rounded
+        if (markAtlas != null
+                && (rotation != 0 || !ROUND_ICON_COORDS)
+                && markAtlas.paintImage(graphics, image, x, y, dx, dy, rotation, composite)) {
+            return;
+        }
+
         graphics.setComposite(composite);
 
         Object interpolation = graphics.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
@@ -765,13 +783,19 @@ void fillLiteShape(Graphics2D g, LiteShape2 shape) {
             for (int i = 0; i < mp.getNumGeometries(); i++) {
                 Polygon p = (Polygon) mp.getGeometryN(i);
                 try {
-                    g.fill(new LiteShape2(p, null, null, false, false));
+                    fill(g, new LiteShape2(p, null, null, false, false));
                 } catch (Exception e) {
                     // should not really happen, but anyways
                     throw new RuntimeException("Unexpected error occurred while rendering a multipolygon", e);
                 }
             }
         } else {
+            fill(g, shape);
+        }
+    }
+
+    private void fill(Graphics2D g, Shape shape) {
+        if (rasterizer == null || !rasterizer.fill(g, shape)) {
             g.fill(shape);
         }
     }
@@ -0,0 +1,96 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.label;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import org.junit.Test;
+
+public class LabelIndexTest {
+
+    @Test
+    public void testWithinDistance() {
+        LabelIndex index = new LabelIndex();
+        // crosses the cell borders, including the ones around the origin
+        index.addLabel(null, new Rectangle2D.Double(-10, -5, 100, 20));
+
+        assertTrue(index.labelsWithinDistance(new Rectangle2D.Double(0, 0, 5, 5), 0));
+        assertTrue(index.labelsWithinDistance(new Rectangle2D.Double(85, 10, 10, 10), 0));
+        assertFalse(index.labelsWithinDistance(new Rectangle2D.Double(100, 0, 10, 10), 0));
+        assertTrue(index.labelsWithinDistance(new Rectangle2D.Double(100, 0, 10, 10), 10));
+        assertFalse(index.labelsWithinDistance(new Rectangle2D.Double(-30, 30, 10, 10), 10));
+        assertTrue(index.labelsWithinDistance(new Rectangle2D.Double(-30, 30, 10, 10), 20));
+        // negative distance disables the check
+        assertFalse(index.labelsWithinDistance(new Rectangle2D.Double(0, 0, 5, 5), -1));
+        // a query larger than the occupied cells
+        assertTrue(index.labelsWithinDistance(new Rectangle2D.Double(-1e6, -1e6, 2e6, 2e6), 0));
+    }
+
+    @Test
+    public void testLargeAreas() {
+        LabelIndex index = new LabelIndex();
+        index.reserveArea(Arrays.asList(
+                new Rectangle2D.Double(0, 0, 10000, 10000),
+                new Rectangle2D.Double(-1e12, -1e9, 2e12, 1)));
+        assertEquals(2, index.size());
+        assertTrue(index.labelsWithinDistance(new Rectangle2D.Double(5000, 5000, 10, 10), 0));
+        assertTrue(index.labelsWithinDistance(new Rectangle2D.Double(-5000, -1e9, 10, 10), 0));
+        assertFalse(index.labelsWithinDistance(new Rectangle2D.Double(-5000, 0, 10, 10), 0));
+        index.reserveArea(Collections.emptyList());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void testMatchesLinearScan() {
+        Random random = new Random(0);
+        LabelIndex index = new LabelIndex();
+        Rectangle2D[] labels = new Rectangle2D[500];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = randomRectangle(random);
+            index.addLabel(null, labels[i]);
+        }
+        for (int i = 0; i < 1000; i++) {
+            Rectangle2D query = randomRectangle(random);
+            double distance = random.nextInt(10);
+            Rectangle2D expanded = new Rectangle2D.Double(
+                    query.getX() - distance,
+                    query.getY() - distance,
+                    query.getWidth() + 2 * distance,
+                    query.getHeight() + 2 * distance);
+            boolean expected = false;
+            for (Rectangle2D label : labels) {
+                // closed intervals, like the JTS envelopes
+                expected |= label.getMinX() <= expanded.getMaxX()
+                        && label.getMaxX() >= expanded.getMinX()
+                        && label.getMinY() <= expanded.getMaxY()
+                        && label.getMaxY() >= expanded.getMinY();
+            }
+            assertEquals(expected, index.labelsWithinDistance(query, distance));
+        }
+    }
+
+    private Rectangle2D randomRectangle(Random random) {
+        return new Rectangle2D.Double(
+                random.nextInt(2000) - 500, random.nextInt(2000) - 500, random.nextInt(150), random.nextInt(30));
+    }
+}
@@ -18,7 +18,9 @@
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.awt.Font;
@@ -29,6 +31,7 @@
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import java.io.IOException;
+import java.util.List;
 import org.geotools.api.referencing.FactoryException;
 import org.geotools.api.referencing.operation.TransformException;
 import org.geotools.api.style.StyleFactory;
@@ -95,6 +98,25 @@ public void testEmptyLinesInLabelWithAutoWrap() {
         assertEquals(3, painter.getLineCount());
     }
 
+    @Test
+    public void testLayoutReused() {
+        LabelPainter painter = new LabelPainter(graphics, LabelRenderingMode.STRING);
+        LabelCacheItem item1 = new LabelCacheItem("LAYERID", style, shape, "line1\nline2", symbolizer);
+        painter.setLabel(item1);
+        List<LineInfo> lines = painter.lines;
+
+        // same text and style, the layout is shared
+        LabelCacheItem item2 = new LabelCacheItem("LAYERID", style, shape, "line1\nline2", symbolizer);
+        painter.setLabel(item2);
+        assertSame(lines, painter.lines);
+
+        // the auto wrap changes the layout
+        LabelCacheItem item3 = new LabelCacheItem("LAYERID", style, shape, "line1\nline2", symbolizer);
+        item3.setAutoWrap(10);
+        painter.setLabel(item3);
+        assertNotSame(lines, painter.lines);
+    }
+
     @Test
     public void testOnlyNewlines() {
         LabelPainter painter = new LabelPainter(graphics, LabelRenderingMode.STRING);
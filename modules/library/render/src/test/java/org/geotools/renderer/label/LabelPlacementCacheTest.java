@@ -0,0 +1,159 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.label;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.style.Font;
+import org.geotools.api.style.TextSymbolizer;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.geometry.jts.LiteShape2;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.renderer.lite.RendererBaseTest;
+import org.geotools.styling.StyleBuilder;
+import org.geotools.util.NumberRange;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+public class LabelPlacementCacheTest {
+
+    private static final String LAYER_ID = "layerId";
+
+    private static final Rectangle TILE = new Rectangle(0, 0, 256, 256);
+
+    NumberRange<Double> ALL_SCALES =
+            new NumberRange<>(Double.class, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+    GeometryFactory gf = new GeometryFactory();
+
+    SimpleFeatureBuilder fb;
+
+    TextSymbolizer symbolizer;
+
+    List<String> painted = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        RendererBaseTest.setupVeraFonts();
+        SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+        tb.setName("test");
+        tb.add("name", String.class);
+        tb.add("geom", Geometry.class, DefaultGeographicCRS.WGS84);
+        SimpleFeatureType schema = tb.buildFeatureType();
+        fb = new SimpleFeatureBuilder(schema);
+        symbolizer = new StyleBuilder().createTextSymbolizer(Color.BLACK, (Font) null, "name");
+    }
+
+    @Test
+    public void testLabelAcrossTiles() throws Exception {
+        LabelPlacementCache placements = new LabelPlacementCache();
+
+        // the left tile places both labels, the one on the border crosses into the right tile
+        AffineTransform left = new AffineTransform();
+        renderTile(placements, left, feature("border label", 250, 100), feature("inner label", 100, 100));
+        assertEquals(new HashSet<>(Arrays.asList("border label", "inner label")), new HashSet<>(painted));
+        assertEquals(2, placements.size(left));
+
+        // the right tile paints the cached border label and does not place it again
+        painted.clear();
+        AffineTransform right = AffineTransform.getTranslateInstance(-256, 0);
+        renderTile(placements, right, feature("border label", 250 - 256, 100));
+        assertEquals(Arrays.asList("border label"), painted);
+        assertEquals(2, placements.size(right));
+
+        // another zoom level starts from scratch
+        painted.clear();
+        AffineTransform zoomed = AffineTransform.getScaleInstance(2, 2);
+        renderTile(placements, zoomed, feature("border label", 200, 100));
+        assertEquals(Arrays.asList("border label"), painted);
+        assertEquals(1, placements.size(zoomed));
+
+        placements.clear();
+        assertEquals(0, placements.size(left));
+    }
+
+    @Test
+    public void testAddOutside() {
+        Rectangle2D area = new Rectangle2D.Double(0, 0, 10, 10);
+        List<Rectangle2D> result = new ArrayList<>();
+        LabelPlacementCache.addOutside(new Rectangle2D.Double(2, 2, 5, 5), area, result);
+        assertEquals(0, result.size());
+
+        Rectangle2D disjoint = new Rectangle2D.Double(20, 0, 10, 10);
+        LabelPlacementCache.addOutside(disjoint, area, result);
+        assertEquals(Arrays.asList(disjoint), result);
+
+        result.clear();
+        LabelPlacementCache.addOutside(new Rectangle2D.Double(-5, -5, 20, 20), area, result);
+        assertEquals(
+                Arrays.asList(
+                        new Rectangle2D.Double(-5, -5, 5, 20),
+                        new Rectangle2D.Double(10, -5, 5, 20),
+                        new Rectangle2D.Double(0, -5, 10, 5),
+                        new Rectangle2D.Double(0, 10, 10, 5)),
+                result);
+    }
+
+    private void renderTile(LabelPlacementCache placements, AffineTransform worldToScreen, SimpleFeature... features)
+            throws Exception {
+        LabelCacheImpl cache = new LabelCacheImpl();
+        cache.setConstructPainter((graphics, mode) -> new LabelPainter(graphics, mode) {
+            @Override
+            public void paintStraightLabel(AffineTransform transform, Coordinate labelPoint) throws Exception {
+                painted.add(getLabel().getLabel());
+                super.paintStraightLabel(transform, labelPoint);
+            }
+        });
+        cache.setPlacementCache(placements, worldToScreen);
+        cache.enableLayer(LAYER_ID);
+        cache.startLayer(LAYER_ID);
+        for (SimpleFeature feature : features) {
+            Geometry geometry = (Geometry) feature.getDefaultGeometry();
+            cache.put(LAYER_ID, symbolizer, feature, new LiteShape2(geometry, null, null, false), ALL_SCALES);
+        }
+        BufferedImage image = new BufferedImage(TILE.width, TILE.height, BufferedImage.TYPE_4BYTE_ABGR);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            cache.endLayer(LAYER_ID, graphics, TILE);
+            cache.end(graphics, TILE);
+        } finally {
+            graphics.dispose();
+        }
+    }
+
+    private SimpleFeature feature(String label, double x, double y) {
+        fb.add(label);
+        fb.add(gf.createPoint(new Coordinate(x, y)));
+        return fb.buildFeature(null);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite;
+
+import static org.geotools.referencing.crs.DefaultGeographicCRS.WGS84;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.style.LineSymbolizer;
+import org.geotools.api.style.Style;
+import org.geotools.data.DataUtilities;
+import org.geotools.feature.DefaultFeatureCollection;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.filter.function.EnvFunction;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.map.FeatureLayer;
+import org.geotools.map.MapContent;
+import org.geotools.styling.StyleBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+
+public class CompiledStyleCacheTest {
+
+    static final ReferencedEnvelope BOUNDS = new ReferencedEnvelope(0, 10, 0, 10, WGS84);
+
+    StyleBuilder sb = new StyleBuilder();
+
+    DefaultFeatureCollection features;
+
+    @Before
+    public void setUp() throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("lines", "geom:LineString:srid=4326,width:Integer");
+        features = new DefaultFeatureCollection();
+        GeometryFactory gf = new GeometryFactory();
+        for (int i = 1; i < 10; i++) {
+            Object[] values = {gf.createLineString(new Coordinate[] {new Coordinate(i, 0), new Coordinate(i, 10)}), i};
+            features.add(SimpleFeatureBuilder.build(type, values, null));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        EnvFunction.clearLocalValues();
+    }
+
+    @Test
+    public void testReusedAcrossRenderers() throws Exception {
+        LineSymbolizer symbolizer = sb.createLineSymbolizer(Color.BLUE, 1);
+        symbolizer.getStroke().setWidth(sb.attributeExpression("width"));
+        Style style = sb.createStyle(symbolizer);
+        style.featureTypeStyles().get(0).rules().add(sb.createRule(sb.createLineSymbolizer(Color.RED, 3)));
+
+        CompiledStyleCache cache = new CompiledStyleCache();
+        BufferedImage expected = render(style, null);
+        BufferedImage first = render(style, cache);
+        assertEquals(1, cache.size());
+        BufferedImage second = render(style, cache);
+        assertEquals(1, cache.size());
+        assertPixelsEqual(expected, first);
+        assertPixelsEqual(expected, second);
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testEnvNotCached() throws Exception {
+        LineSymbolizer symbolizer = sb.createLineSymbolizer(Color.BLUE, 1);
+        symbolizer.getStroke().setColor(sb.getFilterFactory().function("env", sb.literalExpression("color")));
+        Style style = sb.createStyle(symbolizer);
+
+        CompiledStyleCache cache = new CompiledStyleCache();
+        EnvFunction.setLocalValue("color", "#FF0000");
+        BufferedImage red = render(style, cache);
+        assertEquals(0, cache.size());
+        EnvFunction.setLocalValue("color", "#00FF00");
+        BufferedImage green = render(style, cache);
+        assertTrue(containsColor(red, Color.RED));
+        assertFalse(containsColor(red, Color.GREEN));
+        assertTrue(containsColor(green, Color.GREEN));
+        assertFalse(containsColor(green, Color.RED));
+    }
+
+    private boolean containsColor(BufferedImage image, Color color) {
+        for (int x = 0; x < image.getWidth(); x++) {
+            if (image.getRGB(x, 50) == color.getRGB()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BufferedImage render(Style style, CompiledStyleCache cache) {
+        MapContent mc = new MapContent();
+        try {
+            mc.addLayer(new FeatureLayer(features, style));
+            StreamingRenderer renderer = new StreamingRenderer();
+            renderer.setMapContent(mc);
+            Map<Object, Object> hints = new HashMap<>();
+            if (cache != null) {
+                hints.put(StreamingRenderer.COMPILED_STYLE_CACHE_KEY, cache);
+            }
+            renderer.setRendererHints(hints);
+            BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D graphics = image.createGraphics();
+            try {
+                renderer.paint(graphics, new Rectangle(0, 0, 100, 100), BOUNDS);
+            } finally {
+                graphics.dispose();
+            }
+            return image;
+        } finally {
+            mc.dispose();
+        }
+    }
+
+    private void assertPixelsEqual(BufferedImage expected, BufferedImage actual) {
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertEquals("Pixel " + x + "," + y, expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+}
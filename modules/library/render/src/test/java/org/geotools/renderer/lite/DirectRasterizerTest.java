@@ -0,0 +1,324 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite;
+
+import static org.geotools.referencing.crs.DefaultGeographicCRS.WGS84;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.style.Style;
+import org.geotools.data.DataUtilities;
+import org.geotools.feature.DefaultFeatureCollection;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.map.FeatureLayer;
+import org.geotools.map.MapContent;
+import org.geotools.styling.StyleBuilder;
+import org.junit.Test;
+import org.locationtech.jts.io.WKTReader;
+
+public class DirectRasterizerTest {
+
+    static final Shape RECTANGLE = new Rectangle2D.Double(10, 10, 20, 10);
+
+    static final Shape TRIANGLE = triangle();
+
+    @Test
+    public void testFillRectangleSameAsJava2D() {
+        int[] types = {
+            BufferedImage.TYPE_INT_ARGB,
+            BufferedImage.TYPE_INT_ARGB_PRE,
+            BufferedImage.TYPE_INT_RGB,
+            BufferedImage.TYPE_4BYTE_ABGR
+        };
+        for (int type : types) {
+            for (Color color : new Color[] {Color.RED, new Color(0, 0, 255, 128)}) {
+                for (boolean antialias : new boolean[] {false, true}) {
+                    BiConsumer<Graphics2D, DirectRasterizer> painter = (g, r) -> {
+                        g.setColor(color);
+                        fill(g, r, RECTANGLE);
+                    };
+                    assertSimilar(paint(type, antialias, painter, false), paint(type, antialias, painter, true), 2);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNormalizedFill() {
+        Shape rectangle = new Rectangle2D.Double(10.6, 10.6, 20, 10);
+        BufferedImage expected = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage actual = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+        for (BufferedImage image : new BufferedImage[] {expected, actual}) {
+            Graphics2D graphics = image.createGraphics();
+            try {
+                graphics.setColor(Color.RED);
+                DirectRasterizer rasterizer = image == actual ? new DirectRasterizer(graphics, image) : null;
+                fill(graphics, rasterizer, rectangle);
+            } finally {
+                graphics.dispose();
+            }
+        }
+        // without antialiasing the points are moved to the nearest quarter of pixel, 10.6 becomes 10.25
+        assertSimilar(expected, actual, 0);
+        assertEquals(Color.RED.getRGB(), actual.getRGB(10, 10));
+        assertEquals(0, actual.getRGB(30, 10));
+    }
+
+    @Test
+    public void testFillTriangle() {
+        BiConsumer<Graphics2D, DirectRasterizer> painter = (g, r) -> {
+            g.setColor(Color.BLUE);
+            fill(g, r, TRIANGLE);
+        };
+        BufferedImage expected = paint(BufferedImage.TYPE_INT_ARGB, true, painter, false);
+        BufferedImage actual = paint(BufferedImage.TYPE_INT_ARGB, true, painter, true);
+        // the antialiased edges use a different sub-pixel grid
+        assertSimilar(expected, actual, 64);
+        assertEquals(Color.BLUE.getRGB(), actual.getRGB(40, 40));
+        assertEquals(Color.WHITE.getRGB(), actual.getRGB(5, 5));
+    }
+
+    @Test
+    public void testFillHoles() {
+        Path2D path = new Path2D.Double(Path2D.WIND_EVEN_ODD);
+        path.append(new Rectangle2D.Double(10, 10, 60, 60), false);
+        path.append(new Rectangle2D.Double(30, 30, 20, 20), false);
+        BufferedImage image = paint(
+                BufferedImage.TYPE_INT_ARGB,
+                false,
+                (g, r) -> {
+                    g.setColor(Color.RED);
+                    fill(g, r, path);
+                },
+                true);
+        assertEquals(Color.RED.getRGB(), image.getRGB(20, 20));
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(40, 40));
+    }
+
+    @Test
+    public void testStroke() {
+        Path2D line = new Path2D.Double();
+        line.moveTo(10, 80);
+        line.lineTo(50, 20);
+        line.lineTo(90, 70);
+        BiConsumer<Graphics2D, DirectRasterizer> painter = (g, r) -> {
+            g.setColor(Color.BLACK);
+            g.setStroke(new BasicStroke(4, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+            if (r == null || !r.draw(g, line)) {
+                g.draw(line);
+            }
+        };
+        BufferedImage expected = paint(BufferedImage.TYPE_INT_ARGB, true, painter, false);
+        BufferedImage actual = paint(BufferedImage.TYPE_INT_ARGB, true, painter, true);
+        assertSimilar(expected, actual, 64);
+        assertEquals(Color.BLACK.getRGB(), actual.getRGB(50, 22));
+    }
+
+    @Test
+    public void testClip() {
+        BufferedImage image = paint(
+                BufferedImage.TYPE_INT_ARGB,
+                false,
+                (g, r) -> {
+                    g.setColor(Color.RED);
+                    g.setClip(new Rectangle(0, 0, 20, 100));
+                    fill(g, r, RECTANGLE);
+                },
+                true);
+        assertEquals(Color.RED.getRGB(), image.getRGB(15, 15));
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(25, 15));
+    }
+
+    @Test
+    public void testTranslation() {
+        BufferedImage image = paint(
+                BufferedImage.TYPE_INT_ARGB,
+                false,
+                (g, r) -> {
+                    g.setColor(Color.RED);
+                    g.translate(50, 50);
+                    fill(g, r, RECTANGLE);
+                },
+                true);
+        assertEquals(Color.RED.getRGB(), image.getRGB(65, 65));
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(15, 15));
+    }
+
+    @Test
+    public void testFallbacks() {
+        BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        Graphics2D other = image.createGraphics();
+        try {
+            DirectRasterizer rasterizer = new DirectRasterizer(graphics, image);
+            graphics.setColor(Color.RED);
+            assertTrue(rasterizer.fill(graphics, RECTANGLE));
+            // unknown graphics
+            other.setColor(Color.RED);
+            assertFalse(rasterizer.fill(other, RECTANGLE));
+            // dashes
+            float[] dashes = {4, 4};
+            graphics.setStroke(new BasicStroke(2, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER, 1, dashes, 0));
+            assertFalse(rasterizer.draw(graphics, RECTANGLE));
+            // thin lines without antialiasing
+            graphics.setStroke(new BasicStroke(1));
+            assertFalse(rasterizer.draw(graphics, RECTANGLE));
+            // gradients
+            graphics.setPaint(new GradientPaint(0, 0, Color.RED, 100, 100, Color.BLUE));
+            assertFalse(rasterizer.fill(graphics, RECTANGLE));
+            graphics.setColor(Color.RED);
+            // compositions
+            graphics.setComposite(AlphaComposite.Xor);
+            assertFalse(rasterizer.fill(graphics, RECTANGLE));
+            graphics.setComposite(AlphaComposite.SrcOver);
+            // non rectangular clips
+            graphics.setClip(new Ellipse2D.Double(0, 0, 50, 50));
+            assertFalse(rasterizer.fill(graphics, RECTANGLE));
+            graphics.setClip(null);
+            // scaling
+            graphics.scale(2, 2);
+            assertFalse(rasterizer.fill(graphics, RECTANGLE));
+        } finally {
+            graphics.dispose();
+            other.dispose();
+        }
+
+        BufferedImage gray = new BufferedImage(100, 100, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D grayGraphics = gray.createGraphics();
+        try {
+            grayGraphics.setColor(Color.WHITE);
+            assertFalse(new DirectRasterizer(grayGraphics, gray).fill(grayGraphics, RECTANGLE));
+        } finally {
+            grayGraphics.dispose();
+        }
+    }
+
+    @Test
+    public void testStreamingRenderer() throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("polygons", "geom:Polygon:srid=4326");
+        DefaultFeatureCollection features = new DefaultFeatureCollection();
+        WKTReader reader = new WKTReader();
+        features.add(SimpleFeatureBuilder.build(
+                type, new Object[] {reader.read("POLYGON((1 1, 9 2, 5 9, 1 1), (4 3, 6 3, 5 5, 4 3))")}, null));
+        features.add(SimpleFeatureBuilder.build(
+                type, new Object[] {reader.read("POLYGON((5 5, 9.5 5, 9.5 9.5, 5 9.5, 5 5))")}, null));
+        StyleBuilder sb = new StyleBuilder();
+        Style style = sb.createStyle(sb.createPolygonSymbolizer(new Color(255, 0, 0, 200), Color.BLACK, 2));
+
+        BufferedImage expected = render(features, style, false);
+        BufferedImage actual = render(features, style, true);
+        assertSimilar(expected, actual, 64);
+    }
+
+    private BufferedImage render(DefaultFeatureCollection features, Style style, boolean direct) {
+        BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_4BYTE_ABGR);
+        MapContent mc = new MapContent();
+        Graphics2D graphics = image.createGraphics();
+        try {
+            mc.addLayer(new FeatureLayer(features, style));
+            StreamingRenderer renderer = new StreamingRenderer();
+            renderer.setMapContent(mc);
+            RenderingHints java2dHints =
+                    new RenderingHints(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            java2dHints.put(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+            renderer.setJava2DHints(java2dHints);
+            Map<Object, Object> hints = new HashMap<>();
+            if (direct) {
+                hints.put(StreamingRenderer.DIRECT_RASTER_TARGET_KEY, image);
+            }
+            renderer.setRendererHints(hints);
+            renderer.paint(graphics, new Rectangle(0, 0, 100, 100), new ReferencedEnvelope(0, 10, 0, 10, WGS84));
+        } finally {
+            graphics.dispose();
+            mc.dispose();
+        }
+        return image;
+    }
+
+    private static void fill(Graphics2D g, DirectRasterizer rasterizer, Shape shape) {
+        if (rasterizer == null || !rasterizer.fill(g, shape)) {
+            g.fill(shape);
+        }
+    }
+
+    private BufferedImage paint(
+            int type, boolean antialias, BiConsumer<Graphics2D, DirectRasterizer> painter, boolean direct) {
+        BufferedImage image = new BufferedImage(100, 100, type);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, 100, 100);
+            graphics.setRenderingHint(
+                    RenderingHints.KEY_ANTIALIASING,
+                    antialias ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+            // Java2D normalization is tested separately
+            graphics.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+            DirectRasterizer rasterizer = direct ? new DirectRasterizer(graphics, image) : null;
+            painter.accept(graphics, rasterizer);
+            if (direct) {
+                // make sure the paint went through the rasterizer
+                assertFalse(rasterizer.targets.isEmpty());
+            }
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    private static Shape triangle() {
+        Path2D path = new Path2D.Double();
+        path.moveTo(10.3, 10.7);
+        path.lineTo(90.2, 30.1);
+        path.lineTo(30.6, 85.4);
+        path.closePath();
+        return path;
+    }
+
+    private void assertSimilar(BufferedImage expected, BufferedImage actual, int tolerance) {
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                int e = expected.getRGB(x, y);
+                int a = actual.getRGB(x, y);
+                for (int shift = 0; shift < 32; shift += 8) {
+                    int difference = Math.abs(((e >> shift) & 0xFF) - ((a >> shift) & 0xFF));
+                    assertTrue(
+                            "Pixel " + x + "," + y + " differs: " + Integer.toHexString(e) + " vs "
+                                    + Integer.toHexString(a),
+                            difference <= tolerance);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import org.geotools.geometry.jts.LiteShape2;
+import org.geotools.renderer.style.GraphicStyle2D;
+import org.geotools.renderer.style.MarkStyle2D;
+import org.geotools.renderer.style.Style2D;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+
+public class MarkAtlasTest {
+
+    GeometryFactory gf = new GeometryFactory();
+
+    @Test
+    public void testMarksSameAsDirect() throws Exception {
+        MarkStyle2D style = mark(AlphaComposite.SrcOver);
+        // quarter pixel positions are painted exactly
+        Coordinate[] points = {new Coordinate(10.25, 20.5), new Coordinate(30, 30), new Coordinate(50.75, 60.25)};
+
+        MarkAtlas atlas = new MarkAtlas();
+        BufferedImage expected = paint(null, style, points);
+        BufferedImage actual = paint(atlas, style, points);
+        assertPixelsEqual(expected, actual);
+        assertEquals(3, atlas.size());
+
+        // the sprites are reused at the same sub-pixel position
+        paint(atlas, style, new Coordinate(70.25, 80.5), new Coordinate(15, 15));
+        assertEquals(3, atlas.size());
+
+        atlas.clear();
+        assertEquals(0, atlas.size());
+    }
+
+    @Test
+    public void testFallbackOnComposite() throws Exception {
+        MarkStyle2D style = mark(AlphaComposite.getInstance(AlphaComposite.XOR));
+        Coordinate[] points = {new Coordinate(10, 10), new Coordinate(40.5, 40.5)};
+
+        MarkAtlas atlas = new MarkAtlas();
+        BufferedImage expected = paint(null, style, points);
+        BufferedImage actual = paint(atlas, style, points);
+        assertPixelsEqual(expected, actual);
+        assertEquals(0, atlas.size());
+    }
+
+    @Test
+    public void testFallbackOnScaledGraphics() throws Exception {
+        MarkStyle2D style = mark(AlphaComposite.SrcOver);
+        MarkAtlas atlas = new MarkAtlas();
+        StyledShapePainter painter = new StyledShapePainter();
+        painter.markAtlas = atlas;
+        BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.scale(2, 2);
+            painter.paint(graphics, point(new Coordinate(20, 20)), style, 1);
+        } finally {
+            graphics.dispose();
+        }
+        assertEquals(0, atlas.size());
+        assertEquals(Color.RED.getRGB(), image.getRGB(40, 40));
+    }
+
+    @Test
+    public void testRotatedGraphic() throws Exception {
+        BufferedImage icon = new BufferedImage(16, 8, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = icon.createGraphics();
+        g.setColor(Color.BLUE);
+        g.fillRect(0, 0, 16, 8);
+        g.dispose();
+        GraphicStyle2D style = new GraphicStyle2D(icon, (float) Math.toRadians(90));
+        style.setComposite(AlphaComposite.SrcOver);
+
+        MarkAtlas atlas = new MarkAtlas();
+        BufferedImage image = paint(atlas, style, new Coordinate(50, 50), new Coordinate(20, 20));
+        assertEquals(1, atlas.size());
+        // rotated by 90 degrees, the icon is taller than wide
+        assertEquals(Color.BLUE.getRGB(), image.getRGB(50, 44));
+        assertEquals(Color.BLUE.getRGB(), image.getRGB(50, 56));
+        assertNotEquals(Color.BLUE.getRGB(), image.getRGB(44, 50));
+    }
+
+    @Test
+    public void testStartOverWhenFull() throws Exception {
+        // room for a handful of sprites only, the larger marks do not fit at all
+        MarkAtlas atlas = new MarkAtlas(32, 1);
+        for (int i = 0; i < 40; i++) {
+            MarkStyle2D style = mark(AlphaComposite.SrcOver);
+            style.setSize(4 + i % 5);
+            BufferedImage image = paint(atlas, style, new Coordinate(50 + (i % 4) * 0.25, 50));
+            assertEquals(Color.RED.getRGB(), image.getRGB(50, 50));
+        }
+        assertTrue(atlas.size() > 0);
+        assertTrue(atlas.size() < 20);
+    }
+
+    @Test
+    public void testOversizedNotRemembered() throws Exception {
+        MarkAtlas atlas = new MarkAtlas(32, 1);
+        for (int i = 0; i < 50; i++) {
+            // rotation driven by an attribute, each mark has its own key
+            MarkStyle2D large = mark(AlphaComposite.SrcOver);
+            large.setSize(20);
+            large.setRotation((float) Math.toRadians(i * 7));
+            paint(atlas, large, new Coordinate(50, 50));
+            // fits the size limit, but not once rotated and stroked
+            MarkStyle2D borderline = mark(AlphaComposite.SrcOver);
+            borderline.setSize(8);
+            borderline.setRotation((float) Math.toRadians(i * 7));
+            paint(atlas, borderline, new Coordinate(50, 50));
+        }
+        assertEquals(0, atlas.size());
+
+        // per feature images too large for a sprite
+        for (int i = 0; i < 50; i++) {
+            BufferedImage icon = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+            GraphicStyle2D style = new GraphicStyle2D(icon, (float) Math.toRadians(45));
+            style.setComposite(AlphaComposite.SrcOver);
+            paint(atlas, style, new Coordinate(50, 50));
+        }
+        assertEquals(0, atlas.size());
+    }
+
+    private MarkStyle2D mark(AlphaComposite composite) {
+        MarkStyle2D style = new MarkStyle2D();
+        style.setShape(new Ellipse2D.Double(-0.5, -0.5, 1, 1));
+        style.setSize(10);
+        style.setFill(Color.RED);
+        style.setFillComposite(composite);
+        style.setContour(Color.BLACK);
+        style.setContourComposite(composite);
+        style.setStroke(new BasicStroke(1));
+        return style;
+    }
+
+    private LiteShape2 point(Coordinate coordinate) throws Exception {
+        return new LiteShape2(gf.createPoint(coordinate), null, null, false);
+    }
+
+    private BufferedImage paint(MarkAtlas atlas, Style2D style, Coordinate... points) throws Exception {
+        StyledShapePainter painter = new StyledShapePainter();
+        painter.markAtlas = atlas;
+        BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, 100, 100);
+            for (Coordinate point : points) {
+                painter.paint(graphics, point(point), style, 1);
+            }
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    private void assertPixelsEqual(BufferedImage expected, BufferedImage actual) {
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertEquals("Pixel " + x + "," + y, expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.geotools.api.style.Style;
+import org.geotools.coverage.grid.GridCoverage2D;
+import org.geotools.coverage.grid.GridCoverageFactory;
+import org.geotools.data.property.PropertyDataStore;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.image.test.ImageAssert;
+import org.geotools.map.FeatureLayer;
+import org.geotools.map.GridCoverageLayer;
+import org.geotools.map.MapContent;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.styling.StyleBuilder;
+import org.geotools.test.TestData;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelLayerRenderingTest {
+
+    PropertyDataStore ds;
+
+    ReferencedEnvelope bounds;
+
+    StyleBuilder sb = new StyleBuilder();
+
+    ExecutorService layerPool;
+
+    @Before
+    public void setUp() throws Exception {
+        RendererBaseTest.setupVeraFonts();
+        File property = new File(TestData.getResource(this, "square.properties").toURI());
+        ds = new PropertyDataStore(property.getParentFile());
+        bounds = new ReferencedEnvelope(-1, 18, -1, 11, DefaultGeographicCRS.WGS84);
+        layerPool = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        layerPool.shutdown();
+        ds.dispose();
+    }
+
+    private MapContent buildMap() throws Exception {
+        MapContent mc = new MapContent();
+        Style bigSquare = sb.createStyle(sb.createPolygonSymbolizer(Color.BLUE));
+        mc.addLayer(new FeatureLayer(ds.getFeatureSource("bigsquare"), bigSquare));
+        Style square = sb.createStyle();
+        square.featureTypeStyles()
+                .add(sb.createFeatureTypeStyle(
+                        null,
+                        sb.createPolygonSymbolizer(Color.RED, Color.BLACK, 1),
+                        sb.createTextSymbolizer(Color.BLACK, sb.createFont("Bitstream Vera Sans", 12), "name")));
+        mc.addLayer(new FeatureLayer(ds.getFeatureSource("square"), square));
+        Style buildings = sb.createStyle(sb.createPolygonSymbolizer(Color.GREEN, Color.BLACK, 2));
+        mc.addLayer(new FeatureLayer(ds.getFeatureSource("buildings"), buildings));
+        return mc;
+    }
+
+    private BufferedImage render(MapContent mc, boolean parallel) {
+        StreamingRenderer renderer = new StreamingRenderer();
+        Map<Object, Object> hints = new HashMap<>();
+        hints.put(StreamingRenderer.PARALLEL_LAYER_RENDERING_KEY, parallel);
+        renderer.setRendererHints(hints);
+        renderer.setLayerThreadPool(layerPool);
+        renderer.setMapContent(mc);
+        return RendererBaseTest.renderImage(renderer, bounds, null);
+    }
+
+    @Test
+    public void testSameAsSequential() throws Exception {
+        MapContent mc = buildMap();
+        try {
+            BufferedImage sequential = render(mc, false);
+            BufferedImage parallel = render(mc, true);
+            ImageAssert.assertEquals(sequential, parallel, 0);
+        } finally {
+            mc.dispose();
+        }
+    }
+
+    @Test
+    public void testLayerOrder() throws Exception {
+        // a polygon layer below a raster layer fully covering it
+        Style pst = sb.createStyle(sb.createPolygonSymbolizer(null, sb.createFill(Color.GRAY, 0.5)));
+        BufferedImage bi = new BufferedImage(300, 300, BufferedImage.TYPE_4BYTE_ABGR);
+        Graphics g = bi.getGraphics();
+        g.setColor(Color.RED);
+        g.fillRect(0, 0, 300, 300);
+        g.dispose();
+        GridCoverage2D coverage = new GridCoverageFactory().create("test_red", bi, bounds);
+
+        MapContent mc = new MapContent();
+        mc.addLayer(new FeatureLayer(ds.getFeatureSource("buildings"), pst));
+        mc.addLayer(new GridCoverageLayer(coverage, sb.createStyle(sb.createRasterSymbolizer())));
+        try {
+            BufferedImage img = render(mc, true);
+            int[] pixel = new int[4];
+            img.getData().getPixel(100, 100, pixel);
+            assertEquals(255, pixel[0]);
+            assertEquals(0, pixel[1]);
+            assertEquals(0, pixel[2]);
+            assertEquals(255, pixel[3]);
+        } finally {
+            mc.dispose();
+        }
+    }
+
+    @Test
+    public void testFeatureEvents() throws Exception {
+        MapContent mc = buildMap();
+        try {
+            CountingRenderListener sequential = new CountingRenderListener();
+            CountingRenderListener parallel = new CountingRenderListener();
+            for (CountingRenderListener listener : new CountingRenderListener[] {sequential, parallel}) {
+                StreamingRenderer renderer = new StreamingRenderer();
+                renderer.setRendererHints(Map.of(StreamingRenderer.PARALLEL_LAYER_RENDERING_KEY, listener == parallel));
+                renderer.setLayerThreadPool(layerPool);
+                renderer.setMapContent(mc);
+                RendererBaseTest.renderImage(renderer, bounds, listener);
+            }
+            assertTrue(parallel.features > 0);
+            assertEquals(sequential.features, parallel.features);
+            assertEquals(0, parallel.errors);
+        } finally {
+            mc.dispose();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.style.Rule;
+import org.geotools.api.style.Style;
+import org.geotools.data.DataUtilities;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.image.test.ImageAssert;
+import org.geotools.map.FeatureLayer;
+import org.geotools.map.MapContent;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.styling.StyleBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+
+public class ScreenMapPointsTest {
+
+    static final int REPEAT = 100;
+
+    SimpleFeatureSource points;
+
+    ReferencedEnvelope bounds = new ReferencedEnvelope(0, 10, 0, 10, DefaultGeographicCRS.WGS84);
+
+    StyleBuilder sb = new StyleBuilder();
+
+    @Before
+    public void setUp() throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("points", "geom:Point:srid=4326,name:String");
+        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(type);
+        GeometryFactory gf = new GeometryFactory();
+        List<SimpleFeature> features = new ArrayList<>();
+        // a few locations, each one repeated many times
+        Coordinate[] locations = {new Coordinate(2, 2), new Coordinate(5, 5), new Coordinate(8, 3)};
+        for (Coordinate location : locations) {
+            for (int i = 0; i < REPEAT; i++) {
+                fb.add(gf.createPoint(location));
+                fb.add("p" + i);
+                features.add(fb.buildFeature(null));
+            }
+        }
+        points = DataUtilities.source(features.toArray(new SimpleFeature[features.size()]));
+    }
+
+    private CountingRenderListener render(Style style, boolean screenMapPoints, BufferedImage[] image) {
+        MapContent mc = new MapContent();
+        mc.addLayer(new FeatureLayer(points, style));
+        try {
+            StreamingRenderer renderer = new StreamingRenderer();
+            renderer.setRendererHints(Map.of(StreamingRenderer.SCREENMAP_POINTS_KEY, screenMapPoints));
+            renderer.setMapContent(mc);
+            CountingRenderListener listener = new CountingRenderListener();
+            image[0] = RendererBaseTest.renderImage(renderer, bounds, listener);
+            return listener;
+        } finally {
+            mc.dispose();
+        }
+    }
+
+    @Test
+    public void testSkipCoveredPoints() throws Exception {
+        Style style = sb.createStyle(sb.createPointSymbolizer(
+                sb.createGraphic(null, sb.createMark(StyleBuilder.MARK_CIRCLE, Color.RED), null, 1, 8, 0)));
+        BufferedImage[] all = new BufferedImage[1];
+        BufferedImage[] skipped = new BufferedImage[1];
+        CountingRenderListener allListener = render(style, false, all);
+        CountingRenderListener skippedListener = render(style, true, skipped);
+
+        assertEquals(3 * REPEAT, allListener.features);
+        assertEquals(3, skippedListener.features);
+        assertEquals(0, skippedListener.errors);
+        ImageAssert.assertEquals(all[0], skipped[0], 0);
+    }
+
+    @Test
+    public void testLabelsDisableSkipping() throws Exception {
+        Style style = sb.createStyle();
+        style.featureTypeStyles()
+                .add(sb.createFeatureTypeStyle(
+                        null,
+                        sb.createPointSymbolizer(),
+                        sb.createTextSymbolizer(Color.BLACK, sb.createFont("Bitstream Vera Sans", 12), "name")));
+        BufferedImage[] image = new BufferedImage[1];
+        CountingRenderListener listener = render(style, true, image);
+        assertEquals(3 * REPEAT, listener.features);
+    }
+
+    @Test
+    public void testPointOnly() throws Exception {
+        StreamingRenderer renderer = new StreamingRenderer();
+        LiteFeatureTypeStyle lfts = new LiteFeatureTypeStyle(
+                null, null, List.of(sb.createRule(sb.createPointSymbolizer())), List.of(), null);
+        assertTrue(renderer.isPointOnly(lfts));
+
+        lfts.ruleList = new Rule[] {sb.createRule(sb.createPolygonSymbolizer())};
+        assertFalse(renderer.isPointOnly(lfts));
+    }
+}
@@ -522,6 +522,12 @@ public boolean isLimitOffsetSupported() {
         return true;
     }
 
+    @Override
+    public boolean isOutOfOrderColumnReadSupported() {
+        // rows are fully materialized before being returned
+        return true;
+    }
+
     @Override
     public void applyLimitOffset(StringBuffer sql, int limit, int offset) {
         if (limit >= 0 && limit < Integer.MAX_VALUE) {
@@ -230,6 +230,11 @@ public boolean isLimitOffsetSupported() {
         return delegate.isLimitOffsetSupported();
     }
 
+    @Override
+    public boolean isOutOfOrderColumnReadSupported() {
+        return delegate.isOutOfOrderColumnReadSupported();
+    }
+
     @Override
     public void applyLimitOffset(StringBuffer sql, int limit, int offset) {
         delegate.applyLimitOffset(sql, limit, offset);
@@ -192,11 +192,22 @@ public Geometry decodeGeometryValue(
         return delegate.decodeGeometryValue(descriptor, rs, column, factory, cx, hints);
     }
 
+    @Override
+    public int getMaxMultiRowInsertParameters() {
+        // H2 has no hard limit, keep statements at a reasonable size
+        return 32767;
+    }
+
     @Override
     public boolean isLimitOffsetSupported() {
         return delegate.isLimitOffsetSupported();
     }
 
+    @Override
+    public boolean isOutOfOrderColumnReadSupported() {
+        return delegate.isOutOfOrderColumnReadSupported();
+    }
+
     @Override
     public void applyLimitOffset(StringBuffer sql, int limit, int offset) {
         delegate.applyLimitOffset(sql, limit, offset);
@@ -0,0 +1,115 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.h2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.jdbc.JDBCFeatureStore;
+import org.geotools.jdbc.JDBCTestSetup;
+import org.geotools.jdbc.JDBCTestSupport;
+import org.geotools.jdbc.SequencedPrimaryKeyColumn;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+/** Checks the multi row inserts with a parameter limit small enough to split them in several statements */
+public class H2MultiRowInsertTest extends JDBCTestSupport {
+
+    /** Three parameters per row in the seq table (name, geom, key), so two rows per statement */
+    static final int MAX_PARAMETERS = 7;
+
+    int inserts;
+
+    @Override
+    protected JDBCTestSetup createTestSetup() {
+        return new H2PrimaryKeyTestSetup();
+    }
+
+    @Override
+    protected void connect() throws Exception {
+        super.connect();
+        dataStore.setDatabaseSchema(null);
+        dataStore.setSQLDialect(new H2DialectPrepared(dataStore) {
+            @Override
+            public int getMaxMultiRowInsertParameters() {
+                return MAX_PARAMETERS;
+            }
+
+            @Override
+            public void onInsert(PreparedStatement insert, Connection cx, SimpleFeatureType featureType)
+                    throws SQLException {
+                inserts++;
+            }
+        });
+        dialect = dataStore.getSQLDialect();
+        dataStore.setMultiRowInsertEnabled(true);
+        dataStore.setBatchInsertSize(10);
+    }
+
+    @Test
+    public void testInsertInChunks() throws Exception {
+        JDBCFeatureStore fs = (JDBCFeatureStore) dataStore.getFeatureSource(tname("seq"));
+        assertTrue(fs.getPrimaryKey().getColumns().get(0) instanceof SequencedPrimaryKeyColumn);
+
+        // five rows, two full statements and a partial one
+        GeometryFactory gf = new GeometryFactory();
+        SimpleFeatureBuilder b = new SimpleFeatureBuilder(fs.getSchema());
+        List<SimpleFeature> features = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            b.set(aname("name"), "new" + i);
+            b.set(aname("geom"), gf.createPoint(new Coordinate(i, i)));
+            features.add(b.buildFeature(null));
+        }
+        fs.addFeatures(DataUtilities.collection(features));
+        assertEquals(3, inserts);
+
+        // the keys come from the sequence, the existing rows use 1 to 3
+        for (int i = 0; i < 5; i++) {
+            String fid = tname("seq") + "." + (i + 4);
+            assertEquals(fid, features.get(i).getID());
+            assertEquals(fid, features.get(i).getUserData().get("fid"));
+        }
+
+        Map<String, SimpleFeature> stored = new HashMap<>();
+        try (SimpleFeatureIterator it = fs.getFeatures().features()) {
+            while (it.hasNext()) {
+                SimpleFeature feature = it.next();
+                stored.put(feature.getID(), feature);
+            }
+        }
+        assertEquals(8, stored.size());
+        for (int i = 0; i < 5; i++) {
+            SimpleFeature feature = stored.get(tname("seq") + "." + (i + 4));
+            assertEquals("new" + i, feature.getAttribute(aname("name")));
+            assertEquals(new Coordinate(i, i), ((Geometry) feature.getAttribute(aname("geom"))).getCoordinate());
+        }
+    }
+}
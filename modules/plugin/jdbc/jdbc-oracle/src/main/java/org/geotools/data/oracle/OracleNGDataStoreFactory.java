@@ -266,6 +266,7 @@ protected void setupParameters(Map<String, Object> parameters) {
         parameters.put(LOOSEBBOX.key, LOOSEBBOX);
         parameters.put(ESTIMATED_EXTENTS.key, ESTIMATED_EXTENTS);
         parameters.put(MAX_OPEN_PREPARED_STATEMENTS.key, MAX_OPEN_PREPARED_STATEMENTS);
+        parameters.put(SQL_TEMPLATE_CACHE_SIZE.key, SQL_TEMPLATE_CACHE_SIZE);
         parameters.put(PORT.key, PORT);
         parameters.put(HOST.key, HOST);
         parameters.put(DATABASE.key, DATABASE);
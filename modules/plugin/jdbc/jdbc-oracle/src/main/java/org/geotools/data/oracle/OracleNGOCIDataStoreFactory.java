@@ -78,12 +78,15 @@ protected void setupParameters(Map parameters) {
         parameters.put(MINCONN.key, MINCONN);
         parameters.put(FETCHSIZE.key, FETCHSIZE);
         parameters.put(BATCH_INSERT_SIZE.key, BATCH_INSERT_SIZE);
+        parameters.put(ADAPTIVE_FETCH_SIZE.key, ADAPTIVE_FETCH_SIZE);
+        parameters.put(READ_AHEAD.key, READ_AHEAD);
         parameters.put(MAXWAIT.key, MAXWAIT);
         if (getValidationQuery() != null) parameters.put(VALIDATECONN.key, VALIDATECONN);
         parameters.put(PK_METADATA_TABLE.key, PK_METADATA_TABLE);
 
         parameters.put(OracleNGDataStoreFactory.LOOSEBBOX.key, OracleNGDataStoreFactory.LOOSEBBOX);
         parameters.put(MAX_OPEN_PREPARED_STATEMENTS.key, MAX_OPEN_PREPARED_STATEMENTS);
+        parameters.put(SQL_TEMPLATE_CACHE_SIZE.key, SQL_TEMPLATE_CACHE_SIZE);
 
         parameters.put(OracleNGDataStoreFactory.ESTIMATED_EXTENTS.key, OracleNGDataStoreFactory.ESTIMATED_EXTENTS);
         parameters.put(
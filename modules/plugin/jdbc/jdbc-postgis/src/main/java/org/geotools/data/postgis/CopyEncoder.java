@@ -0,0 +1,162 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.postgis;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import org.geotools.geometry.jts.CurvedGeometry;
+import org.geotools.geometry.jts.CurvedRing;
+import org.geotools.geometry.jts.WKTWriter2;
+import org.geotools.jdbc.ColumnMetadata;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.io.WKBWriter;
+
+/**
+ * Encodes rows in the PostgreSQL COPY text format, one line per row with tab separated values.
+ *
+ * <p>Geometries are encoded as hex EWKB, which the PostGIS geometry and geography input functions accept directly,
+ * curved geometries fall back on EWKT.
+ */
+class CopyEncoder {
+
+    /** Bit flagging the presence of a SRID in the EWKB geometry type */
+    static final int EWKB_SRID_FLAG = 0x20000000;
+
+    private final List<ColumnMetadata> columns;
+
+    private final WKBWriter[] writers;
+
+    CopyEncoder(List<ColumnMetadata> columns) {
+        this.columns = columns;
+        this.writers = new WKBWriter[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnMetadata column = columns.get(i);
+            if (Geometry.class.isAssignableFrom(column.getBinding())) {
+                writers[i] = new WKBWriter(column.getDimension());
+            }
+        }
+    }
+
+    /** Returns true if all the values of the given column can be encoded */
+    static boolean canEncode(ColumnMetadata column) {
+        Class<?> binding = column.getBinding();
+        if (Geometry.class.isAssignableFrom(binding)) {
+            return column.getSrid() != null && column.getDimension() != null;
+        }
+        return Number.class.isAssignableFrom(binding)
+                || CharSequence.class.isAssignableFrom(binding)
+                || Boolean.class.equals(binding)
+                || Character.class.equals(binding)
+                || Date.class.isAssignableFrom(binding)
+                || UUID.class.equals(binding)
+                || byte[].class.equals(binding);
+    }
+
+    /** Encodes a row, terminated by a new line */
+    void encode(Object[] row, StringBuilder sb) {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                sb.append('\t');
+            }
+            Object value = row[i];
+            if (value == null) {
+                sb.append("\\N");
+            } else if (value instanceof Geometry) {
+                encodeGeometry((Geometry) value, i, sb);
+            } else if (value instanceof Boolean) {
+                sb.append((Boolean) value ? 't' : 'f');
+            } else if (value instanceof BigDecimal) {
+                sb.append(((BigDecimal) value).toPlainString());
+            } else if (value instanceof byte[]) {
+                // bytea hex format, with the backslash escaped for the COPY text format
+                sb.append("\\\\x").append(WKBWriter.toHex((byte[]) value));
+            } else if (value instanceof Date && !(value instanceof java.sql.Date || value instanceof java.sql.Time)) {
+                // local time, as the driver sets the session time zone to the JVM one
+                Timestamp ts = value instanceof Timestamp ? (Timestamp) value : new Timestamp(((Date) value).getTime());
+                sb.append(ts);
+            } else {
+                escape(value.toString(), sb);
+            }
+        }
+        sb.append('\n');
+    }
+
+    private void encodeGeometry(Geometry g, int column, StringBuilder sb) {
+        int srid = columns.get(column).getSrid();
+        if (g instanceof LinearRing && !(g instanceof CurvedRing)) {
+            // postgis does not handle linear rings, convert to just a line string
+            g = g.getFactory().createLineString(((LinearRing) g).getCoordinateSequence());
+        }
+
+        if (g instanceof CurvedGeometry) {
+            sb.append("SRID=").append(srid).append(';');
+            escape(new WKTWriter2(columns.get(column).getDimension()).write(g), sb);
+            return;
+        }
+
+        // plain WKB written big endian, add the srid flag and value after the geometry type
+        byte[] wkb = writers[column].write(g);
+        byte[] ewkb = new byte[wkb.length + 4];
+        ewkb[0] = wkb[0];
+        int type = readInt(wkb, 1) | EWKB_SRID_FLAG;
+        writeInt(type, ewkb, 1);
+        writeInt(srid, ewkb, 5);
+        System.arraycopy(wkb, 5, ewkb, 9, wkb.length - 5);
+        sb.append(WKBWriter.toHex(ewkb));
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xff) << 24)
+                | ((bytes[offset + 1] & 0xff) << 16)
+                | ((bytes[offset + 2] & 0xff) << 8)
+                | (bytes[offset + 3] & 0xff);
+    }
+
+    private static void writeInt(int value, byte[] bytes, int offset) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    /** Escapes the characters that have a special meaning in the COPY text format */
+    static void escape(String value, StringBuilder sb) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.postgis;
+
+import org.geotools.geometry.jts.LiteCoordinateSequence;
+import org.geotools.geometry.jts.LiteCoordinateSequenceFactory;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFactory;
+import org.locationtech.jts.geom.CoordinateSequences;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBConstants;
+
+/**
+ * A (E)WKB reader working straight on a byte array, without the {@link org.locationtech.jts.io.InStream} indirection
+ * and the per ordinate buffer copies of the JTS and GeoTools readers.
+ *
+ * <p>When the geometry factory uses a {@link LiteCoordinateSequenceFactory} the ordinates are decoded directly into the
+ * packed array backing the {@link LiteCoordinateSequence}, which is what the renderer works best with, so no
+ * intermediate coordinate objects are ever built.
+ *
+ * <p>Only the linear geometry types are handled, {@link #read(byte[], int)} returns <code>null</code> when it finds a
+ * curved one, and the caller is expected to fall back on {@link org.geotools.geometry.jts.WKBReader}. Like the GeoTools
+ * reader, structurally invalid lines and rings are repaired.
+ *
+ * <p>This class is stateful, thus not thread safe, use a separate instance per thread.
+ */
+class PackedWKBReader {
+
+    private static final int WKB_Z = 0x80000000;
+
+    private static final int WKB_M = 0x40000000;
+
+    private static final int WKB_SRID = 0x20000000;
+
+    private GeometryFactory factory;
+
+    private CoordinateSequenceFactory csFactory;
+
+    private PrecisionModel precisionModel;
+
+    private boolean lite;
+
+    private byte[] bytes;
+
+    private int position;
+
+    private int limit;
+
+    private boolean littleEndian;
+
+    private int dimension;
+
+    private int measures;
+
+    PackedWKBReader(GeometryFactory factory) {
+        setGeometryFactory(factory);
+    }
+
+    void setGeometryFactory(GeometryFactory factory) {
+        this.factory = factory;
+        this.csFactory = factory.getCoordinateSequenceFactory();
+        this.precisionModel = factory.getPrecisionModel();
+        this.lite = csFactory instanceof LiteCoordinateSequenceFactory;
+    }
+
+    /**
+     * Reads a geometry from the first <code>length</code> bytes of the array.
+     *
+     * @return the geometry, or <code>null</code> if the WKB contains curved geometries
+     */
+    Geometry read(byte[] bytes, int length) throws ParseException {
+        this.bytes = bytes;
+        this.position = 0;
+        this.limit = length;
+        try {
+            return readGeometry();
+        } finally {
+            this.bytes = null;
+        }
+    }
+
+    private Geometry readGeometry() throws ParseException {
+        littleEndian = readByte() == WKBConstants.wkbNDR;
+        int typeInt = readInt();
+        boolean hasZ = (typeInt & WKB_Z) != 0;
+        boolean hasM = (typeInt & WKB_M) != 0;
+        dimension = 2 + (hasZ ? 1 : 0) + (hasM ? 1 : 0);
+        measures = hasM ? 1 : 0;
+        int srid = (typeInt & WKB_SRID) != 0 ? readInt() : 0;
+
+        Geometry geometry;
+        switch (typeInt & 0xff) {
+            case WKBConstants.wkbPoint:
+                geometry = readPoint();
+                break;
+            case WKBConstants.wkbLineString:
+                geometry = factory.createLineString(readLineStringSequence());
+                break;
+            case WKBConstants.wkbPolygon:
+                geometry = readPolygon();
+                break;
+            case WKBConstants.wkbMultiPoint:
+                Point[] points = new Point[readInt()];
+                for (int i = 0; i < points.length; i++) {
+                    Geometry g = readGeometry();
+                    if (!(g instanceof Point)) return invalid(g, "MultiPoint");
+                    points[i] = (Point) g;
+                }
+                geometry = factory.createMultiPoint(points);
+                break;
+            case WKBConstants.wkbMultiLineString:
+                LineString[] lines = new LineString[readInt()];
+                for (int i = 0; i < lines.length; i++) {
+                    Geometry g = readGeometry();
+                    if (!(g instanceof LineString)) return invalid(g, "MultiLineString");
+                    lines[i] = (LineString) g;
+                }
+                geometry = factory.createMultiLineString(lines);
+                break;
+            case WKBConstants.wkbMultiPolygon:
+                Polygon[] polygons = new Polygon[readInt()];
+                for (int i = 0; i < polygons.length; i++) {
+                    Geometry g = readGeometry();
+                    if (!(g instanceof Polygon)) return invalid(g, "MultiPolygon");
+                    polygons[i] = (Polygon) g;
+                }
+                geometry = factory.createMultiPolygon(polygons);
+                break;
+            case WKBConstants.wkbGeometryCollection:
+                Geometry[] geometries = new Geometry[readInt()];
+                for (int i = 0; i < geometries.length; i++) {
+                    Geometry g = readGeometry();
+                    if (g == null) return null;
+                    geometries[i] = g;
+                }
+                geometry = factory.createGeometryCollection(geometries);
+                break;
+            default:
+                // curves and unknown types, let the full reader deal with them
+                return null;
+        }
+        if (srid != 0) {
+            geometry.setSRID(srid);
+        }
+        return geometry;
+    }
+
+    /** Returns null for nested curves, or throws if the nested geometry is of the wrong type */
+    private Geometry invalid(Geometry nested, String type) throws ParseException {
+        if (nested == null) {
+            return null;
+        }
+        throw new ParseException("Invalid geometry type encountered in " + type);
+    }
+
+    private Point readPoint() throws ParseException {
+        CoordinateSequence cs = readCoordinateSequence(1);
+        for (int i = 0; i < cs.getDimension(); i++) {
+            if (!Double.isNaN(cs.getOrdinate(0, i))) {
+                return factory.createPoint(cs);
+            }
+        }
+        return factory.createPoint();
+    }
+
+    private CoordinateSequence readLineStringSequence() throws ParseException {
+        CoordinateSequence cs = readCoordinateSequence(readInt());
+        if (cs.size() == 1) {
+            return CoordinateSequences.extend(csFactory, cs, 2);
+        }
+        return cs;
+    }
+
+    private Polygon readPolygon() throws ParseException {
+        int numRings = readInt();
+        if (numRings == 0) {
+            return factory.createPolygon();
+        }
+        LinearRing shell = readLinearRing();
+        LinearRing[] holes = new LinearRing[numRings - 1];
+        for (int i = 0; i < holes.length; i++) {
+            holes[i] = readLinearRing();
+        }
+        return factory.createPolygon(shell, holes);
+    }
+
+    private LinearRing readLinearRing() throws ParseException {
+        CoordinateSequence cs = readCoordinateSequence(readInt());
+        if (!CoordinateSequences.isRing(cs)) {
+            cs = CoordinateSequences.ensureValidRing(csFactory, cs);
+        }
+        return factory.createLinearRing(cs);
+    }
+
+    private CoordinateSequence readCoordinateSequence(int size) throws ParseException {
+        if (size < 0 || (long) size * dimension * 8 > limit - position) {
+            throw new ParseException("Invalid coordinate count " + size + " in WKB");
+        }
+        boolean floating = precisionModel.isFloating();
+        if (lite) {
+            // decode straight into the packed array
+            double[] ordinates = new double[size * dimension];
+            for (int i = 0; i < ordinates.length; i++) {
+                double value = readDouble();
+                ordinates[i] = floating || i % dimension > 1 ? value : precisionModel.makePrecise(value);
+            }
+            return new LiteCoordinateSequence(ordinates, dimension, measures);
+        }
+
+        CoordinateSequence cs = csFactory.create(size, dimension, measures);
+        int targetDimension = Math.min(cs.getDimension(), dimension);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < dimension; j++) {
+                double value = readDouble();
+                if (j < targetDimension) {
+                    cs.setOrdinate(i, j, floating || j > 1 ? value : precisionModel.makePrecise(value));
+                }
+            }
+        }
+        return cs;
+    }
+
+    private byte readByte() throws ParseException {
+        if (position >= limit) {
+            throw new ParseException("Unexpected end of WKB");
+        }
+        return bytes[position++];
+    }
+
+    private int readInt() throws ParseException {
+        if (position + 4 > limit) {
+            throw new ParseException("Unexpected end of WKB");
+        }
+        byte[] b = bytes;
+        int p = position;
+        position += 4;
+        if (littleEndian) {
+            return (b[p] & 0xff) | ((b[p + 1] & 0xff) << 8) | ((b[p + 2] & 0xff) << 16) | ((b[p + 3] & 0xff) << 24);
+        } else {
+            return ((b[p] & 0xff) << 24) | ((b[p + 1] & 0xff) << 16) | ((b[p + 2] & 0xff) << 8) | (b[p + 3] & 0xff);
+        }
+    }
+
+    /** Bounds are checked once for the whole sequence in {@link #readCoordinateSequence(int)} */
+    private double readDouble() {
+        byte[] b = bytes;
+        int p = position;
+        position += 8;
+        long bits;
+        if (littleEndian) {
+            bits = (b[p] & 0xffL)
+                    | ((b[p + 1] & 0xffL) << 8)
+                    | ((b[p + 2] & 0xffL) << 16)
+                    | ((b[p + 3] & 0xffL) << 24)
+                    | ((b[p + 4] & 0xffL) << 32)
+                    | ((b[p + 5] & 0xffL) << 40)
+                    | ((b[p + 6] & 0xffL) << 48)
+                    | ((b[p + 7] & 0xffL) << 56);
+        } else {
+            bits = ((b[p] & 0xffL) << 56)
+                    | ((b[p + 1] & 0xffL) << 48)
+                    | ((b[p + 2] & 0xffL) << 40)
+                    | ((b[p + 3] & 0xffL) << 32)
+                    | ((b[p + 4] & 0xffL) << 24)
+                    | ((b[p + 5] & 0xffL) << 16)
+                    | ((b[p + 6] & 0xffL) << 8)
+                    | (b[p + 7] & 0xffL);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+}
@@ -20,6 +20,7 @@
 
 import java.io.IOException;
 import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
@@ -76,6 +77,7 @@
 import org.locationtech.jts.io.ParseException;
 import org.locationtech.jts.io.WKTReader;
 import org.locationtech.jts.io.WKTWriter;
+import org.postgresql.copy.CopyIn;
 import org.postgresql.jdbc.PgConnection;
 
 public class PostGISDialect extends BasicSQLDialect {
@@ -172,6 +174,9 @@ public boolean isAggregatedSortSupported(String function) {
 
     static final Version PGSQL_V_12_0 = new Version("12.0");
 
+    /** Amount of encoded rows, in chars, accumulated before sending them to the server during a COPY */
+    static final int COPY_BUFFER_SIZE = 1 << 16;
+
     public PostGISDialect(JDBCDataStore dataStore) {
         super(dataStore);
         this.forceLongitudeFirst = true; // PostGIS has an XY axis order, so forceLongitudeFirst is set.
@@ -191,6 +196,8 @@ public PostGISDialect(JDBCDataStore dataStore) {
 
     boolean topologyPreserved = false;
 
+    boolean copyInsertEnabled = false;
+
     // checkStandardConformingStrings will set this based on database configuration
     boolean escapeBackslash = true;
 
@@ -204,6 +211,15 @@ public void setLooseBBOXEnabled(boolean looseBBOXEnabled) {
         this.looseBBOXEnabled = looseBBOXEnabled;
     }
 
+    public boolean isCopyInsertEnabled() {
+        return copyInsertEnabled;
+    }
+
+    /** @see PostgisNGDataStoreFactory#COPY_INSERTS */
+    public void setCopyInsertEnabled(boolean copyInsertEnabled) {
+        this.copyInsertEnabled = copyInsertEnabled;
+    }
+
     public boolean isEncodeBBOXFilterAsEnvelope() {
         return encodeBBOXFilterAsEnvelope;
     }
@@ -979,11 +995,100 @@ public Object getNextSequenceValue(String schemaName, String sequenceName, Conne
         return null;
     }
 
+    @Override
+    public List<Object> getNextSequenceValues(String schemaName, String sequenceName, int count, Connection cx)
+            throws SQLException {
+        String sql = "SELECT " + encodeNextSequenceValue(schemaName, sequenceName) + " FROM generate_series(1, ?)";
+        dataStore.getLogger().fine(sql);
+        try (PreparedStatement ps = cx.prepareStatement(sql)) {
+            ps.setInt(1, count);
+            try (ResultSet rs = ps.executeQuery()) {
+                List<Object> values = new ArrayList<>(count);
+                while (rs.next()) {
+                    values.add(rs.getLong(1));
+                }
+                return values;
+            }
+        }
+    }
+
     @Override
     public String encodeNextSequenceValue(String schemaName, String sequenceName) {
         return "nextval('" + sequenceName + "')";
     }
 
+    @Override
+    public boolean isBulkInsertSupported() {
+        return copyInsertEnabled;
+    }
+
+    @Override
+    public boolean isBulkInsertSupported(List<ColumnMetadata> columns) {
+        if (!copyInsertEnabled) {
+            return false;
+        }
+        for (ColumnMetadata column : columns) {
+            if (column.getBinding() == null || !CopyEncoder.canEncode(column)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Loads the rows with a <code>COPY ... FROM STDIN</code> command, using the text format with geometries encoded as
+     * hex EWKB.
+     */
+    @Override
+    @SuppressWarnings("PMD.CloseResource") // the connection is not ours to close
+    public void bulkInsert(
+            String schemaName, String tableName, List<ColumnMetadata> columns, List<Object[]> rows, Connection cx)
+            throws SQLException, IOException {
+        StringBuffer sql = new StringBuffer("COPY ");
+        if (schemaName != null && !schemaName.isEmpty()) {
+            encodeSchemaName(schemaName, sql);
+            sql.append(".");
+        }
+        encodeTableName(tableName, sql);
+        sql.append(" (");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            encodeColumnName(null, columns.get(i).getName(), sql);
+        }
+        sql.append(") FROM STDIN");
+        LOGGER.fine(sql.toString());
+
+        PgConnection pgConnection = unwrapConnection(cx, PgConnection.class);
+        CopyIn copy = pgConnection.getCopyAPI().copyIn(sql.toString());
+        try {
+            CopyEncoder encoder = new CopyEncoder(columns);
+            StringBuilder sb = new StringBuilder();
+            for (Object[] row : rows) {
+                encoder.encode(row, sb);
+                if (sb.length() > COPY_BUFFER_SIZE) {
+                    writeToCopy(copy, sb);
+                }
+            }
+            writeToCopy(copy, sb);
+            long copied = copy.endCopy();
+            if (copied != rows.size()) {
+                throw new IOException("Failed to insert some features, copied " + copied + " out of " + rows.size());
+            }
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+    }
+
+    private void writeToCopy(CopyIn copy, StringBuilder sb) throws SQLException {
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        copy.writeToCopy(bytes, 0, bytes.length);
+        sb.setLength(0);
+    }
+
     @Override
     public boolean lookupGeneratedValuesPostInsert() {
         return true;
@@ -1359,6 +1464,12 @@ public boolean isLimitOffsetSupported() {
         return true;
     }
 
+    @Override
+    public boolean isOutOfOrderColumnReadSupported() {
+        // the driver receives each row as a whole
+        return true;
+    }
+
     @Override
     public void applyLimitOffset(StringBuffer sql, int limit, int offset) {
         if (limit >= 0 && limit < Integer.MAX_VALUE) {
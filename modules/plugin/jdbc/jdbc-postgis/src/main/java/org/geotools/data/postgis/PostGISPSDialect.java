@@ -22,6 +22,7 @@
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.geotools.api.feature.simple.SimpleFeatureType;
@@ -43,6 +44,9 @@ public class PostGISPSDialect extends PreparedStatementSQLDialect {
 
     private PostGISDialect delegate;
 
+    /** Maximum number of parameters in a single statement, as the wire protocol uses a 16 bit count */
+    static final int MAX_PARAMETERS = 32767;
+
     public PostGISPSDialect(JDBCDataStore store, PostGISDialect delegate) {
         super(store);
         this.delegate = delegate;
@@ -152,11 +156,39 @@ public Object getNextSequenceValue(String schemaName, String sequenceName, Conne
         return delegate.getNextSequenceValue(schemaName, sequenceName, cx);
     }
 
+    @Override
+    public List<Object> getNextSequenceValues(String schemaName, String sequenceName, int count, Connection cx)
+            throws SQLException {
+        return delegate.getNextSequenceValues(schemaName, sequenceName, count, cx);
+    }
+
     @Override
     public String encodeNextSequenceValue(String schemaName, String sequenceName) {
         return delegate.encodeNextSequenceValue(schemaName, sequenceName);
     }
 
+    @Override
+    public boolean isBulkInsertSupported() {
+        return delegate.isBulkInsertSupported();
+    }
+
+    @Override
+    public boolean isBulkInsertSupported(List<ColumnMetadata> columns) {
+        return delegate.isBulkInsertSupported(columns);
+    }
+
+    @Override
+    public void bulkInsert(
+            String schemaName, String tableName, List<ColumnMetadata> columns, List<Object[]> rows, Connection cx)
+            throws SQLException, IOException {
+        delegate.bulkInsert(schemaName, tableName, columns, rows, cx);
+    }
+
+    @Override
+    public int getMaxMultiRowInsertParameters() {
+        return MAX_PARAMETERS;
+    }
+
     @Override
     public String getSequenceForColumn(String schemaName, String tableName, String columnName, Connection cx)
             throws SQLException {
@@ -256,6 +288,11 @@ public boolean isLimitOffsetSupported() {
         return delegate.isLimitOffsetSupported();
     }
 
+    @Override
+    public boolean isOutOfOrderColumnReadSupported() {
+        return delegate.isOutOfOrderColumnReadSupported();
+    }
+
     @Override
     public void applyLimitOffset(StringBuffer sql, int limit, int offset) {
         delegate.applyLimitOffset(sql, limit, offset);
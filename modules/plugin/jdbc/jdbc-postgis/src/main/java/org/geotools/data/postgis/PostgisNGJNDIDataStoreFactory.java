@@ -16,6 +16,7 @@
  */
 package org.geotools.data.postgis;
 
+import static org.geotools.data.postgis.PostgisNGDataStoreFactory.COPY_INSERTS;
 import static org.geotools.data.postgis.PostgisNGDataStoreFactory.ENCODE_FUNCTIONS;
 import static org.geotools.data.postgis.PostgisNGDataStoreFactory.ESTIMATED_EXTENTS;
 import static org.geotools.data.postgis.PostgisNGDataStoreFactory.LOOSEBBOX;
@@ -49,5 +50,6 @@ protected void setupParameters(Map parameters) {
         parameters.put(ENCODE_FUNCTIONS.key, ENCODE_FUNCTIONS);
         parameters.put(SIMPLIFY.key, SIMPLIFY);
         parameters.put(SIMPLIFICATION_METHOD.key, SIMPLIFICATION_METHOD);
+        parameters.put(COPY_INSERTS.key, COPY_INSERTS);
     }
 }
@@ -22,9 +22,10 @@
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.Arrays;
+import java.util.Base64;
 import org.geotools.api.data.DataSourceException;
 import org.geotools.geometry.jts.WKBReader;
-import org.geotools.util.Base64;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.io.ByteArrayInStream;
@@ -37,10 +38,16 @@
  * @since 2.4.1
  */
 public class WKBAttributeIO {
+    /** The MIME decoder skips the line breaks PostgreSQL adds every 76 chars */
+    static final Base64.Decoder BASE64 = Base64.getMimeDecoder();
+
     WKBReader wkbr;
+    PackedWKBReader packedReader;
     ByteArrayInStream inStream = new ByteArrayInStream(new byte[0]);
     GeometryFactory gf;
     boolean base64EncodingEnabled = true;
+    /** Reused buffer for the base64 decoded WKB */
+    byte[] buffer = new byte[0];
 
     public WKBAttributeIO() {
         this(new GeometryFactory());
@@ -48,6 +55,7 @@ public WKBAttributeIO() {
 
     public WKBAttributeIO(GeometryFactory gf) {
         wkbr = new WKBReader(gf);
+        packedReader = new PackedWKBReader(gf);
         this.gf = gf;
     }
 
@@ -55,6 +63,7 @@ public void setGeometryFactory(GeometryFactory gf) {
         if (gf != this.gf) {
             this.gf = gf;
             wkbr = new WKBReader(gf);
+            packedReader.setGeometryFactory(gf);
         }
     }
 
@@ -70,18 +79,21 @@ public void setBase64EncodingEnabled(boolean base64EncodingEnabled) {
      * This method will convert a Well Known Binary representation to a JTS Geometry object.
      *
      * @param wkbBytes the wkb encoded byte array
+     * @param length the number of bytes holding the wkb in the array
      * @return a JTS Geometry object that is equivalent to the WTB representation passed in by param wkb
      * @throws IOException if more than one geometry object was found in the WTB representation, or if the parser could
      *     not parse the WKB representation.
      */
-    private Geometry wkb2Geometry(byte[] wkbBytes) throws IOException {
-        if (wkbBytes == null) // DJB: null value from database --> null geometry (the same behavior as
-            // WKT).  NOTE: sending back a GEOMETRYCOLLECTION(EMPTY) is also a
-            // possibility, but this is not the same as NULL
-            return null;
+    private Geometry wkb2Geometry(byte[] wkbBytes, int length) throws IOException {
         try {
-            inStream.setBytes(wkbBytes);
-            return wkbr.read(inStream);
+            // linear geometries are decoded straight from the array, curves need the full reader
+            Geometry g = packedReader.read(wkbBytes, length);
+            if (g == null) {
+                // the array may be the reused decode buffer, with leftovers of previous rows past length
+                inStream.setBytes(length == wkbBytes.length ? wkbBytes : Arrays.copyOf(wkbBytes, length));
+                g = wkbr.read(inStream);
+            }
+            return g;
         } catch (Exception e) {
             throw new DataSourceException("An exception occurred while parsing WKB data", e);
         }
@@ -90,13 +102,7 @@ private Geometry wkb2Geometry(byte[] wkbBytes) throws IOException {
     /** @see org.geotools.data.jdbc.attributeio.AttributeIO#read(java.sql.ResultSet, int) */
     public Object read(ResultSet rs, String columnName) throws IOException {
         try {
-            byte[] bytes = rs.getBytes(columnName);
-            if (bytes == null) // ie. its a null column -> return a null geometry!
-            return null;
-            if (base64EncodingEnabled) {
-                bytes = Base64.decode(bytes);
-            }
-            return wkb2Geometry(bytes);
+            return bytes2Geometry(rs.getBytes(columnName));
         } catch (SQLException e) {
             throw new DataSourceException("SQL exception occurred while reading the geometry.", e);
         }
@@ -105,18 +111,31 @@ public Object read(ResultSet rs, String columnName) throws IOException {
     /** @see org.geotools.data.jdbc.attributeio.AttributeIO#read(java.sql.ResultSet, int) */
     public Object read(ResultSet rs, int columnIndex) throws IOException {
         try {
-            byte[] bytes = rs.getBytes(columnIndex);
-            if (bytes == null) // ie. its a null column -> return a null geometry!
-            return null;
-            if (base64EncodingEnabled) {
-                bytes = Base64.decode(bytes);
-            }
-            return wkb2Geometry(bytes);
+            return bytes2Geometry(rs.getBytes(columnIndex));
         } catch (SQLException e) {
             throw new DataSourceException("SQL exception occurred while reading the geometry.", e);
         }
     }
 
+    private Geometry bytes2Geometry(byte[] bytes) throws IOException {
+        if (bytes == null) // ie. its a null column -> return a null geometry!
+        return null;
+        if (!base64EncodingEnabled) {
+            return wkb2Geometry(bytes, bytes.length);
+        }
+        // decode in the reused buffer, base64 never grows the data
+        if (buffer.length < bytes.length) {
+            buffer = new byte[bytes.length];
+        }
+        int length;
+        try {
+            length = BASE64.decode(bytes, buffer);
+        } catch (IllegalArgumentException e) {
+            throw new DataSourceException("An exception occurred while decoding base64 WKB data", e);
+        }
+        return wkb2Geometry(buffer, length);
+    }
+
     /** @see org.geotools.data.jdbc.attributeio.AttributeIO#write(java.sql.PreparedStatement, int, java.lang.Object) */
     public void write(PreparedStatement ps, int position, Object value) throws IOException {
         try {
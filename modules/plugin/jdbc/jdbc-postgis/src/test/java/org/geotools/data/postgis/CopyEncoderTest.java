@@ -0,0 +1,105 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.postgis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.geotools.jdbc.ColumnMetadata;
+import org.junit.Test;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKTReader;
+
+public class CopyEncoderTest {
+
+    @Test
+    public void testEncodeValues() throws Exception {
+        List<ColumnMetadata> columns = Arrays.asList(
+                column("name", String.class),
+                column("flag", Boolean.class),
+                column("amount", BigDecimal.class),
+                column("data", byte[].class),
+                column("id", Integer.class));
+        CopyEncoder encoder = new CopyEncoder(columns);
+
+        StringBuilder sb = new StringBuilder();
+        encoder.encode(new Object[] {"a\tb\\c\nd", true, new BigDecimal("1E+3"), new byte[] {1, (byte) 0xAB}, 12}, sb);
+        encoder.encode(new Object[] {null, false, null, null, 13}, sb);
+
+        assertEquals("a\\tb\\\\c\\nd\tt\t1000\t\\\\x01AB\t12\n" + "\\N\tf\t\\N\t\\N\t13\n", sb.toString());
+    }
+
+    @Test
+    public void testEncodeGeometry() throws Exception {
+        ColumnMetadata geom = column("geom", Point.class);
+        geom.setSrid(4326);
+        geom.setDimension(2);
+        CopyEncoder encoder = new CopyEncoder(Arrays.asList(geom));
+
+        Geometry point = new WKTReader().read("POINT (1 2)");
+        StringBuilder sb = new StringBuilder();
+        encoder.encode(new Object[] {point}, sb);
+
+        String hex = sb.toString();
+        assertTrue(hex.endsWith("\n"));
+        Geometry decoded = new WKBReader().read(WKBReader.hexToBytes(hex.trim()));
+        assertEquals(4326, decoded.getSRID());
+        assertTrue(point.equalsExact(decoded));
+    }
+
+    @Test
+    public void testEncodeLinearRing() throws Exception {
+        ColumnMetadata geom = column("geom", Geometry.class);
+        geom.setSrid(3857);
+        geom.setDimension(2);
+        CopyEncoder encoder = new CopyEncoder(Arrays.asList(geom));
+
+        StringBuilder sb = new StringBuilder();
+        encoder.encode(new Object[] {new WKTReader().read("LINEARRING (0 0, 1 0, 1 1, 0 0)")}, sb);
+
+        Geometry decoded =
+                new WKBReader().read(WKBReader.hexToBytes(sb.toString().trim()));
+        assertTrue(decoded instanceof LineString);
+        assertEquals(3857, decoded.getSRID());
+        assertEquals(4, decoded.getNumPoints());
+    }
+
+    @Test
+    public void testCanEncode() {
+        assertTrue(CopyEncoder.canEncode(column("name", String.class)));
+        assertTrue(CopyEncoder.canEncode(column("date", java.sql.Timestamp.class)));
+        assertFalse(CopyEncoder.canEncode(column("tags", String[].class)));
+        assertFalse(CopyEncoder.canEncode(column("hstore", Map.class)));
+        // geometry columns need a known srid and dimension
+        assertFalse(CopyEncoder.canEncode(column("geom", Point.class)));
+    }
+
+    private ColumnMetadata column(String name, Class<?> binding) {
+        ColumnMetadata column = new ColumnMetadata();
+        column.setName(name);
+        column.setBinding(binding);
+        return column;
+    }
+}
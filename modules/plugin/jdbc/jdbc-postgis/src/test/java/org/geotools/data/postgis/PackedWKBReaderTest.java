@@ -0,0 +1,111 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.postgis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import org.geotools.geometry.jts.CircularString;
+import org.geotools.geometry.jts.LiteCoordinateSequence;
+import org.geotools.geometry.jts.LiteCoordinateSequenceFactory;
+import org.geotools.geometry.jts.WKBReader;
+import org.junit.Test;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.io.ByteOrderValues;
+import org.locationtech.jts.io.WKBWriter;
+import org.locationtech.jts.io.WKTReader;
+
+public class PackedWKBReaderTest {
+
+    static final String[] WKTS = {
+        "POINT (1 2)",
+        "POINT EMPTY",
+        "POINT Z (1 2 3)",
+        "LINESTRING (0 0, 10 10, 20 0)",
+        "LINESTRING ZM (0 0 1 2, 10 10 3 4)",
+        "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0), (2 2, 2 4, 4 4, 4 2, 2 2))",
+        "POLYGON EMPTY",
+        "MULTIPOINT ((1 1), (2 2))",
+        "MULTILINESTRING ((0 0, 1 1), (2 2, 3 3))",
+        "MULTIPOLYGON (((0 0, 1 0, 1 1, 0 0)), ((5 5, 6 5, 6 6, 5 5)))",
+        "GEOMETRYCOLLECTION (POINT (1 1), LINESTRING (0 0, 1 1))"
+    };
+
+    @Test
+    public void testSameAsWKBReader() throws Exception {
+        GeometryFactory gf = new GeometryFactory();
+        PackedWKBReader reader = new PackedWKBReader(gf);
+        for (String wkt : WKTS) {
+            Geometry g = new WKTReader().read(wkt);
+            for (int byteOrder : new int[] {ByteOrderValues.BIG_ENDIAN, ByteOrderValues.LITTLE_ENDIAN}) {
+                g.setSRID(4326);
+                byte[] wkb = new WKBWriter(dimension(wkt), byteOrder, true).write(g);
+                Geometry read = reader.read(wkb, wkb.length);
+                // the reference reader does not reset its state between geometries
+                Geometry reference = new WKBReader(gf).read(wkb);
+                assertTrue(wkt, reference.equalsExact(read));
+                assertEquals(wkt, reference.getSRID(), read.getSRID());
+                assertEquals(wkt, reference.getGeometryType(), read.getGeometryType());
+            }
+        }
+    }
+
+    @Test
+    public void testLiteSequence() throws Exception {
+        GeometryFactory gf = new GeometryFactory(new LiteCoordinateSequenceFactory());
+        PackedWKBReader reader = new PackedWKBReader(gf);
+        byte[] wkb = new WKBWriter().write(new WKTReader().read("POLYGON ((0 0, 10 0, 10 10, 0 0))"));
+
+        Polygon polygon = (Polygon) reader.read(wkb, wkb.length);
+        assertTrue(polygon.getExteriorRing().getCoordinateSequence() instanceof LiteCoordinateSequence);
+        assertEquals(4, polygon.getNumPoints());
+        assertEquals(10, polygon.getExteriorRing().getCoordinateSequence().getX(1), 0d);
+    }
+
+    @Test
+    public void testTrailingBytes() throws Exception {
+        PackedWKBReader reader = new PackedWKBReader(new GeometryFactory());
+        byte[] wkb = new WKBWriter().write(new WKTReader().read("LINESTRING (0 0, 10 10)"));
+        byte[] buffer = new byte[wkb.length + 10];
+        System.arraycopy(wkb, 0, buffer, 0, wkb.length);
+
+        LineString line = (LineString) reader.read(buffer, wkb.length);
+        assertEquals(2, line.getNumPoints());
+    }
+
+    @Test
+    public void testCurvesFallBack() throws Exception {
+        PackedWKBReader reader = new PackedWKBReader(new GeometryFactory());
+        // a circular string (type 8) with three points
+        ByteBuffer bb = ByteBuffer.allocate(9 + 3 * 16);
+        bb.put((byte) 0).putInt(8).putInt(3);
+        bb.putDouble(0).putDouble(0).putDouble(1).putDouble(1).putDouble(2).putDouble(0);
+        byte[] wkb = bb.array();
+        assertNull(reader.read(wkb, wkb.length));
+        // the full reader handles it
+        assertTrue(new WKBReader().read(wkb) instanceof CircularString);
+    }
+
+    private int dimension(String wkt) {
+        return wkt.contains(" ZM ") ? 4 : wkt.contains(" Z ") ? 3 : 2;
+    }
+}
@@ -17,6 +17,7 @@
 package org.geotools.data.shapefile;
 
 import static org.geotools.data.shapefile.files.ShpFileType.FIX;
+import static org.geotools.data.shapefile.files.ShpFileType.HRT;
 import static org.geotools.data.shapefile.files.ShpFileType.QIX;
 import static org.geotools.data.shapefile.files.ShpFileType.SHP;
 import static org.geotools.data.shapefile.files.ShpFileType.SHX;
@@ -39,18 +40,22 @@
 import org.geotools.data.shapefile.files.FileWriter;
 import org.geotools.data.shapefile.files.ShpFileType;
 import org.geotools.data.shapefile.files.ShpFiles;
+import org.geotools.data.shapefile.files.StorageFile;
 import org.geotools.data.shapefile.index.CachedQuadTree;
 import org.geotools.data.shapefile.index.Data;
 import org.geotools.data.shapefile.index.DataDefinition;
 import org.geotools.data.shapefile.index.TreeException;
+import org.geotools.data.shapefile.index.hilbert.PackedHilbertRTree;
 import org.geotools.data.shapefile.index.quadtree.QuadTree;
 import org.geotools.data.shapefile.index.quadtree.StoreException;
 import org.geotools.data.shapefile.index.quadtree.fs.FileSystemIndexStore;
 import org.geotools.data.shapefile.shp.IndexFile;
+import org.geotools.data.shapefile.shp.ShapefileReader;
 import org.geotools.data.util.NullProgressListener;
 import org.geotools.util.URLs;
 import org.geotools.util.logging.Logging;
 import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
 
 /**
  * Manages the index files on behalf of the the {@link ShapefileDataStore}
@@ -105,7 +110,7 @@ public IndexManager(ShpFiles shpFiles, ShapefileDataStore store) {
      * @return true if the spatial index has been created/updated
      * @implNote this method will avoid building spatial indexes for the same shapefile concurrently, waiting for a
      *     running build before proceeding. If {@code force} is {@code true}, it will proceed to build the index once
-     *     the write lock on the QIX file is acquired, otherwise, it will do so only if the index is stale.
+     *     the write lock on the index file is acquired, otherwise, it will do so only if the index is stale.
      */
     public boolean createSpatialIndex(boolean force) {
         // create index as needed
@@ -113,9 +118,10 @@ public boolean createSpatialIndex(boolean force) {
             return false;
         }
         try {
-            if (isIndexStale(QIX) || force) {
-                // get a write lock on the .qix, waiting for other index builds
-                final URL treeURL = shpFiles.acquireWrite(QIX, writer);
+            final ShpFileType indexType = getSpatialIndexType();
+            if (isIndexStale(indexType) || force) {
+                // get a write lock on the index file, waiting for other index builds
+                final URL treeURL = shpFiles.acquireWrite(indexType, writer);
                 try {
                     // check again, may force be false and another thread just have created it
                     if (isIndexStale(treeURL) || force) {
@@ -135,6 +141,16 @@ public boolean createSpatialIndex(boolean force) {
     protected void doCreateSpatialIndex() throws Exception {
         ShapefileDataStoreFactory.LOGGER.fine("Creating spatial index for " + shpFiles.get(SHP));
 
+        if (store.isHilbertIndexed()) {
+            StorageFile storage = shpFiles.getStorageFile(HRT);
+            try (ShapefileReader reader = new ShapefileReader(shpFiles, true, false, new GeometryFactory());
+                    IndexFile shx = new IndexFile(shpFiles, false)) {
+                PackedHilbertRTree.build(reader, shx, storage.getFile(), PackedHilbertRTree.DEFAULT_NODE_SIZE);
+            }
+            storage.replaceOriginal();
+            return;
+        }
+
         ShapeFileIndexer indexer = new ShapeFileIndexer();
         indexer.setShapeFileName(shpFiles);
         indexer.index(false, new NullProgressListener());
@@ -184,7 +200,12 @@ boolean isIndexUseable(ShpFileType indexType) {
 
     /** Returns true if the index file is available */
     boolean isSpatialIndexAvailable() {
-        return shpFiles.isLocal() && shpFiles.exists(QIX);
+        return shpFiles.isLocal() && shpFiles.exists(getSpatialIndexType());
+    }
+
+    /** Returns the type of spatial index in use, either the quadtree or the packed Hilbert R-tree */
+    ShpFileType getSpatialIndexType() {
+        return store.isHilbertIndexed() ? HRT : QIX;
     }
 
     /** Returns true if the specified index file is outdated compared to the shapefile .shp and .shx files */
@@ -292,6 +313,10 @@ protected CloseableIterator<Data> querySpatialIndex(Envelope bbox)
         // check if the spatial index needs recreating
         createSpatialIndex(false);
 
+        if (store.isHilbertIndexed()) {
+            return queryHilbertIndex(bbox);
+        }
+
         if (cachedTree == null) {
             boolean canCache = false;
             URL treeURL = shpFiles.acquireRead(QIX, writer);
@@ -339,6 +364,30 @@ protected CloseableIterator<Data> querySpatialIndex(Envelope bbox)
         return tmp;
     }
 
+    /**
+     * Queries the packed Hilbert R-tree. The search results are collected eagerly, so that the index file is unmapped
+     * and unlocked before returning.
+     */
+    private CloseableIterator<Data> queryHilbertIndex(Envelope bbox) throws DataSourceException {
+        URL treeURL = shpFiles.acquireRead(HRT, writer);
+        try {
+            File treeFile = URLs.urlToFile(treeURL);
+            if (treeFile == null || !treeFile.exists() || treeFile.length() == 0) {
+                return null;
+            }
+            try (PackedHilbertRTree tree = PackedHilbertRTree.open(treeFile)) {
+                if (bbox.contains(tree.getBounds())) {
+                    return null;
+                }
+                return tree.search(bbox);
+            }
+        } catch (IOException e) {
+            throw new DataSourceException("Error querying the Hilbert R-tree", e);
+        } finally {
+            shpFiles.unlockRead(treeURL, writer);
+        }
+    }
+
     /**
      * Convenience method for opening a QuadTree index.
      *
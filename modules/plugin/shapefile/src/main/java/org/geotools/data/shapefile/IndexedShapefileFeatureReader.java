@@ -69,8 +69,8 @@ public void close() throws IOException {
     }
 
     @Override
-    public boolean hasNext() throws IOException {
-        while (nextFeature == null && this.goodRecs.hasNext()) {
+    protected boolean nextRecord() throws IOException {
+        while (this.goodRecs.hasNext()) {
             next = goodRecs.next();
 
             Long l = (Long) next.getValue(1);
@@ -93,9 +93,10 @@ public boolean hasNext() throws IOException {
                 row = null;
             }
 
-            nextFeature = buildFeature(record.number, geometry, row, record.envelope());
+            setRecord(record.number, geometry, row, record.envelope());
+            return true;
         }
 
-        return nextFeature != null;
+        return false;
     }
 }
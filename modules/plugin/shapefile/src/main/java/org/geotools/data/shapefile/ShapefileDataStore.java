@@ -61,6 +61,7 @@
 import org.geotools.referencing.wkt.Formattable;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.LineString;
 import org.locationtech.jts.geom.MultiLineString;
 import org.locationtech.jts.geom.MultiPoint;
@@ -105,6 +106,8 @@ public class ShapefileDataStore extends ContentDataStore implements FileDataStor
 
     boolean indexCreationEnabled = true;
 
+    boolean hilbertIndexed = false;
+
     boolean fidIndexed = true;
 
     IndexManager indexManager;
@@ -250,6 +253,15 @@ public long getCount(Query query) throws IOException {
         return getFeatureSource().getCount(query);
     }
 
+    /**
+     * Returns a scanner reading the whole shapefile in parallel, meant for bulk reads of large files. The caller is
+     * responsible for closing the scanner. Requires local, uncompressed files with a .shx index.
+     */
+    public ShapefileScanner getScanner() throws IOException {
+        GeometryFactory gf = getGeometryFactory();
+        return new ShapefileScanner(shpFiles, gf != null ? gf : new GeometryFactory(), charset, timeZone);
+    }
+
     /**
      * Set the FeatureType of this DataStore. This method will delete any existing local resources or throw an
      * IOException if the DataStore is remote.
@@ -500,6 +512,20 @@ public void setIndexCreationEnabled(boolean indexCreationEnabled) {
         this.indexCreationEnabled = indexCreationEnabled;
     }
 
+    public boolean isHilbertIndexed() {
+        return hilbertIndexed;
+    }
+
+    /**
+     * If true the spatial index will be a packed Hilbert R-tree stored in the .hrt file, instead of the default .qix
+     * quadtree. The Hilbert R-tree is memory mapped and searched in place, and returns the matching records in file
+     * order. Defaults to false.
+     */
+    public void setHilbertIndexed(boolean hilbertIndexed) {
+        this.hilbertIndexed = hilbertIndexed;
+        this.indexManager.dispose();
+    }
+
     @Override
     public void removeSchema(String typeName) throws IOException {
         removeSchema(new NameImpl(null, typeName));
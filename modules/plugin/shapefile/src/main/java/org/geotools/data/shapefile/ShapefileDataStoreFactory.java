@@ -98,6 +98,15 @@ public class ShapefileDataStoreFactory implements FileDataStoreFactorySpi {
             true,
             new KVP(Param.LEVEL, "advanced"));
 
+    /** Optional - Use a packed Hilbert R-tree (.hrt) as the spatial index, instead of the .qix quadtree */
+    public static final Param HILBERT_SPATIAL_INDEX = new Param(
+            "hilbert spatial index",
+            Boolean.class,
+            "use a packed Hilbert R-tree spatial index (.hrt file) instead of the quadtree (.qix file)",
+            false,
+            false,
+            new KVP(Param.LEVEL, "advanced"));
+
     /**
      * Optional - character used to decode strings from the DBF file. If none is provided, the factory will instruct
      * {@link ShapefileDataStore} to try to guess a charset from CPG file, before using a default value.
@@ -194,6 +203,7 @@ public Param[] getParametersInfo() {
             NAMESPACEP,
             ENABLE_SPATIAL_INDEX,
             CREATE_SPATIAL_INDEX,
+            HILBERT_SPATIAL_INDEX,
             DBFCHARSET,
             DBFTIMEZONE,
             MEMORY_MAPPED,
@@ -224,6 +234,7 @@ public DataStore createDataStore(Map<String, ?> params) throws IOException {
         TimeZone dbfTimeZone = lookup(DBFTIMEZONE, params, TimeZone.class);
         Boolean isCreateSpatialIndex = lookup(CREATE_SPATIAL_INDEX, params, Boolean.class);
         Boolean skipScan = lookup(SKIP_SCAN, params, Boolean.class);
+        Boolean isHilbertSpatialIndex = lookup(HILBERT_SPATIAL_INDEX, params, Boolean.class);
         Boolean isEnableSpatialIndex = (Boolean) ENABLE_SPATIAL_INDEX.lookUp(params);
         if (isEnableSpatialIndex == null) {
             // should not be needed as default is TRUE
@@ -258,6 +269,7 @@ public DataStore createDataStore(Map<String, ?> params) throws IOException {
             store.setTimeZone(dbfTimeZone);
             store.setIndexed(enableIndex);
             store.setIndexCreationEnabled(createIndex);
+            store.setHilbertIndexed(isHilbertSpatialIndex);
             return store;
         }
     }
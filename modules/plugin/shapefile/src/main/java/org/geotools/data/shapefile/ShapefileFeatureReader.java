@@ -36,6 +36,7 @@
 import org.geotools.data.shapefile.shp.ShapeType;
 import org.geotools.data.shapefile.shp.ShapefileReader;
 import org.geotools.data.shapefile.shp.ShapefileReader.Record;
+import org.geotools.data.store.FeatureBatchBuilder;
 import org.geotools.data.util.ScreenMap;
 import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.geotools.geometry.jts.LiteCoordinateSequence;
@@ -85,6 +86,15 @@ public String toString() {
 
     Filter filter;
 
+    /** The record found by {@link #nextRecord()} */
+    int recordNumber;
+
+    Geometry recordGeometry;
+
+    Row recordRow;
+
+    Envelope recordEnvelope;
+
     public ShapefileFeatureReader(
             SimpleFeatureType schema, ShapefileReader shp, DbaseFileReader dbf, IndexedFidReader fidReader)
             throws IOException {
@@ -168,7 +178,21 @@ boolean filesHaveMore() throws IOException {
 
     @Override
     public boolean hasNext() throws IOException {
-        while (nextFeature == null && filesHaveMore()) {
+        while (nextFeature == null && nextRecord()) {
+            nextFeature = buildFeature(recordNumber, recordGeometry, recordRow, recordEnvelope);
+        }
+
+        return nextFeature != null;
+    }
+
+    /**
+     * Moves to the next record that is not skipped by the target bbox, the screenmap or a deletion flag, and makes it
+     * available in the {@code record*} fields.
+     *
+     * @return false if there are no more records to read
+     */
+    protected boolean nextRecord() throws IOException {
+        while (filesHaveMore()) {
             Record record = shp != null ? shp.nextRecord() : null;
 
             final Geometry geometry =
@@ -185,9 +209,12 @@ public boolean hasNext() throws IOException {
                     row = null;
                 }
 
-                final int number = record != null ? record.number : 0;
-                final Envelope envelope = record != null ? record.envelope() : geometry.getEnvelopeInternal();
-                nextFeature = buildFeature(number, geometry, row, envelope);
+                setRecord(
+                        record != null ? record.number : 0,
+                        geometry,
+                        row,
+                        record != null ? record.envelope() : geometry.getEnvelopeInternal());
+                return true;
             } else {
                 if (dbf != null) {
                     dbf.skip();
@@ -195,7 +222,53 @@ public boolean hasNext() throws IOException {
             }
         }
 
-        return nextFeature != null;
+        return false;
+    }
+
+    void setRecord(int number, Geometry geometry, Row row, Envelope envelope) {
+        this.recordNumber = number;
+        this.recordGeometry = geometry;
+        this.recordRow = row;
+        this.recordEnvelope = envelope;
+    }
+
+    /**
+     * Reads up to {@code max} records into the batch builder. Without a filter the values are copied straight from the
+     * shp and dbf readers, without building the intermediate features.
+     *
+     * @return The number of rows added to the batch, zero if there are no more records
+     */
+    int readBatch(FeatureBatchBuilder batch, int max) throws IOException {
+        int read = 0;
+        while (read < max) {
+            if (nextFeature != null) {
+                batch.add(nextFeature);
+                nextFeature = null;
+                read++;
+            } else if (!nextRecord()) {
+                break;
+            } else if (filter != null) {
+                // the filter needs a feature to evaluate against
+                SimpleFeature feature = buildFeature(recordNumber, recordGeometry, recordRow, recordEnvelope);
+                if (feature != null) {
+                    batch.add(feature);
+                    read++;
+                }
+            } else {
+                if (dbfindexes != null) {
+                    for (int i = 0; i < dbfindexes.length; i++) {
+                        int dbfindex = dbfindexes[i];
+                        batch.set(i, dbfindex == -1 ? recordGeometry : recordRow.read(dbfindex));
+                    }
+                } else if (recordGeometry != null) {
+                    batch.set(0, recordGeometry);
+                }
+                batch.add(buildFeatureId(recordNumber));
+                updateScreenMap(recordEnvelope);
+                read++;
+            }
+        }
+        return read;
     }
 
     /**
@@ -261,6 +334,12 @@ SimpleFeature buildFeature(int number, Geometry geometry, Row row, Envelope enve
 
         // update screenmap if present, now that we have the certainty
         // that the record is to be returned and will be displayed
+        updateScreenMap(envelope);
+
+        return feature;
+    }
+
+    private void updateScreenMap(Envelope envelope) {
         if (screenMap != null) {
             // we are going to keep the feature, if we have the screenmap do update
             // it (if we got here, we already checked the screenmap was not busy)
@@ -272,8 +351,6 @@ SimpleFeature buildFeature(int number, Geometry geometry, Row row, Envelope enve
                 }
             }
         }
-
-        return feature;
     }
 
     protected String buildFeatureId(int number) throws IOException {
@@ -73,6 +73,8 @@
 import org.geotools.data.shapefile.shp.ShapefileReader;
 import org.geotools.data.store.ContentEntry;
 import org.geotools.data.store.ContentFeatureSource;
+import org.geotools.data.store.FeatureBatchReader;
+import org.geotools.data.store.FeatureReaderBatchReader;
 import org.geotools.data.util.ScreenMap;
 import org.geotools.feature.AttributeTypeBuilder;
 import org.geotools.feature.FeatureTypes;
@@ -393,6 +395,15 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
         }
     }
 
+    @Override
+    protected FeatureBatchReader getBatchReaderInternal(Query query, int batchSize) throws IOException {
+        FeatureReader<SimpleFeatureType, SimpleFeature> reader = getReaderInternal(query);
+        if (reader instanceof ShapefileFeatureReader) {
+            return new ShapefileFeatureBatchReader((ShapefileFeatureReader) reader, batchSize);
+        }
+        return new FeatureReaderBatchReader(reader, batchSize);
+    }
+
     SimpleFeatureType getResultSchema(Query q) {
         if (q.getPropertyNames() == null) {
             return getSchema();
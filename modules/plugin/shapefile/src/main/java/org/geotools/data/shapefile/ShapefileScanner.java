@@ -0,0 +1,384 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.TimeZone;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import org.geotools.data.shapefile.dbf.DbaseFileHeader;
+import org.geotools.data.shapefile.dbf.DbaseRecordView;
+import org.geotools.data.shapefile.files.FileReader;
+import org.geotools.data.shapefile.files.ShpFileType;
+import org.geotools.data.shapefile.files.ShpFiles;
+import org.geotools.data.shapefile.shp.ShapeHandler;
+import org.geotools.data.shapefile.shp.ShapeType;
+import org.geotools.data.shapefile.shp.ShapefileException;
+import org.geotools.data.shapefile.shp.ShapefileHeader;
+import org.geotools.util.NIOUtilities;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+/**
+ * Scans a whole shapefile in parallel, splitting the records in ranges, using the .shx file to locate them, and
+ * decoding each range on a {@link ForkJoinPool}. Each range memory maps its own portion of the .shx, .shp and .dbf
+ * files, geometries are decoded straight from the mapped buffers, and only the requested dbf columns are exposed, via a
+ * {@link DbaseRecordView} that decodes values on demand without allocating a <code>String</code> or <code>Object[]
+ * </code> per record.
+ *
+ * <p>The scanner is meant for full table reads, such as bulk exports and reprojections. The visitor is called
+ * concurrently from multiple threads, and in no particular order, so it must be thread safe. Usage example:
+ *
+ * <pre><code>
+ * try (ShapefileScanner scanner = new ShapefileScanner(shpFiles, geometryFactory, charset, timeZone)) {
+ *     scanner.scan(ForkJoinPool.commonPool(), (number, geometry, row) -&gt; {
+ *         double population = row.getDouble(0);
+ *         ...
+ *     }, "POPULATION");
+ * }
+ * </code></pre>
+ *
+ * The scanner requires local, uncompressed files, and the .shx file to be available.
+ */
+public class ShapefileScanner implements FileReader, Closeable {
+
+    /** The default minimum number of records handled by a single task */
+    public static final int DEFAULT_SPLIT_SIZE = 16 * 1024;
+
+    private static final int SHP_HEADER_LENGTH = 100;
+
+    private static final int SHX_RECORD_LENGTH = 8;
+
+    /** Receives the records read by the scanner */
+    @FunctionalInterface
+    public interface RecordVisitor {
+
+        /**
+         * Visits a record. Will be called concurrently by multiple threads.
+         *
+         * @param number The record number, the same used to build the feature identifiers
+         * @param geometry The record geometry, or null if the geometry has not been requested or the shape is null
+         * @param row The requested dbf columns, positioned on the current record, or null if no column was requested.
+         *     The view is reused for the next record visited by the same thread, so values must be copied out.
+         */
+        void visit(int number, Geometry geometry, DbaseRecordView row) throws IOException;
+    }
+
+    private final ShpFiles shpFiles;
+
+    private final GeometryFactory geometryFactory;
+
+    private final Charset charset;
+
+    private final TimeZone timeZone;
+
+    private FileChannel shpChannel;
+
+    private FileChannel shxChannel;
+
+    private FileChannel dbfChannel;
+
+    private ShapeType shapeType;
+
+    private DbaseFileHeader dbfHeader;
+
+    private int recordCount;
+
+    private int splitSize = DEFAULT_SPLIT_SIZE;
+
+    private boolean readGeometry = true;
+
+    private boolean flatGeometry;
+
+    /**
+     * Opens the scanner. The files are locked for reading until {@link #close()} is called.
+     *
+     * @param shpFiles The shapefile to be scanned
+     * @param geometryFactory The factory used to build the geometries
+     * @param charset The dbf charset
+     * @param timeZone The dbf time zone, or null to use the default one
+     */
+    public ShapefileScanner(ShpFiles shpFiles, GeometryFactory geometryFactory, Charset charset, TimeZone timeZone)
+            throws IOException {
+        this.shpFiles = shpFiles;
+        this.geometryFactory = geometryFactory;
+        this.charset = charset;
+        this.timeZone = timeZone;
+        boolean initialized = false;
+        try {
+            init();
+            initialized = true;
+        } finally {
+            if (!initialized) {
+                close();
+            }
+        }
+    }
+
+    private void init() throws IOException {
+        if (!shpFiles.isLocal() || shpFiles.isGz()) {
+            throw new IOException("Parallel scanning requires local, uncompressed files");
+        }
+        if (!shpFiles.exists(ShpFileType.SHX)) {
+            throw new IOException("Parallel scanning requires the .shx file");
+        }
+        shpChannel = openChannel(ShpFileType.SHP);
+        shxChannel = openChannel(ShpFileType.SHX);
+
+        ByteBuffer header = shpChannel.map(FileChannel.MapMode.READ_ONLY, 0, SHP_HEADER_LENGTH);
+        try {
+            ShapefileHeader shpHeader = new ShapefileHeader();
+            shpHeader.read(header, true);
+            shapeType = shpHeader.getShapeType();
+        } finally {
+            NIOUtilities.clean(header, true);
+        }
+        recordCount = (int) ((shxChannel.size() - SHP_HEADER_LENGTH) / SHX_RECORD_LENGTH);
+
+        if (shpFiles.exists(ShpFileType.DBF)) {
+            dbfChannel = openChannel(ShpFileType.DBF);
+            dbfHeader = new DbaseFileHeader(charset);
+            dbfHeader.readHeader(dbfChannel);
+            if (dbfHeader.getNumRecords() != recordCount) {
+                throw new IOException("The dbf file has "
+                        + dbfHeader.getNumRecords()
+                        + " records, while the shx file references "
+                        + recordCount
+                        + " shapes");
+            }
+        }
+    }
+
+    @SuppressWarnings("PMD.CloseResource") // closed along with the scanner
+    private FileChannel openChannel(ShpFileType type) throws IOException {
+        ReadableByteChannel channel = shpFiles.getReadChannel(type, this);
+        if (!(channel instanceof FileChannel)) {
+            channel.close();
+            throw new IOException("Parallel scanning requires a file channel for the " + type + " file");
+        }
+        return (FileChannel) channel;
+    }
+
+    /** Returns the number of records in the shapefile */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /** Returns the dbf header, or null if the dbf file is missing */
+    public DbaseFileHeader getDbfHeader() {
+        return dbfHeader;
+    }
+
+    /** Sets the minimum number of records handled by a single task */
+    public void setSplitSize(int splitSize) {
+        if (splitSize < 1) {
+            throw new IllegalArgumentException("The split size must be positive");
+        }
+        this.splitSize = splitSize;
+    }
+
+    /** When set to false, geometries are not decoded, and only the dbf contents are scanned */
+    public void setReadGeometry(boolean readGeometry) {
+        this.readGeometry = readGeometry;
+    }
+
+    /** When set to true, the Z and M values are not decoded, see {@link ShapeHandler#read} */
+    public void setFlatGeometry(boolean flatGeometry) {
+        this.flatGeometry = flatGeometry;
+    }
+
+    /**
+     * Scans all the records of the shapefile, skipping the ones marked as deleted in the dbf
+     *
+     * @param pool The pool running the tasks decoding the record ranges
+     * @param visitor The visitor receiving the records, called concurrently
+     * @param columns The dbf columns to be exposed to the visitor, in the order they will be accessed by index
+     */
+    public void scan(ForkJoinPool pool, RecordVisitor visitor, String... columns) throws IOException {
+        if (shpChannel == null) {
+            throw new IOException("The scanner has been closed");
+        }
+        int[] fields = getFieldIndexes(columns);
+        try {
+            pool.invoke(new ScanTask(visitor, fields, 0, recordCount));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private int[] getFieldIndexes(String... columns) throws IOException {
+        if (columns == null || columns.length == 0) {
+            return null;
+        }
+        if (dbfHeader == null) {
+            throw new IOException("Cannot read columns, the dbf file is missing");
+        }
+        int[] fields = new int[columns.length];
+        O:
+        for (int i = 0; i < columns.length; i++) {
+            for (int f = 0; f < dbfHeader.getNumFields(); f++) {
+                if (dbfHeader.getFieldName(f).equals(columns[i])) {
+                    fields[i] = f;
+                    continue O;
+                }
+            }
+            throw new IOException("Column " + columns[i] + " not found in the dbf file");
+        }
+        return fields;
+    }
+
+    /** Recursively splits the record range, until it gets small enough to be scanned directly */
+    private class ScanTask extends RecursiveAction {
+        private static final long serialVersionUID = -3094393567207282573L;
+
+        final RecordVisitor visitor;
+
+        final int[] fields;
+
+        final int from;
+
+        final int to;
+
+        ScanTask(RecordVisitor visitor, int[] fields, int from, int to) {
+            this.visitor = visitor;
+            this.fields = fields;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > splitSize * 2) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ScanTask(visitor, fields, from, mid), new ScanTask(visitor, fields, mid, to));
+            } else {
+                try {
+                    scanRange(visitor, fields, from, to);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    private void scanRange(RecordVisitor visitor, int[] fields, int from, int to) throws IOException {
+        if (from >= to) {
+            return;
+        }
+        MappedByteBuffer shx = null;
+        MappedByteBuffer shp = null;
+        MappedByteBuffer dbf = null;
+        try {
+            // the shx entries of the range, they could be in any order for sparse shapefiles
+            shx = shxChannel.map(
+                    FileChannel.MapMode.READ_ONLY,
+                    SHP_HEADER_LENGTH + (long) from * SHX_RECORD_LENGTH,
+                    (long) (to - from) * SHX_RECORD_LENGTH);
+            shx.order(ByteOrder.BIG_ENDIAN);
+
+            ShapeHandler handler = null;
+            long shpStart = 0;
+            if (readGeometry) {
+                // find the portion of the shp file containing the range
+                shpStart = Long.MAX_VALUE;
+                long shpEnd = 0;
+                for (int i = 0; i < to - from; i++) {
+                    long offset = toBytes(shx.getInt(i * SHX_RECORD_LENGTH));
+                    long length = toBytes(shx.getInt(i * SHX_RECORD_LENGTH + 4));
+                    shpStart = Math.min(shpStart, offset);
+                    shpEnd = Math.max(shpEnd, offset + 8 + length);
+                }
+                shp = shpChannel.map(FileChannel.MapMode.READ_ONLY, shpStart, shpEnd - shpStart);
+                handler = shapeType.getShapeHandler(geometryFactory);
+            }
+
+            // the dbf is mapped even when no column is requested, to skip the deleted records
+            DbaseRecordView row = null;
+            int recordLength = 0;
+            if (dbfHeader != null) {
+                recordLength = dbfHeader.getRecordLength();
+                dbf = dbfChannel.map(
+                        FileChannel.MapMode.READ_ONLY,
+                        dbfHeader.getHeaderLength() + (long) from * recordLength,
+                        (long) (to - from) * recordLength);
+                row = new DbaseRecordView(dbfHeader, charset, timeZone, fields != null ? fields : new int[0]);
+            }
+
+            for (int i = 0; i < to - from; i++) {
+                if (row != null) {
+                    row.setRecord(dbf, i * recordLength);
+                    if (row.isDeleted()) {
+                        continue;
+                    }
+                }
+                Geometry geometry = null;
+                int number = from + i + 1;
+                if (shp != null) {
+                    int position = (int) (toBytes(shx.getInt(i * SHX_RECORD_LENGTH)) - shpStart);
+                    shp.order(ByteOrder.BIG_ENDIAN);
+                    number = shp.getInt(position);
+                    shp.order(ByteOrder.LITTLE_ENDIAN);
+                    ShapeType recordType = ShapeType.forID(shp.getInt(position + 8));
+                    if (recordType != ShapeType.NULL) {
+                        if (recordType != shapeType) {
+                            throw new ShapefileException(
+                                    "ShapeType changed illegally from " + shapeType + " to " + recordType);
+                        }
+                        shp.position(position + 12);
+                        geometry = (Geometry) handler.read(shp, recordType, flatGeometry);
+                    }
+                }
+                visitor.visit(number, geometry, fields != null ? row : null);
+            }
+        } finally {
+            NIOUtilities.clean(shx, true);
+            NIOUtilities.clean(shp, true);
+            NIOUtilities.clean(dbf, true);
+        }
+    }
+
+    /** Converts a shapefile offset or length from 16-bit words to bytes */
+    private static long toBytes(int words) {
+        return 2L * (words & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (shpChannel != null) shpChannel.close();
+            if (shxChannel != null) shxChannel.close();
+            if (dbfChannel != null) dbfChannel.close();
+        } finally {
+            shpChannel = null;
+            shxChannel = null;
+            dbfChannel = null;
+        }
+    }
+
+    @Override
+    public String id() {
+        return getClass().getName();
+    }
+}
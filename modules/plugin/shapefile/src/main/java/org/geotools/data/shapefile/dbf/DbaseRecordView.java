@@ -0,0 +1,487 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile.dbf;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * A reusable, read only view over a dbf record sitting in a {@link ByteBuffer}, typically a memory mapped portion of
+ * the file. Values are decoded straight from the buffer on demand, and only for the columns that are actually accessed:
+ * numbers, booleans and characters are decoded without allocating objects, while {@link #read(int)} returns the same
+ * values as {@link DbaseFileReader.Row#read(int)}.
+ *
+ * <p>The view exposes a subset of the dbf columns, in the order specified at construction time. A view is not thread
+ * safe, each thread should use its own.
+ */
+public final class DbaseRecordView {
+
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19,
+        1e20, 1e21, 1e22
+    };
+
+    /** Max number of significant digits that can be accumulated in a long and converted exactly to a double */
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    private static final long MILLISECS_PER_DAY = 24 * 60 * 60 * 1000;
+
+    private final DbaseFileHeader header;
+
+    private final int[] fields;
+
+    private final char[] types;
+
+    private final int[] lengths;
+
+    private final int[] offsets;
+
+    private final boolean oneBytePerChar;
+
+    private final Charset charset;
+
+    private final Calendar calendar;
+
+    private CharsetDecoder decoder;
+
+    private CharBuffer chars;
+
+    private ByteBuffer buffer;
+
+    private ByteBuffer slice;
+
+    private int record;
+
+    /**
+     * Builds a new view
+     *
+     * @param header The dbf header
+     * @param charset The charset used to decode character fields
+     * @param timeZone The time zone used to decode dates, or null to use the default one
+     * @param fields The dbf field indexes exposed by this view, the view column <code>i</code> maps to the dbf field
+     *     <code>fields[i]</code>
+     */
+    public DbaseRecordView(DbaseFileHeader header, Charset charset, TimeZone timeZone, int... fields) {
+        this.header = header;
+        this.fields = fields.clone();
+        this.charset = charset == null ? Charset.defaultCharset() : charset;
+        this.calendar = Calendar.getInstance(timeZone == null ? TimeZone.getDefault() : timeZone, Locale.US);
+        String cname = this.charset.name();
+        this.oneBytePerChar = "ISO-8859-1".equals(cname) || "US-ASCII".equals(cname);
+
+        int[] allOffsets = new int[header.getNumFields()];
+        for (int i = 1; i < allOffsets.length; i++) {
+            allOffsets[i] = allOffsets[i - 1] + header.getFieldLength(i - 1);
+        }
+        types = new char[fields.length];
+        lengths = new int[fields.length];
+        offsets = new int[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            int field = fields[i];
+            if (field < 0 || field >= allOffsets.length) {
+                throw new IllegalArgumentException("Invalid dbf field index " + field);
+            }
+            types[i] = Character.toUpperCase(header.getFieldType(field));
+            lengths[i] = header.getFieldLength(field);
+            // skip the deleted flag
+            offsets[i] = allOffsets[field] + 1;
+        }
+    }
+
+    /**
+     * Positions the view on the record starting at the specified position in the buffer
+     *
+     * @param buffer The buffer containing the record
+     * @param position The position of the record first byte (the deletion flag)
+     */
+    public void setRecord(ByteBuffer buffer, int position) {
+        if (this.buffer != buffer) {
+            this.buffer = buffer;
+            this.slice = null;
+        }
+        this.record = position;
+    }
+
+    /** Returns the number of columns exposed by this view */
+    public int getColumnCount() {
+        return fields.length;
+    }
+
+    /** Returns the dbf field index of the specified view column */
+    public int getField(int column) {
+        return fields[column];
+    }
+
+    /** Returns the name of the specified view column */
+    public String getName(int column) {
+        return header.getFieldName(fields[column]);
+    }
+
+    /** Returns true if the current record has been marked as deleted */
+    public boolean isDeleted() {
+        return buffer.get(record) == '*';
+    }
+
+    /** Returns true if the value of the specified column is null, using the same rules as {@link DbaseFileReader} */
+    public boolean isNull(int column) {
+        int offset = record + offsets[column];
+        int length = lengths[column];
+        if (length == 0) {
+            return true;
+        }
+        switch (types[column]) {
+            case 'C':
+                return buffer.get(offset) == '\0';
+            case 'L':
+                return toBoolean(buffer.get(offset)) == null;
+            case 'D':
+                for (int i = 0; i < 8; i++) {
+                    if (buffer.get(offset + i) != '0') {
+                        return false;
+                    }
+                }
+                return true;
+            case 'N':
+            case 'F':
+                if (buffer.get(offset) == '*') {
+                    return true;
+                }
+                for (int i = 0; i < length; i++) {
+                    if (buffer.get(offset + i) != ' ') {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns the value of a numeric column as a long, without allocating any object
+     *
+     * @throws NumberFormatException if the column does not contain an integral number
+     */
+    public long getLong(int column) {
+        int offset = record + offsets[column];
+        int end = offset + lengths[column];
+        // skip leading spaces
+        while (offset < end && buffer.get(offset) == ' ') {
+            offset++;
+        }
+        // skip trailing spaces
+        while (end > offset && buffer.get(end - 1) == ' ') {
+            end--;
+        }
+        if (offset == end) {
+            throw new NumberFormatException("Empty number in column " + getName(column));
+        }
+        boolean negative = false;
+        byte first = buffer.get(offset);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            offset++;
+        }
+        if (offset == end) {
+            throw new NumberFormatException("Invalid number in column " + getName(column));
+        }
+        long result = 0;
+        for (int i = offset; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9 || result > (Long.MAX_VALUE - digit) / 10) {
+                throw new NumberFormatException("Invalid integer " + new String(decodeAscii(column)));
+            }
+            result = result * 10 + digit;
+        }
+        return negative ? -result : result;
+    }
+
+    /**
+     * Returns the value of a numeric column as an int, without allocating any object
+     *
+     * @throws NumberFormatException if the column does not contain an integral number, or the number is out of the int
+     *     range
+     */
+    public int getInt(int column) {
+        long value = getLong(column);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException(value + " is out of the integer range");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Returns the value of a numeric column as a double. Numbers with up to 15 significant digits are decoded without
+     * allocating any object, longer ones fall back on {@link Double#parseDouble(String)}
+     *
+     * @throws NumberFormatException if the column does not contain a number
+     */
+    public double getDouble(int column) {
+        int offset = record + offsets[column];
+        int end = offset + lengths[column];
+        while (offset < end && buffer.get(offset) == ' ') {
+            offset++;
+        }
+        while (end > offset && buffer.get(end - 1) == ' ') {
+            end--;
+        }
+        if (offset == end) {
+            throw new NumberFormatException("Empty number in column " + getName(column));
+        }
+
+        int i = offset;
+        boolean negative = false;
+        byte b = buffer.get(i);
+        if (b == '-' || b == '+') {
+            negative = b == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean dot = false;
+        boolean exact = true;
+        boolean valid = false;
+        for (; i < end; i++) {
+            b = buffer.get(i);
+            if (b >= '0' && b <= '9') {
+                valid = true;
+                if (mantissa == 0 && b == '0') {
+                    // leading zeroes are not significant
+                    if (dot) scale--;
+                    continue;
+                }
+                if (digits < MAX_EXACT_DIGITS) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                    if (dot) scale--;
+                } else {
+                    exact = false;
+                    break;
+                }
+            } else if (b == '.' && !dot) {
+                dot = true;
+            } else {
+                // exponents and anything unexpected go through the JDK parser
+                exact = false;
+                break;
+            }
+        }
+        if (exact && valid && -scale < POWERS_OF_TEN.length) {
+            double result = scale == 0 ? mantissa : mantissa / POWERS_OF_TEN[-scale];
+            return negative ? -result : result;
+        }
+
+        return Double.parseDouble(new String(decodeAscii(offset, end)));
+    }
+
+    /**
+     * Returns the value of a logical column, or null if the value is not set
+     *
+     * @return {@link Boolean#TRUE}, {@link Boolean#FALSE} or null
+     */
+    public Boolean getBoolean(int column) {
+        return toBoolean(buffer.get(record + offsets[column]));
+    }
+
+    private static Boolean toBoolean(byte b) {
+        switch (b) {
+            case 't':
+            case 'T':
+            case 'Y':
+            case 'y':
+                return Boolean.TRUE;
+            case 'f':
+            case 'F':
+            case 'N':
+            case 'n':
+                return Boolean.FALSE;
+            default:
+                // 0x20 should be interpreted as null, but we're going to be a bit more lax
+                return null;
+        }
+    }
+
+    /**
+     * Appends the trimmed contents of the specified column to the target, without allocating any object when the
+     * charset uses one byte per char. Can be used to compare or copy strings without creating a {@link String} for each
+     * record.
+     *
+     * @return The number of chars appended
+     */
+    public int appendTo(int column, StringBuilder target) {
+        int offset = record + offsets[column];
+        int end = offset + lengths[column];
+        if (oneBytePerChar) {
+            while (offset < end && buffer.get(offset) == ' ') {
+                offset++;
+            }
+            while (end > offset && buffer.get(end - 1) == ' ') {
+                end--;
+            }
+            for (int i = offset; i < end; i++) {
+                target.append((char) (0x00FF & buffer.get(i)));
+            }
+            return end - offset;
+        }
+
+        CharBuffer decoded = decode(offset, end);
+        int start = decoded.position();
+        int limit = decoded.limit();
+        while (start < limit && Character.isWhitespace(decoded.get(start))) {
+            start++;
+        }
+        while (limit > start && Character.isWhitespace(decoded.get(limit - 1))) {
+            limit--;
+        }
+        target.append(decoded, start, limit);
+        return limit - start;
+    }
+
+    /** Returns the trimmed contents of a character column, or null if the value is not set */
+    public String getString(int column) {
+        if (buffer.get(record + offsets[column]) == '\0') {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(lengths[column]);
+        appendTo(column, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Reads the value of the column as an object, returning the same values and types as
+     * {@link DbaseFileReader.Row#read(int)}. This method allocates the returned object.
+     */
+    public Object read(int column) {
+        if (lengths[column] == 0) {
+            return null;
+        }
+        int offset = record + offsets[column];
+        switch (types[column]) {
+            case 'L':
+                return getBoolean(column);
+            case 'C':
+                return getString(column);
+            case 'D':
+                return readDate(column, offset);
+            case '@':
+                ByteBuffer lb = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+                int days = lb.getInt(offset);
+                int time = lb.getInt(offset + 4);
+                calendar.setTimeInMillis(days * MILLISECS_PER_DAY + DbaseFileHeader.MILLIS_SINCE_4713 + time);
+                return calendar.getTime();
+            case 'N':
+                if (isNull(column)) {
+                    return null;
+                }
+                Class<?> clazz = header.getFieldClass(fields[column]);
+                if (clazz == Integer.class || clazz == Long.class) {
+                    try {
+                        long value = getLong(column);
+                        if (clazz == Integer.class && value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                            return (int) value;
+                        }
+                        return value;
+                    } catch (NumberFormatException e) {
+                        // fall through to the floating point number
+                    }
+                }
+                // fall through to the 'F' case
+            case 'F':
+                if (isNull(column)) {
+                    return null;
+                }
+                try {
+                    return getDouble(column);
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            default:
+                throw new IllegalStateException("Invalid field type : " + types[column]);
+        }
+    }
+
+    private Date readDate(int column, int offset) {
+        if (isNull(column)) {
+            return null;
+        }
+        int year = parseDigits(offset, 4);
+        int month = parseDigits(offset + 4, 2);
+        int day = parseDigits(offset + 6, 2);
+        if (year < 0 || month < 0 || day < 0) {
+            return null;
+        }
+        calendar.clear();
+        calendar.set(Calendar.YEAR, year);
+        calendar.set(Calendar.MONTH, month - 1);
+        calendar.set(Calendar.DAY_OF_MONTH, day);
+        return calendar.getTime();
+    }
+
+    /** Parses a fixed number of digits, returns -1 if the bytes are not all digits */
+    private int parseDigits(int offset, int count) {
+        int result = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    private char[] decodeAscii(int column) {
+        int offset = record + offsets[column];
+        return decodeAscii(offset, offset + lengths[column]);
+    }
+
+    private char[] decodeAscii(int offset, int end) {
+        char[] result = new char[end - offset];
+        for (int i = offset; i < end; i++) {
+            result[i - offset] = (char) (0x00FF & buffer.get(i));
+        }
+        return result;
+    }
+
+    private CharBuffer decode(int offset, int end) {
+        if (decoder == null) {
+            decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            chars = CharBuffer.allocate((int) Math.ceil(header.getLargestFieldSize() * decoder.maxCharsPerByte()));
+        }
+        if (slice == null) {
+            slice = buffer.duplicate();
+        }
+        slice.limit(end).position(offset);
+        chars.clear();
+        decoder.reset();
+        decoder.decode(slice, chars, true);
+        decoder.flush(chars);
+        chars.flip();
+        return chars;
+    }
+}
@@ -39,6 +39,11 @@ public enum ShpFileType {
      * generates
      */
     QIX("qix"),
+    /**
+     * the .hrt file, a packed Hilbert R-tree spatial index of the shapefile, used in place of the .qix one when enabled
+     * in the {@link org.geotools.data.shapefile.ShapefileDataStore}
+     */
+    HRT("hrt"),
     /**
      * the .fix file, it contains all the Feature IDs for constant time lookup by fid also so that the fids stay
      * consistent across deletes and adds
@@ -0,0 +1,424 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile.index.hilbert;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import org.geotools.api.data.CloseableIterator;
+import org.geotools.data.shapefile.index.Data;
+import org.geotools.data.shapefile.index.DataDefinition;
+import org.geotools.data.shapefile.index.TreeException;
+import org.geotools.data.shapefile.shp.IndexFile;
+import org.geotools.data.shapefile.shp.ShapeType;
+import org.geotools.data.shapefile.shp.ShapefileReader;
+import org.geotools.data.shapefile.shp.ShapefileReader.Record;
+import org.geotools.util.NIOUtilities;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * A static, packed Hilbert R-tree over the shapefile records, similar to the one used by FlatGeobuf. The records are
+ * sorted along the Hilbert curve and packed into full nodes, level by level, so that the tree is balanced regardless of
+ * the data distribution.
+ *
+ * <p>The index file is made of a header followed by the nodes, root first, leaves last. Each node contains its bounds
+ * and an offset: for leaves it's the byte offset of the record in the .shp file, for the other nodes it's the position
+ * of the first child node. The file is memory mapped and searched in place, without loading the nodes on the heap, and
+ * the search results are returned in .shp file order, so that the records are read sequentially.
+ */
+public class PackedHilbertRTree implements Closeable {
+
+    /** The default number of children per node */
+    public static final int DEFAULT_NODE_SIZE = 16;
+
+    static final int MAGIC = 0x47544852; // "GTHR"
+
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 4 * 4 + 4 * 8;
+
+    static final int NODE_SIZE = 4 * 8 + 8;
+
+    static final DataDefinition DATA_DEFINITION = new DataDefinition("US-ASCII");
+
+    static {
+        DATA_DEFINITION.addField(Integer.class);
+        DATA_DEFINITION.addField(Long.class);
+    }
+
+    private ByteBuffer buffer;
+
+    private final int nodeSize;
+
+    private final int numItems;
+
+    private final Envelope bounds;
+
+    /** Start and end node position of each level, the leaves are at level 0 */
+    private final int[][] levelBounds;
+
+    private final int numNodes;
+
+    private PackedHilbertRTree(ByteBuffer buffer) throws TreeException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new TreeException("Not a packed Hilbert R-tree index file");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new TreeException("Unsupported packed Hilbert R-tree index version " + version);
+        }
+        this.nodeSize = buffer.getInt(8);
+        this.numItems = buffer.getInt(12);
+        this.bounds =
+                new Envelope(buffer.getDouble(16), buffer.getDouble(32), buffer.getDouble(24), buffer.getDouble(40));
+        this.levelBounds = levelBounds(numItems, nodeSize);
+        this.numNodes = numItems == 0 ? 0 : levelBounds[0][1];
+        if (buffer.capacity() < HEADER_SIZE + (long) numNodes * NODE_SIZE) {
+            throw new TreeException("Truncated packed Hilbert R-tree index file");
+        }
+    }
+
+    /**
+     * Opens the index contained in the specified file, memory mapping it. The file is not locked, the caller is
+     * responsible for that.
+     */
+    public static PackedHilbertRTree open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try {
+                return new PackedHilbertRTree(buffer);
+            } catch (TreeException e) {
+                NIOUtilities.clean(buffer, true);
+                throw e;
+            }
+        }
+    }
+
+    /** Returns the number of indexed records */
+    public int getNumItems() {
+        return numItems;
+    }
+
+    /** Returns the bounds of the indexed records */
+    public Envelope getBounds() {
+        return new Envelope(bounds);
+    }
+
+    /**
+     * Returns the records whose bounds intersect the search area, sorted by offset in the .shp file. The values of each
+     * {@link Data} are the record number (not available, always zero) and the record offset in the .shp file, same as
+     * the quadtree index.
+     */
+    public CloseableIterator<Data> search(Envelope area) {
+        final long[] offsets = searchOffsets(area);
+        final Data data = new Data(DATA_DEFINITION);
+        return new CloseableIterator<>() {
+            int idx = 0;
+
+            @Override
+            public boolean hasNext() {
+                return idx < offsets.length;
+            }
+
+            @Override
+            public Data next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    data.clear();
+                    data.addValue(0);
+                    data.addValue(offsets[idx++]);
+                } catch (TreeException e) {
+                    throw new RuntimeException(e);
+                }
+                return data;
+            }
+
+            @Override
+            public void close() {
+                idx = offsets.length;
+            }
+        };
+    }
+
+    /** Returns the .shp offsets of the records intersecting the search area, sorted */
+    long[] searchOffsets(Envelope area) {
+        if (numItems == 0 || !area.intersects(bounds)) {
+            return new long[0];
+        }
+        final double minX = area.getMinX();
+        final double minY = area.getMinY();
+        final double maxX = area.getMaxX();
+        final double maxY = area.getMaxY();
+        final int leavesStart = numNodes - numItems;
+
+        long[] results = new long[64];
+        int count = 0;
+        // depth first traversal using an explicit stack of node positions and levels
+        int[] stack = new int[levelBounds.length * nodeSize * 2];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = levelBounds.length - 1;
+        while (top > 0) {
+            int level = stack[--top];
+            int nodeIndex = stack[--top];
+            boolean leaves = nodeIndex >= leavesStart;
+            int end = Math.min(nodeIndex + nodeSize, levelBounds[level][1]);
+            for (int pos = nodeIndex; pos < end; pos++) {
+                int base = HEADER_SIZE + pos * NODE_SIZE;
+                if (maxX < buffer.getDouble(base)
+                        || maxY < buffer.getDouble(base + 8)
+                        || minX > buffer.getDouble(base + 16)
+                        || minY > buffer.getDouble(base + 24)) {
+                    continue;
+                }
+                long offset = buffer.getLong(base + 32);
+                if (leaves) {
+                    if (count == results.length) {
+                        results = Arrays.copyOf(results, count * 2);
+                    }
+                    results[count++] = offset;
+                } else {
+                    if (top + 2 > stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    }
+                    stack[top++] = (int) offset;
+                    stack[top++] = level - 1;
+                }
+            }
+        }
+        long[] sorted = Arrays.copyOf(results, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    @Override
+    public void close() {
+        if (buffer != null) {
+            NIOUtilities.clean(buffer, true);
+            buffer = null;
+        }
+    }
+
+    /**
+     * Computes the start (inclusive) and end (exclusive) node positions of each level, following the FlatGeobuf layout:
+     * the root is the first node, the leaves are the last ones, level 0 is the leaves one
+     */
+    static int[][] levelBounds(int numItems, int nodeSize) {
+        if (numItems == 0) {
+            return new int[][] {{0, 0}};
+        }
+        int[] levelNumNodes = new int[32];
+        int levels = 0;
+        int n = numItems;
+        long numNodes = n;
+        levelNumNodes[levels++] = n;
+        do {
+            n = (n + nodeSize - 1) / nodeSize;
+            numNodes += n;
+            levelNumNodes[levels++] = n;
+        } while (n != 1);
+        if (numNodes > (Integer.MAX_VALUE - HEADER_SIZE) / NODE_SIZE) {
+            throw new IllegalArgumentException("Too many items for a packed Hilbert R-tree: " + numItems);
+        }
+
+        int[][] result = new int[levels][];
+        int offset = (int) numNodes;
+        for (int i = 0; i < levels; i++) {
+            offset -= levelNumNodes[i];
+            result[i] = new int[] {offset, offset + levelNumNodes[i]};
+        }
+        return result;
+    }
+
+    /**
+     * Builds the index for the records read by the shapefile reader, writing it in the specified file. Records with a
+     * null shape are not indexed.
+     *
+     * @return The number of indexed records
+     */
+    public static int build(ShapefileReader reader, IndexFile shx, File file, int nodeSize) throws IOException {
+        if (nodeSize < 2) {
+            throw new IllegalArgumentException("The node size must be at least 2");
+        }
+        // collect the record bounds and offsets
+        int capacity = Math.max(16, shx.getRecordCount());
+        double[] boxes = new double[capacity * 4];
+        long[] offsets = new long[capacity];
+        int count = 0;
+        int recno = 0;
+        Envelope extent = new Envelope();
+        while (reader.hasNext()) {
+            Record record = reader.nextRecord();
+            long offset = shx.getOffsetInBytes(recno++);
+            if (record.type == ShapeType.NULL) {
+                continue;
+            }
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+                boxes = Arrays.copyOf(boxes, count * 8);
+            }
+            boxes[count * 4] = record.minX;
+            boxes[count * 4 + 1] = record.minY;
+            boxes[count * 4 + 2] = record.maxX;
+            boxes[count * 4 + 3] = record.maxY;
+            offsets[count] = offset;
+            extent.expandToInclude(record.minX, record.minY);
+            extent.expandToInclude(record.maxX, record.maxY);
+            count++;
+        }
+
+        // sort the records along the Hilbert curve, keeping the original order for equal values
+        long[] keys = new long[count];
+        double width = extent.getWidth();
+        double height = extent.getHeight();
+        for (int i = 0; i < count; i++) {
+            double cx = (boxes[i * 4] + boxes[i * 4 + 2]) / 2;
+            double cy = (boxes[i * 4 + 1] + boxes[i * 4 + 3]) / 2;
+            int hx = width > 0 ? (int) (HILBERT_MAX * (cx - extent.getMinX()) / width) : 0;
+            int hy = height > 0 ? (int) (HILBERT_MAX * (cy - extent.getMinY()) / height) : 0;
+            // flip the sign bit so that the signed sort follows the unsigned hilbert value
+            keys[i] = ((long) (hilbert(hx, hy) ^ Integer.MIN_VALUE) << 32) | i;
+        }
+        Arrays.parallelSort(keys);
+
+        // build the tree, leaves first
+        int[][] levelBounds = levelBounds(count, nodeSize);
+        int numNodes = count == 0 ? 0 : levelBounds[0][1];
+        double[] nodeBoxes = new double[numNodes * 4];
+        long[] nodeOffsets = new long[numNodes];
+        int leavesStart = numNodes - count;
+        for (int i = 0; i < count; i++) {
+            int item = (int) keys[i];
+            System.arraycopy(boxes, item * 4, nodeBoxes, (leavesStart + i) * 4, 4);
+            nodeOffsets[leavesStart + i] = offsets[item];
+        }
+        for (int level = 0; level < levelBounds.length - 1; level++) {
+            int parent = levelBounds[level + 1][0];
+            for (int child = levelBounds[level][0]; child < levelBounds[level][1]; child += nodeSize, parent++) {
+                int end = Math.min(child + nodeSize, levelBounds[level][1]);
+                double minX = Double.POSITIVE_INFINITY;
+                double minY = Double.POSITIVE_INFINITY;
+                double maxX = Double.NEGATIVE_INFINITY;
+                double maxY = Double.NEGATIVE_INFINITY;
+                for (int c = child; c < end; c++) {
+                    minX = Math.min(minX, nodeBoxes[c * 4]);
+                    minY = Math.min(minY, nodeBoxes[c * 4 + 1]);
+                    maxX = Math.max(maxX, nodeBoxes[c * 4 + 2]);
+                    maxY = Math.max(maxY, nodeBoxes[c * 4 + 3]);
+                }
+                nodeBoxes[parent * 4] = minX;
+                nodeBoxes[parent * 4 + 1] = minY;
+                nodeBoxes[parent * 4 + 2] = maxX;
+                nodeBoxes[parent * 4 + 3] = maxY;
+                nodeOffsets[parent] = child;
+            }
+        }
+
+        // write it out
+        try (DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(nodeSize);
+            out.writeInt(count);
+            out.writeDouble(extent.isNull() ? 0 : extent.getMinX());
+            out.writeDouble(extent.isNull() ? 0 : extent.getMinY());
+            out.writeDouble(extent.isNull() ? 0 : extent.getMaxX());
+            out.writeDouble(extent.isNull() ? 0 : extent.getMaxY());
+            for (int i = 0; i < numNodes; i++) {
+                out.writeDouble(nodeBoxes[i * 4]);
+                out.writeDouble(nodeBoxes[i * 4 + 1]);
+                out.writeDouble(nodeBoxes[i * 4 + 2]);
+                out.writeDouble(nodeBoxes[i * 4 + 3]);
+                out.writeLong(nodeOffsets[i]);
+            }
+        }
+
+        return count;
+    }
+
+    static final int HILBERT_MAX = (1 << 16) - 1;
+
+    /**
+     * Computes the position of the point along a 16 bits per axis Hilbert curve, see
+     * https://github.com/rawrunprotected/hilbert_curves (public domain)
+     */
+    static int hilbert(int x, int y) {
+        int a = x ^ y;
+        int b = 0xFFFF ^ a;
+        int c = 0xFFFF ^ (x | y);
+        int d = x & (y ^ 0xFFFF);
+
+        int A = a | (b >>> 1);
+        int B = (a >>> 1) ^ a;
+        int C = ((c >>> 1) ^ (b & (d >>> 1))) ^ c;
+        int D = ((a & (c >>> 1)) ^ (d >>> 1)) ^ d;
+
+        a = A;
+        b = B;
+        c = C;
+        d = D;
+        A = (a & (a >>> 2)) ^ (b & (b >>> 2));
+        B = (a & (b >>> 2)) ^ (b & ((a ^ b) >>> 2));
+        C ^= (a & (c >>> 2)) ^ (b & (d >>> 2));
+        D ^= (b & (c >>> 2)) ^ ((a ^ b) & (d >>> 2));
+
+        a = A;
+        b = B;
+        c = C;
+        d = D;
+        A = (a & (a >>> 4)) ^ (b & (b >>> 4));
+        B = (a & (b >>> 4)) ^ (b & ((a ^ b) >>> 4));
+        C ^= (a & (c >>> 4)) ^ (b & (d >>> 4));
+        D ^= (b & (c >>> 4)) ^ ((a ^ b) & (d >>> 4));
+
+        a = A;
+        b = B;
+        c = C;
+        d = D;
+        C ^= (a & (c >>> 8)) ^ (b & (d >>> 8));
+        D ^= (b & (c >>> 8)) ^ ((a ^ b) & (d >>> 8));
+
+        a = C ^ (C >>> 1);
+        b = D ^ (D >>> 1);
+
+        int i0 = x ^ y;
+        int i1 = b | (0xFFFF ^ (i0 | a));
+
+        return (interleave(i1) << 1) | interleave(i0);
+    }
+
+    /** Spreads the lower 16 bits of the value, placing a zero between each of them */
+    private static int interleave(int x) {
+        x = (x | (x << 8)) & 0x00FF00FF;
+        x = (x | (x << 4)) & 0x0F0F0F0F;
+        x = (x | (x << 2)) & 0x33333333;
+        x = (x | (x << 1)) & 0x55555555;
+        return x;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import org.geotools.TestData;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.data.store.ContentFeatureSource;
+import org.geotools.data.store.FeatureBatch;
+import org.geotools.data.store.FeatureBatchReader;
+import org.geotools.factory.CommonFactoryFinder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ShapefileFeatureBatchReaderTest extends TestCaseSupport {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    ShapefileDataStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        URL url = TestData.url(STATE_POP);
+        store = new ShapefileDataStore(url);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        store.dispose();
+    }
+
+    @Test
+    public void testNativeBatches() throws Exception {
+        ContentFeatureSource source = store.getFeatureSource();
+        try (FeatureBatchReader reader = source.getBatchReader(Query.ALL, 10)) {
+            assertTrue(reader instanceof ShapefileFeatureBatchReader);
+        }
+        assertSameFeatures(source, Query.ALL);
+    }
+
+    @Test
+    public void testFiltered() throws Exception {
+        Filter filter = FF.greater(FF.property("PERSONS"), FF.literal(5000000));
+        assertSameFeatures(store.getFeatureSource(), new Query(store.getTypeNames()[0], filter));
+    }
+
+    @Test
+    public void testRetyped() throws Exception {
+        ContentFeatureSource source = store.getFeatureSource();
+        Query query = new Query(store.getTypeNames()[0], Filter.INCLUDE, "STATE_NAME", "PERSONS");
+        try (FeatureBatchReader reader = source.getBatchReader(query, 100)) {
+            FeatureBatch batch = reader.next();
+            assertEquals(2, batch.getColumnCount());
+            assertTrue(batch.getColumn("PERSONS") instanceof FeatureBatch.DoubleColumn);
+        }
+        assertSameFeatures(source, query);
+    }
+
+    private void assertSameFeatures(ContentFeatureSource source, Query query) throws Exception {
+        List<SimpleFeature> expected = new ArrayList<>();
+        try (SimpleFeatureIterator it = source.getFeatures(query).features()) {
+            while (it.hasNext()) {
+                expected.add(it.next());
+            }
+        }
+
+        List<SimpleFeature> actual = new ArrayList<>();
+        try (FeatureBatchReader reader = source.getBatchReader(query, 7)) {
+            while (reader.hasNext()) {
+                actual.addAll(reader.next().toFeatures());
+            }
+        }
+
+        assertTrue(expected.size() > 0);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getID(), actual.get(i).getID());
+            assertEquals(expected.get(i).getAttributes(), actual.get(i).getAttributes());
+        }
+    }
+}
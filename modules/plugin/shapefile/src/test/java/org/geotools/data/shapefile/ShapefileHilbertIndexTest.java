@@ -0,0 +1,136 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.geotools.api.data.CloseableIterator;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.shapefile.files.ShpFileType;
+import org.geotools.data.shapefile.files.ShpFiles;
+import org.geotools.data.shapefile.index.Data;
+import org.geotools.data.shapefile.index.hilbert.PackedHilbertRTree;
+import org.geotools.data.shapefile.shp.IndexFile;
+import org.geotools.data.shapefile.shp.ShapefileReader;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.junit.Test;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+
+public class ShapefileHilbertIndexTest extends TestCaseSupport {
+
+    @Test
+    public void testQueryMatchesFullScan() throws Exception {
+        File file = copyShapefiles("shapes/streams.shp");
+        ShapefileDataStore indexed = createStore(file, true);
+        ShapefileDataStore plain = createStore(file, false);
+        try {
+            ReferencedEnvelope bounds = plain.getFeatureSource().getBounds();
+            FilterFactory ff = CommonFactoryFinder.getFilterFactory();
+            for (int i = 0; i < 4; i++) {
+                double minX = bounds.getMinX() + bounds.getWidth() * i / 5;
+                double minY = bounds.getMinY() + bounds.getHeight() * i / 5;
+                Filter bbox = ff.bbox(
+                        "the_geom", minX, minY, minX + bounds.getWidth() / 4, minY + bounds.getHeight() / 4, null);
+                Set<String> expected = collectIds(plain, bbox);
+                assertFalse(expected.isEmpty());
+                assertEquals(expected, collectIds(indexed, bbox));
+            }
+
+            ShpFiles shpFiles = new ShpFiles(file);
+            assertTrue(shpFiles.exists(ShpFileType.HRT));
+            assertFalse(shpFiles.exists(ShpFileType.QIX));
+        } finally {
+            indexed.dispose();
+            plain.dispose();
+        }
+    }
+
+    @Test
+    public void testSearchInFileOrder() throws Exception {
+        File file = copyShapefiles("shapes/streams.shp");
+        ShpFiles shpFiles = new ShpFiles(file);
+        File treeFile = sibling(file, "hrt");
+        int count;
+        try (ShapefileReader reader = new ShapefileReader(shpFiles, true, false, new GeometryFactory());
+                IndexFile shx = new IndexFile(shpFiles, false)) {
+            // small nodes to get a deeper tree
+            count = PackedHilbertRTree.build(reader, shx, treeFile, 4);
+            assertEquals(shx.getRecordCount(), count);
+        }
+
+        try (PackedHilbertRTree tree = PackedHilbertRTree.open(treeFile)) {
+            assertEquals(count, tree.getNumItems());
+            Envelope bounds = tree.getBounds();
+            assertEquals(count, countAscending(tree.search(bounds)));
+
+            Envelope quarter = new Envelope(bounds.getMinX(), bounds.centre().x, bounds.getMinY(), bounds.centre().y);
+            int found = countAscending(tree.search(quarter));
+            assertTrue(found > 0 && found < count);
+
+            Envelope outside = new Envelope(
+                    bounds.getMaxX() + 1, bounds.getMaxX() + 2, bounds.getMaxY() + 1, bounds.getMaxY() + 2);
+            assertEquals(0, countAscending(tree.search(outside)));
+        }
+    }
+
+    private int countAscending(CloseableIterator<Data> it) throws Exception {
+        int count = 0;
+        long last = -1;
+        try {
+            while (it.hasNext()) {
+                long offset = (Long) it.next().getValue(1);
+                assertTrue(offset > last);
+                last = offset;
+                count++;
+            }
+        } finally {
+            it.close();
+        }
+        return count;
+    }
+
+    private ShapefileDataStore createStore(File file, boolean hilbert) throws Exception {
+        Map<String, Serializable> params = new HashMap<>();
+        params.put(ShapefileDataStoreFactory.URLP.key, file.toURI().toURL());
+        params.put(ShapefileDataStoreFactory.ENABLE_SPATIAL_INDEX.key, hilbert);
+        params.put(ShapefileDataStoreFactory.HILBERT_SPATIAL_INDEX.key, hilbert);
+        return (ShapefileDataStore) new ShapefileDataStoreFactory().createDataStore(params);
+    }
+
+    private Set<String> collectIds(ShapefileDataStore store, Filter filter) throws Exception {
+        Set<String> ids = new TreeSet<>();
+        try (SimpleFeatureIterator fi =
+                store.getFeatureSource().getFeatures(filter).features()) {
+            while (fi.hasNext()) {
+                ids.add(fi.next().getID());
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.geotools.TestData;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.data.shapefile.dbf.DbaseFileHeader;
+import org.geotools.data.shapefile.dbf.DbaseRecordView;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.util.URLs;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Geometry;
+
+public class ShapefileScannerTest extends TestCaseSupport {
+
+    ForkJoinPool pool;
+
+    @Before
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @Override
+    @After
+    public void tearDown() throws Exception {
+        pool.shutdown();
+        super.tearDown();
+    }
+
+    @Test
+    public void testScanSkipsDeleted() throws Exception {
+        // this shapefile has 4 records that are marked as deleted only inside the dbf
+        File file = URLs.urlToFile(TestData.url(TestCaseSupport.class, "deleted/archsites.shp"));
+        ShapefileDataStore store = new ShapefileDataStore(URLs.fileToUrl(file));
+        try {
+            Map<Integer, Object[]> scanned = new ConcurrentHashMap<>();
+            try (ShapefileScanner scanner = store.getScanner()) {
+                assertEquals(25, scanner.getRecordCount());
+                scanner.setSplitSize(3);
+                scanner.scan(
+                        pool,
+                        (number, geometry, row) -> scanned.put(
+                                number, new Object[] {geometry, row.read(0), row.getString(1), row.getLong(0)}),
+                        "CAT_ID",
+                        "CAT_DESC");
+            }
+
+            assertEquals(21, scanned.size());
+            try (SimpleFeatureIterator fi =
+                    store.getFeatureSource().getFeatures().features()) {
+                while (fi.hasNext()) {
+                    SimpleFeature f = fi.next();
+                    int number = Integer.parseInt(f.getID().substring(f.getID().lastIndexOf('.') + 1));
+                    Object[] values = scanned.get(number);
+                    assertNotNull(f.getID(), values);
+                    assertTrue(((Geometry) f.getDefaultGeometry()).equalsExact((Geometry) values[0]));
+                    assertEquals(f.getAttribute("CAT_ID"), values[1]);
+                    assertEquals(f.getAttribute("CAT_DESC"), values[2]);
+                    assertEquals(((Number) f.getAttribute("CAT_ID")).longValue(), values[3]);
+                }
+            }
+        } finally {
+            store.dispose();
+        }
+    }
+
+    @Test
+    public void testScanSparse() throws Exception {
+        File file = TestData.file(TestCaseSupport.class, "sparse/sparse.shp");
+        ShapefileDataStore store = new ShapefileDataStore(URLs.fileToUrl(file));
+        try (ShapefileScanner scanner = store.getScanner()) {
+            scanner.setSplitSize(4);
+            AtomicInteger count = new AtomicInteger();
+            scanner.scan(pool, (number, geometry, row) -> {
+                assertNotNull(geometry);
+                assertNull(row);
+                count.incrementAndGet();
+            });
+            assertEquals(31, count.get());
+        } finally {
+            store.dispose();
+        }
+    }
+
+    @Test
+    public void testRecordView() throws Exception {
+        DbaseFileHeader header = new DbaseFileHeader(StandardCharsets.ISO_8859_1);
+        header.addColumn("D", 'N', 12, 3);
+        header.addColumn("I", 'N', 9, 0);
+        header.addColumn("S", 'C', 10, 0);
+        header.addColumn("B", 'L', 1, 0);
+        header.addColumn("E", 'N', 12, 3);
+        String record = "    1234.567" + "      -42" + " Hello    " + "T" + "  1.5E+03   ";
+        ByteBuffer buffer = ByteBuffer.wrap((" " + record + "*" + record).getBytes(StandardCharsets.ISO_8859_1));
+
+        DbaseRecordView view = new DbaseRecordView(header, StandardCharsets.ISO_8859_1, null, 0, 1, 2, 3, 4);
+        view.setRecord(buffer, 0);
+        assertFalse(view.isDeleted());
+        assertEquals(1234.567, view.getDouble(0), 0d);
+        assertEquals(-42, view.getInt(1));
+        assertEquals(-42, view.read(1));
+        assertEquals("Hello", view.getString(2));
+        StringBuilder sb = new StringBuilder();
+        assertEquals(5, view.appendTo(2, sb));
+        assertEquals("Hello", sb.toString());
+        assertEquals(Boolean.TRUE, view.getBoolean(3));
+        assertEquals(1500d, view.getDouble(4), 0d);
+
+        view.setRecord(buffer, header.getRecordLength());
+        assertTrue(view.isDeleted());
+    }
+}
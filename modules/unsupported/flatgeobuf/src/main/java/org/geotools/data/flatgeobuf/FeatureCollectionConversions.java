@@ -98,7 +98,7 @@ public static Iterable<SimpleFeature> deserialize(
         return it;
     }
 
-    private static int getTreeSize(HeaderMeta headerMeta) {
+    static int getTreeSize(HeaderMeta headerMeta) {
         int treeSize = headerMeta.featuresCount > 0 && headerMeta.indexNodeSize > 0
                 ? (int) PackedRTree.calcSize((int) headerMeta.featuresCount, headerMeta.indexNodeSize)
                 : 0;
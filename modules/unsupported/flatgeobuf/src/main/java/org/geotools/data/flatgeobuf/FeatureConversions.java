@@ -44,6 +44,7 @@
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.data.store.FeatureBatchBuilder;
 import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.geotools.util.NIOUtilities;
 import org.wololo.flatgeobuf.ColumnMeta;
@@ -270,4 +271,45 @@ public static SimpleFeature deserialize(Feature feature, SimpleFeatureBuilder fb
         SimpleFeature f = fb.buildFeature(fb.getFeatureType().getTypeName() + "." + fid);
         return f;
     }
+
+    /**
+     * Decodes a feature straight into the current row of a batch builder. The row is not committed, the caller is
+     * expected to do so with the feature identifier.
+     *
+     * @param geometryIndex The index of the geometry attribute in the batch feature type
+     * @param attributeIndexes The index in the batch feature type of each column in the header
+     */
+    public static void deserialize(
+            Feature feature,
+            FeatureBatchBuilder batch,
+            HeaderMeta headerMeta,
+            int geometryIndex,
+            int[] attributeIndexes) {
+        Geometry geometry = feature.geometry();
+        byte geometryType = headerMeta.geometryType;
+        if (geometry != null && geometryIndex >= 0) {
+            if (geometryType == GeometryType.Unknown) geometryType = (byte) geometry.type();
+            org.locationtech.jts.geom.Geometry jtsGeometry = GeometryConversions.deserialize(geometry, geometryType);
+            batch.set(geometryIndex, jtsGeometry);
+        }
+        int propertiesLength = feature.propertiesLength();
+        if (propertiesLength > 0) {
+            ByteBuffer bb = feature.propertiesAsByteBuffer();
+            while (bb.hasRemaining()) {
+                short i = bb.getShort();
+                ColumnMeta columnMeta = headerMeta.columns.get(i);
+                int index = attributeIndexes[i];
+                byte type = columnMeta.type;
+                if (type == ColumnType.Bool) batch.setBoolean(index, bb.get() > 0);
+                else if (type == ColumnType.Byte) batch.setInt(index, bb.get());
+                else if (type == ColumnType.Short) batch.setInt(index, bb.getShort());
+                else if (type == ColumnType.Int) batch.setInt(index, bb.getInt());
+                else if (type == ColumnType.Long) batch.setLong(index, bb.getLong());
+                else if (type == ColumnType.Double) batch.setDouble(index, bb.getDouble());
+                else if (type == ColumnType.DateTime) batch.set(index, readString(bb, columnMeta.name));
+                else if (type == ColumnType.String) batch.set(index, readString(bb, columnMeta.name));
+                else throw new RuntimeException("Unknown type");
+            }
+        }
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.flatgeobuf;
+
+import com.google.common.io.LittleEndianDataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.store.AbstractFeatureBatchReader;
+import org.geotools.data.store.FeatureBatchBuilder;
+import org.wololo.flatgeobuf.ColumnMeta;
+import org.wololo.flatgeobuf.HeaderMeta;
+import org.wololo.flatgeobuf.generated.Feature;
+
+/** Scans all the features of a FlatGeobuf file, decoding them straight into column oriented batches */
+class FlatGeobufFeatureBatchReader extends AbstractFeatureBatchReader {
+
+    final InputStream inputStream;
+
+    final LittleEndianDataInputStream data;
+
+    final HeaderMeta headerMeta;
+
+    final int geometryIndex;
+
+    final int[] attributeIndexes;
+
+    final String idPrefix;
+
+    long currentIndex;
+
+    byte[] buffer = new byte[0];
+
+    /**
+     * Builds the reader
+     *
+     * @param inputStream The stream, positioned right after the header
+     */
+    FlatGeobufFeatureBatchReader(
+            InputStream inputStream, HeaderMeta headerMeta, SimpleFeatureType featureType, int batchSize)
+            throws IOException {
+        super(featureType, batchSize);
+        this.inputStream = inputStream;
+        this.headerMeta = headerMeta;
+        this.data = new LittleEndianDataInputStream(inputStream);
+        this.idPrefix = featureType.getTypeName() + ".";
+
+        this.geometryIndex = featureType.getGeometryDescriptor() != null
+                ? featureType.indexOf(featureType.getGeometryDescriptor().getLocalName())
+                : -1;
+        this.attributeIndexes = new int[headerMeta.columns.size()];
+        for (int i = 0; i < attributeIndexes.length; i++) {
+            ColumnMeta column = headerMeta.columns.get(i);
+            attributeIndexes[i] = featureType.indexOf(column.name);
+            if (attributeIndexes[i] < 0) {
+                throw new IOException("Column " + column.name + " not found in " + featureType.getTypeName());
+            }
+        }
+
+        int treeSize = FeatureCollectionConversions.getTreeSize(headerMeta);
+        if (treeSize > 0) FlatGeobufFeatureReader.skipNBytes(data, treeSize);
+    }
+
+    @Override
+    protected int readRows(FeatureBatchBuilder builder, int max) throws IOException {
+        int read = 0;
+        while (read < max) {
+            int featureSize;
+            try {
+                featureSize = data.readInt();
+            } catch (EOFException e) {
+                break;
+            }
+            if (buffer.length < featureSize) {
+                buffer = new byte[featureSize];
+            }
+            data.readFully(buffer, 0, featureSize);
+            Feature feature = Feature.getRootAsFeature(ByteBuffer.wrap(buffer, 0, featureSize));
+            FeatureConversions.deserialize(feature, builder, headerMeta, geometryIndex, attributeIndexes);
+            builder.add(idPrefix + currentIndex++);
+            read++;
+        }
+        return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
+}
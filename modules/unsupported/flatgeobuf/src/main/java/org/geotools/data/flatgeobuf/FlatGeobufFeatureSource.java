@@ -31,6 +31,7 @@
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
 import org.geotools.data.store.ContentEntry;
 import org.geotools.data.store.ContentFeatureSource;
+import org.geotools.data.store.FeatureBatchReader;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.referencing.CRS;
 import org.locationtech.jts.geom.Envelope;
@@ -58,6 +59,29 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
         return new FlatGeobufFeatureReader(getState(), query, getDataStore().getHeaderMeta());
     }
 
+    @Override
+    @SuppressWarnings("PMD.CloseResource") // managed by the returned reader
+    protected FeatureBatchReader getBatchReaderInternal(Query query, int batchSize) throws IOException {
+        // full scans only, bbox, fid and paged queries go through the index with the feature reader
+        HeaderMeta headerMeta = getDataStore().getHeaderMeta();
+        Filter filter = query.getFilter();
+        Integer startIndex = query.getStartIndex();
+        if (headerMeta == null
+                || (filter != null && filter != Filter.INCLUDE)
+                || (startIndex != null && startIndex > 0)) {
+            return null;
+        }
+
+        InputStream is = getDataStore().getURL().openStream();
+        try {
+            FlatGeobufFeatureReader.skipNBytes(is, headerMeta.offset);
+            return new FlatGeobufFeatureBatchReader(is, headerMeta, getState().getFeatureType(), batchSize);
+        } catch (IOException e) {
+            is.close();
+            throw e;
+        }
+    }
+
     @Override
     protected ReferencedEnvelope getBoundsInternal(Query query) throws IOException {
         if (query.getFilter() != Filter.INCLUDE && !(query.getFilter() instanceof BBOX)) {
@@ -29,6 +29,7 @@
 import org.geotools.data.store.ContentEntry;
 import org.geotools.data.store.ContentFeatureStore;
 import org.geotools.data.store.ContentState;
+import org.geotools.data.store.FeatureBatchReader;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 
 public class FlatGeobufFeatureStore extends ContentFeatureStore {
@@ -63,6 +64,11 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
         return delegate.getReaderInternal(query);
     }
 
+    @Override
+    protected FeatureBatchReader getBatchReaderInternal(Query query, int batchSize) throws IOException {
+        return delegate.getBatchReaderInternal(query, batchSize);
+    }
+
     @Override
     protected ReferencedEnvelope getBoundsInternal(Query query) throws IOException {
         return delegate.getBoundsInternal(query);